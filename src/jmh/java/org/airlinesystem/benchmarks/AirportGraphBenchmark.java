@@ -0,0 +1,76 @@
+/**
+ * AirportGraphBenchmark class
+ *		Measures building an AirportGraph edge by edge, looking edges
+ *		up by airport names, and reading the edges in sorted order
+ */
+
+package org.airlinesystem.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.airlinesystem.exceptions.IllegalGraphAdditionException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.model.Airport;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.QUIET_LOGGING)
+public class AirportGraphBenchmark {
+
+	@Param({"1000", "10000", "100000"})
+	public int edges;
+
+	private BenchmarkData data;
+	private AirportGraph graph;
+
+	@Setup
+	public void setUp() {
+		data = new BenchmarkData(edges);
+		graph = data.buildGraph();
+	}
+
+	@Benchmark
+	public AirportGraph createEdge() throws IllegalGraphAdditionException {
+		AirportGraph _graph = new AirportGraph();
+		for(int _edge = 0; _edge < data.getNumberOfEdges(); _edge++) {
+			_graph.addAirport(new Airport(data.getSource(_edge)));
+			_graph.addAirport(new Airport(data.getDestination(_edge)));
+			_graph.createEdge(data.getSource(_edge), data.getDestination(_edge), data.getDistance(_edge));
+		}
+		return _graph;
+	}
+
+	/**
+	 * Looks every edge up by its airport names, as the simulation does
+	 * when it needs the distance of a route
+	 */
+	@Benchmark
+	public double getEdge() {
+		double _totalDistance = 0;
+		for(int _edge = 0; _edge < data.getNumberOfEdges(); _edge++) {
+			_totalDistance += graph.getDistance(data.getSource(_edge), data.getDestination(_edge));
+		}
+		return _totalDistance;
+	}
+
+	@Benchmark
+	public ArrayList<DefaultEdge> getSortedListOfEdges() {
+		return graph.getSortedListOfEdges();
+	}
+}
@@ -0,0 +1,171 @@
+/**
+ * BenchmarkData class
+ *		Makes the synthetic graphs, properties, and psv files the
+ *		benchmarks run on. Every input is made from a fixed seed, so
+ *		runs on different builds measure the same work.
+ */
+
+package org.airlinesystem.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.helpers.GenerateModelData;
+import org.airlinesystem.helpers.ReadGraphFromPSV;
+
+final class BenchmarkData {
+
+	static final long SEED = 20181018L;
+	static final String QUIET_LOGGING = "-Dlog4j.configuration=log4j-benchmark.properties";
+
+	private static final String GRAPH_HEADER = "AIR1|AIR2|DISTANCE";
+	private static final String DATA_HEADER = "AIR1|AIR2|DISTANCE|AIRCRAFT_SIZE|MAX_ECON_BASIC|MAX_ECON_PLUS|"
+			+ "MAX_BUSINESS|MAX_FIRST|FILLED_ECON_BASIC|FILLED_ECON_PLUS|FILLED_BUSINESS|FILLED_FIRST|"
+			+ "ECON_BASIC_COST|ECON_PLUS_COST|BUSINESS_COST|FIRST_COST";
+	private static final int MIN_DISTANCE = 50;
+	private static final int MAX_DISTANCE = 3000;
+
+	private final String[] sources;
+	private final String[] destinations;
+	private final double[] distances;
+
+	/**
+	 * Makes a set of distinct undirected edges. Airports are laid out on a
+	 * ring and edge i joins an airport to the one a fixed step further round,
+	 * so no pair of airports is joined twice.
+	 *
+	 * @param numberOfEdges_
+	 * 		int number of edges to make
+	 */
+	BenchmarkData(int numberOfEdges_) {
+		int _airports = 3;
+		while((long)_airports * ((_airports - 1) / 2) < numberOfEdges_) {
+			_airports++;
+		}
+		SplittableRandom _rand = new SplittableRandom(SEED);
+		sources = new String[numberOfEdges_];
+		destinations = new String[numberOfEdges_];
+		distances = new double[numberOfEdges_];
+		for(int _edge = 0; _edge < numberOfEdges_; _edge++) {
+			int _source = _edge % _airports;
+			int _step = 1 + _edge / _airports;
+			sources[_edge] = airportName(_source);
+			destinations[_edge] = airportName((_source + _step) % _airports);
+			distances[_edge] = _rand.nextInt(MIN_DISTANCE, MAX_DISTANCE);
+		}
+	}
+
+	int getNumberOfEdges() {
+		return sources.length;
+	}
+
+	String getSource(int edge_) {
+		return sources[edge_];
+	}
+
+	String getDestination(int edge_) {
+		return destinations[edge_];
+	}
+
+	double getDistance(int edge_) {
+		return distances[edge_];
+	}
+
+	/**
+	 * Builds a graph holding every edge
+	 *
+	 * @return
+	 * 		AirportGraph of the edges
+	 */
+	AirportGraph buildGraph() {
+		AirportGraph _graph = new AirportGraph();
+		ReadGraphFromPSV _reader = new ReadGraphFromPSV();
+		for(int _edge = 0; _edge < sources.length; _edge++) {
+			_reader.readEdgeIntoGraph(_graph, sources[_edge], destinations[_edge], distances[_edge]);
+		}
+		return _graph;
+	}
+
+	/**
+	 * Writes every edge to a temporary graph psv file, removed on exit
+	 *
+	 * @return
+	 * 		File holding the graph
+	 */
+	File writeGraphFile() throws IOException {
+		File _file = createTempFile("benchmark-graph");
+		try(BufferedWriter _writer = Files.newBufferedWriter(_file.toPath(), StandardCharsets.UTF_8)) {
+			_writer.write(GRAPH_HEADER);
+			_writer.newLine();
+			for(int _edge = 0; _edge < sources.length; _edge++) {
+				_writer.write(sources[_edge] + "|" + destinations[_edge] + "|" + (int)distances[_edge]);
+				_writer.newLine();
+			}
+		}
+		return _file;
+	}
+
+	/**
+	 * Writes seeded random flights over the graph to a temporary model data
+	 * psv file, removed on exit
+	 *
+	 * @param graph_
+	 * 		AirportGraph the flights fly over
+	 * @param modelProperties_
+	 * 		Properties the flights are made from
+	 * @param numberOfFlights_
+	 * 		int number of flights to write
+	 * @return
+	 * 		File holding the flights
+	 */
+	static File writeDataFile(AirportGraph graph_, Properties modelProperties_, int numberOfFlights_) 
+			throws IOException {
+		File _file = createTempFile("benchmark-data");
+		GenerateModelData _generator = new GenerateModelData(SEED);
+		try(BufferedWriter _writer = Files.newBufferedWriter(_file.toPath(), StandardCharsets.UTF_8)) {
+			_writer.write(DATA_HEADER);
+			_writer.newLine();
+			for(int _flight = 0; _flight < numberOfFlights_; _flight++) {
+				_writer.write(_generator.generateRandomFlight(modelProperties_, graph_));
+				_writer.newLine();
+			}
+		}
+		return _file;
+	}
+
+	/**
+	 * Loads the default properties with a fixed seed
+	 *
+	 * @param numberOfFlights_
+	 * 		int number of flights a run makes
+	 * @param parallelism_
+	 * 		int generation parallelism, 0 for every processor
+	 * @return
+	 * 		Properties of the benchmark model
+	 */
+	static Properties loadProperties(int numberOfFlights_, int parallelism_) throws AirlineSystemException {
+		Properties _properties = new RuntimePropertyController().loadDefaultProperties();
+		_properties.setProperty("NUMBER_OF_FLIGHTS", Integer.toString(numberOfFlights_));
+		_properties.setProperty("SIMULATION_SEED", Long.toString(SEED));
+		_properties.setProperty("GENERATION_PARALLELISM", Integer.toString(parallelism_));
+		return _properties;
+	}
+
+	private static String airportName(int airport_) {
+		return "AP" + airport_;
+	}
+
+	private static File createTempFile(String prefix_) throws IOException {
+		File _file = File.createTempFile(prefix_, ".psv");
+		_file.deleteOnExit();
+		return _file;
+	}
+}
@@ -0,0 +1,27 @@
+/**
+ * BenchmarkMain class
+ *		Runs the benchmarks with the GC profiler, so every result is
+ *		reported as throughput next to its allocation rate. Any JMH
+ *		command line options, such as a benchmark name pattern or
+ *		-p flights=10000, are passed through.
+ */
+
+package org.airlinesystem.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkMain {
+
+	public static void main(String[] args_) throws CommandLineOptionException, RunnerException {
+		CommandLineOptions _commandLine = new CommandLineOptions(args_);
+		new Runner(new OptionsBuilder()
+				.parent(_commandLine)
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
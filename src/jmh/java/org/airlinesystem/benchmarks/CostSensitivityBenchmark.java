@@ -0,0 +1,89 @@
+/**
+ * CostSensitivityBenchmark class
+ *		Measures finding the total profit of a finished simulation
+ *		under another fuel cost and pilot pay from its cost
+ *		sensitivity, against costing every flight again
+ */
+
+package org.airlinesystem.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.AirportGraphInterface;
+import org.airlinesystem.helpers.GenerateModelData;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.aggregation.CostSensitivity;
+import org.airlinesystem.model.aggregation.SimulationAggregates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.QUIET_LOGGING)
+public class CostSensitivityBenchmark {
+
+	private static final int EDGES = 1000;
+	private static final int FUEL_COSTS = 1000;
+
+	@Param({"10000", "1000000"})
+	public int flights;
+
+	private AirportGraphInterface airportGraph;
+	private SimulationConfig config;
+	private SimulationConfig dearerFuelConfig;
+	private CostSensitivity sensitivity;
+	private double[] fuelCosts;
+	private double[] pilotPay;
+
+	@Setup
+	public void setUp() throws AirlineSystemException {
+		RuntimePropertyController _propertyController = new RuntimePropertyController();
+		config = _propertyController.createSimulationConfig(BenchmarkData.loadProperties(flights, 0));
+		Properties _dearerFuel = BenchmarkData.loadProperties(flights, 0);
+		_dearerFuel.setProperty("FUEL_COST", "17.5");
+		dearerFuelConfig = _propertyController.createSimulationConfig(_dearerFuel);
+		airportGraph = new BenchmarkData(EDGES).buildGraph();
+
+		SimulationAggregates _aggregates = new SimulationAggregates(EDGES);
+		new GenerateModelData().generateCurrentStateModel(config, airportGraph, _aggregates);
+		sensitivity = CostSensitivity.fromTotals(_aggregates.getTotals());
+		fuelCosts = new double[FUEL_COSTS];
+		for(int _i = 0; _i < FUEL_COSTS; _i++) {
+			fuelCosts[_i] = 10 + _i * 0.02;
+		}
+		pilotPay = new double[] {800, 600, 400};
+	}
+
+	@Benchmark
+	public double[] sweepFuelCosts() {
+		return sensitivity.findTotalProfits(fuelCosts, pilotPay);
+	}
+
+	@Benchmark
+	public BigDecimal findExactTotalProfit() {
+		return sensitivity.findTotalProfit(dearerFuelConfig);
+	}
+
+	@Benchmark
+	public BigDecimal regenerateTotalProfit() {
+		SimulationAggregates _aggregates = new SimulationAggregates(EDGES);
+		new GenerateModelData().generateCurrentStateModel(dearerFuelConfig, airportGraph, _aggregates);
+		return _aggregates.getTotals().getTotalProfit();
+	}
+}
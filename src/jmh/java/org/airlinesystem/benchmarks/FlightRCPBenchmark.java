@@ -0,0 +1,64 @@
+/**
+ * FlightRCPBenchmark class
+ *		Measures totalling the revenue, cost, and profit of a generated
+ *		FlightList, on one thread and on every processor
+ */
+
+package org.airlinesystem.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.airlinesystem.controllers.FlightRCPController;
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.helpers.GenerateModelData;
+import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.SimulationConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.QUIET_LOGGING)
+public class FlightRCPBenchmark {
+
+	private static final int EDGES = 1000;
+
+	@Param({"10000", "100000", "1000000"})
+	public int flights;
+
+	/** Threads the totals are found on, 0 for every processor */
+	@Param({"1", "0"})
+	public int parallelism;
+
+	private FlightList listOfFlights;
+	private FlightRCPController rcpController;
+
+	@Setup
+	public void setUp() throws AirlineSystemException {
+		SimulationConfig _config = new RuntimePropertyController().createSimulationConfig(
+				BenchmarkData.loadProperties(flights, 0));
+		listOfFlights = new FlightList();
+		new GenerateModelData().generateCurrentStateModel(_config, new BenchmarkData(EDGES).buildGraph(), 
+				listOfFlights);
+		rcpController = new FlightRCPController(_config);
+	}
+
+	@Benchmark
+	public BigDecimal[] findTotalRCPOfFlightList() {
+		return rcpController.findTotalRCPOfFlightList(listOfFlights, parallelism, false);
+	}
+}
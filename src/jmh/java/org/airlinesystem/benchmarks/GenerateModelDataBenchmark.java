@@ -0,0 +1,79 @@
+/**
+ * GenerateModelDataBenchmark class
+ *		Measures generating a seeded model into a FlightList, into
+ *		a columnar FlightStore, and streamed into aggregates, on one
+ *		thread and on every processor
+ */
+
+package org.airlinesystem.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.helpers.GenerateModelData;
+import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.FlightStore;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.aggregation.SimulationAggregates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.QUIET_LOGGING)
+public class GenerateModelDataBenchmark {
+
+	private static final int EDGES = 1000;
+
+	@Param({"10000", "100000", "1000000"})
+	public int flights;
+
+	/** GENERATION_PARALLELISM of the run, 0 for every processor */
+	@Param({"1", "0"})
+	public int parallelism;
+
+	private SimulationConfig config;
+	private AirportGraph graph;
+
+	@Setup
+	public void setUp() throws AirlineSystemException {
+		config = new RuntimePropertyController().createSimulationConfig(
+				BenchmarkData.loadProperties(flights, parallelism));
+		graph = new BenchmarkData(EDGES).buildGraph();
+	}
+
+	@Benchmark
+	public FlightList generateIntoFlightList() {
+		FlightList _flights = new FlightList();
+		new GenerateModelData().generateCurrentStateModel(config, graph, _flights);
+		return _flights;
+	}
+
+	@Benchmark
+	public FlightStore generateIntoFlightStore() {
+		FlightStore _flights = new FlightStore(flights);
+		new GenerateModelData().generateCurrentStateModel(config, graph, _flights);
+		return _flights;
+	}
+
+	@Benchmark
+	public SimulationAggregates generateIntoAggregates() {
+		SimulationAggregates _aggregates = new SimulationAggregates(graph.getNumberOfEdges());
+		new GenerateModelData().generateCurrentStateModel(config, graph, _aggregates);
+		return _aggregates;
+	}
+}
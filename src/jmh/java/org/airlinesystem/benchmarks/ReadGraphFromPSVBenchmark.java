@@ -0,0 +1,53 @@
+/**
+ * ReadGraphFromPSVBenchmark class
+ *		Measures reading a graph psv file into a new AirportGraph
+ */
+
+package org.airlinesystem.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.helpers.ReadGraphFromPSV;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.QUIET_LOGGING)
+public class ReadGraphFromPSVBenchmark {
+
+	@Param({"1000", "10000", "100000"})
+	public int edges;
+
+	private File graphFile;
+	private ReadGraphFromPSV reader;
+
+	@Setup
+	public void setUp() throws IOException {
+		graphFile = new BenchmarkData(edges).writeGraphFile();
+		reader = new ReadGraphFromPSV();
+	}
+
+	@Benchmark
+	public AirportGraph readFileInputIntoGraph() throws AirlineSystemException {
+		AirportGraph _graph = new AirportGraph();
+		reader.readFileInputIntoGraph(_graph, graphFile);
+		return _graph;
+	}
+}
@@ -0,0 +1,69 @@
+/**
+ * ReadModelDataBenchmark class
+ *		Measures reading a model data psv file into a new FlightList
+ *		with each of the data ingest modes
+ */
+
+package org.airlinesystem.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.helpers.ReadModelDataIntoState;
+import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.SimulationConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = BenchmarkData.QUIET_LOGGING)
+public class ReadModelDataBenchmark {
+
+	private static final int EDGES = 1000;
+
+	@Param({"10000", "100000", "1000000"})
+	public int flights;
+
+	@Param({"STANDARD", "MAPPED"})
+	public String ingestMode;
+
+	private File dataFile;
+	private SimulationConfig config;
+	private AirportGraph graph;
+	private ReadModelDataIntoState reader;
+
+	@Setup
+	public void setUp() throws AirlineSystemException, IOException {
+		Properties _properties = BenchmarkData.loadProperties(flights, 1);
+		_properties.setProperty("DATA_INGEST_MODE", ingestMode);
+		config = new RuntimePropertyController().createSimulationConfig(_properties);
+		graph = new BenchmarkData(EDGES).buildGraph();
+		dataFile = BenchmarkData.writeDataFile(graph, _properties, flights);
+		reader = new ReadModelDataIntoState();
+	}
+
+	@Benchmark
+	public FlightList readFileInputIntoFlightList() throws AirlineSystemException {
+		FlightList _flights = new FlightList();
+		reader.readFileInputIntoFlightList(_flights, dataFile, config, graph);
+		return _flights;
+	}
+}
@@ -9,6 +9,7 @@ package org.airlinesystem;
 import java.text.NumberFormat;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.airlinesystem.controllers.ConsoleViewController;
 import org.airlinesystem.controllers.logging.FullLogging;
@@ -16,6 +17,9 @@ import org.airlinesystem.helpers.AirlineSimulationBuilder;
 import org.airlinesystem.helpers.DefaultsLoader;
 import org.airlinesystem.model.AirlineSimulation;
 import org.airlinesystem.model.AirlineSystemFileConstants;
+import org.airlinesystem.model.aggregation.MonteCarloResults;
+import org.airlinesystem.model.aggregation.MonteCarloResults.Estimator;
+import org.airlinesystem.model.aggregation.ReplicationSummary;
 import org.apache.commons.cli.*;
 
 public class AirlineSystemMain {
@@ -26,6 +30,12 @@ public class AirlineSystemMain {
 		File _dataFile = new File(System.getProperty("user.dir") + AirlineSystemFileConstants.AIRLINESYSTEM_DEFAULT_DATA);
 		boolean _menuFlag = false;
 		boolean _dataFileFlag = false;
+		int _replications = 0;
+		Estimator _estimator = Estimator.PLAIN;
+		double _targetRelativeHalfWidth = 0;
+		File _comparisonPropertiesFile = null;
+		String[] _sweeps = null;
+		File _sweepResultsFile = new File(System.getProperty("user.dir") + "/sweep-results");
 		
 		FullLogging _mainLog = FullLogging.getInstance();
 		
@@ -51,6 +61,13 @@ public class AirlineSystemMain {
 		_options.addOption("g", "graph", true, "Graph file");
 		_options.addOption("d", "data", true, "Data file");
 		_options.addOption("m", "menu", false, "Load terminal menu");
+		_options.addOption("r", "replications", true, "Number of Monte Carlo replications to run, or most to run with a target");
+		_options.addOption("e", "estimator", true, "Monte Carlo estimator: PLAIN, ANTITHETIC, or CONTROL_VARIATE");
+		_options.addOption("t", "target-ci", true, "Stop replications once the 95% CI of profit is within this fraction of the mean");
+		_options.addOption("c", "compare", true, "Properties file to compare against with common random numbers");
+		_options.addOption(Option.builder("s").longOpt("sweep").hasArg()
+				.desc("Property to sweep, such as FUEL_COST=10..30 step 1 or PREFERRED_AIRCRAFT_SIZE=S,M,L, repeatable").build());
+		_options.addOption("o", "output", true, "Results table file of a sweep");
 		_options.addOption("h", "help", false, "Outputs the help descriptions");
 		
 		try {
@@ -78,8 +95,59 @@ public class AirlineSystemMain {
 				_menuFlag = true;
 			}
 			
+			if(_cl.hasOption('r')) {
+				try {
+					_replications = Integer.parseInt(_cl.getOptionValue('r').trim());
+				} catch(NumberFormatException e_) {
+					_replications = 0;
+				}
+				if(_replications <= 0) {
+					throw new ParseException("Invalid number of replications " + _cl.getOptionValue('r') 
+							+ ": expected a positive whole number");
+				}
+			}
+			
+			if(!_cl.hasOption('r') && (_cl.hasOption('e') || _cl.hasOption('t') || _cl.hasOption('c'))) {
+				throw new ParseException("Options -e, -t, and -c need a number of replications from -r");
+			}
+			
+			if(_cl.hasOption('e')) {
+				try {
+					_estimator = Estimator.valueOf(_cl.getOptionValue('e').trim().toUpperCase());
+				} catch(IllegalArgumentException e_) {
+					throw new ParseException("Invalid estimator " + _cl.getOptionValue('e') 
+							+ ": expected one of " + Arrays.toString(Estimator.values()));
+				}
+			}
+			
+			if(_cl.hasOption('t')) {
+				try {
+					_targetRelativeHalfWidth = Double.parseDouble(_cl.getOptionValue('t').trim());
+				} catch(NumberFormatException e_) {
+					_targetRelativeHalfWidth = Double.NaN;
+				}
+				if(!(_targetRelativeHalfWidth > 0 && _targetRelativeHalfWidth < 1)) {
+					throw new ParseException("Invalid confidence target " + _cl.getOptionValue('t') 
+							+ ": expected a fraction between 0 and 1");
+				}
+			}
+			
+			if(_cl.hasOption('c')) {
+				_comparisonPropertiesFile = new File("/" + _cl.getOptionValue('c'));
+			}
+			
+			if(_cl.hasOption('s')) {
+				_sweeps = _cl.getOptionValues('s');
+			}
+			
+			if(_cl.hasOption('o')) {
+				_sweepResultsFile = new File(_cl.getOptionValue('o'));
+			}
+			
 		} catch(ParseException _e) {
-			_e.getMessage();
+			_mainLog.menuError(_e.getMessage() + "\n");
+			_formatter.printHelp("airporttravel", _options, true);
+			return;
 		}
 
 		/*
@@ -87,6 +155,25 @@ public class AirlineSystemMain {
 		 *  If not then run based on whether or not a data file was input
 		 */
 		if(!_menuFlag) {
+			if(_sweeps != null) {
+				_simulator.runSweep(_propertiesFile, _graphFile, _sweeps, _sweepResultsFile, _simulation);
+				_mainLog.flush();
+				return;
+			}
+			if(_replications > 0) {
+				MonteCarloResults _results = _simulator.runMonteCarlo(_propertiesFile, _graphFile, 
+						_comparisonPropertiesFile, _replications, _estimator, _targetRelativeHalfWidth, _simulation);
+				if(_results != null) {
+					ReplicationSummary _profit = _results.getProfitSummary();
+					NumberFormat _numberFormatter = NumberFormat.getInstance();
+					_mainLog.menuInfo((_comparisonPropertiesFile == null ? "Mean Total Profit" 
+							: "Mean Difference in Total Profit") + " = $" + _numberFormatter.format(_profit.getMean()) 
+							+ ", 95% CI $" + _numberFormatter.format(_profit.getConfidenceLow()) 
+							+ " to $" + _numberFormatter.format(_profit.getConfidenceHigh()) + "\n");
+				}
+				_mainLog.flush();
+				return;
+			}
 			if(_dataFileFlag) {
 				try {
 					_simulator.runFromDataFile(_propertiesFile, _dataFile, _simulation);
@@ -0,0 +1,87 @@
+/**
+ * SyntheticDataMain class
+ *		Entrance for making large synthetic graph and data files
+ *		for scale testing, based on input command line arguments
+ */
+
+package org.airlinesystem;
+
+import java.io.File;
+import java.util.Properties;
+
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.controllers.logging.FullLogging;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.helpers.SyntheticDataGenerator;
+import org.airlinesystem.helpers.SyntheticDataGenerator.DegreeDistribution;
+import org.airlinesystem.model.SimulationConfig;
+import org.apache.commons.cli.*;
+
+public class SyntheticDataMain {
+
+	private static final String DEFAULT_AIRPORTS = "1000";
+	private static final String DEFAULT_DEGREE = "4";
+	private static final String DEFAULT_MIN_DISTANCE = "50";
+	private static final String DEFAULT_MAX_DISTANCE = "3000";
+	private static final String DEFAULT_FLIGHTS = "0";
+
+	public static void main(String[] args_) {
+		FullLogging _mainLog = FullLogging.getInstance();
+		HelpFormatter _formatter = new HelpFormatter();
+
+		/*
+		 *  Handles the parsing of command line arguments passed to the main
+		 */
+		Options _options = new Options();
+
+		_options.addOption("a", "airports", true, "Number of airports, default " + DEFAULT_AIRPORTS);
+		_options.addOption("k", "degree", true, "Average edges per airport, default " + DEFAULT_DEGREE);
+		_options.addOption("t", "distribution", true, "UNIFORM or SCALE_FREE, default UNIFORM");
+		_options.addOption(null, "min-distance", true, "Shortest edge distance, default " + DEFAULT_MIN_DISTANCE);
+		_options.addOption(null, "max-distance", true, "Longest edge distance, default " + DEFAULT_MAX_DISTANCE);
+		_options.addOption("s", "seed", true, "Seed of the generator, default the current time");
+		_options.addOption("g", "graph", true, "Graph file to write");
+		_options.addOption("d", "data", true, "Data file to write");
+		_options.addOption("f", "flights", true, "Number of flights in the data file, default " + DEFAULT_FLIGHTS);
+		_options.addOption("p", "properties", true, "Properties file for aircraft seats and prices");
+		_options.addOption("h", "help", false, "Outputs the help descriptions");
+
+		try {
+			CommandLine _cl = new DefaultParser().parse(_options, args_);
+
+			if(_cl.hasOption("h") || !_cl.hasOption('g')) {
+				_formatter.printHelp("syntheticdata", _options, true);
+				return;
+			}
+
+			long _seed = _cl.hasOption('s') ? Long.parseLong(_cl.getOptionValue('s')) : System.nanoTime();
+			SyntheticDataGenerator _generator = new SyntheticDataGenerator(_seed);
+			_generator.generateNetwork(
+					Integer.parseInt(_cl.getOptionValue('a', DEFAULT_AIRPORTS)),
+					Integer.parseInt(_cl.getOptionValue('k', DEFAULT_DEGREE)),
+					DegreeDistribution.valueOf(_cl.getOptionValue('t', "UNIFORM").trim().toUpperCase()),
+					Integer.parseInt(_cl.getOptionValue("min-distance", DEFAULT_MIN_DISTANCE)),
+					Integer.parseInt(_cl.getOptionValue("max-distance", DEFAULT_MAX_DISTANCE)));
+			_generator.writeGraphFile(new File(_cl.getOptionValue('g')));
+			_mainLog.menuInfo("Wrote " + _generator.getNumberOfEdges() + " edges between "
+					+ _generator.getNumberOfAirports() + " airports\n");
+
+			long _flights = Long.parseLong(_cl.getOptionValue('f', DEFAULT_FLIGHTS));
+			if(_cl.hasOption('d') && _flights > 0) {
+				RuntimePropertyController _propertyController = new RuntimePropertyController();
+				Properties _properties = _cl.hasOption('p')
+						? _propertyController.createRuntimeProperties(new File(_cl.getOptionValue('p')))
+						: _propertyController.loadDefaultProperties();
+				SimulationConfig _config = _propertyController.createSimulationConfig(_properties);
+				_generator.writeDataFile(new File(_cl.getOptionValue('d')), _config, _flights);
+				_mainLog.menuInfo("Wrote " + _flights + " flights\n");
+			}
+			_mainLog.flush();
+		} catch(ParseException|IllegalArgumentException e_) {
+			_mainLog.menuError(e_.getMessage() + "\n");
+			_formatter.printHelp("syntheticdata", _options, true);
+		} catch(AirlineSystemException e_) {
+			_mainLog.menuError(e_.getMessage() + "\n");
+		}
+	}
+}
@@ -17,6 +17,8 @@ import org.airlinesystem.controllers.logging.FullLogging;
 import org.airlinesystem.helpers.AirlineSimulationBuilder;
 import org.airlinesystem.model.AirlineSimulation;
 import org.airlinesystem.model.AirlineSystemFileConstants;
+import org.airlinesystem.model.RouteProfitSummary;
+import org.airlinesystem.model.aggregation.RouteStatsAggregator;
 import org.airlinesystem.view.*;
 import org.airlinesystem.view.ConsoleView.MenuOption;
 import org.airlinesystem.exceptions.*;
@@ -141,7 +143,7 @@ public class ConsoleViewController {
 		simulation_.getListOfFlights().clear();
 		simulation_.getGraphOfAirports().clearGraph();
 		simulator_.runSimulation(propertiesFile, graphFile, simulation_);
-		if(simulation_.getListOfFlights().size() != 0) {
+		if(simulation_.getNumberOfFlights() != 0) {
 			hasSimBeenRun = true;
 		}
 	}
@@ -158,8 +160,8 @@ public class ConsoleViewController {
 		
 		if(hasSimBeenRun) {
 			consoleOut.resultsView(simulation_.getTotalProfit(), simulation_.getTotalCost(), 
-					simulation_.getTotalRevenue(), simulation_.getListOfFlights().size(), 
-					simulation_.getTotalProfit().divide(new BigDecimal(simulation_.getListOfFlights().size()),
+					simulation_.getTotalRevenue(), simulation_.getNumberOfFlights(), 
+					simulation_.getTotalProfit().divide(new BigDecimal(simulation_.getNumberOfFlights()),
 							2, RoundingMode.FLOOR));
 			}
 			else {
@@ -181,21 +183,38 @@ public class ConsoleViewController {
 		if(hasSimBeenRun) {
 			FlightRCPController _flightRCPManager = new FlightRCPController();
 			String[] _airportNames = consoleOut.findAverageBetweenAirports(input);
-			if(simulation_.getGraphOfAirports().areAirportsConnected(_airportNames[0], _airportNames[1])) {
+			if(simulation_.getAggregates() != null
+					&& simulation_.getGraphOfAirports().areAirportsConnected(_airportNames[0], _airportNames[1])) {
+				RouteStatsAggregator _routeStats = simulation_.getAggregates().getRouteStats();
+				int _routeId = _routeStats.findRouteId(_airportNames[0], _airportNames[1]);
+				if(_routeId != RouteStatsAggregator.NO_ROUTE && _routeStats.getCount(_routeId) != 0) {
+					consoleOut.displayAverageBetweenAirports(_routeStats, _routeId);
+				} else {
+					viewControllerLog.menuError("There are no flights between the two airports\n");
+				}
+			}
+			else if(simulation_.getGraphOfAirports().areAirportsConnected(_airportNames[0], _airportNames[1])) {
 				try {
-					BigDecimal _averageProfit = _flightRCPManager.findAverageProfitPerEdge(simulation_.getListOfFlights(),
-							simulation_.getGraphOfAirports(), _airportNames[0], _airportNames[1]);
-					consoleOut.displayAverageBetweenAirports(_averageProfit);
+					RouteProfitSummary _routeSummary = _flightRCPManager.findProfitSummaryPerEdge(
+							simulation_.getListOfFlights(), simulation_.getGraphOfAirports(), 
+							_airportNames[0], _airportNames[1]);
+					consoleOut.displayAverageBetweenAirports(_routeSummary);
 				} catch(AirlineSystemException _e) {
 					viewControllerLog.menuError("There are no flights between the two airports\n");
 				}
 			}
-			else if(!(simulation_.getGraphOfAirports().getGraphOfAirports().containsVertex(_airportNames[0]))
-					|| !(simulation_.getGraphOfAirports().getGraphOfAirports().containsVertex(_airportNames[1]))) {
+			else if(!(simulation_.getGraphOfAirports().isAirportInGraph(_airportNames[0]))
+					|| !(simulation_.getGraphOfAirports().isAirportInGraph(_airportNames[1]))) {
 				viewControllerLog.menuError("Airport input not present in graph, cannot find average\n");
 			}
 			else {
-				viewControllerLog.menuError("Airports are not connected, cannot find average\n");
+				double _distance = simulation_.findDistance(_airportNames[0], _airportNames[1]);
+				if(Double.isInfinite(_distance)) {
+					viewControllerLog.menuError("Airports are not connected, cannot find average\n");
+				} else {
+					viewControllerLog.menuError(String.format("Airports are not directly connected, cannot find"
+							+ " average. Shortest connecting distance is %.2f\n", _distance));
+				}
 			}
 		} 
 		else {
@@ -0,0 +1,313 @@
+/**
+ * FixedPointRCPController class
+ *		Calculates the revenue, cost, and overall profit
+ *		for a given flight in whole micro-units held in longs,
+ *		only turning the results into BigDecimals when they are
+ *		handed back. Prices, pay, and fuel cost are rounded to
+ *		micro-units half even once when the controller is made,
+ *		and every sum and product is checked for overflow, in
+ *		which case the flight falls back to BigDecimal maths.
+ */
+
+package org.airlinesystem.controllers;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.airlinesystem.controllers.logging.FullLogging;
+import org.airlinesystem.model.AircraftPilot;
+import org.airlinesystem.model.Flight;
+import org.airlinesystem.model.SimulationConfig;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+import static org.airlinesystem.model.AircraftPilot.AircraftPilotSeniority;
+
+public class FixedPointRCPController extends FlightRCPController {
+
+	public static final int SCALE = 6;
+	public static final long MICROS_PER_UNIT = 1000000L;
+
+	private final long fuelCostMicros;
+	private final BigDecimal[] pilotPay;
+	private final long[] pilotPayMicros;
+	private final BigDecimal[][] seatPrices;
+	private final long[][] seatPriceMicros;
+	private FullLogging fixedPointLog = FullLogging.getInstance();
+
+	/**
+	 * Constructor, converts the fuel cost, pilot pay, and seat prices of
+	 * the config into micro-units once for every flight costed with it
+	 *
+	 * @param config_
+	 * 		SimulationConfig holding the fuel cost, pay, and prices
+	 * @throws ArithmeticException
+	 * 		if a value of the config does not fit in a long of micro-units
+	 */
+	public FixedPointRCPController(SimulationConfig config_) {
+		super(config_);
+		fuelCostMicros = toMicros(config_.getFuelCost());
+
+		AircraftPilotSeniority[] _seniorities = AircraftPilotSeniority.values();
+		pilotPay = new BigDecimal[_seniorities.length];
+		pilotPayMicros = new long[_seniorities.length];
+		for(AircraftPilotSeniority _seniority : _seniorities) {
+			pilotPay[_seniority.ordinal()] = config_.getPilotPay(_seniority);
+			pilotPayMicros[_seniority.ordinal()] = toMicros(config_.getPilotPay(_seniority));
+		}
+
+		AircraftSize[] _sizes = AircraftSize.values();
+		seatPrices = new BigDecimal[_sizes.length][];
+		seatPriceMicros = new long[_sizes.length][];
+		for(AircraftSize _size : _sizes) {
+			seatPrices[_size.ordinal()] = config_.getSeatPricePerSection(_size);
+			seatPriceMicros[_size.ordinal()] = toMicros(config_.getSeatPricePerSection(_size));
+		}
+	}
+
+	/**
+	 * Calculate revenue
+	 *
+	 * @param flightToCalculate_
+	 * 		flight with information to use for finding revenue
+	 * @return
+	 * 		BigDecimal type revenue to be used for profit calculations
+	 */
+	@Override
+	public BigDecimal findRevenue(Flight flightToCalculate_) {
+		try {
+			return fromMicros(findRevenueMicros(flightToCalculate_));
+		} catch(ArithmeticException e_) {
+			return super.findRevenue(flightToCalculate_);
+		}
+	}
+
+	/**
+	 * Calculate cost
+	 *
+	 * @param flightToCalculate_
+	 * 		flight with information to use for finding cost
+	 * @return
+	 * 		BigDecimal type cost to be used for profit calculations
+	 */
+	@Override
+	public BigDecimal findCost(Flight flightToCalculate_) {
+		try {
+			return fromMicros(findCostMicros(flightToCalculate_));
+		} catch(ArithmeticException e_) {
+			return super.findCost(flightToCalculate_);
+		}
+	}
+
+	/**
+	 * Calculate profit
+	 *
+	 * @param flightToCalculate_
+	 * 		flight with information to use for finding profit
+	 * @return
+	 * 		BigDecimal type profit for the given flight
+	 */
+	@Override
+	public BigDecimal findProfit(Flight flightToCalculate_) {
+		try {
+			return fromMicros(Math.subtractExact(findRevenueMicros(flightToCalculate_),
+					findCostMicros(flightToCalculate_)));
+		} catch(ArithmeticException e_) {
+			return super.findProfit(flightToCalculate_);
+		}
+	}
+
+	/**
+	 * Find Revenue, Cost, and Profit for an array
+	 *
+	 * @param flightToCalculate_
+	 * 		flight with information to use for calculations
+	 * @return
+	 * 		BigDecimal type array holding revenue, cost, and profit
+	 * 		to be stored in the flight
+	 */
+	@Override
+	public BigDecimal[] getRCPAsArray(Flight flightToCalculate_) {
+		try {
+			long[] _micros = getRCPAsMicros(flightToCalculate_);
+			return new BigDecimal[] {fromMicros(_micros[0]), fromMicros(_micros[1]), fromMicros(_micros[2])};
+		} catch(ArithmeticException e_) {
+			fixedPointLog.debugDebug("Fixed point overflow, costing flight with BigDecimal: {}", e_.getMessage());
+			return super.getRCPAsArray(flightToCalculate_);
+		}
+	}
+
+	/**
+	 * Find Revenue, Cost, and Profit in micro-units without making
+	 * any BigDecimals
+	 *
+	 * @param flightToCalculate_
+	 * 		flight with information to use for calculations
+	 * @return
+	 * 		long array holding revenue, cost, and profit in micro-units
+	 * @throws ArithmeticException
+	 * 		if a value does not fit in a long of micro-units
+	 */
+	public long[] getRCPAsMicros(Flight flightToCalculate_) {
+		long _revenue = findRevenueMicros(flightToCalculate_);
+		long _cost = findCostMicros(flightToCalculate_);
+		return new long[] {_revenue, _cost, Math.subtractExact(_revenue, _cost)};
+	}
+
+	/**
+	 * Calculate revenue as the seats filled in each section times
+	 * the section price, exact in micro-units
+	 *
+	 * @param flightToCalculate_
+	 * 		flight with information to use for finding revenue
+	 * @return
+	 * 		long revenue in micro-units
+	 * @throws ArithmeticException
+	 * 		if the revenue does not fit in a long of micro-units
+	 */
+	public long findRevenueMicros(Flight flightToCalculate_) {
+		return findRevenueMicros(flightToCalculate_.getAircraftSize(),
+				flightToCalculate_.getSeatsFilledPerSection(), flightToCalculate_.getSeatCostPerSection());
+	}
+
+	/**
+	 * Calculate revenue from typed values rather than a Flight
+	 *
+	 * @param aircraftSize_
+	 * 		AircraftSize of the flight
+	 * @param seatsFilledPerSection_
+	 * 		int array of the seats filled in each section
+	 * @param seatCostPerSection_
+	 * 		BigDecimal array of the price of a seat in each section
+	 * @return
+	 * 		long revenue in micro-units
+	 * @throws ArithmeticException
+	 * 		if the revenue does not fit in a long of micro-units
+	 */
+	public long findRevenueMicros(AircraftSize aircraftSize_, int[] seatsFilledPerSection_,
+			BigDecimal[] seatCostPerSection_) {
+		long[] _seatCostMicros = findSeatPriceMicros(aircraftSize_, seatCostPerSection_);
+		long _revenue = 0;
+
+		for(int _section = 0; _section < seatsFilledPerSection_.length; _section++) {
+			long _price = _seatCostMicros != null ? _seatCostMicros[_section] : toMicros(seatCostPerSection_[_section]);
+			_revenue = Math.addExact(_revenue, Math.multiplyExact(_price, seatsFilledPerSection_[_section]));
+		}
+		return _revenue;
+	}
+
+	/**
+	 * Calculate cost as the distance times the fuel cost plus the pay of
+	 * both pilots. The distance is rounded to micro-units half even and
+	 * the fuel cost product is rounded back to micro-units half even.
+	 *
+	 * @param flightToCalculate_
+	 * 		flight with information to use for finding cost
+	 * @return
+	 * 		long cost in micro-units
+	 * @throws ArithmeticException
+	 * 		if the cost does not fit in a long of micro-units
+	 */
+	public long findCostMicros(Flight flightToCalculate_) {
+		return findCostMicros(flightToCalculate_.getDistanceTravelled(), flightToCalculate_.getPilot(),
+				flightToCalculate_.getCoPilot());
+	}
+
+	/**
+	 * Calculate cost from typed values rather than a Flight
+	 *
+	 * @param distanceTravelled_
+	 * 		double distance of the flight
+	 * @param pilot_
+	 * 		AircraftPilot flying the flight
+	 * @param coPilot_
+	 * 		AircraftPilot flying the flight
+	 * @return
+	 * 		long cost in micro-units
+	 * @throws ArithmeticException
+	 * 		if the cost does not fit in a long of micro-units
+	 */
+	public long findCostMicros(double distanceTravelled_, AircraftPilot pilot_, AircraftPilot coPilot_) {
+		long _distance = distanceToMicros(distanceTravelled_);
+		long _cost = divideHalfEven(Math.multiplyExact(_distance, fuelCostMicros), MICROS_PER_UNIT);
+		_cost = Math.addExact(_cost, findPilotPayMicros(pilot_));
+		return Math.addExact(_cost, findPilotPayMicros(coPilot_));
+	}
+
+	/**
+	 * Converts an amount to micro-units, rounding half even
+	 *
+	 * @param value_
+	 * 		BigDecimal amount
+	 * @return
+	 * 		long of the amount in micro-units
+	 * @throws ArithmeticException
+	 * 		if the amount does not fit in a long of micro-units
+	 */
+	public static long toMicros(BigDecimal value_) {
+		return value_.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+	}
+
+	/**
+	 * Converts micro-units back to an amount
+	 *
+	 * @param micros_
+	 * 		long of an amount in micro-units
+	 * @return
+	 * 		BigDecimal of the amount with a scale of six
+	 */
+	public static BigDecimal fromMicros(long micros_) {
+		return BigDecimal.valueOf(micros_, SCALE);
+	}
+
+	private long[] findSeatPriceMicros(AircraftSize aircraftSize_, BigDecimal[] seatCost_) {
+		// Generated flights share the price array of the config, so its conversion is reused
+		if(aircraftSize_ != null && seatCost_ == seatPrices[aircraftSize_.ordinal()]) {
+			return seatPriceMicros[aircraftSize_.ordinal()];
+		}
+		return null;
+	}
+
+	private long findPilotPayMicros(AircraftPilot pilot_) {
+		BigDecimal _pay = pilot_.getCostPerFlight();
+		AircraftPilotSeniority _seniority = pilot_.getSeniority();
+		if(_seniority != null && _pay == pilotPay[_seniority.ordinal()]) {
+			return pilotPayMicros[_seniority.ordinal()];
+		}
+		return toMicros(_pay);
+	}
+
+	private static long[] toMicros(BigDecimal[] values_) {
+		long[] _micros = new long[values_.length];
+		for(int _i = 0; _i < values_.length; _i++) {
+			_micros[_i] = toMicros(values_[_i]);
+		}
+		return _micros;
+	}
+
+	/**
+	 * Converts a distance to micro-units, rounding half even
+	 *
+	 * @param distance_
+	 * 		double distance
+	 * @return
+	 * 		long of the distance in micro-units
+	 * @throws ArithmeticException
+	 * 		if the distance does not fit in a long of micro-units
+	 */
+	public static long distanceToMicros(double distance_) {
+		double _scaled = Math.rint(distance_ * MICROS_PER_UNIT);
+		if(Double.isNaN(_scaled) || Math.abs(_scaled) >= 0x1p63) {
+			throw new ArithmeticException("distance out of range: " + distance_);
+		}
+		return (long)_scaled;
+	}
+
+	private static long divideHalfEven(long dividend_, long divisor_) {
+		long _quotient = dividend_ / divisor_;
+		long _remainder = dividend_ % divisor_;
+		long _twiceRemainder = Math.abs(_remainder) * 2;
+		if(_twiceRemainder > divisor_ || (_twiceRemainder == divisor_ && (_quotient & 1) != 0)) {
+			_quotient += Long.signum(dividend_);
+		}
+		return _quotient;
+	}
+}
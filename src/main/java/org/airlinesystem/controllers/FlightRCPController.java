@@ -8,18 +8,22 @@ package org.airlinesystem.controllers;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.NumberFormat;
-import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.Properties;
 
 import org.airlinesystem.controllers.logging.FullLogging;
-import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.graphdb.AirportGraphInterface;
 import org.airlinesystem.model.Flight;
 import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.RouteProfitSummary;
+import org.airlinesystem.model.SimulationConfig;
 import org.airlinesystem.exceptions.AirlineSystemException;
-import org.jgrapht.graph.DefaultEdge;
 
 public class FlightRCPController {
+	
+	public static final int FLIGHTS_PER_PARTITION = 1 << 16;
+	
 	private BigDecimal fuelCost;
 	private FullLogging flightRCPControllerLog = FullLogging.getInstance();
 	
@@ -33,6 +37,10 @@ public class FlightRCPController {
 		fuelCost = new BigDecimal(modelProperties_.getProperty("FUEL_COST"));
 	}
 	
+	public FlightRCPController(SimulationConfig config_) {
+		fuelCost = config_.getFuelCost();
+	}
+	
 	/**
 	 * Calculate and set revenue class variable
 	 * 
@@ -102,7 +110,8 @@ public class FlightRCPController {
 	}
 	
 	/**
-	 * Calculate Overall profit for an entire list of flights
+	 * Calculate Overall profit for an entire list of flights, logging
+	 * the profit of each flight
 	 * 
 	 * @param listOfFlights_
 	 * 		the FlightList that will be iterated through until there are
@@ -112,35 +121,120 @@ public class FlightRCPController {
 	 * 		may be positive or negative depending on flights input
 	 */
 	public BigDecimal[] findTotalRCPOfFlightList (FlightList listOfFlights_) {
-		Iterator<Flight> _flightListItr = listOfFlights_.iterator();
-		BigDecimal _totalProfit = new BigDecimal("0");
-		BigDecimal _totalCost = new BigDecimal("0");
-		BigDecimal _totalRevenue = new BigDecimal("0");
-		Flight _currentFlight;
-		NumberFormat _numberFormatter = NumberFormat.getInstance();
+		return findTotalRCPOfFlightList(listOfFlights_, 1, true);
+	}
+	
+	/**
+	 * Calculate Overall profit for an entire list of flights. The list is
+	 * cut into fixed partitions whose sums are combined in list order, so
+	 * the totals are exact and the same for any number of threads.
+	 * 
+	 * @param listOfFlights_
+	 * 		the FlightList to total
+	 * @param parallelism_
+	 * 		int of threads to total the partitions on, 0 for every processor
+	 * @param logEachFlight_
+	 * 		true to log the profit of every flight before totalling
+	 * @return
+	 * 		BigDecimal type array holding total revenue, cost, and profit
+	 */
+	public BigDecimal[] findTotalRCPOfFlightList (FlightList listOfFlights_, int parallelism_, 
+			boolean logEachFlight_) {
+		if(logEachFlight_ && flightRCPControllerLog.isResultsInfoEnabled()) {
+			logFlightResults(listOfFlights_);
+		}
+		if(parallelism_ <= 0) {
+			parallelism_ = Runtime.getRuntime().availableProcessors();
+		}
 		
-		while (_flightListItr.hasNext()) {
-			_currentFlight = _flightListItr.next();
-			_totalCost = _totalCost.add(_currentFlight.getCost());
+		if(parallelism_ == 1 || listOfFlights_.size() <= FLIGHTS_PER_PARTITION) {
+			return sumFlights(listOfFlights_, 0, listOfFlights_.size());
+		}
+		ForkJoinPool _pool = new ForkJoinPool(parallelism_);
+		try {
+			return _pool.invoke(new TotalRCPTask(listOfFlights_, 0, listOfFlights_.size()));
+		} finally {
+			_pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Logs the profit of every flight in a list to the results log.
+	 * Each profit is only formatted when its message is written.
+	 * 
+	 * @param listOfFlights_
+	 * 		the FlightList to log
+	 * @return
+	 * 		N/A
+	 */
+	public void logFlightResults(FlightList listOfFlights_) {
+		if(!flightRCPControllerLog.isResultsInfoEnabled()) {
+			return;
+		}
+		for(Flight _currentFlight : listOfFlights_) {
+			flightRCPControllerLog.resultsInfo("Individual flight profit = ${}", 
+					FullLogging.grouped(_currentFlight.getProfit()));
+		}
+	}
+	
+	private static BigDecimal[] sumFlights(FlightList listOfFlights_, int first_, int last_) {
+		BigDecimal _totalRevenue = BigDecimal.ZERO;
+		BigDecimal _totalCost = BigDecimal.ZERO;
+		BigDecimal _totalProfit = BigDecimal.ZERO;
+		
+		for(int _i = first_; _i < last_; _i++) {
+			Flight _currentFlight = listOfFlights_.get(_i);
 			_totalRevenue = _totalRevenue.add(_currentFlight.getRevenue());
+			_totalCost = _totalCost.add(_currentFlight.getCost());
 			_totalProfit = _totalProfit.add(_currentFlight.getProfit());
-			flightRCPControllerLog.resultsInfo("Individual flight profit = $" + 
-			_numberFormatter.format(_currentFlight.getProfit()));
 		}
-		BigDecimal[] _totalFlightRCPArray = {_totalRevenue, _totalCost, _totalProfit};
-		return _totalFlightRCPArray;
+		return new BigDecimal[] {_totalRevenue, _totalCost, _totalProfit};
+	}
+	
+	/**
+	 * Splits a range of flights on partition boundaries until a single
+	 * partition is left, then adds the left sums to the right sums
+	 */
+	private static class TotalRCPTask extends RecursiveTask<BigDecimal[]> {
+
+		private static final long serialVersionUID = 1L;
+		private final FlightList listOfFlights;
+		private final int firstFlight;
+		private final int lastFlight;
+
+		TotalRCPTask(FlightList listOfFlights_, int firstFlight_, int lastFlight_) {
+			listOfFlights = listOfFlights_;
+			firstFlight = firstFlight_;
+			lastFlight = lastFlight_;
+		}
+
+		@Override
+		protected BigDecimal[] compute() {
+			if(lastFlight - firstFlight <= FLIGHTS_PER_PARTITION) {
+				return sumFlights(listOfFlights, firstFlight, lastFlight);
+			}
+			int _partitions = (lastFlight - firstFlight + FLIGHTS_PER_PARTITION - 1) / FLIGHTS_PER_PARTITION;
+			int _middle = firstFlight + (_partitions / 2) * FLIGHTS_PER_PARTITION;
+			TotalRCPTask _right = new TotalRCPTask(listOfFlights, _middle, lastFlight);
+			_right.fork();
+			BigDecimal[] _left = new TotalRCPTask(listOfFlights, firstFlight, _middle).compute();
+			BigDecimal[] _rightSums = _right.join();
+			for(int _i = 0; _i < _left.length; _i++) {
+				_left[_i] = _left[_i].add(_rightSums[_i]);
+			}
+			return _left;
+		}
 	}
 
 	/**
 	 *  Finds the average profit over all the flights from a source to a destination airport.
 	 *  
 	 * 	@param listOfFlights_
-	 * 		   the FlightList that will be iterated through until there are
-	 * 		   no more new flights remaining
+	 * 		   the FlightList holding the route summaries
 	 *  
 	 *  @param airportGraph_
-	 *  	   the AirportGraph corresponding to the current model used to access
-	 *  	   the graphs unique edges
+	 *  	   the AirportGraph corresponding to the current model, not needed as
+	 *  	   routes are found by airport name
 	 *  
 	 *  @param source_
 	 *  	   string representing the source airport
@@ -152,24 +246,42 @@ public class FlightRCPController {
 	 *  	   the BigDecimal value of the average profit for the specific edge requested
 	 */
 	
-	public BigDecimal findAverageProfitPerEdge(FlightList listOfFlights_, AirportGraph airportGraph_,
+	public BigDecimal findAverageProfitPerEdge(FlightList listOfFlights_, AirportGraphInterface airportGraph_,
 			String source_, String destination_) throws AirlineSystemException {
 
-		DefaultEdge _testEdge = airportGraph_.getGraphOfAirports().getEdge(source_, destination_);
-		BigDecimal _totalProfit = new BigDecimal(0);
-		int _counter = 0;
+		return findProfitSummaryPerEdge(listOfFlights_, airportGraph_, source_, destination_).getAverage();
+	}
 	
-		if(!listOfFlights_.getFlightMap().containsKey(_testEdge)) {
+	/**
+	 *  Finds the summary of profits over all the flights from a source to a destination
+	 *  airport, giving the count, average, minimum, maximum and standard deviation of
+	 *  the route without visiting its flights.
+	 *  
+	 * 	@param listOfFlights_
+	 * 		   the FlightList holding the route summaries
+	 *  
+	 *  @param airportGraph_
+	 *  	   the AirportGraph corresponding to the current model, not needed as
+	 *  	   routes are found by airport name
+	 *  
+	 *  @param source_
+	 *  	   string representing the source airport
+	 *  
+	 *  @param destination_
+	 *  	   string representing the destination airport
+	 *  
+	 *  @return
+	 *  	   the RouteProfitSummary for the specific edge requested
+	 */
+	public RouteProfitSummary findProfitSummaryPerEdge(FlightList listOfFlights_, AirportGraphInterface airportGraph_,
+			String source_, String destination_) throws AirlineSystemException {
+
+		RouteProfitSummary _summary = listOfFlights_.getRouteSummary(source_, destination_);
+	
+		if(_summary == null) {
 			throw new AirlineSystemException("Edge is not contained in the map");
 		}
 		
-		for(Flight _f : listOfFlights_.getFlightMap().get(_testEdge)) {
-			_totalProfit = _totalProfit.add(_f.getProfit());
-			_counter++;
-		}
-		
-		BigDecimal _averageProfit = _totalProfit.divide(new BigDecimal(_counter), 2, RoundingMode.FLOOR);
-		
-		return _averageProfit;
+		return _summary;
 	}
 }
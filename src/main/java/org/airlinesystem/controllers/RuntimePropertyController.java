@@ -7,6 +7,7 @@
 package org.airlinesystem.controllers;
 
 import java.util.Properties;
+import java.math.BigDecimal;
 import java.io.InputStream;
 import java.io.FileInputStream;
 import java.io.File;
@@ -14,6 +15,13 @@ import java.io.IOException;
 
 import org.airlinesystem.controllers.logging.FullLogging;
 import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.AirportGraphInterface.AirportGraphType;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.SimulationConfig.DataIngestMode;
+import org.airlinesystem.model.SimulationConfig.RCPEngine;
+import org.airlinesystem.model.SimulationConfig.SimulationMode;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+import static org.airlinesystem.model.AircraftPilot.AircraftPilotSeniority;
 
 public class RuntimePropertyController {
 
@@ -87,5 +95,169 @@ public class RuntimePropertyController {
 		}
 		return _returnProperties;
 	}
+	
+	/**
+	 *  Parses and validates the properties into a typed, immutable config so
+	 *  the simulation reads each property once instead of once per flight.
+	 *  Properties added after the original set fall back to their defaults
+	 *  when they are missing, but every present value must be valid.
+	 *  
+	 *  @param modelProperties_ the loaded Properties object
+	 *  @return the SimulationConfig holding every parsed property
+	 *  @throws AirlineSystemException if a property is missing or invalid
+	 */
+	public SimulationConfig createSimulationConfig(Properties modelProperties_) throws AirlineSystemException {
+		String[] _sizeNames = {"SMALL", "MEDIUM", "LARGE"};
+		AircraftSize[] _sizes = {AircraftSize.S, AircraftSize.M, AircraftSize.L};
+		int[][] _maxSeats = new int[AircraftSize.values().length][];
+		BigDecimal[][] _prices = new BigDecimal[AircraftSize.values().length][];
+		BigDecimal[] _pilotPay = new BigDecimal[AircraftPilotSeniority.values().length];
+		
+		int _numberOfFlights = parseInt(modelProperties_, "NUMBER_OF_FLIGHTS", 0);
+		BigDecimal _fuelCost = parseMoney(modelProperties_, "FUEL_COST");
+		for(int _i = 0; _i < _sizes.length; _i++) {
+			String _seatKey = _sizeNames[_i] + "_PLANE_SEAT_MAX_PER_SECTION";
+			String _priceKey = _sizeNames[_i] + "_PLANE_SEAT_PRICE";
+			String[] _seatValues = splitSections(modelProperties_, _seatKey);
+			String[] _priceValues = splitSections(modelProperties_, _priceKey);
+			int _ordinal = _sizes[_i].ordinal();
+			
+			_maxSeats[_ordinal] = new int[SimulationConfig.NUMBER_OF_SECTIONS];
+			_prices[_ordinal] = new BigDecimal[SimulationConfig.NUMBER_OF_SECTIONS];
+			for(int _section = 0; _section < SimulationConfig.NUMBER_OF_SECTIONS; _section++) {
+				_maxSeats[_ordinal][_section] = parseInt(_seatKey, _seatValues[_section], 0);
+				_prices[_ordinal][_section] = parseMoney(_priceKey, _priceValues[_section]);
+			}
+		}
+		double _smallRange = parseRange(modelProperties_, "SMALL_PLANE_MAX_RANGE");
+		double _mediumRange = parseRange(modelProperties_, "MEDIUM_PLANE_MAX_RANGE");
+		if(_mediumRange < _smallRange) {
+			throw new AirlineSystemException("Invalid properties: MEDIUM_PLANE_MAX_RANGE is less than SMALL_PLANE_MAX_RANGE");
+		}
+		_pilotPay[AircraftPilotSeniority.SENIOR.ordinal()] = parseMoney(modelProperties_, "SENIOR_PILOT_PAY");
+		_pilotPay[AircraftPilotSeniority.MIDLEVEL.ordinal()] = parseMoney(modelProperties_, "MIDLEVEL_PILOT_PAY");
+		_pilotPay[AircraftPilotSeniority.JUNIOR.ordinal()] = parseMoney(modelProperties_, "JUNIOR_PILOT_PAY");
+		
+		String _preferredSize = requireProperty(modelProperties_, "PREFERRED_AIRCRAFT_SIZE").toUpperCase();
+		AircraftSize _preferredAircraftSize = null;
+		if(!_preferredSize.equals("N")) {
+			_preferredAircraftSize = parseEnum(AircraftSize.class, "PREFERRED_AIRCRAFT_SIZE", _preferredSize);
+		}
+		
+		AirportGraphType _graphType = parseEnum(AirportGraphType.class, "AIRPORT_GRAPH_TYPE", 
+				modelProperties_.getProperty("AIRPORT_GRAPH_TYPE", "JGRAPHT").trim().toUpperCase());
+		boolean _precompute = parseBoolean(modelProperties_, "PRECOMPUTE_DISTANCE_MATRIX", false);
+		String _seed = modelProperties_.getProperty("SIMULATION_SEED", "").trim();
+		Long _simulationSeed = null;
+		if(!_seed.isEmpty()) {
+			try {
+				_simulationSeed = Long.parseLong(_seed);
+			} catch(NumberFormatException e_) {
+				throw new AirlineSystemException("Invalid SIMULATION_SEED in properties: " + _seed, e_);
+			}
+		}
+		int _parallelism = parseInt("GENERATION_PARALLELISM", 
+				modelProperties_.getProperty("GENERATION_PARALLELISM", "1"), 0);
+		DataIngestMode _ingestMode = parseEnum(DataIngestMode.class, "DATA_INGEST_MODE", 
+				modelProperties_.getProperty("DATA_INGEST_MODE", "STANDARD").trim().toUpperCase());
+		RCPEngine _rcpEngine = parseEnum(RCPEngine.class, "RCP_ENGINE", 
+				modelProperties_.getProperty("RCP_ENGINE", "BIGDECIMAL").trim().toUpperCase());
+		boolean _logFlightResults = parseBoolean(modelProperties_, "LOG_FLIGHT_RESULTS", true);
+		SimulationMode _simulationMode = parseEnum(SimulationMode.class, "SIMULATION_MODE", 
+				modelProperties_.getProperty("SIMULATION_MODE", "MATERIALIZED").trim().toUpperCase());
+		
+		SimulationConfig _config = new SimulationConfig(_numberOfFlights, _fuelCost, _maxSeats, _prices,
+				_smallRange, _mediumRange, _pilotPay, _preferredAircraftSize, _graphType,
+				_precompute, _simulationSeed, _parallelism, _ingestMode, _rcpEngine, _logFlightResults,
+				_simulationMode);
+		propertyControllerLog.debugDebug("config loaded: {}", _config);
+		return _config;
+	}
+	
+	private String requireProperty(Properties modelProperties_, String key_) throws AirlineSystemException {
+		String _value = modelProperties_.getProperty(key_);
+		if(_value == null || _value.trim().isEmpty()) {
+			throw new AirlineSystemException("Missing " + key_ + " in properties");
+		}
+		return _value.trim();
+	}
+	
+	private String[] splitSections(Properties modelProperties_, String key_) throws AirlineSystemException {
+		String[] _sections = requireProperty(modelProperties_, key_).split("\\|");
+		if(_sections.length != SimulationConfig.NUMBER_OF_SECTIONS) {
+			throw new AirlineSystemException("Invalid " + key_ + " in properties: expected " 
+					+ SimulationConfig.NUMBER_OF_SECTIONS + " sections separated by |");
+		}
+		return _sections;
+	}
+	
+	private int parseInt(Properties modelProperties_, String key_, int minimum_) throws AirlineSystemException {
+		return parseInt(key_, requireProperty(modelProperties_, key_), minimum_);
+	}
+	
+	private int parseInt(String key_, String value_, int minimum_) throws AirlineSystemException {
+		String _problem = "Invalid " + key_ + " in properties: " + value_
+				+ " is not a whole number of at least " + minimum_;
+		int _parsed;
+		try {
+			_parsed = Integer.parseInt(value_.trim());
+		} catch(NumberFormatException e_) {
+			throw new AirlineSystemException(_problem, e_);
+		}
+		if(_parsed < minimum_) {
+			throw new AirlineSystemException(_problem);
+		}
+		return _parsed;
+	}
+	
+	private BigDecimal parseMoney(Properties modelProperties_, String key_) throws AirlineSystemException {
+		return parseMoney(key_, requireProperty(modelProperties_, key_));
+	}
+	
+	private BigDecimal parseMoney(String key_, String value_) throws AirlineSystemException {
+		String _problem = "Invalid " + key_ + " in properties: " + value_
+				+ " is not a decimal value of at least 0";
+		BigDecimal _parsed;
+		try {
+			_parsed = new BigDecimal(value_.trim());
+		} catch(NumberFormatException e_) {
+			throw new AirlineSystemException(_problem, e_);
+		}
+		if(_parsed.signum() < 0) {
+			throw new AirlineSystemException(_problem);
+		}
+		return _parsed;
+	}
+	
+	private double parseRange(Properties modelProperties_, String key_) throws AirlineSystemException {
+		String _value = requireProperty(modelProperties_, key_);
+		String _problem = "Invalid " + key_ + " in properties: " + _value + " is not a positive range";
+		double _parsed;
+		try {
+			_parsed = Double.parseDouble(_value);
+		} catch(NumberFormatException e_) {
+			throw new AirlineSystemException(_problem, e_);
+		}
+		if(!(_parsed > 0) || Double.isInfinite(_parsed)) {
+			throw new AirlineSystemException(_problem);
+		}
+		return _parsed;
+	}
+	
+	private boolean parseBoolean(Properties modelProperties_, String key_, boolean default_) 
+			throws AirlineSystemException {
+		String _value = modelProperties_.getProperty(key_, String.valueOf(default_)).trim();
+		if(!_value.equalsIgnoreCase("true") && !_value.equalsIgnoreCase("false")) {
+			throw new AirlineSystemException("Invalid " + key_ + " in properties: " + _value);
+		}
+		return Boolean.parseBoolean(_value);
+	}
+	
+	private <E extends Enum<E>> E parseEnum(Class<E> type_, String key_, String value_) throws AirlineSystemException {
+		try {
+			return Enum.valueOf(type_, value_);
+		} catch(IllegalArgumentException e_) {
+			throw new AirlineSystemException("Invalid " + key_ + " in properties: " + value_, e_);
+		}
+	}
 }
-
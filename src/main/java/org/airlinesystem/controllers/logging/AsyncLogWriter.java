@@ -0,0 +1,205 @@
+/**
+ * AsyncLogWriter class
+ *		Fixed size ring of log events handed from the simulation
+ *		threads to a single daemon thread that formats and writes
+ *		them, so threads that log never wait on file I/O. Slots are
+ *		made once, so logging an event allocates nothing beyond its
+ *		arguments. A thread that logs while the ring is full waits
+ *		for a free slot, so no event is ever lost.
+ */
+
+package org.airlinesystem.controllers.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+
+class AsyncLogWriter {
+
+	static final byte DEBUG = 0;
+	static final byte INFO = 1;
+	static final byte ERROR = 2;
+
+	private final Logger[] loggers;
+	private final byte[] levels;
+	private final String[] formats;
+	private final Object[][] arguments;
+	private final int mask;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+	private final Condition written = lock.newCondition();
+	private long nextToRead;
+	private long nextToWrite;
+	private long eventsWritten;
+
+	/**
+	 * Constructor, starts the writer thread
+	 *
+	 * @param capacity_
+	 * 		int number of events the ring holds, rounded up to a power of two
+	 * @param threadName_
+	 * 		String name of the writer thread
+	 */
+	AsyncLogWriter(int capacity_, String threadName_) {
+		int _capacity = Integer.highestOneBit(Math.max(2, capacity_ - 1)) << 1;
+		loggers = new Logger[_capacity];
+		levels = new byte[_capacity];
+		formats = new String[_capacity];
+		arguments = new Object[_capacity][];
+		mask = _capacity - 1;
+
+		Thread _writer = new Thread(this::writeEvents, threadName_);
+		_writer.setDaemon(true);
+		_writer.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(TimeUnit.SECONDS.toMillis(5))));
+	}
+
+	/**
+	 * Puts an event in the ring, waiting for the writer to free a slot
+	 * if the ring is full
+	 *
+	 * @param logger_
+	 * 		Logger the event is written to
+	 * @param level_
+	 * 		byte level of the event, one of DEBUG, INFO, or ERROR
+	 * @param format_
+	 * 		String message, or format with {} for each argument
+	 * @param arguments_
+	 * 		Object array of the arguments, or null for a plain message
+	 * @return
+	 * 		N/A
+	 */
+	void put(Logger logger_, byte level_, String format_, Object[] arguments_) {
+		lock.lock();
+		try {
+			while(nextToWrite - nextToRead > mask) {
+				notFull.awaitUninterruptibly();
+			}
+			int _slot = (int)(nextToWrite & mask);
+			loggers[_slot] = logger_;
+			levels[_slot] = level_;
+			formats[_slot] = format_;
+			arguments[_slot] = arguments_;
+			if(nextToWrite++ == nextToRead) {
+				notEmpty.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until every event put in the ring so far has been written
+	 *
+	 * @param timeoutMillis_
+	 * 		long longest time to wait in milliseconds
+	 * @return
+	 * 		true if every event was written in time
+	 */
+	boolean flush(long timeoutMillis_) {
+		long _deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis_);
+		lock.lock();
+		try {
+			long _target = nextToWrite;
+			while(eventsWritten < _target) {
+				long _remaining = _deadline - System.nanoTime();
+				if(_remaining <= 0) {
+					return false;
+				}
+				written.awaitNanos(_remaining);
+			}
+			return true;
+		} catch(InterruptedException e_) {
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	long getEventsWritten() {
+		lock.lock();
+		try {
+			return eventsWritten;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void writeEvents() {
+		while(true) {
+			Logger _logger;
+			byte _level;
+			String _format;
+			Object[] _arguments;
+
+			lock.lock();
+			try {
+				while(nextToRead == nextToWrite) {
+					notEmpty.awaitUninterruptibly();
+				}
+				int _slot = (int)(nextToRead & mask);
+				_logger = loggers[_slot];
+				_level = levels[_slot];
+				_format = formats[_slot];
+				_arguments = arguments[_slot];
+				loggers[_slot] = null;
+				formats[_slot] = null;
+				arguments[_slot] = null;
+				if(nextToWrite - nextToRead++ > mask) {
+					notFull.signalAll();
+				}
+			} finally {
+				lock.unlock();
+			}
+
+			try {
+				write(_logger, _level, _format, _arguments);
+			} catch(RuntimeException e_) {
+				// A failing appender must not stop the writer thread
+			}
+
+			lock.lock();
+			try {
+				eventsWritten++;
+				written.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Writes an event straight to its logger
+	 */
+	static void write(Logger logger_, byte level_, String format_, Object[] arguments_) {
+		switch(level_) {
+			case DEBUG:
+				if(arguments_ == null) {
+					logger_.debug(format_);
+				} else {
+					logger_.debug(format_, arguments_);
+				}
+				break;
+			case ERROR:
+				if(arguments_ == null) {
+					logger_.error(format_);
+				} else {
+					logger_.error(format_, arguments_);
+				}
+				break;
+			case INFO:
+			default:
+				if(arguments_ == null) {
+					logger_.info(format_);
+				} else {
+					logger_.info(format_, arguments_);
+				}
+				break;
+		}
+	}
+}
@@ -1,16 +1,29 @@
 /**
  * FullLogging class
- *  	Manages all logging for the program
+ *  	Manages all logging for the program. Debug and results messages
+ *  	are checked against their level before anything is built, and
+ *  	when those loggers are on their events go through a ring to a
+ *  	writer thread, so the simulation only waits on the log files
+ *  	when it logs faster than they can be written.
  */
 
 package org.airlinesystem.controllers.logging;
 
+import java.text.NumberFormat;
+import java.util.function.Supplier;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class FullLogging {
 
+	private static final int ASYNC_RING_CAPACITY = 1 << 13;
+	private static final long FLUSH_TIMEOUT_MILLIS = 5000;
+	private static final ThreadLocal<NumberFormat> NUMBER_FORMAT = 
+			ThreadLocal.withInitial(NumberFormat::getInstance);
+
 	private static FullLogging instance;
+	private AsyncLogWriter asyncWriter;
 	
 	private Logger resultsLogger = LoggerFactory.getLogger("resultsLogger");
 	private Logger consoleLogger = LoggerFactory.getLogger("consoleLogger");
@@ -31,6 +44,9 @@ public class FullLogging {
 		consoleLogger = LoggerFactory.getLogger("consoleLogger");
 		debugLogger = LoggerFactory.getLogger("debugLogger");
 		menuLogger = LoggerFactory.getLogger("menuLogger");
+		if(debugLogger.isDebugEnabled() || debugLogger.isErrorEnabled() || resultsLogger.isInfoEnabled()) {
+			asyncWriter = new AsyncLogWriter(ASYNC_RING_CAPACITY, "airline-log-writer");
+		}
 	}
 	
 	/**
@@ -40,7 +56,7 @@ public class FullLogging {
 	 * @return
 	 * 		FullLogging object
 	 */
-	public static FullLogging getInstance() {
+	public static synchronized FullLogging getInstance() {
 		if (instance == null) {
 			instance = new FullLogging();
 			instance.init();
@@ -93,7 +109,52 @@ public class FullLogging {
 	 * 		N/A
 	 */
 	public void debugDebug(String message_) {
-		debugLogger.debug(message_);
+		if(debugLogger.isDebugEnabled()) {
+			write(debugLogger, AsyncLogWriter.DEBUG, message_, null);
+		}
+	}
+	
+	/**
+	 * Log debugger debug message built from a format, which is only
+	 * filled in if debug messages are logged
+	 *
+	 * @param format_
+	 * 		String of message with {} where each argument goes
+	 * @param arguments_
+	 * 		Objects put into the message in order
+	 * @return
+	 * 		N/A
+	 */
+	public void debugDebug(String format_, Object... arguments_) {
+		if(debugLogger.isDebugEnabled()) {
+			write(debugLogger, AsyncLogWriter.DEBUG, format_, arguments_);
+		}
+	}
+	
+	/**
+	 * Log debugger debug message, only building it if debug
+	 * messages are logged
+	 *
+	 * @param message_
+	 * 		Supplier of the message to be logged
+	 * @return
+	 * 		N/A
+	 */
+	public void debugDebug(Supplier<String> message_) {
+		if(debugLogger.isDebugEnabled()) {
+			write(debugLogger, AsyncLogWriter.DEBUG, message_.get(), null);
+		}
+	}
+	
+	/**
+	 * Find if debugger debug messages will be logged, so callers
+	 * can skip building messages that would be thrown away
+	 *
+	 * @return
+	 * 		true if debug messages are logged, false otherwise
+	 */
+	public boolean isDebugEnabled() {
+		return debugLogger.isDebugEnabled();
 	}
 	
 	/**
@@ -105,7 +166,9 @@ public class FullLogging {
 	 * 		N/A
 	 */
 	public void debugError(String message_) {
-		debugLogger.error(message_);
+		if(debugLogger.isErrorEnabled()) {
+			write(debugLogger, AsyncLogWriter.ERROR, message_, null);
+		}
 	}
 	
 	/**
@@ -117,6 +180,88 @@ public class FullLogging {
 	 * 		N/A
 	 */
 	public void resultsInfo(String message_) {
-		resultsLogger.info(message_);
+		if(resultsLogger.isInfoEnabled()) {
+			write(resultsLogger, AsyncLogWriter.INFO, message_, null);
+		}
+	}
+	
+	/**
+	 * Log results info message built from a format, which is only
+	 * filled in if results messages are logged
+	 *
+	 * @param format_
+	 * 		String of message with {} where each argument goes
+	 * @param arguments_
+	 * 		Objects put into the message in order
+	 * @return
+	 * 		N/A
+	 */
+	public void resultsInfo(String format_, Object... arguments_) {
+		if(resultsLogger.isInfoEnabled()) {
+			write(resultsLogger, AsyncLogWriter.INFO, format_, arguments_);
+		}
+	}
+	
+	/**
+	 * Log results info message, only building it if results
+	 * messages are logged
+	 *
+	 * @param message_
+	 * 		Supplier of the message to be logged
+	 * @return
+	 * 		N/A
+	 */
+	public void resultsInfo(Supplier<String> message_) {
+		if(resultsLogger.isInfoEnabled()) {
+			write(resultsLogger, AsyncLogWriter.INFO, message_.get(), null);
+		}
+	}
+	
+	/**
+	 * Find if results info messages will be logged, so callers
+	 * can skip building messages that would be thrown away
+	 *
+	 * @return
+	 * 		true if results info messages are logged, false otherwise
+	 */
+	public boolean isResultsInfoEnabled() {
+		return resultsLogger.isInfoEnabled();
+	}
+	
+	/**
+	 * Waits until every debug and results message logged so far
+	 * has been written to its file
+	 *
+	 * @return
+	 * 		true if every message was written in time
+	 */
+	public boolean flush() {
+		return asyncWriter == null || asyncWriter.flush(FLUSH_TIMEOUT_MILLIS);
+	}
+	
+	/**
+	 * Wraps a number so it is written with grouping separators, as
+	 * NumberFormat would, only when the message is filled in
+	 *
+	 * @param number_
+	 * 		Number to be written
+	 * @return
+	 * 		Object whose String form is the formatted number
+	 */
+	public static Object grouped(final Number number_) {
+		return new Object() {
+			@Override
+			public String toString() {
+				return NUMBER_FORMAT.get().format(number_);
+			}
+		};
+	}
+	
+	private void write(Logger logger_, byte level_, String format_, Object[] arguments_) {
+		if(asyncWriter != null) {
+			asyncWriter.put(logger_, level_, format_, arguments_);
+		} else {
+			AsyncLogWriter.write(logger_, level_, format_, arguments_);
+		}
 	}
 }
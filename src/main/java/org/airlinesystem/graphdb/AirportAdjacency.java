@@ -0,0 +1,147 @@
+/**
+ * AirportAdjacency class
+ *		Immutable compressed sparse row (CSR) snapshot of an airport
+ *		graph. Airports are dense int ids and the neighbours of airport
+ *		i are stored in targets/weights between offsets[i] and
+ *		offsets[i + 1]. Every undirected edge appears once in each
+ *		direction and carries the id of the edge it came from.
+ */
+
+package org.airlinesystem.graphdb;
+
+public class AirportAdjacency {
+
+	private final String[] airportNames;
+	private final int[] offsets;
+	private final int[] targets;
+	private final double[] weights;
+	private final int[] edgeIds;
+	private final int edgeCount;
+
+	/**
+	 * Constructor, arrays are taken as is and must not be changed afterwards
+	 *
+	 * @param airportNames_
+	 * 		String array mapping each airport id to its name, null for unused ids
+	 * @param offsets_
+	 * 		int array of length airportNames_.length + 1 with the start of each row
+	 * @param targets_
+	 * 		int array of neighbour airport ids
+	 * @param weights_
+	 * 		double array of distances to each neighbour
+	 * @param edgeIds_
+	 * 		int array of the edge id each adjacency slot belongs to
+	 * @param edgeCount_
+	 * 		int of the number of undirected edges in the snapshot
+	 */
+	public AirportAdjacency(String[] airportNames_, int[] offsets_, int[] targets_,
+			double[] weights_, int[] edgeIds_, int edgeCount_) {
+		airportNames = airportNames_;
+		offsets = offsets_;
+		targets = targets_;
+		weights = weights_;
+		edgeIds = edgeIds_;
+		edgeCount = edgeCount_;
+	}
+
+	/**
+	 * Builds a snapshot from parallel edge arrays using a counting pass,
+	 * skipping any edge whose source is negative (removed)
+	 *
+	 * @param airportNames_
+	 * 		String array mapping each airport id to its name
+	 * @param edgeSources_
+	 * 		int array of the first airport id of each edge
+	 * @param edgeTargets_
+	 * 		int array of the second airport id of each edge
+	 * @param edgeWeights_
+	 * 		double array of the distance of each edge
+	 * @param edgeSlots_
+	 * 		int of how many entries of the edge arrays are in use
+	 * @return
+	 * 		AirportAdjacency holding both directions of every live edge
+	 */
+	public static AirportAdjacency fromEdges(String[] airportNames_, int[] edgeSources_,
+			int[] edgeTargets_, double[] edgeWeights_, int edgeSlots_) {
+		int _airportCount = airportNames_.length;
+		int[] _offsets = new int[_airportCount + 1];
+		int _liveEdges = 0;
+
+		for(int _e = 0; _e < edgeSlots_; _e++) {
+			if(edgeSources_[_e] < 0) {
+				continue;
+			}
+			_offsets[edgeSources_[_e] + 1]++;
+			_offsets[edgeTargets_[_e] + 1]++;
+			_liveEdges++;
+		}
+		for(int _i = 0; _i < _airportCount; _i++) {
+			_offsets[_i + 1] += _offsets[_i];
+		}
+
+		int[] _cursor = new int[_airportCount];
+		System.arraycopy(_offsets, 0, _cursor, 0, _airportCount);
+		int[] _targets = new int[_liveEdges * 2];
+		double[] _weights = new double[_liveEdges * 2];
+		int[] _edgeIds = new int[_liveEdges * 2];
+
+		for(int _e = 0; _e < edgeSlots_; _e++) {
+			int _source = edgeSources_[_e];
+			if(_source < 0) {
+				continue;
+			}
+			int _target = edgeTargets_[_e];
+			int _slot = _cursor[_source]++;
+			_targets[_slot] = _target;
+			_weights[_slot] = edgeWeights_[_e];
+			_edgeIds[_slot] = _e;
+			_slot = _cursor[_target]++;
+			_targets[_slot] = _source;
+			_weights[_slot] = edgeWeights_[_e];
+			_edgeIds[_slot] = _e;
+		}
+		return new AirportAdjacency(airportNames_, _offsets, _targets, _weights, _edgeIds, _liveEdges);
+	}
+
+	/**
+	 * @return
+	 * 		int of the number of airport ids, including any unused ids
+	 */
+	public int getAirportCount() {
+		return airportNames.length;
+	}
+
+	public int getEdgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 * @param airportId_
+	 * 		int id of the airport
+	 * @return
+	 * 		String name of the airport, or null if the id is unused
+	 */
+	public String getAirportName(int airportId_) {
+		return airportNames[airportId_];
+	}
+
+	public int getDegree(int airportId_) {
+		return offsets[airportId_ + 1] - offsets[airportId_];
+	}
+
+	public int[] getOffsets() {
+		return offsets;
+	}
+
+	public int[] getTargets() {
+		return targets;
+	}
+
+	public double[] getWeights() {
+		return weights;
+	}
+
+	public int[] getEdgeIds() {
+		return edgeIds;
+	}
+}
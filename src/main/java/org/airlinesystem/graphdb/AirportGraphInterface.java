@@ -9,12 +9,30 @@ import java.util.ArrayList;
 import java.util.HashMap;
 
 import org.airlinesystem.model.Airport;
+import org.airlinesystem.model.Route;
 import org.airlinesystem.exceptions.IllegalGraphAdditionException;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
 
 public interface AirportGraphInterface {
 
+	/**
+	 * Available graph storage implementations
+	 * <li>{@link #JGRAPHT}/<li>
+	 * <li>{@link #COMPACT}/<li>
+	 */
+	public static enum AirportGraphType {
+		/**
+		 * jgrapht backed graph with String vertices and DefaultEdge edges
+		 */
+		JGRAPHT,
+
+		/**
+		 * Dense int airport ids with compressed sparse row adjacency
+		 */
+		COMPACT;
+	}
+
 	/**
 	 * Add a new airport by creating a new vertex on the graph
 	 * based on the airport object input
@@ -113,13 +131,73 @@ public interface AirportGraphInterface {
 
 	
 	/**
-	 * 	Sorts edges in ascending order
+	 * 	Returns a copy of the edges in ascending order of distance
 	 * 
 	 * @return
 	 * 		ArrayList<DefaultEdge> that is all edges sorted in ascending order
 	 */
 	ArrayList<DefaultEdge> getSortedListOfEdges();
 	
+	/**
+	 * Finds the number of edges in the graph's weight ordered edge index
+	 * 
+	 * @return
+	 * 		int of the number of edges
+	 */
+	int getNumberOfEdges();
+	
+	/**
+	 * Finds the first airport of an edge in the weight ordered edge index
+	 * 
+	 * @param rank_
+	 * 		int position of the edge in ascending order of distance
+	 * @return
+	 * 		String name of the edge's first airport
+	 */
+	String getSortedEdgeSource(int rank_);
+	
+	/**
+	 * Finds the second airport of an edge in the weight ordered edge index
+	 * 
+	 * @param rank_
+	 * 		int position of the edge in ascending order of distance
+	 * @return
+	 * 		String name of the edge's second airport
+	 */
+	String getSortedEdgeDestination(int rank_);
+	
+	/**
+	 * Finds the distance of an edge in the weight ordered edge index
+	 * 
+	 * @param rank_
+	 * 		int position of the edge in ascending order of distance
+	 * @return
+	 * 		double of the edge's distance
+	 */
+	double getSortedEdgeDistance(int rank_);
+	
+	/**
+	 * Returns a compressed sparse row snapshot of the graph with
+	 * dense int airport ids, built again only after the graph changes
+	 * 
+	 * @return
+	 * 		AirportAdjacency of the current graph
+	 */
+	AirportAdjacency getAdjacency();
+	
+	/**
+	 * Finds the shortest multi-leg route between two airports
+	 * 
+	 * @param source_
+	 * 		String of the name of the first airport
+	 * @param destination_
+	 * 		String of the name of the second airport
+	 * @return
+	 * 		Route holding every airport visited and the total distance,
+	 * 		or null if either airport is missing or they are not connected
+	 */
+	Route findShortestRoute(String source_, String destination_);
+	
 	/**
 	 * Prints the current graph of the airports by iterating
 	 * through the set of vertices and each of their edges
@@ -137,6 +215,13 @@ public interface AirportGraphInterface {
 	 */
 	void clearGraph();
 
+	/**
+	 * Returns a read only jgrapht view of the graph. Changes are made
+	 * through this interface so every index of the graph stays in step.
+	 * 
+	 * @return
+	 * 		unmodifiable Graph of the airports and edges
+	 */
 	Graph<String, DefaultEdge> getGraphOfAirports();
 
 	HashMap<String, Airport> getMapAirportToName();
@@ -0,0 +1,360 @@
+/**
+ * AirportDistanceMatrix class
+ *		Precomputed all-pairs shortest distances for an airport graph,
+ *		stored row major as floats so any distance is an O(1) lookup.
+ *		Sparse graphs are solved with a parallel Dijkstra per source and
+ *		dense graphs with a cache blocked Floyd-Warshall. Matrices above
+ *		the on-heap cell limit are kept in direct (off-heap) buffers.
+ */
+
+package org.airlinesystem.graphdb.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.airlinesystem.controllers.logging.FullLogging;
+import org.airlinesystem.graphdb.AirportAdjacency;
+
+public class AirportDistanceMatrix {
+
+	/**
+	 * Algorithms used to fill the matrix
+	 * <li>{@link #PARALLEL_DIJKSTRA}/<li>
+	 * <li>{@link #BLOCKED_FLOYD_WARSHALL}/<li>
+	 */
+	public static enum MatrixAlgorithm {
+		/**
+		 * One Dijkstra search per source airport, sources split across a ForkJoinPool
+		 */
+		PARALLEL_DIJKSTRA,
+
+		/**
+		 * Floyd-Warshall over cache sized tiles, tiles of each phase run in parallel
+		 */
+		BLOCKED_FLOYD_WARSHALL;
+	}
+
+	public static final long DEFAULT_ON_HEAP_CELL_LIMIT = 1L << 26;
+
+	private static final int TILE = 64;
+	private static final int SOURCES_PER_TASK = 32;
+	private static final int MAX_CELLS_PER_BUFFER = 1 << 28;
+
+	private final AirportAdjacency adjacency;
+	private final int airportCount;
+	private final HashMap<String, Integer> airportIds;
+	private final MatrixAlgorithm algorithm;
+	private final float[] onHeapCells;
+	private final FloatBuffer[] offHeapRows;
+	private final int rowsPerBuffer;
+	private FullLogging distanceMatrixLog = FullLogging.getInstance();
+
+	private AirportDistanceMatrix(AirportAdjacency adjacency_, MatrixAlgorithm algorithm_, long onHeapCellLimit_) {
+		long _cells = (long) adjacency_.getAirportCount() * adjacency_.getAirportCount();
+
+		adjacency = adjacency_;
+		airportCount = adjacency_.getAirportCount();
+		algorithm = algorithm_;
+		airportIds = new HashMap<String, Integer>(airportCount * 2);
+		for(int _airport = 0; _airport < airportCount; _airport++) {
+			if(adjacency_.getAirportName(_airport) != null) {
+				airportIds.put(adjacency_.getAirportName(_airport), _airport);
+			}
+		}
+
+		if(_cells <= onHeapCellLimit_ && _cells < Integer.MAX_VALUE - 8) {
+			onHeapCells = new float[(int) _cells];
+			offHeapRows = null;
+			rowsPerBuffer = airportCount;
+		} else {
+			onHeapCells = null;
+			rowsPerBuffer = Math.max(1, MAX_CELLS_PER_BUFFER / Math.max(1, airportCount));
+			offHeapRows = new FloatBuffer[(airportCount + rowsPerBuffer - 1) / rowsPerBuffer];
+			for(int _b = 0; _b < offHeapRows.length; _b++) {
+				int _rows = Math.min(rowsPerBuffer, airportCount - _b * rowsPerBuffer);
+				offHeapRows[_b] = ByteBuffer.allocateDirect(_rows * airportCount * 4)
+						.order(ByteOrder.nativeOrder()).asFloatBuffer();
+			}
+		}
+	}
+
+	/**
+	 * Builds the matrix on the common ForkJoinPool, choosing the algorithm by density
+	 *
+	 * @param adjacency_
+	 * 		AirportAdjacency snapshot of the graph
+	 * @return
+	 * 		AirportDistanceMatrix holding every shortest distance
+	 */
+	public static AirportDistanceMatrix build(AirportAdjacency adjacency_) {
+		return build(adjacency_, ForkJoinPool.commonPool(), null, DEFAULT_ON_HEAP_CELL_LIMIT);
+	}
+
+	/**
+	 * Builds the matrix, logging the time taken and memory used
+	 *
+	 * @param adjacency_
+	 * 		AirportAdjacency snapshot of the graph
+	 * @param pool_
+	 * 		ForkJoinPool to run the per source or per tile work on
+	 * @param algorithm_
+	 * 		MatrixAlgorithm to force, or null to choose by graph density
+	 * @param onHeapCellLimit_
+	 * 		long of the largest matrix, in cells, kept in a float array;
+	 * 		larger matrices go off-heap
+	 * @return
+	 * 		AirportDistanceMatrix holding every shortest distance
+	 */
+	public static AirportDistanceMatrix build(AirportAdjacency adjacency_, ForkJoinPool pool_,
+			MatrixAlgorithm algorithm_, long onHeapCellLimit_) {
+		long _start = System.nanoTime();
+		MatrixAlgorithm _algorithm = algorithm_ == null ? chooseAlgorithm(adjacency_) : algorithm_;
+		AirportDistanceMatrix _matrix = new AirportDistanceMatrix(adjacency_, _algorithm, onHeapCellLimit_);
+
+		// Floyd-Warshall works on the flat array, so off-heap matrices always use Dijkstra
+		if(_algorithm == MatrixAlgorithm.BLOCKED_FLOYD_WARSHALL && _matrix.onHeapCells != null) {
+			_matrix.fillBlockedFloydWarshall(adjacency_, pool_);
+		} else {
+			pool_.invoke(_matrix.new DijkstraRowsTask(adjacency_, 0, _matrix.airportCount));
+		}
+
+		_matrix.distanceMatrixLog.resultsInfo(() -> String.format(
+				"Distance matrix for %d airports built with %s in %d ms using %.1f MB %s",
+				_matrix.airportCount, _matrix.algorithm, (System.nanoTime() - _start) / 1000000,
+				_matrix.getMemoryInBytes() / (1024.0 * 1024.0), _matrix.isOffHeap() ? "off-heap" : "on-heap"));
+		return _matrix;
+	}
+
+	/**
+	 * Picks Floyd-Warshall only when the graph is dense enough that n
+	 * Dijkstra searches, O(n E log n), would cost more than O(n^3)
+	 *
+	 * @param adjacency_
+	 * 		AirportAdjacency snapshot of the graph
+	 * @return
+	 * 		MatrixAlgorithm expected to be faster for the graph
+	 */
+	public static MatrixAlgorithm chooseAlgorithm(AirportAdjacency adjacency_) {
+		double _n = Math.max(2, adjacency_.getAirportCount());
+		double _dijkstraWork = 2.0 * adjacency_.getEdgeCount() * (Math.log(_n) / Math.log(2));
+		return _dijkstraWork >= _n * _n ? MatrixAlgorithm.BLOCKED_FLOYD_WARSHALL : MatrixAlgorithm.PARALLEL_DIJKSTRA;
+	}
+
+	/**
+	 * Finds the shortest distance between two airports by id
+	 *
+	 * @param sourceId_
+	 * 		int id of the first airport
+	 * @param destinationId_
+	 * 		int id of the second airport
+	 * @return
+	 * 		float of the shortest distance, or positive infinity if not connected
+	 */
+	public float getDistance(int sourceId_, int destinationId_) {
+		if(onHeapCells != null) {
+			return onHeapCells[sourceId_ * airportCount + destinationId_];
+		}
+		return offHeapRows[sourceId_ / rowsPerBuffer]
+				.get((sourceId_ % rowsPerBuffer) * airportCount + destinationId_);
+	}
+
+	/**
+	 * Finds the shortest distance between two airports by name
+	 *
+	 * @param source_
+	 * 		String of the first airport name
+	 * @param destination_
+	 * 		String of the second airport name
+	 * @return
+	 * 		float of the shortest distance, or positive infinity if either
+	 * 		airport is missing or they are not connected
+	 */
+	public float getDistance(String source_, String destination_) {
+		Integer _sourceId = airportIds.get(source_);
+		Integer _destinationId = airportIds.get(destination_);
+		if(_sourceId == null || _destinationId == null) {
+			return Float.POSITIVE_INFINITY;
+		}
+		return getDistance(_sourceId, _destinationId);
+	}
+
+	/**
+	 * @return
+	 * 		AirportAdjacency snapshot the matrix was built from, so callers
+	 * 		can tell whether the graph has changed since
+	 */
+	public AirportAdjacency getAdjacency() {
+		return adjacency;
+	}
+
+	public int getAirportCount() {
+		return airportCount;
+	}
+
+	public MatrixAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	public boolean isOffHeap() {
+		return onHeapCells == null;
+	}
+
+	public long getMemoryInBytes() {
+		return (long) airportCount * airportCount * 4;
+	}
+
+	private void setRow(int sourceId_, double[] distances_) {
+		if(onHeapCells != null) {
+			int _base = sourceId_ * airportCount;
+			for(int _d = 0; _d < airportCount; _d++) {
+				onHeapCells[_base + _d] = (float) distances_[_d];
+			}
+			return;
+		}
+		// Each task writes through its own duplicate so buffer positions are never shared
+		FloatBuffer _rows = offHeapRows[sourceId_ / rowsPerBuffer].duplicate();
+		_rows.position((sourceId_ % rowsPerBuffer) * airportCount);
+		for(int _d = 0; _d < airportCount; _d++) {
+			_rows.put((float) distances_[_d]);
+		}
+	}
+
+	/**
+	 * Splits a range of source airports until it is small enough to run
+	 * with one engine and one set of work arrays
+	 */
+	private class DijkstraRowsTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final AirportAdjacency adjacency;
+		private final int firstSource;
+		private final int lastSource;
+
+		DijkstraRowsTask(AirportAdjacency adjacency_, int firstSource_, int lastSource_) {
+			adjacency = adjacency_;
+			firstSource = firstSource_;
+			lastSource = lastSource_;
+		}
+
+		@Override
+		protected void compute() {
+			if(lastSource - firstSource > SOURCES_PER_TASK) {
+				int _middle = (firstSource + lastSource) >>> 1;
+				invokeAll(new DijkstraRowsTask(adjacency, firstSource, _middle),
+						new DijkstraRowsTask(adjacency, _middle, lastSource));
+				return;
+			}
+			ShortestRouteEngine _engine = new ShortestRouteEngine(adjacency, 1);
+			double[] _distances = new double[airportCount];
+			int[] _predecessors = new int[airportCount];
+			for(int _source = firstSource; _source < lastSource; _source++) {
+				_engine.computeSourceTree(_source, _distances, _predecessors);
+				setRow(_source, _distances);
+			}
+		}
+	}
+
+	private void fillBlockedFloydWarshall(AirportAdjacency adjacency_, ForkJoinPool pool_) {
+		final float[] _d = onHeapCells;
+		final int _n = airportCount;
+		int[] _offsets = adjacency_.getOffsets();
+		int[] _targets = adjacency_.getTargets();
+		double[] _weights = adjacency_.getWeights();
+
+		Arrays.fill(_d, Float.POSITIVE_INFINITY);
+		for(int _i = 0; _i < _n; _i++) {
+			_d[_i * _n + _i] = 0;
+			for(int _slot = _offsets[_i]; _slot < _offsets[_i + 1]; _slot++) {
+				int _cell = _i * _n + _targets[_slot];
+				_d[_cell] = Math.min(_d[_cell], (float) _weights[_slot]);
+			}
+		}
+
+		final int _tiles = (_n + TILE - 1) / TILE;
+		for(int _k = 0; _k < _tiles; _k++) {
+			final int _kTile = _k;
+			// Phase 1: the tile on the diagonal depends only on itself
+			relaxTile(_d, _n, _kTile, _kTile, _kTile);
+			// Phase 2: tiles sharing a row or column with the diagonal tile
+			pool_.invoke(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+				@Override
+				protected void compute() {
+					RecursiveAction[] _row = new RecursiveAction[_tiles];
+					for(int _t = 0; _t < _tiles; _t++) {
+						final int _other = _t;
+						_row[_t] = new RecursiveAction() {
+							private static final long serialVersionUID = 1L;
+							@Override
+							protected void compute() {
+								if(_other != _kTile) {
+									relaxTile(_d, _n, _kTile, _other, _kTile);
+									relaxTile(_d, _n, _other, _kTile, _kTile);
+								}
+							}
+						};
+					}
+					invokeAll(_row);
+				}
+			});
+			// Phase 3: every remaining tile, each row of tiles as one task
+			pool_.invoke(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+				@Override
+				protected void compute() {
+					RecursiveAction[] _rows = new RecursiveAction[_tiles];
+					for(int _t = 0; _t < _tiles; _t++) {
+						final int _rowTile = _t;
+						_rows[_t] = new RecursiveAction() {
+							private static final long serialVersionUID = 1L;
+							@Override
+							protected void compute() {
+								if(_rowTile == _kTile) {
+									return;
+								}
+								for(int _colTile = 0; _colTile < _tiles; _colTile++) {
+									if(_colTile != _kTile) {
+										relaxTile(_d, _n, _rowTile, _colTile, _kTile);
+									}
+								}
+							}
+						};
+					}
+					invokeAll(_rows);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Relaxes tile (rowTile, colTile) through every intermediate airport in kTile
+	 */
+	private static void relaxTile(float[] d_, int n_, int rowTile_, int colTile_, int kTile_) {
+		int _rowEnd = Math.min(n_, (rowTile_ + 1) * TILE);
+		int _colStart = colTile_ * TILE;
+		int _colEnd = Math.min(n_, _colStart + TILE);
+		int _kEnd = Math.min(n_, (kTile_ + 1) * TILE);
+
+		for(int _k = kTile_ * TILE; _k < _kEnd; _k++) {
+			int _kRow = _k * n_;
+			for(int _i = rowTile_ * TILE; _i < _rowEnd; _i++) {
+				int _iRow = _i * n_;
+				float _ik = d_[_iRow + _k];
+				if(_ik == Float.POSITIVE_INFINITY) {
+					continue;
+				}
+				for(int _j = _colStart; _j < _colEnd; _j++) {
+					float _through = _ik + d_[_kRow + _j];
+					if(_through < d_[_iRow + _j]) {
+						d_[_iRow + _j] = _through;
+					}
+				}
+			}
+		}
+	}
+}
@@ -10,21 +10,27 @@ package org.airlinesystem.graphdb.impl;
 
 import org.airlinesystem.controllers.logging.FullLogging;
 import org.airlinesystem.exceptions.IllegalGraphAdditionException;
+import org.airlinesystem.graphdb.AirportAdjacency;
 import org.airlinesystem.graphdb.AirportGraphInterface;
 import org.airlinesystem.model.Airport;
+import org.airlinesystem.model.Route;
 import org.jgrapht.*;
 import org.jgrapht.graph.*;
 
 import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Comparator;
 
 
 public class AirportGraph implements AirportGraphInterface {
 	
 	private Graph<String, DefaultEdge> graphOfAirports;
+	private Graph<String, DefaultEdge> unmodifiableGraphOfAirports;
 	private HashMap<String, Airport> mapAirportToName;
+	private AirportAdjacency adjacency;
+	private HashMap<String, Integer> adjacencyAirportIds;
+	private ShortestRouteEngine routeEngine;
+	private SortedEdgeIndex sortedEdges;
 	private FullLogging airportGraphLog = FullLogging.getInstance();
 
 	/**
@@ -32,7 +38,9 @@ public class AirportGraph implements AirportGraphInterface {
 	 */
 	public AirportGraph() {
 		graphOfAirports = new SimpleWeightedGraph<String, DefaultEdge>(DefaultEdge.class);
+		unmodifiableGraphOfAirports = new AsUnmodifiableGraph<String, DefaultEdge>(graphOfAirports);
 		mapAirportToName = new HashMap<String, Airport>();
+		sortedEdges = new SortedEdgeIndex();
 	}
 	
 	/**
@@ -47,7 +55,9 @@ public class AirportGraph implements AirportGraphInterface {
 	 */
 	@Override
 	public void addAirport(Airport airport_) { 
-		graphOfAirports.addVertex(airport_.getName());
+		if(graphOfAirports.addVertex(airport_.getName())) {
+			invalidateAdjacency();
+		}
 		if(!mapAirportToName.containsKey(airport_.getName())) {
 			mapAirportToName.put(airport_.getName(), airport_);			
 		}
@@ -80,6 +90,8 @@ public class AirportGraph implements AirportGraphInterface {
 				throw new IllegalGraphAdditionException("Cannot create addition to AirportGraph: source and destination are the same.");
 			}
 			graphOfAirports.setEdgeWeight(_testEdge, distance_);
+			sortedEdges.add(source_, destination_, distance_);
+			invalidateAdjacency();
 		} catch(IllegalArgumentException|NullPointerException _e) {
 			throw new IllegalGraphAdditionException("Cannot create addition to AirportGraph", _e);
 		}
@@ -117,7 +129,12 @@ public class AirportGraph implements AirportGraphInterface {
 	 */
 	@Override
 	public void removeEdge(String source_, String destination_) {
-		graphOfAirports.removeEdge(source_, destination_);
+		DefaultEdge _edge = graphOfAirports.getEdge(source_, destination_);
+		if(_edge != null) {
+			sortedEdges.remove(source_, destination_, graphOfAirports.getEdgeWeight(_edge));
+			graphOfAirports.removeEdge(_edge);
+			invalidateAdjacency();
+		}
 	}
 
 	/**
@@ -131,7 +148,10 @@ public class AirportGraph implements AirportGraphInterface {
 	 */
 	@Override
 	public void removeAirport(String airport_) {
-		graphOfAirports.removeVertex(airport_);
+		if(graphOfAirports.removeVertex(airport_)) {
+			sortedEdges.removeAirport(airport_);
+			invalidateAdjacency();
+		}
 		mapAirportToName.remove(airport_);
 	}
 
@@ -179,28 +199,101 @@ public class AirportGraph implements AirportGraphInterface {
 
 	
 	/**
-	 * 	Sorts edges in ascending order
+	 * 	Returns the edges in ascending order, read from the sorted
+	 * 	edge index rather than sorting the edge set on every call
 	 * 
 	 * @return
 	 * 		ArrayList<DefaultEdge> that is all edges sorted in ascending order
 	 */
 	@Override
 	public ArrayList<DefaultEdge> getSortedListOfEdges() {
-		ArrayList<DefaultEdge> _sortedEdges = new ArrayList<DefaultEdge>();
+		ArrayList<DefaultEdge> _sortedEdges = new ArrayList<DefaultEdge>(sortedEdges.size());
 
-		Comparator<DefaultEdge> _compareEdges = new Comparator<DefaultEdge>() {
-			public int compare(DefaultEdge e1, DefaultEdge e2) {
-				if(graphOfAirports.getEdgeWeight(e1) == graphOfAirports.getEdgeWeight(e2)) {
-					return 0;
-				}
-				return graphOfAirports.getEdgeWeight(e1) < graphOfAirports.getEdgeWeight(e2) ? -1 : 1;
+		for(int _rank = 0; _rank < sortedEdges.size(); _rank++) {
+			_sortedEdges.add(graphOfAirports.getEdge(sortedEdges.getSource(_rank), sortedEdges.getTarget(_rank)));
+		}
+		return _sortedEdges;
+	}
+	
+	@Override
+	public int getNumberOfEdges() {
+		return sortedEdges.size();
+	}
+	
+	@Override
+	public String getSortedEdgeSource(int rank_) {
+		return sortedEdges.getSource(rank_);
+	}
+	
+	@Override
+	public String getSortedEdgeDestination(int rank_) {
+		return sortedEdges.getTarget(rank_);
+	}
+	
+	@Override
+	public double getSortedEdgeDistance(int rank_) {
+		return sortedEdges.getWeight(rank_);
+	}
+	
+	/**
+	 * Returns a compressed sparse row snapshot of the graph, numbering
+	 * airports in vertex order. The snapshot is rebuilt only after the
+	 * graph is changed through this class.
+	 * 
+	 * @return
+	 * 		AirportAdjacency of the current graph
+	 */
+	@Override
+	public AirportAdjacency getAdjacency() {
+		if(adjacency == null) {
+			String[] _airportNames = new String[graphOfAirports.vertexSet().size()];
+			HashMap<String, Integer> _airportIds = new HashMap<String, Integer>(_airportNames.length * 2);
+			for(String _vertex : graphOfAirports.vertexSet()) {
+				_airportNames[_airportIds.size()] = _vertex;
+				_airportIds.put(_vertex, _airportIds.size());
 			}
-		};
-		
-		_sortedEdges.addAll(graphOfAirports.edgeSet());
-		_sortedEdges.sort(_compareEdges);
+			
+			int _edgeCount = graphOfAirports.edgeSet().size();
+			int[] _sources = new int[_edgeCount];
+			int[] _targets = new int[_edgeCount];
+			double[] _weights = new double[_edgeCount];
+			int _edge = 0;
+			for(DefaultEdge _e : graphOfAirports.edgeSet()) {
+				_sources[_edge] = _airportIds.get(graphOfAirports.getEdgeSource(_e));
+				_targets[_edge] = _airportIds.get(graphOfAirports.getEdgeTarget(_e));
+				_weights[_edge] = graphOfAirports.getEdgeWeight(_e);
+				_edge++;
+			}
+			adjacency = AirportAdjacency.fromEdges(_airportNames, _sources, _targets, _weights, _edgeCount);
+			adjacencyAirportIds = _airportIds;
+		}
+		return adjacency;
+	}
+	
+	/**
+	 * Finds the shortest multi-leg route between two airports
+	 * 
+	 * @param source_
+	 * 		String of the name of the first airport
+	 * @param destination_
+	 * 		String of the name of the second airport
+	 * @return
+	 * 		Route holding every airport visited and the total distance,
+	 * 		or null if either airport is missing or they are not connected
+	 */
+	@Override
+	public Route findShortestRoute(String source_, String destination_) {
+		AirportAdjacency _adjacency = getAdjacency();
+		Integer _sourceId = adjacencyAirportIds.get(source_);
+		Integer _destinationId = adjacencyAirportIds.get(destination_);
 		
-		return _sortedEdges;
+		if(_sourceId == null || _destinationId == null) {
+			return null;
+		}
+		if(routeEngine == null || routeEngine.getAdjacency() != _adjacency) {
+			routeEngine = new ShortestRouteEngine(_adjacency);
+		}
+		return routeEngine.findShortestRoute(_sourceId, _destinationId);
 	}
 	
 	/**
@@ -244,15 +337,31 @@ public class AirportGraph implements AirportGraphInterface {
 	public void clearGraph() {
 		mapAirportToName.clear();
 		graphOfAirports = new SimpleWeightedGraph<String, DefaultEdge>(DefaultEdge.class);
+		unmodifiableGraphOfAirports = new AsUnmodifiableGraph<String, DefaultEdge>(graphOfAirports);
+		sortedEdges.clear();
+		invalidateAdjacency();
 	}
 	
+	/**
+	 * Returns a read only view of the underlying jgrapht graph, so the
+	 * graph can only be changed through this class and its sorted edge
+	 * index and adjacency stay in step
+	 *
+	 * @return
+	 * 		unmodifiable Graph of the airports and edges
+	 */
 	@Override
 	public Graph<String, DefaultEdge> getGraphOfAirports() {
-		return graphOfAirports;
+		return unmodifiableGraphOfAirports;
 	}
 
 	@Override
 	public HashMap<String, Airport> getMapAirportToName() {
 		return mapAirportToName;
 	}
+	
+	private void invalidateAdjacency() {
+		adjacency = null;
+		adjacencyAirportIds = null;
+	}
 }
@@ -0,0 +1,493 @@
+/**
+ * CompactAirportGraph class
+ *		Undirected weighted airport graph that interns airport names
+ *		to dense int ids and keeps its edges in primitive arrays.
+ *		Adjacency is served from a compressed sparse row snapshot
+ *		that is rebuilt lazily after the graph changes, so large
+ *		networks avoid a boxed edge object and map entry per route.
+ *		Ids and edge slots freed by removals are kept on free lists
+ *		and given to the next airports and edges added.
+ */
+
+package org.airlinesystem.graphdb.impl;
+
+import org.airlinesystem.controllers.logging.FullLogging;
+import org.airlinesystem.exceptions.IllegalGraphAdditionException;
+import org.airlinesystem.graphdb.AirportAdjacency;
+import org.airlinesystem.graphdb.AirportGraphInterface;
+import org.airlinesystem.helpers.collections.LongIntHashMap;
+import org.airlinesystem.model.Airport;
+import org.airlinesystem.model.Route;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.AsUnmodifiableGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+public class CompactAirportGraph implements AirportGraphInterface {
+
+	private static final int NO_AIRPORT = -1;
+	private static final int REMOVED_EDGE = -1;
+
+	private HashMap<String, Airport> mapAirportToName;
+	private HashMap<String, Integer> mapNameToAirportId;
+	private String[] airportNames;
+	private int airportSlots;
+	private int[] freeAirportIds;
+	private int freeAirportCount;
+
+	private int[] edgeSources;
+	private int[] edgeTargets;
+	private double[] edgeWeights;
+	private int edgeSlots;
+	private int edgeCount;
+	private int[] freeEdgeSlots;
+	private int freeEdgeCount;
+	private LongIntHashMap edgeLookup;
+	private SortedEdgeIndex sortedEdges;
+
+	private AirportAdjacency adjacency;
+	private ShortestRouteEngine routeEngine;
+	private Graph<String, DefaultEdge> graphView;
+	private Graph<String, DefaultEdge> unmodifiableGraphView;
+	private FullLogging airportGraphLog = FullLogging.getInstance();
+
+	/**
+	 * Constructor, initializes empty graph storage
+	 */
+	public CompactAirportGraph() {
+		clearGraph();
+	}
+
+	/**
+	 * Add a new airport by assigning it the id of a removed airport, or
+	 * else the next unused id, if an airport with the same name is not
+	 * already present
+	 *
+	 * @param airport_
+	 * 		Airport object to be added to the graph and mapped with
+	 * 		its name
+	 * @return
+	 * 		N/A
+	 */
+	@Override
+	public void addAirport(Airport airport_) {
+		String _name = airport_.getName();
+		if(mapNameToAirportId.containsKey(_name)) {
+			return;
+		}
+		int _airportId;
+		if(freeAirportCount > 0) {
+			_airportId = freeAirportIds[--freeAirportCount];
+		} else {
+			if(airportSlots == airportNames.length) {
+				airportNames = Arrays.copyOf(airportNames, airportSlots * 2);
+			}
+			_airportId = airportSlots++;
+		}
+		airportNames[_airportId] = _name;
+		mapNameToAirportId.put(_name, _airportId);
+		mapAirportToName.put(_name, airport_);
+		adjacency = null;
+		if(graphView != null) {
+			graphView.addVertex(_name);
+		}
+	}
+
+	/**
+	 * Add a new edge (flight) between vertices (airports) if they are not
+	 * connected, not the same airport, and the distance is positive
+	 *
+	 * @param source_
+	 * 		String that represents name of first airport
+	 * @param destination_
+	 * 		String that represents name of second airport
+	 * @param distance_
+	 * 		double that represents distance between airports (weight)
+	 * @throws IllegalGraphAdditionException
+	 * @return
+	 * 		n/a
+	 */
+	@Override
+	public void createEdge(String source_, String destination_, double distance_) throws IllegalGraphAdditionException {
+
+		if(distance_ <= 0) {
+			throw new IllegalGraphAdditionException("Cannot create addition to AirportGraph: negative value for distance");
+		}
+		int _sourceId = getAirportId(source_);
+		int _destinationId = getAirportId(destination_);
+		if(_sourceId == NO_AIRPORT || _destinationId == NO_AIRPORT) {
+			throw new IllegalGraphAdditionException("Cannot create addition to AirportGraph: airport not in graph");
+		}
+		if(_sourceId == _destinationId) {
+			throw new IllegalGraphAdditionException("Cannot create addition to AirportGraph: source and destination are the same.");
+		}
+		long _key = edgeKey(_sourceId, _destinationId);
+		if(edgeLookup.containsKey(_key)) {
+			throw new IllegalGraphAdditionException("Cannot create addition to AirportGraph: airports already connected");
+		}
+
+		int _edge;
+		if(freeEdgeCount > 0) {
+			_edge = freeEdgeSlots[--freeEdgeCount];
+		} else {
+			if(edgeSlots == edgeSources.length) {
+				int _capacity = edgeSlots * 2;
+				edgeSources = Arrays.copyOf(edgeSources, _capacity);
+				edgeTargets = Arrays.copyOf(edgeTargets, _capacity);
+				edgeWeights = Arrays.copyOf(edgeWeights, _capacity);
+			}
+			_edge = edgeSlots++;
+		}
+		edgeSources[_edge] = _sourceId;
+		edgeTargets[_edge] = _destinationId;
+		edgeWeights[_edge] = distance_;
+		edgeLookup.put(_key, _edge);
+		sortedEdges.add(source_, destination_, distance_);
+		edgeCount++;
+		adjacency = null;
+		if(graphView != null) {
+			graphView.setEdgeWeight(graphView.addEdge(source_, destination_), distance_);
+		}
+	}
+
+	/**
+	 * Finds the distance between two airports based on their names
+	 *
+	 *  @param source_
+	 *  	String of the first airport name
+	 *  @param destination_
+	 *  	String of the second airport name
+	 *  @return
+	 *  	double of the weight (distance) between two airports \
+	 *  	if they are connected, otherwise 0
+	 */
+	@Override
+	public double getDistance(String source_, String destination_) {
+		int _edge = findEdge(source_, destination_);
+		if(_edge == LongIntHashMap.NO_VALUE) {
+			return 0;
+		}
+		return edgeWeights[_edge];
+	}
+
+	/**
+	 * Remove a connection between two airports
+	 * only if there exists a connection
+	 *
+	 * @param source_
+	 * 		String of the first airport name
+	 * @param destination_
+	 * 		String of the second airport name
+	 * @return
+	 * 		N/A
+	 */
+	@Override
+	public void removeEdge(String source_, String destination_) {
+		int _edge = findEdge(source_, destination_);
+		if(_edge == LongIntHashMap.NO_VALUE) {
+			return;
+		}
+		sortedEdges.remove(source_, destination_, edgeWeights[_edge]);
+		deleteEdge(_edge);
+		if(graphView != null) {
+			graphView.removeEdge(source_, destination_);
+		}
+	}
+
+	/**
+	 * Remove an airport from the graph and all connections
+	 * only if it exists
+	 *
+	 * @param aiport_
+	 * 		String of the name of an airport to remove
+	 * @return
+	 * 		N/A
+	 */
+	@Override
+	public void removeAirport(String airport_) {
+		int _airportId = getAirportId(airport_);
+		if(_airportId == NO_AIRPORT) {
+			return;
+		}
+		AirportAdjacency _adjacency = getAdjacency();
+		int[] _offsets = _adjacency.getOffsets();
+		int[] _edgeIds = _adjacency.getEdgeIds();
+		sortedEdges.removeAirport(airport_);
+		for(int _slot = _offsets[_airportId]; _slot < _offsets[_airportId + 1]; _slot++) {
+			deleteEdge(_edgeIds[_slot]);
+		}
+		mapNameToAirportId.remove(airport_);
+		mapAirportToName.remove(airport_);
+		airportNames[_airportId] = null;
+		freeAirportIds = push(freeAirportIds, freeAirportCount++, _airportId);
+		adjacency = null;
+		if(graphView != null) {
+			graphView.removeVertex(airport_);
+		}
+	}
+
+	/**
+	 * Find if an airport is present in the graph
+	 *
+	 * @param airport_
+	 * 		String of the name of the airport to search for
+	 * @return
+	 * 		true if airport found, false otherwise
+	 */
+	@Override
+	public boolean isAirportInGraph(String airport_) {
+		return mapNameToAirportId.containsKey(airport_);
+	}
+
+	/**
+	 * Find if two airports are directly connected
+	 *
+	 * @param source_
+	 * 		String of the name of the first airport
+	 * @param destination_
+	 * 		String of the name of the second airport
+	 * @return
+	 * 		true, if airports are connected, false otherwise
+	 */
+	@Override
+	public boolean areAirportsConnected(String source_, String destination_) {
+		return findEdge(source_, destination_) != LongIntHashMap.NO_VALUE;
+	}
+
+	/**
+	 * Returns airport object from hash map based on name
+	 *
+	 * @param airportName_
+	 * 		name of the airport wanted
+	 * @return
+	 * 		Airport object that corresponds to the name given
+	 * 		or null if it does not exist
+	 */
+	@Override
+	public Airport getAirport(String airportName_) {
+		return mapAirportToName.get(airportName_);
+	}
+
+	/**
+	 * 	Returns the edges of the graph view in ascending order, read from
+	 * 	the sorted edge index rather than sorting the edge set on every call
+	 *
+	 * @return
+	 * 		ArrayList<DefaultEdge> that is all edges sorted in ascending order
+	 */
+	@Override
+	public ArrayList<DefaultEdge> getSortedListOfEdges() {
+		Graph<String, DefaultEdge> _view = getGraphOfAirports();
+		int _size = sortedEdges.size();
+		ArrayList<DefaultEdge> _sortedEdges = new ArrayList<DefaultEdge>(_size);
+
+		for(int _rank = 0; _rank < _size; _rank++) {
+			_sortedEdges.add(_view.getEdge(sortedEdges.getSource(_rank), sortedEdges.getTarget(_rank)));
+		}
+		return _sortedEdges;
+	}
+
+	@Override
+	public String getSortedEdgeSource(int rank_) {
+		return sortedEdges.getSource(rank_);
+	}
+
+	@Override
+	public String getSortedEdgeDestination(int rank_) {
+		return sortedEdges.getTarget(rank_);
+	}
+
+	@Override
+	public double getSortedEdgeDistance(int rank_) {
+		return sortedEdges.getWeight(rank_);
+	}
+
+	/**
+	 * Prints the current graph of the airports by iterating
+	 * through each airport id and its adjacency row
+	 *
+	 * @return
+	 * 		N/A
+	 */
+	@Override
+	public void printGraph() {
+		AirportAdjacency _adjacency = getAdjacency();
+		int[] _offsets = _adjacency.getOffsets();
+		int[] _targets = _adjacency.getTargets();
+		double[] _weights = _adjacency.getWeights();
+
+		for(int _airport = 0; _airport < _adjacency.getAirportCount(); _airport++) {
+			if(_adjacency.getAirportName(_airport) == null) {
+				continue;
+			}
+			airportGraphLog.menuInfo("\nVertex: " + _adjacency.getAirportName(_airport) + "\n");
+			for(int _slot = _offsets[_airport]; _slot < _offsets[_airport + 1]; _slot++) {
+				airportGraphLog.menuInfo("-> " + _adjacency.getAirportName(_targets[_slot]) + "("
+						+ _weights[_slot] + ")\n");
+			}
+		}
+	}
+
+	/**
+	 * Completely empties the graph and any airport mappings
+	 *
+	 * @return
+	 * 		N/A
+	 */
+	@Override
+	public void clearGraph() {
+		mapAirportToName = new HashMap<String, Airport>();
+		mapNameToAirportId = new HashMap<String, Integer>();
+		airportNames = new String[16];
+		airportSlots = 0;
+		freeAirportIds = new int[16];
+		freeAirportCount = 0;
+		edgeSources = new int[16];
+		edgeTargets = new int[16];
+		edgeWeights = new double[16];
+		edgeSlots = 0;
+		edgeCount = 0;
+		freeEdgeSlots = new int[16];
+		freeEdgeCount = 0;
+		edgeLookup = new LongIntHashMap();
+		sortedEdges = new SortedEdgeIndex();
+		adjacency = null;
+		routeEngine = null;
+		graphView = null;
+		unmodifiableGraphView = null;
+	}
+
+	/**
+	 * Returns a jgrapht view of this graph for callers that still work on
+	 * DefaultEdge objects. The view is only built the first time it is
+	 * requested and is kept in step with every change made afterwards.
+	 * The view is read only, since changes made to it would not reach
+	 * this graph.
+	 *
+	 * @return
+	 * 		unmodifiable Graph mirroring the airports and edges of this graph
+	 */
+	@Override
+	public Graph<String, DefaultEdge> getGraphOfAirports() {
+		if(graphView == null) {
+			graphView = new SimpleWeightedGraph<String, DefaultEdge>(DefaultEdge.class);
+			for(int _airport = 0; _airport < airportSlots; _airport++) {
+				if(airportNames[_airport] != null) {
+					graphView.addVertex(airportNames[_airport]);
+				}
+			}
+			for(int _edge = 0; _edge < edgeSlots; _edge++) {
+				if(edgeSources[_edge] != REMOVED_EDGE) {
+					graphView.setEdgeWeight(graphView.addEdge(airportNames[edgeSources[_edge]],
+							airportNames[edgeTargets[_edge]]), edgeWeights[_edge]);
+				}
+			}
+			unmodifiableGraphView = new AsUnmodifiableGraph<String, DefaultEdge>(graphView);
+		}
+		return unmodifiableGraphView;
+	}
+
+	@Override
+	public HashMap<String, Airport> getMapAirportToName() {
+		return mapAirportToName;
+	}
+
+	/**
+	 * Returns the compressed sparse row snapshot of the graph,
+	 * rebuilding it only if the graph changed since the last call
+	 *
+	 * @return
+	 * 		AirportAdjacency of the current graph
+	 */
+	@Override
+	public AirportAdjacency getAdjacency() {
+		if(adjacency == null) {
+			adjacency = AirportAdjacency.fromEdges(Arrays.copyOf(airportNames, airportSlots),
+					edgeSources, edgeTargets, edgeWeights, edgeSlots);
+		}
+		return adjacency;
+	}
+
+	/**
+	 * Finds the shortest multi-leg route between two airports
+	 *
+	 * @param source_
+	 * 		String of the name of the first airport
+	 * @param destination_
+	 * 		String of the name of the second airport
+	 * @return
+	 * 		Route holding every airport visited and the total distance,
+	 * 		or null if either airport is missing or they are not connected
+	 */
+	@Override
+	public Route findShortestRoute(String source_, String destination_) {
+		int _sourceId = getAirportId(source_);
+		int _destinationId = getAirportId(destination_);
+		if(_sourceId == NO_AIRPORT || _destinationId == NO_AIRPORT) {
+			return null;
+		}
+		AirportAdjacency _adjacency = getAdjacency();
+		if(routeEngine == null || routeEngine.getAdjacency() != _adjacency) {
+			routeEngine = new ShortestRouteEngine(_adjacency);
+		}
+		return routeEngine.findShortestRoute(_sourceId, _destinationId);
+	}
+
+	/**
+	 * Finds the dense id assigned to an airport
+	 *
+	 * @param airportName_
+	 * 		String of the airport name
+	 * @return
+	 * 		int id of the airport, or -1 if it is not in the graph
+	 */
+	public int getAirportId(String airportName_) {
+		Integer _id = mapNameToAirportId.get(airportName_);
+		return _id == null ? NO_AIRPORT : _id;
+	}
+
+	public int getNumberOfAirports() {
+		return mapNameToAirportId.size();
+	}
+
+	@Override
+	public int getNumberOfEdges() {
+		return edgeCount;
+	}
+
+	private int findEdge(String source_, String destination_) {
+		int _sourceId = getAirportId(source_);
+		int _destinationId = getAirportId(destination_);
+		if(_sourceId == NO_AIRPORT || _destinationId == NO_AIRPORT) {
+			return LongIntHashMap.NO_VALUE;
+		}
+		return edgeLookup.get(edgeKey(_sourceId, _destinationId));
+	}
+
+	private void deleteEdge(int edge_) {
+		if(edgeSources[edge_] == REMOVED_EDGE) {
+			return;
+		}
+		edgeLookup.remove(edgeKey(edgeSources[edge_], edgeTargets[edge_]));
+		edgeSources[edge_] = REMOVED_EDGE;
+		freeEdgeSlots = push(freeEdgeSlots, freeEdgeCount++, edge_);
+		edgeCount--;
+		adjacency = null;
+	}
+
+	private static int[] push(int[] stack_, int size_, int value_) {
+		if(size_ == stack_.length) {
+			stack_ = Arrays.copyOf(stack_, size_ * 2);
+		}
+		stack_[size_] = value_;
+		return stack_;
+	}
+
+	private static long edgeKey(int first_, int second_) {
+		return first_ < second_ ? LongIntHashMap.pack(first_, second_) : LongIntHashMap.pack(second_, first_);
+	}
+}
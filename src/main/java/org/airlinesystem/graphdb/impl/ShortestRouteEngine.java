@@ -0,0 +1,251 @@
+/**
+ * ShortestRouteEngine class
+ *		Answers shortest route queries over an AirportAdjacency
+ *		snapshot using Dijkstra's algorithm on primitive arrays. The
+ *		indexed heap is allocated once per engine and the shortest
+ *		path trees of recently queried sources are kept in a small
+ *		LRU cache whose evicted trees are recycled, so steady state
+ *		queries only allocate the returned Route.
+ */
+
+package org.airlinesystem.graphdb.impl;
+
+import java.util.Arrays;
+
+import org.airlinesystem.graphdb.AirportAdjacency;
+import org.airlinesystem.model.Route;
+
+public class ShortestRouteEngine {
+
+	public static final int DEFAULT_CACHED_SOURCES = 16;
+
+	private static final int NOT_IN_HEAP = -1;
+	private static final int NO_SOURCE = -1;
+
+	private final AirportAdjacency adjacency;
+
+	// Indexed binary min-heap of airport ids keyed by tentative distance
+	private final int[] heap;
+	private final int[] heapPosition;
+	private int heapSize;
+
+	// LRU cache of full shortest path trees, one slot per cached source
+	private final int[] cachedSource;
+	private final long[] lastUsed;
+	private final double[][] cachedDistances;
+	private final int[][] cachedPredecessors;
+	private long useCounter;
+
+	/**
+	 * Constructor using the default cache size
+	 *
+	 * @param adjacency_
+	 * 		AirportAdjacency snapshot to search
+	 */
+	public ShortestRouteEngine(AirportAdjacency adjacency_) {
+		this(adjacency_, DEFAULT_CACHED_SOURCES);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param adjacency_
+	 * 		AirportAdjacency snapshot to search
+	 * @param cachedSources_
+	 * 		int of how many source trees to keep, at least 1
+	 */
+	public ShortestRouteEngine(AirportAdjacency adjacency_, int cachedSources_) {
+		int _airportCount = adjacency_.getAirportCount();
+		int _cacheSize = Math.max(1, cachedSources_);
+
+		adjacency = adjacency_;
+		heap = new int[_airportCount];
+		heapPosition = new int[_airportCount];
+		cachedSource = new int[_cacheSize];
+		lastUsed = new long[_cacheSize];
+		cachedDistances = new double[_cacheSize][];
+		cachedPredecessors = new int[_cacheSize][];
+		Arrays.fill(cachedSource, NO_SOURCE);
+	}
+
+	public AirportAdjacency getAdjacency() {
+		return adjacency;
+	}
+
+	/**
+	 * Finds the shortest route between two airports by id
+	 *
+	 * @param sourceId_
+	 * 		int id of the first airport
+	 * @param destinationId_
+	 * 		int id of the second airport
+	 * @return
+	 * 		Route with every hop and the total distance, or null if
+	 * 		the airports are not connected by any route
+	 */
+	public synchronized Route findShortestRoute(int sourceId_, int destinationId_) {
+		int _slot = findCachedTree(sourceId_);
+		boolean _reversed = false;
+
+		// The graph is undirected so a cached tree rooted at the destination works too
+		if(_slot < 0) {
+			_slot = findCachedTree(destinationId_);
+			_reversed = _slot >= 0;
+		}
+		if(_slot < 0) {
+			_slot = claimCacheSlot(sourceId_);
+			computeSourceTree(sourceId_, cachedDistances[_slot], cachedPredecessors[_slot]);
+		}
+		lastUsed[_slot] = ++useCounter;
+
+		int _root = _reversed ? destinationId_ : sourceId_;
+		int _leaf = _reversed ? sourceId_ : destinationId_;
+		return buildRoute(cachedDistances[_slot], cachedPredecessors[_slot], _root, _leaf, _reversed);
+	}
+
+	/**
+	 * Runs a full Dijkstra search from a source airport, filling in the
+	 * distance to and predecessor of every airport
+	 *
+	 * @param sourceId_
+	 * 		int id of the airport to search from
+	 * @param distances_
+	 * 		double array sized to the airport count, filled with distances
+	 * 		or positive infinity where unreachable
+	 * @param predecessors_
+	 * 		int array sized to the airport count, filled with the previous
+	 * 		airport on the shortest route or -1
+	 * @return
+	 * 		N/A
+	 */
+	public synchronized void computeSourceTree(int sourceId_, double[] distances_, int[] predecessors_) {
+		int[] _offsets = adjacency.getOffsets();
+		int[] _targets = adjacency.getTargets();
+		double[] _weights = adjacency.getWeights();
+
+		Arrays.fill(distances_, Double.POSITIVE_INFINITY);
+		Arrays.fill(predecessors_, NO_SOURCE);
+		Arrays.fill(heapPosition, NOT_IN_HEAP);
+		heapSize = 0;
+
+		distances_[sourceId_] = 0;
+		heapPush(sourceId_, distances_);
+
+		while(heapSize > 0) {
+			int _airport = heapPop(distances_);
+			double _airportDistance = distances_[_airport];
+			for(int _slot = _offsets[_airport]; _slot < _offsets[_airport + 1]; _slot++) {
+				int _neighbour = _targets[_slot];
+				double _candidate = _airportDistance + _weights[_slot];
+				if(_candidate < distances_[_neighbour]) {
+					distances_[_neighbour] = _candidate;
+					predecessors_[_neighbour] = _airport;
+					if(heapPosition[_neighbour] == NOT_IN_HEAP) {
+						heapPush(_neighbour, distances_);
+					} else {
+						siftUp(heapPosition[_neighbour], distances_);
+					}
+				}
+			}
+		}
+	}
+
+	private Route buildRoute(double[] distances_, int[] predecessors_, int root_, int leaf_, boolean reversed_) {
+		if(distances_[leaf_] == Double.POSITIVE_INFINITY) {
+			return null;
+		}
+		int _hopCount = 1;
+		for(int _airport = leaf_; _airport != root_; _airport = predecessors_[_airport]) {
+			_hopCount++;
+		}
+
+		String[] _hops = new String[_hopCount];
+		int _index = reversed_ ? 0 : _hopCount - 1;
+		int _step = reversed_ ? 1 : -1;
+		for(int _airport = leaf_; ; _airport = predecessors_[_airport]) {
+			_hops[_index] = adjacency.getAirportName(_airport);
+			_index += _step;
+			if(_airport == root_) {
+				break;
+			}
+		}
+		return new Route(_hops, distances_[leaf_]);
+	}
+
+	private int findCachedTree(int sourceId_) {
+		for(int _slot = 0; _slot < cachedSource.length; _slot++) {
+			if(cachedSource[_slot] == sourceId_) {
+				return _slot;
+			}
+		}
+		return -1;
+	}
+
+	private int claimCacheSlot(int sourceId_) {
+		int _victim = 0;
+		for(int _slot = 1; _slot < cachedSource.length; _slot++) {
+			if(lastUsed[_slot] < lastUsed[_victim]) {
+				_victim = _slot;
+			}
+		}
+		if(cachedDistances[_victim] == null) {
+			cachedDistances[_victim] = new double[adjacency.getAirportCount()];
+			cachedPredecessors[_victim] = new int[adjacency.getAirportCount()];
+		}
+		cachedSource[_victim] = sourceId_;
+		return _victim;
+	}
+
+	private void heapPush(int airport_, double[] keys_) {
+		heap[heapSize] = airport_;
+		heapPosition[airport_] = heapSize;
+		siftUp(heapSize++, keys_);
+	}
+
+	private int heapPop(double[] keys_) {
+		int _top = heap[0];
+		heapPosition[_top] = NOT_IN_HEAP;
+		if(--heapSize > 0) {
+			heap[0] = heap[heapSize];
+			heapPosition[heap[0]] = 0;
+			siftDown(0, keys_);
+		}
+		return _top;
+	}
+
+	private void siftUp(int index_, double[] keys_) {
+		int _airport = heap[index_];
+		double _key = keys_[_airport];
+		while(index_ > 0) {
+			int _parent = (index_ - 1) >>> 1;
+			if(keys_[heap[_parent]] <= _key) {
+				break;
+			}
+			heap[index_] = heap[_parent];
+			heapPosition[heap[index_]] = index_;
+			index_ = _parent;
+		}
+		heap[index_] = _airport;
+		heapPosition[_airport] = index_;
+	}
+
+	private void siftDown(int index_, double[] keys_) {
+		int _airport = heap[index_];
+		double _key = keys_[_airport];
+		int _half = heapSize >>> 1;
+		while(index_ < _half) {
+			int _child = 2 * index_ + 1;
+			if(_child + 1 < heapSize && keys_[heap[_child + 1]] < keys_[heap[_child]]) {
+				_child++;
+			}
+			if(_key <= keys_[heap[_child]]) {
+				break;
+			}
+			heap[index_] = heap[_child];
+			heapPosition[heap[index_]] = index_;
+			index_ = _child;
+		}
+		heap[index_] = _airport;
+		heapPosition[_airport] = index_;
+	}
+}
@@ -0,0 +1,287 @@
+/**
+ * SortedEdgeIndex class
+ *		Keeps the edges of an airport graph ordered by ascending weight
+ *		as the graph changes, so callers never sort the edge set. New
+ *		edges are appended to a pending run that is sorted and merged in
+ *		on the next read, which keeps bulk loading O(E log E) overall.
+ *		Equal weights keep insertion order. The sorted edges are
+ *		published as an immutable snapshot through a volatile field,
+ *		so any number of threads can read ranks without locking while
+ *		changes are made under the index's monitor.
+ */
+
+package org.airlinesystem.graphdb.impl;
+
+import java.util.Arrays;
+
+public class SortedEdgeIndex {
+
+	/**
+	 * Sorted edges at one moment, never changed once published
+	 */
+	private static final class Snapshot {
+
+		private static final Snapshot EMPTY = new Snapshot(new String[0], new String[0], new double[0]);
+
+		private final String[] sources;
+		private final String[] targets;
+		private final double[] weights;
+
+		private Snapshot(String[] sources_, String[] targets_, double[] weights_) {
+			sources = sources_;
+			targets = targets_;
+			weights = weights_;
+		}
+	}
+
+	// Sorted edges before the pending run, guarded by this
+	private Snapshot sorted = Snapshot.EMPTY;
+	// The same snapshot while nothing is pending, otherwise null so readers merge first
+	private volatile Snapshot published = Snapshot.EMPTY;
+
+	private String[] pendingSources = new String[16];
+	private String[] pendingTargets = new String[16];
+	private double[] pendingWeights = new double[16];
+	private int pendingSize;
+
+	/**
+	 * Adds an edge to the index
+	 *
+	 * @param source_
+	 * 		String of the first airport name
+	 * @param target_
+	 * 		String of the second airport name
+	 * @param weight_
+	 * 		double of the distance between the airports
+	 * @return
+	 * 		N/A
+	 */
+	public synchronized void add(String source_, String target_, double weight_) {
+		if(pendingSize == pendingWeights.length) {
+			int _capacity = pendingSize * 2;
+			pendingSources = Arrays.copyOf(pendingSources, _capacity);
+			pendingTargets = Arrays.copyOf(pendingTargets, _capacity);
+			pendingWeights = Arrays.copyOf(pendingWeights, _capacity);
+		}
+		pendingSources[pendingSize] = source_;
+		pendingTargets[pendingSize] = target_;
+		pendingWeights[pendingSize] = weight_;
+		pendingSize++;
+		published = null;
+	}
+
+	/**
+	 * Removes the edge between two airports, in either direction
+	 *
+	 * @param source_
+	 * 		String of the first airport name
+	 * @param target_
+	 * 		String of the second airport name
+	 * @param weight_
+	 * 		double of the edge's distance, used to find it by binary search
+	 * @return
+	 * 		N/A
+	 */
+	public synchronized void remove(String source_, String target_, double weight_) {
+		Snapshot _current = mergePending();
+		double[] _weights = _current.weights;
+		for(int _rank = lowerBound(_weights, weight_); _rank < _weights.length && _weights[_rank] == weight_; _rank++) {
+			if((_current.sources[_rank].equals(source_) && _current.targets[_rank].equals(target_))
+					|| (_current.sources[_rank].equals(target_) && _current.targets[_rank].equals(source_))) {
+				publish(new Snapshot(removeRank(_current.sources, _rank), removeRank(_current.targets, _rank),
+						removeRank(_weights, _rank)));
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes every edge touching an airport in a single compacting pass
+	 *
+	 * @param airport_
+	 * 		String of the airport name
+	 * @return
+	 * 		N/A
+	 */
+	public synchronized void removeAirport(String airport_) {
+		Snapshot _current = mergePending();
+		int _size = _current.weights.length;
+		String[] _sources = new String[_size];
+		String[] _targets = new String[_size];
+		double[] _weights = new double[_size];
+		int _kept = 0;
+		for(int _rank = 0; _rank < _size; _rank++) {
+			if(_current.sources[_rank].equals(airport_) || _current.targets[_rank].equals(airport_)) {
+				continue;
+			}
+			_sources[_kept] = _current.sources[_rank];
+			_targets[_kept] = _current.targets[_rank];
+			_weights[_kept] = _current.weights[_rank];
+			_kept++;
+		}
+		if(_kept < _size) {
+			publish(new Snapshot(Arrays.copyOf(_sources, _kept), Arrays.copyOf(_targets, _kept),
+					Arrays.copyOf(_weights, _kept)));
+		}
+	}
+
+	public synchronized void clear() {
+		Arrays.fill(pendingSources, 0, pendingSize, null);
+		Arrays.fill(pendingTargets, 0, pendingSize, null);
+		pendingSize = 0;
+		publish(Snapshot.EMPTY);
+	}
+
+	public int size() {
+		return read().weights.length;
+	}
+
+	/**
+	 * @param rank_
+	 * 		int position in ascending weight order
+	 * @return
+	 * 		String of the first airport of the edge at that position
+	 */
+	public String getSource(int rank_) {
+		return read().sources[rank_];
+	}
+
+	/**
+	 * @param rank_
+	 * 		int position in ascending weight order
+	 * @return
+	 * 		String of the second airport of the edge at that position
+	 */
+	public String getTarget(int rank_) {
+		return read().targets[rank_];
+	}
+
+	/**
+	 * @param rank_
+	 * 		int position in ascending weight order
+	 * @return
+	 * 		double weight of the edge at that position
+	 */
+	public double getWeight(int rank_) {
+		return read().weights[rank_];
+	}
+
+	/**
+	 * Finds the published snapshot without locking, merging the pending
+	 * run in first only if edges were added since the last read
+	 */
+	private Snapshot read() {
+		Snapshot _snapshot = published;
+		return _snapshot != null ? _snapshot : mergePending();
+	}
+
+	/**
+	 * Sorts the pending run and merges it into the sorted edges. Only
+	 * does work after edges were added, so repeated reads are free.
+	 *
+	 * @return
+	 * 		N/A
+	 */
+	public void ensureSorted() {
+		read();
+	}
+
+	/**
+	 * Merges the pending run into a new snapshot and publishes it
+	 */
+	private synchronized Snapshot mergePending() {
+		if(pendingSize == 0) {
+			return sorted;
+		}
+		int[] _order = new int[pendingSize];
+		for(int _i = 0; _i < pendingSize; _i++) {
+			_order[_i] = _i;
+		}
+		mergeSort(_order, new int[pendingSize], 0, pendingSize, pendingWeights);
+
+		Snapshot _current = sorted;
+		int _size = _current.weights.length;
+		int _total = _size + pendingSize;
+		String[] _sources = new String[_total];
+		String[] _targets = new String[_total];
+		double[] _weights = new double[_total];
+		int _main = 0;
+		int _pending = 0;
+		for(int _out = 0; _out < _total; _out++) {
+			if(_pending == pendingSize || (_main < _size && _current.weights[_main] <= pendingWeights[_order[_pending]])) {
+				_sources[_out] = _current.sources[_main];
+				_targets[_out] = _current.targets[_main];
+				_weights[_out] = _current.weights[_main];
+				_main++;
+			} else {
+				int _p = _order[_pending++];
+				_sources[_out] = pendingSources[_p];
+				_targets[_out] = pendingTargets[_p];
+				_weights[_out] = pendingWeights[_p];
+			}
+		}
+		Arrays.fill(pendingSources, 0, pendingSize, null);
+		Arrays.fill(pendingTargets, 0, pendingSize, null);
+		pendingSize = 0;
+		return publish(new Snapshot(_sources, _targets, _weights));
+	}
+
+	private Snapshot publish(Snapshot snapshot_) {
+		sorted = snapshot_;
+		published = snapshot_;
+		return snapshot_;
+	}
+
+	private static String[] removeRank(String[] values_, int rank_) {
+		String[] _values = new String[values_.length - 1];
+		System.arraycopy(values_, 0, _values, 0, rank_);
+		System.arraycopy(values_, rank_ + 1, _values, rank_, _values.length - rank_);
+		return _values;
+	}
+
+	private static double[] removeRank(double[] values_, int rank_) {
+		double[] _values = new double[values_.length - 1];
+		System.arraycopy(values_, 0, _values, 0, rank_);
+		System.arraycopy(values_, rank_ + 1, _values, rank_, _values.length - rank_);
+		return _values;
+	}
+
+	private static int lowerBound(double[] weights_, double weight_) {
+		int _low = 0;
+		int _high = weights_.length;
+		while(_low < _high) {
+			int _middle = (_low + _high) >>> 1;
+			if(weights_[_middle] < weight_) {
+				_low = _middle + 1;
+			} else {
+				_high = _middle;
+			}
+		}
+		return _low;
+	}
+
+	/**
+	 * Stable merge sort of a permutation by the weights it points at
+	 */
+	private static void mergeSort(int[] order_, int[] scratch_, int from_, int to_, double[] keys_) {
+		if(to_ - from_ < 2) {
+			return;
+		}
+		int _middle = (from_ + to_) >>> 1;
+		mergeSort(order_, scratch_, from_, _middle, keys_);
+		mergeSort(order_, scratch_, _middle, to_, keys_);
+		if(keys_[order_[_middle - 1]] <= keys_[order_[_middle]]) {
+			return;
+		}
+		System.arraycopy(order_, from_, scratch_, from_, to_ - from_);
+		int _left = from_;
+		int _right = _middle;
+		for(int _out = from_; _out < to_; _out++) {
+			if(_right == to_ || (_left < _middle && keys_[scratch_[_left]] <= keys_[scratch_[_right]])) {
+				order_[_out] = scratch_[_left++];
+			} else {
+				order_[_out] = scratch_[_right++];
+			}
+		}
+	}
+}
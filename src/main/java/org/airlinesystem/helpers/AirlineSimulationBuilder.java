@@ -8,13 +8,25 @@ package org.airlinesystem.helpers;
 import org.airlinesystem.controllers.FlightRCPController;
 import org.airlinesystem.controllers.RuntimePropertyController;
 import org.airlinesystem.controllers.logging.FullLogging;
+import org.airlinesystem.graphdb.AirportGraphInterface;
+import org.airlinesystem.graphdb.AirportGraphInterface.AirportGraphType;
+import org.airlinesystem.graphdb.impl.AirportDistanceMatrix;
 import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.graphdb.impl.CompactAirportGraph;
 import org.airlinesystem.model.AirlineSimulation;
 import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.SimulationConfig.SimulationMode;
+import org.airlinesystem.model.aggregation.FlightAggregator;
+import org.airlinesystem.model.aggregation.MonteCarloResults;
+import org.airlinesystem.model.aggregation.MonteCarloResults.Estimator;
+import org.airlinesystem.model.aggregation.ScenarioResult;
+import org.airlinesystem.model.aggregation.ReplicationSummary;
+import org.airlinesystem.model.aggregation.SimulationAggregates;
 import org.airlinesystem.exceptions.AirlineSystemException;
 
 import java.math.BigDecimal;
-import java.text.NumberFormat;
+import java.util.List;
 import java.util.Properties;
 import java.io.File;
 
@@ -22,6 +34,45 @@ public class AirlineSimulationBuilder {
 
 	private FullLogging simulationBuilderLog = FullLogging.getInstance();
 	
+	/**
+	 * Creates an empty graph of the given implementation
+	 * 
+	 * @param graphType_
+	 * 		AirportGraphType of the graph to create
+	 * @return
+	 * 		new empty AirportGraphInterface of the requested type
+	 */
+	public AirportGraphInterface createAirportGraph(AirportGraphType graphType_) {
+		switch(graphType_) {
+			case COMPACT:
+				return new CompactAirportGraph();
+			case JGRAPHT:
+			default:
+				return new AirportGraph();
+		}
+	}
+	
+	/**
+	 * Swaps the simulation's graph for an empty one of the configured type
+	 * if the graph currently held is of a different implementation
+	 * 
+	 * @param config_
+	 * 		SimulationConfig holding the AirportGraphType to use
+	 * @param simulation_
+	 * 		AirlineSimulation whose graph is checked
+	 * @return
+	 * 		N/A
+	 */
+	public void selectAirportGraph(SimulationConfig config_, AirlineSimulation simulation_) {
+		setGraphIfDifferent(createAirportGraph(config_.getAirportGraphType()), simulation_);
+	}
+	
+	private void setGraphIfDifferent(AirportGraphInterface configuredGraph_, AirlineSimulation simulation_) {
+		if(!configuredGraph_.getClass().equals(simulation_.getGraphOfAirports().getClass())) {
+			simulation_.setGraphOfAirports(configuredGraph_);
+		}
+	}
+	
 	/**
 	 * Attempts to process a graph file given a name and graph to process it into
 	 * by call on the class for reading graphs
@@ -33,7 +84,7 @@ public class AirlineSimulationBuilder {
 	 * @return
 	 * 		N/A
 	 */
-	public void processGraph(AirportGraph graphOfAirports_, File graphFile_) throws AirlineSystemException {
+	public void processGraph(AirportGraphInterface graphOfAirports_, File graphFile_) throws AirlineSystemException {
 		ReadGraphFromPSV _graphInput = new ReadGraphFromPSV();
 		try {
 			_graphInput.readFileInputIntoGraph(graphOfAirports_, graphFile_);
@@ -44,6 +95,22 @@ public class AirlineSimulationBuilder {
 		}
 	}
 	
+	/**
+	 * Precomputes the all-pairs shortest distance matrix of the simulation's
+	 * graph so later {@link AirlineSimulation#findDistance} lookups between
+	 * any two airports are O(1) until the graph changes
+	 * 
+	 * @param simulation_
+	 * 		AirlineSimulation whose graph is used and which stores the matrix
+	 * @return
+	 * 		the AirportDistanceMatrix that was built
+	 */
+	public AirportDistanceMatrix precomputeDistanceMatrix(AirlineSimulation simulation_) {
+		AirportDistanceMatrix _matrix = AirportDistanceMatrix.build(simulation_.getGraphOfAirports().getAdjacency());
+		simulation_.setDistanceMatrix(_matrix);
+		return _matrix;
+	}
+	
 	/**
 	 * Generates data to fill a flightList with the number of flights taken from properties
 	 * 
@@ -56,7 +123,7 @@ public class AirlineSimulationBuilder {
 	 * @return
 	 * 		N/A
 	 */
-	public void generateData(Properties modelProperties_, AirportGraph graphOfAirports_,
+	public void generateData(Properties modelProperties_, AirportGraphInterface graphOfAirports_,
 			FlightList listOfFlights_) throws AirlineSystemException{
 
 		ReadModelDataIntoState _flightInput = new ReadModelDataIntoState();
@@ -72,6 +139,59 @@ public class AirlineSimulationBuilder {
 		}
 	}
 	
+	/**
+	 * Generates data to fill a flightList with the number of flights taken from the config
+	 * 
+	 * @param config_
+	 * 		SimulationConfig used as guidelines for the amount and variety of data to generate
+	 * @param graphOfAirports_
+	 * 		AirportGraph used to select connected airports for flights
+	 * @param listOfFlights_
+	 * 		FlightList that will be filled with generated flights 
+	 * @return
+	 * 		N/A
+	 */
+	public void generateData(SimulationConfig config_, AirportGraphInterface graphOfAirports_,
+			FlightList listOfFlights_) throws AirlineSystemException{
+
+		GenerateModelData _dataCreator = new GenerateModelData();
+
+		try {
+			_dataCreator.generateCurrentStateModel(config_, graphOfAirports_, listOfFlights_);
+			simulationBuilderLog.debugDebug("Generated data");
+		}
+		catch (Exception e_) {
+			throw new AirlineSystemException("Error, cannot generate data.\n", e_);
+		}
+	}
+	
+	/**
+	 * Generates the number of flights taken from the config straight into an
+	 * aggregator, without keeping any of them
+	 * 
+	 * @param config_
+	 * 		SimulationConfig used as guidelines for the amount and variety of data to generate
+	 * @param graphOfAirports_
+	 * 		AirportGraph used to select connected airports for flights
+	 * @param aggregator_
+	 * 		FlightAggregator that every generated flight is added to
+	 * @return
+	 * 		N/A
+	 */
+	public void generateData(SimulationConfig config_, AirportGraphInterface graphOfAirports_,
+			FlightAggregator aggregator_) throws AirlineSystemException{
+
+		GenerateModelData _dataCreator = new GenerateModelData();
+
+		try {
+			_dataCreator.generateCurrentStateModel(config_, graphOfAirports_, aggregator_);
+			simulationBuilderLog.debugDebug("Generated data into aggregates");
+		}
+		catch (Exception e_) {
+			throw new AirlineSystemException("Error, cannot generate data.\n", e_);
+		}
+	}
+	
 	/**
 	 * Attempts to find the total revenue, cost, and profit of an entire flight list
 	 * 
@@ -97,6 +217,47 @@ public class AirlineSimulationBuilder {
 	
 	}
 	
+	/**
+	 * Attempts to find the total revenue, cost, and profit of an entire flight list
+	 * 
+	 * @param listOfFlights_
+	 * 		FlightList containing all the flights to be included in calculations
+	 * @param config_
+	 * 		SimulationConfig holding the parsed properties, including the threads
+	 * 		to total on and whether each flight's profit is logged
+	 * @return
+	 * 		BigDecimal array holding calculated total revenue, cost and profit of flights
+	 */
+	public BigDecimal[] findTotalRCP(FlightList listOfFlights_, SimulationConfig config_) throws AirlineSystemException {
+
+		FlightRCPController _flightProfitManager = new FlightRCPController(config_);
+		
+		try {		
+			return _flightProfitManager.findTotalRCPOfFlightList(listOfFlights_, 
+					config_.getGenerationParallelism(), config_.isLogFlightResults());
+		}
+		catch (Exception e_) {
+			throw new AirlineSystemException("Error calculating total RCP", e_);
+		}
+	}
+	
+	/**
+	 * Logs the profit of every flight when the config asks for it. The
+	 * totals themselves are kept by the FlightList as flights are added.
+	 * 
+	 * @param listOfFlights_
+	 * 		FlightList containing the flights to log
+	 * @param config_
+	 * 		SimulationConfig holding whether each flight's profit is logged
+	 * @return
+	 * 		N/A
+	 */
+	public void logFlightResults(FlightList listOfFlights_, SimulationConfig config_) {
+		if(config_.isLogFlightResults()) {
+			new FlightRCPController(config_).logFlightResults(listOfFlights_);
+		}
+	}
+	
 	/**
 	 * Attempts to simulate by processing graph and properties then generating data
 	 * and finding results from that data
@@ -115,13 +276,29 @@ public class AirlineSimulationBuilder {
 
 		RuntimePropertyController _propertyController = new RuntimePropertyController();
 		Properties _modelProperties = _propertyController.loadRuntimeProperties(propertiesFile_);
+		SimulationConfig _config;
+		try {
+			_config = _propertyController.createSimulationConfig(_modelProperties);
+		}
+		catch (AirlineSystemException e_) {
+			simulationBuilderLog.menuError(e_.getMessage());
+			simulationBuilderLog.debugError(e_.getMessage());
+			return;
+		}
 		simulation_.setSimulationProperties(_modelProperties);
+		simulation_.setSimulationConfig(_config);
+		selectAirportGraph(_config, simulation_);
 
 		simulationBuilderLog.menuInfo("Calculating flight results...\n");
 		simulationBuilderLog.debugDebug("runSimulation");
 				
 		try {
 			processGraph(simulation_.getGraphOfAirports(), graphFile_);
+			if(_config.isPrecomputeDistanceMatrix()) {
+				precomputeDistanceMatrix(simulation_);
+			} else {
+				simulation_.setDistanceMatrix(null);
+			}
 		}
 		catch (Exception e_) {
 			simulationBuilderLog.menuError(e_.getMessage());
@@ -131,17 +308,21 @@ public class AirlineSimulationBuilder {
 		}
 
 		try {
-			generateData(_modelProperties, simulation_.getGraphOfAirports(), 
-					simulation_.getListOfFlights());
-			BigDecimal[] arrayOfRCP;
-			arrayOfRCP = findTotalRCP(simulation_.getListOfFlights(), _modelProperties);
-			simulation_.setTotalRevenue(arrayOfRCP[0]);
-			simulation_.setTotalCost(arrayOfRCP[1]);
-			simulation_.setTotalProfit(arrayOfRCP[2]);
-
-			NumberFormat _numberFormatter = NumberFormat.getInstance();
-			simulationBuilderLog.resultsInfo("Total Profit = $" + 
-			_numberFormatter.format(arrayOfRCP[2]));
+			if(_config.getSimulationMode() == SimulationMode.STREAMING) {
+				SimulationAggregates _aggregates = new SimulationAggregates(
+						simulation_.getGraphOfAirports().getNumberOfEdges());
+				generateData(_config, simulation_.getGraphOfAirports(), _aggregates);
+				simulation_.setAggregates(_aggregates);
+			} else {
+				simulation_.setAggregates(null);
+				generateData(_config, simulation_.getGraphOfAirports(), 
+						simulation_.getListOfFlights());
+				logFlightResults(simulation_.getListOfFlights(), _config);
+			}
+
+			simulationBuilderLog.resultsInfo("Total Profit = ${}", 
+					FullLogging.grouped(simulation_.getTotalProfit()));
+			simulationBuilderLog.flush();
 			simulationBuilderLog.menuInfo("Flights successfully created\n");
 		}
 		catch (Exception e_) {
@@ -152,6 +333,183 @@ public class AirlineSimulationBuilder {
 		}
 	}
 	
+	/**
+	 * Attempts to run independent replications of a simulation by processing the
+	 * graph and properties once, then generating every replication over them and
+	 * logging the spread of the totals
+	 * 
+	 * @param propertiesFile_
+	 * 		File of the properties data
+	 * @param graphFile_
+	 * 		File of the graph data
+	 * @param replications_
+	 * 		int number of replications to run
+	 * @param simulation_
+	 * 		AirlineSimulation object holding the graph and config used by every replication
+	 * @return
+	 * 		MonteCarloResults of the replications, or null if they could not be run
+	 */
+	public MonteCarloResults runMonteCarlo(File propertiesFile_, File graphFile_, int replications_,
+			AirlineSimulation simulation_) {
+		return runMonteCarlo(propertiesFile_, graphFile_, null, replications_, Estimator.PLAIN, 0, simulation_);
+	}
+	
+	/**
+	 * Attempts to run replications of a simulation by processing the graph and
+	 * properties once, then generating every replication over them with the given
+	 * estimator, until the profit interval is narrow enough if a target is given,
+	 * and logging the spread of the totals. With a second properties file each
+	 * replication is run under both from the same random numbers, and the spread
+	 * of the differences is logged instead.
+	 * 
+	 * @param propertiesFile_
+	 * 		File of the properties data
+	 * @param graphFile_
+	 * 		File of the graph data
+	 * @param comparisonPropertiesFile_
+	 * 		File of properties to compare against, or null to run just the one
+	 * @param replications_
+	 * 		int number of replications to run, or most to run with a target
+	 * @param estimator_
+	 * 		Estimator to combine the replications with
+	 * @param targetRelativeHalfWidth_
+	 * 		double half width of the profit interval over its mean to stop at,
+	 * 		or zero to run every replication
+	 * @param simulation_
+	 * 		AirlineSimulation object holding the graph and config used by every replication
+	 * @return
+	 * 		MonteCarloResults of the replications, or null if they could not be run
+	 */
+	public MonteCarloResults runMonteCarlo(File propertiesFile_, File graphFile_, File comparisonPropertiesFile_,
+			int replications_, Estimator estimator_, double targetRelativeHalfWidth_,
+			AirlineSimulation simulation_) {
+
+		RuntimePropertyController _propertyController = new RuntimePropertyController();
+		Properties _modelProperties = _propertyController.loadRuntimeProperties(propertiesFile_);
+
+		simulationBuilderLog.menuInfo("Running " + (targetRelativeHalfWidth_ > 0 ? "up to " : "") 
+				+ replications_ + " replications...\n");
+		try {
+			SimulationConfig _config = _propertyController.createSimulationConfig(_modelProperties);
+			simulation_.setSimulationProperties(_modelProperties);
+			simulation_.setSimulationConfig(_config);
+			selectAirportGraph(_config, simulation_);
+			processGraph(simulation_.getGraphOfAirports(), graphFile_);
+
+			SimulationConfig _comparisonConfig = null;
+			if(comparisonPropertiesFile_ != null) {
+				_comparisonConfig = _propertyController.createSimulationConfig(
+						_propertyController.loadRuntimeProperties(comparisonPropertiesFile_));
+			}
+			MonteCarloRunner _runner = new MonteCarloRunner(_config, simulation_.getGraphOfAirports());
+			_runner.setEstimator(estimator_);
+			MonteCarloResults _results = _runner.run(_comparisonConfig, replications_, targetRelativeHalfWidth_);
+			logMonteCarloResults(_results, _comparisonConfig == null ? "Total" : "Difference in Total",
+					targetRelativeHalfWidth_);
+			simulationBuilderLog.flush();
+			return _results;
+		}
+		catch (AirlineSystemException|IllegalArgumentException e_) {
+			simulationBuilderLog.menuError(e_.getMessage() + "\n");
+			simulationBuilderLog.debugError(e_.getMessage());
+			return null;
+		}
+	}
+	
+	/**
+	 * Attempts to run a sweep of scenarios by processing the graph and base
+	 * properties once, then running every combination of the swept property
+	 * values over them, sharing the configured generation threads, and writing
+	 * the totals of every scenario to a single table
+	 * 
+	 * @param propertiesFile_
+	 * 		File of the base properties data
+	 * @param graphFile_
+	 * 		File of the graph data
+	 * @param sweeps_
+	 * 		String array of the properties to sweep, each such as FUEL_COST=10..30 step 1
+	 * @param resultsFile_
+	 * 		File to write the results table to
+	 * @param simulation_
+	 * 		AirlineSimulation object holding the graph and base config used by every scenario
+	 * @return
+	 * 		List of ScenarioResults in sweep order, or null if the sweep could not be run
+	 */
+	public List<ScenarioResult> runSweep(File propertiesFile_, File graphFile_, String[] sweeps_, File resultsFile_,
+			AirlineSimulation simulation_) {
+
+		RuntimePropertyController _propertyController = new RuntimePropertyController();
+		Properties _modelProperties = _propertyController.loadRuntimeProperties(propertiesFile_);
+
+		try {
+			SimulationConfig _config = _propertyController.createSimulationConfig(_modelProperties);
+			simulation_.setSimulationProperties(_modelProperties);
+			simulation_.setSimulationConfig(_config);
+			selectAirportGraph(_config, simulation_);
+			processGraph(simulation_.getGraphOfAirports(), graphFile_);
+
+			ScenarioSweepRunner _sweepRunner = new ScenarioSweepRunner(_modelProperties, simulation_.getGraphOfAirports());
+			for(String _sweep : sweeps_) {
+				_sweepRunner.addSweep(_sweep);
+			}
+			simulationBuilderLog.menuInfo("Running " + _sweepRunner.findScenarios().size() + " scenarios...\n");
+			List<ScenarioResult> _results = _sweepRunner.runScenarios(_config.getGenerationParallelism());
+			_sweepRunner.writeResultsTable(_results, resultsFile_);
+			for(ScenarioResult _result : _results) {
+				simulationBuilderLog.resultsInfo("Scenario {}: total profit ${}", _result.getOverrides(),
+						FullLogging.grouped(_result.getTotals().getTotalProfit()));
+			}
+			simulationBuilderLog.flush();
+			simulationBuilderLog.menuInfo("Results written to " + resultsFile_ + "\n");
+			return _results;
+		}
+		catch (AirlineSystemException|IllegalArgumentException e_) {
+			simulationBuilderLog.menuError(e_.getMessage() + "\n");
+			simulationBuilderLog.debugError(e_.getMessage());
+			return null;
+		}
+	}
+	
+	/**
+	 * Logs the mean, standard deviation, percentiles, and 95% confidence
+	 * interval of the total revenue, cost, and profit of the replications
+	 * 
+	 * @param results_
+	 * 		MonteCarloResults to log
+	 * @return
+	 * 		N/A
+	 */
+	public void logMonteCarloResults(MonteCarloResults results_) {
+		logMonteCarloResults(results_, "Total", 0);
+	}
+	
+	/**
+	 * Logs the replications run under their estimator, with how many a
+	 * confidence target saved and how many plain replications it would have
+	 * taken, then the summaries of the totals under the given label
+	 */
+	private void logMonteCarloResults(MonteCarloResults results_, String label_, double targetRelativeHalfWidth_) {
+		simulationBuilderLog.resultsInfo("{} {} replications of {} flights", results_.getNumberOfReplications(), 
+				results_.getEstimator(), results_.getFlightsPerReplication());
+		if(targetRelativeHalfWidth_ > 0) {
+			simulationBuilderLog.resultsInfo("Stopped {} replications early, {} plain replications needed "
+					+ "for the same confidence", results_.getReplicationsSaved(),
+					results_.findPlainReplicationsNeeded(targetRelativeHalfWidth_));
+		}
+		logReplicationSummary(label_ + " Revenue", results_.getRevenueSummary());
+		logReplicationSummary(label_ + " Cost", results_.getCostSummary());
+		logReplicationSummary(label_ + " Profit", results_.getProfitSummary());
+	}
+	
+	private void logReplicationSummary(String name_, ReplicationSummary summary_) {
+		simulationBuilderLog.resultsInfo("{}: mean ${}, standard deviation ${}, 95% CI [${}, ${}]", name_,
+				FullLogging.grouped(summary_.getMean()), FullLogging.grouped(summary_.getStandardDeviation()),
+				FullLogging.grouped(summary_.getConfidenceLow()), FullLogging.grouped(summary_.getConfidenceHigh()));
+		simulationBuilderLog.resultsInfo("{}: 5th percentile ${}, median ${}, 95th percentile ${}", name_,
+				FullLogging.grouped(summary_.findPercentile(0.05)), FullLogging.grouped(summary_.findPercentile(0.5)),
+				FullLogging.grouped(summary_.findPercentile(0.95)));
+	}
+	
 	/**
 	 * Attempts to find results by using a data file already filled with flight
 	 * information to find results
@@ -174,15 +532,28 @@ public class AirlineSimulationBuilder {
 		RuntimePropertyController _propertyController = new RuntimePropertyController();
 		Properties _modelProperties = _propertyController.loadRuntimeProperties(propertiesFile_);
 
-		BigDecimal[] _arrayOfRCP;
-
 		try {
-			_readData.readFileInputIntoFlightList(simulation_.getListOfFlights(), dataFile_,
-					_modelProperties, simulation_.getGraphOfAirports());
-			_arrayOfRCP = findTotalRCP(simulation_.getListOfFlights(), _modelProperties);
-			simulation_.setTotalRevenue(_arrayOfRCP[0]);
-			simulation_.setTotalCost(_arrayOfRCP[1]);
-			simulation_.setTotalProfit(_arrayOfRCP[2]);
+			SimulationConfig _config = _propertyController.createSimulationConfig(_modelProperties);
+			simulation_.setSimulationConfig(_config);
+			selectAirportGraph(_config, simulation_);
+			if(_config.getSimulationMode() == SimulationMode.STREAMING) {
+				SimulationAggregates _aggregates = new SimulationAggregates(
+						simulation_.getGraphOfAirports().getNumberOfEdges());
+				new MappedPSVFlightReader().readFileIntoAggregator(_aggregates, dataFile_,
+						_config, simulation_.getGraphOfAirports());
+				simulation_.setAggregates(_aggregates);
+			} else {
+				simulation_.setAggregates(null);
+				_readData.readFileInputIntoFlightList(simulation_.getListOfFlights(), dataFile_,
+						_config, simulation_.getGraphOfAirports());
+				logFlightResults(simulation_.getListOfFlights(), _config);
+			}
+			if(_config.isPrecomputeDistanceMatrix()) {
+				precomputeDistanceMatrix(simulation_);
+			} else {
+				simulation_.setDistanceMatrix(null);
+			}
+			simulationBuilderLog.flush();
 			simulationBuilderLog.menuInfo("Flights successfully created\n");
 		}
 		catch (AirlineSystemException e_) {
@@ -0,0 +1,164 @@
+/**
+ * AliasEdgeSampler class
+ *		Draws edge positions from the binomial distribution used by
+ *		flight generation in constant time per draw, using Walker's
+ *		alias method. The table is built once for an edge count and
+ *		success weight and is immutable afterwards, so it can be
+ *		shared between generating threads.
+ */
+
+package org.airlinesystem.helpers;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+public class AliasEdgeSampler {
+
+	private final int numberOfEdges;
+	private final double weight;
+	private final double[] probability;
+	private final int[] alias;
+
+	/**
+	 * Constructor, builds the alias table for a Binomial(numberOfEdges_ - 1,
+	 * weight_) distribution over the edge positions. The probabilities are
+	 * found in log space through the ratio of neighbouring terms so large
+	 * edge counts do not overflow or lose every term to underflow.
+	 *
+	 * @param numberOfEdges_
+	 * 		int of the number of edges to choose between, at least 1
+	 * @param weight_
+	 * 		double chance of each of the numberOfEdges_ - 1 trials moving
+	 * 		the selection one edge further along, between 0 and 1
+	 */
+	public AliasEdgeSampler(int numberOfEdges_, double weight_) {
+		if(numberOfEdges_ < 1) {
+			throw new IllegalArgumentException("Cannot sample edges: there are no edges to choose from");
+		}
+		if(!(weight_ >= 0 && weight_ <= 1)) {
+			throw new IllegalArgumentException("Cannot sample edges: weight must be between 0 and 1");
+		}
+		numberOfEdges = numberOfEdges_;
+		weight = weight_;
+		probability = new double[numberOfEdges_];
+		alias = new int[numberOfEdges_];
+		buildTable(binomialProbabilities(numberOfEdges_, weight_));
+	}
+
+	public int getNumberOfEdges() {
+		return numberOfEdges;
+	}
+
+	public double getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Draws an edge position from the table
+	 *
+	 * @param column_
+	 * 		int uniformly chosen between 0 and the number of edges
+	 * @param coin_
+	 * 		double uniformly chosen between 0 and 1
+	 * @return
+	 * 		int position of the chosen edge in ascending order of distance
+	 */
+	public int sample(int column_, double coin_) {
+		return coin_ < probability[column_] ? column_ : alias[column_];
+	}
+
+	/**
+	 * Draws an edge position using two values from a random generator
+	 *
+	 * @param rand_
+	 * 		Random to draw the column and coin from
+	 * @return
+	 * 		int position of the chosen edge in ascending order of distance
+	 */
+	public int sample(Random rand_) {
+		return sample(rand_.nextInt(numberOfEdges), rand_.nextDouble());
+	}
+
+	/**
+	 * Draws an edge position using two values from a splittable generator
+	 *
+	 * @param rand_
+	 * 		SplittableRandom to draw the column and coin from
+	 * @return
+	 * 		int position of the chosen edge in ascending order of distance
+	 */
+	public int sample(SplittableRandom rand_) {
+		return sample(rand_.nextInt(numberOfEdges), rand_.nextDouble());
+	}
+
+	private static double[] binomialProbabilities(int numberOfEdges_, double weight_) {
+		int _trials = numberOfEdges_ - 1;
+		double[] _probabilities = new double[numberOfEdges_];
+
+		if(weight_ == 0 || weight_ == 1) {
+			_probabilities[weight_ == 0 ? 0 : _trials] = 1;
+			return _probabilities;
+		}
+
+		// log P(k + 1) = log P(k) + log((n - k) / (k + 1)) + log(p / (1 - p))
+		double _logOdds = Math.log(weight_) - Math.log1p(-weight_);
+		double _logTerm = _trials * Math.log1p(-weight_);
+		double _maxLogTerm = _logTerm;
+		_probabilities[0] = _logTerm;
+		for(int _k = 0; _k < _trials; _k++) {
+			_logTerm += Math.log((double)(_trials - _k) / (_k + 1)) + _logOdds;
+			_probabilities[_k + 1] = _logTerm;
+			_maxLogTerm = Math.max(_maxLogTerm, _logTerm);
+		}
+
+		double _total = 0;
+		for(int _k = 0; _k < numberOfEdges_; _k++) {
+			_probabilities[_k] = Math.exp(_probabilities[_k] - _maxLogTerm);
+			_total += _probabilities[_k];
+		}
+		for(int _k = 0; _k < numberOfEdges_; _k++) {
+			_probabilities[_k] /= _total;
+		}
+		return _probabilities;
+	}
+
+	/**
+	 * Vose's variant of the alias method, splitting the scaled
+	 * probabilities into columns that are under and over full
+	 */
+	private void buildTable(double[] probabilities_) {
+		int[] _small = new int[numberOfEdges];
+		int[] _large = new int[numberOfEdges];
+		int _smallSize = 0;
+		int _largeSize = 0;
+
+		for(int _i = 0; _i < numberOfEdges; _i++) {
+			probability[_i] = probabilities_[_i] * numberOfEdges;
+			alias[_i] = _i;
+			if(probability[_i] < 1) {
+				_small[_smallSize++] = _i;
+			} else {
+				_large[_largeSize++] = _i;
+			}
+		}
+
+		while(_smallSize > 0 && _largeSize > 0) {
+			int _under = _small[--_smallSize];
+			int _over = _large[_largeSize - 1];
+			alias[_under] = _over;
+			probability[_over] = (probability[_over] + probability[_under]) - 1;
+			if(probability[_over] < 1) {
+				_largeSize--;
+				_small[_smallSize++] = _over;
+			}
+		}
+
+		// Whatever is left is full up to rounding error
+		while(_largeSize > 0) {
+			probability[_large[--_largeSize]] = 1;
+		}
+		while(_smallSize > 0) {
+			probability[_small[--_smallSize]] = 1;
+		}
+	}
+}
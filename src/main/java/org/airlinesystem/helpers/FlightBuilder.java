@@ -2,25 +2,81 @@
  * FlightBuilder class
  *		Creates a new flight using given data by adding 
  *		pilots, aircraft, and airports that will be stored
- *		in the flight itself
+ *		in the flight itself. Pilots and airports are shared
+ *		between the flights made by a builder rather than
+ *		made again for each flight.
  */
 
 package org.airlinesystem.helpers;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.IntStream;
 
+import org.airlinesystem.controllers.FixedPointRCPController;
 import org.airlinesystem.controllers.FlightRCPController;
+import org.airlinesystem.graphdb.AirportGraphInterface;
 import org.airlinesystem.model.Aircraft;
 import org.airlinesystem.model.AircraftPilot;
 import static org.airlinesystem.model.Aircraft.AircraftSize;
 import org.airlinesystem.model.Airport;
 import org.airlinesystem.model.Flight;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.SimulationConfig.RCPEngine;
 
 import java.util.Properties;
 
 public class FlightBuilder {
 	
+	// Reused for every flight built from the same config
+	private SimulationConfig config;
+	private PilotBuilder configPilotBuilder;
+	private FlightRCPController configRCPController;
+	
+	// Reused for every flight built from Properties holding the same pay and fuel cost
+	private String[] propertiesValues;
+	private PilotBuilder propertiesPilotBuilder;
+	private FlightRCPController propertiesRCPController;
+	
+	private AirportGraphInterface airportGraph;
+	private Map<String, Airport> airportsByName = new HashMap<String, Airport>();
+	
+	/**
+	 * Default constructor, each airport name is given a single
+	 * Airport shared by every flight the builder makes
+	 */
+	public FlightBuilder() {}
+	
+	/**
+	 * Constructor for a builder that hands flights the airports already
+	 * held by a graph, only making its own for names not in the graph
+	 * 
+	 * @param airportGraph_
+	 * 		AirportGraphInterface whose airports are used
+	 */
+	public FlightBuilder(AirportGraphInterface airportGraph_) {
+		airportGraph = airportGraph_;
+	}
+	
+	/**
+	 * Constructor for builders on several threads that share the airports
+	 * they make for names not in the graph, so each name still has a
+	 * single Airport. The graph must not change while they build flights.
+	 * 
+	 * @param airportGraph_
+	 * 		AirportGraphInterface whose airports are used
+	 * @param airportsByName_
+	 * 		ConcurrentMap of the airports made for names not in the graph,
+	 * 		shared by every builder
+	 */
+	FlightBuilder(AirportGraphInterface airportGraph_, ConcurrentMap<String, Airport> airportsByName_) {
+		airportGraph = airportGraph_;
+		airportsByName = airportsByName_;
+	}
+	
     /**
      * Create new flight based off requirements passed in
      * 
@@ -50,23 +106,67 @@ public class FlightBuilder {
 			String source_, String destination_, double distanceTravelled_,
 			Properties modelProperties_) {
 		
-		PilotBuilder assignPilots = new PilotBuilder(modelProperties_);
-
-		AircraftPilot _pilot = assignPilots.assignPilotToAircraft(aircraftSize_);
-		AircraftPilot _coPilot = assignPilots.assignPilotToAircraft(aircraftSize_);	
+		useProperties(modelProperties_);
+		AircraftPilot _pilot = propertiesPilotBuilder.assignPilotToAircraft(aircraftSize_);
+		AircraftPilot _coPilot = propertiesPilotBuilder.assignPilotToAircraft(aircraftSize_);	
 		Aircraft _aircraftAssigned = new Aircraft(aircraftSize_, getTotalNumOfPassengers(seatsFilledPerSection_),
 				seatsFilledPerSection_, seatCostPerSection_, getMaxAircraftSeats(maxSeatsPerSection_));
-		Airport source = new Airport(source_);
-		Airport destination = new Airport(destination_);
 		
 		Flight _newFlightFromData = new Flight(aircraftSize_, maxSeatsPerSection_, 
-				seatsFilledPerSection_, seatCostPerSection_, source, destination, 
+				seatsFilledPerSection_, seatCostPerSection_, findAirport(source_), findAirport(destination_), 
 				distanceTravelled_, _pilot, _coPilot, _aircraftAssigned);
 		setFlightRCPData(_newFlightFromData, modelProperties_);
 		
 		return _newFlightFromData;
 	}
 	
+    /**
+     * Create new flight based off requirements passed in, taking pilot pay
+     * and fuel cost from an already parsed config. The pilot builder and
+     * cost calculator are made once per config rather than once per flight.
+     * 
+     * @param aircraftSize_
+     * 		enum that represents the size of plane that will be
+     * 		passed in and used to determine the pilot assigned
+     * @param maxSeatsPerSection_
+     * 		integer array used to determine total number of seats on
+     * 		the flight for each section
+     * @param seatsFilledPerSection_
+     * 		integer array used to determine total number of passengers
+     * 		and the number of filled seats in each section for the flight
+     * @param seatCostPerSection_
+     * 		BigDecimal type array that determines the cost of a single seat
+     * 		in each section
+     * @param source_
+     * 		String that represents the first node on the graph for the flight
+     * @param destination_
+     * 		String that represents the second node on the graph for the flight
+     * @param distanceTravelled_
+     * 		Double that represents that edge weight from the graph for the flight
+     * @param config_
+     * 		SimulationConfig holding pilot pay and fuel cost
+     * @return
+     * 		A new flight that has all variables set
+     */
+	public Flight flightDispatchService(AircraftSize aircraftSize_, int[] maxSeatsPerSection_, 
+			int[] seatsFilledPerSection_, BigDecimal[] seatCostPerSection_, 
+			String source_, String destination_, double distanceTravelled_,
+			SimulationConfig config_) {
+		
+		useConfig(config_);
+		AircraftPilot _pilot = configPilotBuilder.assignPilotToAircraft(aircraftSize_);
+		AircraftPilot _coPilot = configPilotBuilder.assignPilotToAircraft(aircraftSize_);	
+		Aircraft _aircraftAssigned = new Aircraft(aircraftSize_, getTotalNumOfPassengers(seatsFilledPerSection_),
+				seatsFilledPerSection_, seatCostPerSection_, getMaxAircraftSeats(maxSeatsPerSection_));
+		
+		Flight _newFlightFromData = new Flight(aircraftSize_, maxSeatsPerSection_, 
+				seatsFilledPerSection_, seatCostPerSection_, findAirport(source_), findAirport(destination_), 
+				distanceTravelled_, _pilot, _coPilot, _aircraftAssigned);
+		setFlightRCPData(_newFlightFromData, config_);
+		
+		return _newFlightFromData;
+	}
+	
 	/**
 	 * Sets a given flight's revenue, cost, and profit data
 	 * 
@@ -76,13 +176,66 @@ public class FlightBuilder {
 	 * 		N/A
 	 */
 	public void setFlightRCPData(Flight flightToSet_, Properties modelProperties_) {
-		FlightRCPController _revenueCostProfitFinder = new FlightRCPController(modelProperties_);
-		BigDecimal[] _flightRCPArray = _revenueCostProfitFinder.getRCPAsArray(flightToSet_);
+		useProperties(modelProperties_);
+		BigDecimal[] _flightRCPArray = propertiesRCPController.getRCPAsArray(flightToSet_);
 		flightToSet_.setRevenue(_flightRCPArray[0]);
 		flightToSet_.setCost(_flightRCPArray[1]);
 		flightToSet_.setProfit(_flightRCPArray[2]);
 	}
 	
+	/**
+	 * Sets a given flight's revenue, cost, and profit data using
+	 * the fuel cost and RCP engine of an already parsed config
+	 * 
+	 * @param flightToSet_
+	 * 		the flight object that will be set
+	 * @param config_
+	 * 		SimulationConfig holding the fuel cost
+	 * @return
+	 * 		N/A
+	 */
+	public void setFlightRCPData(Flight flightToSet_, SimulationConfig config_) {
+		useConfig(config_);
+		BigDecimal[] _flightRCPArray = configRCPController.getRCPAsArray(flightToSet_);
+		flightToSet_.setRevenue(_flightRCPArray[0]);
+		flightToSet_.setCost(_flightRCPArray[1]);
+		flightToSet_.setProfit(_flightRCPArray[2]);
+	}
+	
+	private void useConfig(SimulationConfig config_) {
+		if(config != config_) {
+			configPilotBuilder = new PilotBuilder(config_);
+			configRCPController = config_.getRCPEngine() == RCPEngine.FIXED_POINT
+					? new FixedPointRCPController(config_) : new FlightRCPController(config_);
+			config = config_;
+		}
+	}
+	
+	private void useProperties(Properties modelProperties_) {
+		String[] _values = {modelProperties_.getProperty("JUNIOR_PILOT_PAY"), 
+				modelProperties_.getProperty("MIDLEVEL_PILOT_PAY"), 
+				modelProperties_.getProperty("SENIOR_PILOT_PAY"), modelProperties_.getProperty("FUEL_COST")};
+		if(!Arrays.equals(_values, propertiesValues)) {
+			propertiesPilotBuilder = new PilotBuilder(modelProperties_);
+			propertiesRCPController = new FlightRCPController(modelProperties_);
+			propertiesValues = _values;
+		}
+	}
+	
+	/**
+	 * Finds the shared airport of a name, taking it from the graph
+	 * when the builder has one that holds the airport
+	 * 
+	 * @param name_
+	 * 		String name of the airport
+	 * @return
+	 * 		Airport shared by every flight using the name
+	 */
+	private Airport findAirport(String name_) {
+		Airport _airport = airportGraph != null ? airportGraph.getAirport(name_) : null;
+		return _airport != null ? _airport : airportsByName.computeIfAbsent(name_, Airport::new);
+	}
+	
 	/**
 	 * Finds the number of passengers that are actually on a flight
 	 * 
@@ -8,21 +8,92 @@
 
 package org.airlinesystem.helpers;
 
-import java.util.Random;
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
 import java.util.Properties;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
+import org.airlinesystem.controllers.FixedPointRCPController;
+import org.airlinesystem.controllers.RuntimePropertyController;
 import org.airlinesystem.controllers.logging.FullLogging;
-import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.AirportGraphInterface;
+import org.airlinesystem.model.AircraftPilot;
+import org.airlinesystem.model.Flight;
 import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.FlightStore;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.aggregation.FlightAggregator;
 import static org.airlinesystem.model.Aircraft.AircraftSize;
 import org.jgrapht.graph.*;
 
 public class GenerateModelData {
 
-	private Random rand = new Random();
+	public static final int FLIGHTS_PER_BLOCK = 4096;
+
+	// Blocks each thread folds into partials before the partials are merged
+	private static final int PARTIALS_PER_THREAD = 4;
+
+	private SplittableRandom rand;
+	private AliasEdgeSampler edgeSampler;
+	private boolean antitheticSeats;
 	private FullLogging generateDataLog = FullLogging.getInstance();
 
+	/**
+	 * Constructor, seeds the generator from the current time
+	 */
+	public GenerateModelData() {
+		rand = new SplittableRandom();
+	}
+
+	/**
+	 * Constructor for a repeatable generator
+	 * 
+	 * @param seed_
+	 * 		long seed of the generator
+	 */
+	public GenerateModelData(long seed_) {
+		rand = new SplittableRandom(seed_);
+	}
+
+	/**
+	 * Constructor for a block or replication generator that shares
+	 * the edge sampler of the generator that made it
+	 */
+	private GenerateModelData(SplittableRandom rand_, AliasEdgeSampler edgeSampler_, boolean antitheticSeats_) {
+		rand = rand_;
+		edgeSampler = edgeSampler_;
+		antitheticSeats = antitheticSeats_;
+	}
+
+	/**
+	 *  Makes a generator for one replication of the model from its own seed, sharing
+	 *  this generator's alias table for the graph, so many replications over one graph
+	 *  build the table once. Two replications made from the same seed draw the same
+	 *  flights, which gives common random numbers across configs. With antithetic seats
+	 *  each seats filled draw u out of m seats becomes m - 1 - u, so a replication paired
+	 *  with the plain one of the same seed flies the same flights with mirrored loads.
+	 *  
+	 *  @param seed_			The seed of the replication's random stream
+	 *  @param antitheticSeats_	True to mirror the seats filled draws
+	 *  @param config_			The config the replication will be generated from
+	 *  @param airportGraph_	The AirportGraph the replication will be generated over
+	 *  @return A new GenerateModelData for the replication
+	 */
+	public GenerateModelData createReplication(long seed_, boolean antitheticSeats_, SimulationConfig config_,
+			AirportGraphInterface airportGraph_) {
+		int _numberOfEdges = airportGraph_.getNumberOfEdges();
+		if(config_.getPreferredAircraftSize() != null && _numberOfEdges > 1) {
+			findEdgeSampler(_numberOfEdges, config_.getPreferredAircraftSize());
+		}
+		return new GenerateModelData(new SplittableRandom(seed_), edgeSampler, antitheticSeats_);
+	}
+
 	/**
 	 *  Chooses a random edge from the graph to act as the path for a flight.
 	 *  
@@ -33,34 +104,66 @@ public class GenerateModelData {
 	 *  @return The randomly selected edge
 	 */
 	public DefaultEdge getRandomEdge(ArrayList<DefaultEdge> edgeList_, AircraftSize preferredAirplaneSize_) {
+		return edgeList_.get(getRandomEdgeIndex(edgeList_.size(), preferredAirplaneSize_));
+	}
+
+	/**
+	 *  Chooses the position of a random edge in ascending order of distance
+	 *  to act as the path for a flight. The binomial draw is made through an
+	 *  alias table that is only rebuilt when the edge count or size changes.
+	 *  
+	 *  @param numberOfEdges_ The number of edges in the graph
+	 *  @param preferredAirplaneSize_ AirplaneSize enum value indicating the
+	 *  	   size of the airplane to create more of, or null to choose any
+	 *  	   edge with equal chance
+	 *  		
+	 *  @return The randomly selected edge position
+	 */
+	public int getRandomEdgeIndex(int numberOfEdges_, AircraftSize preferredAirplaneSize_) {
+		if(numberOfEdges_ <= 1) {
+			return 0;
+		}
+		if(preferredAirplaneSize_ == null) {
+			return rand.nextInt(numberOfEdges_);
+		}
+
+		// Saving non-binomial distribution
+		//int _selection = (int)(numberOfEdges_ * Math.pow(rand.nextDouble(), _weight));
+
+		// Generate an index based on a binomial distribution weighted by the distance
+		return findEdgeSampler(numberOfEdges_, preferredAirplaneSize_).sample(rand);
+	}
+
+	/**
+	 *  Finds the alias table for the binomial edge distribution, building it
+	 *  only when the edge count or preferred size has changed since the last call.
+	 *  
+	 *  @param numberOfEdges_ The number of edges in the graph
+	 *  @param preferredAirplaneSize_ AirplaneSize enum value indicating the
+	 *  	   size of the airplane to create more of
+	 *  
+	 *  @return The AliasEdgeSampler for the edge count and size
+	 */
+	private AliasEdgeSampler findEdgeSampler(int numberOfEdges_, AircraftSize preferredAirplaneSize_) {
 		double _weight = 0.5;
-		int _selection = 0;	
 		
 		switch(preferredAirplaneSize_) {
 			case S:
 				_weight = 0.25;
 				break;
-			case M:
-				_weight = 0.5;
-				break;
 			case L:
 				_weight = 0.75;
 				break;
+			case M:
 			default:
-				return edgeList_.get(rand.nextInt(edgeList_.size()));
+				_weight = 0.5;
+				break;
 		}
-
-		// Generate an index based on a binomial distribution weighted by the distance
-		for(int _i = 0; _i < edgeList_.size() - 1; _i++) {
-			if(rand.nextDouble() < _weight) {
-				_selection++;
-			}
+		if(edgeSampler == null || edgeSampler.getNumberOfEdges() != numberOfEdges_
+				|| edgeSampler.getWeight() != _weight) {
+			edgeSampler = new AliasEdgeSampler(numberOfEdges_, _weight);
 		}
-		
-		// Saving non-binomial distribution
-		//int _selection = (int)(edgeList_.size() * Math.pow(rand.nextDouble(), _weight));
-
-		return edgeList_.get(_selection);
+		return edgeSampler;
 	}
 
 	/**
@@ -174,28 +277,169 @@ public class GenerateModelData {
 		return genString_;
 	}
 
+	/**
+	 *  Generate the amount of seats filled in each section on an airplane
+	 *  without going through a pipe separated String.
+	 *  
+	 *  @param maxSeatsPerSection_ The maximum seats of each section of the airplane
+	 *  @return a new int array of the seats filled in each section, in the
+	 *  						 same order as the maximums
+	 */
+	public int[] generateRandomSeatsFilled(int[] maxSeatsPerSection_) {
+		int[] _seatsFilled = new int[maxSeatsPerSection_.length];
+		
+		for(int _section = 0; _section < maxSeatsPerSection_.length; _section++) {
+			if(maxSeatsPerSection_[_section] != 0) {
+				_seatsFilled[_section] = drawSeatsFilled(maxSeatsPerSection_[_section]);
+			}
+		}
+		return _seatsFilled;
+	}
+
+	/**
+	 *  Draws the seats filled of a section uniformly from zero to one less than
+	 *  its maximum, mirrored for an antithetic generator
+	 */
+	private int drawSeatsFilled(int maxSeats_) {
+		int _seatsFilled = rand.nextInt(maxSeats_);
+		return antitheticSeats ? maxSeats_ - 1 - _seatsFilled : _seatsFilled;
+	}
+
+	/**
+	 *  Builds a single random Flight straight from typed values, without formatting
+	 *  and parsing a pipe separated string. The string form is only made as a debug
+	 *  trace when debug logging is on.
+	 *  
+	 *  @param config_			The parsed config of the current model
+	 *  @param airportGraph_	The AirportGraph of the current model
+	 *  @param flightBuilder_	The FlightBuilder to create the Flight with
+	 *  @return The generated Flight
+	 */
+	public Flight generateFlight(SimulationConfig config_, AirportGraphInterface airportGraph_, 
+			FlightBuilder flightBuilder_) {
+
+		int _randomEdge = getRandomEdgeIndex(airportGraph_.getNumberOfEdges(), config_.getPreferredAircraftSize());
+		String _source = airportGraph_.getSortedEdgeSource(_randomEdge);
+		String _dest = airportGraph_.getSortedEdgeDestination(_randomEdge);
+		double _distance = airportGraph_.getSortedEdgeDistance(_randomEdge);
+	
+		AircraftSize _aircraftSize = config_.getAircraftSizeForDistance(_distance);
+		int[] _maxSeatsPerSection = config_.getMaxSeatsPerSection(_aircraftSize);
+		BigDecimal[] _seatPricePerSection = config_.getSeatPricePerSection(_aircraftSize);
+		int[] _seatsFilledPerSection = generateRandomSeatsFilled(_maxSeatsPerSection);
+		logGeneratedFlight(_source, _dest, _distance, _aircraftSize, _maxSeatsPerSection,
+				_seatsFilledPerSection, _seatPricePerSection);
+		
+		return flightBuilder_.flightDispatchService(_aircraftSize, _maxSeatsPerSection, _seatsFilledPerSection,
+				_seatPricePerSection, _source, _dest, _distance, config_);
+	}
+
+	/**
+	 *  Generates a single random flight straight into a row of a FlightStore, drawing
+	 *  the same random values as generateFlight so a seeded generator gives the same
+	 *  flights either way. No Flight is made, and the revenue and cost are found in
+	 *  micro-units.
+	 *  
+	 *  @param config_			The parsed config of the current model
+	 *  @param airportGraph_	The AirportGraph of the current model
+	 *  @param rcpController_	The FixedPointRCPController made from the config
+	 *  @param pilotsBySize_	The pilot flying each size of aircraft, by size ordinal
+	 *  @param flightStore_		The FlightStore to add the flight to
+	 *  @return The index of the new row
+	 */
+	private int generateFlight(SimulationConfig config_, AirportGraphInterface airportGraph_,
+			FixedPointRCPController rcpController_, AircraftPilot[] pilotsBySize_, FlightStore flightStore_) {
+
+		int _randomEdge = getRandomEdgeIndex(airportGraph_.getNumberOfEdges(), config_.getPreferredAircraftSize());
+		String _source = airportGraph_.getSortedEdgeSource(_randomEdge);
+		String _dest = airportGraph_.getSortedEdgeDestination(_randomEdge);
+		double _distance = airportGraph_.getSortedEdgeDistance(_randomEdge);
+	
+		AircraftSize _aircraftSize = config_.getAircraftSizeForDistance(_distance);
+		int[] _maxSeatsPerSection = config_.getMaxSeatsPerSection(_aircraftSize);
+		BigDecimal[] _seatPricePerSection = config_.getSeatPricePerSection(_aircraftSize);
+		int[] _seatsFilledPerSection = generateRandomSeatsFilled(_maxSeatsPerSection);
+		logGeneratedFlight(_source, _dest, _distance, _aircraftSize, _maxSeatsPerSection,
+				_seatsFilledPerSection, _seatPricePerSection);
+		
+		AircraftPilot _pilot = pilotsBySize_[_aircraftSize.ordinal()];
+		return flightStore_.addFlight(_aircraftSize, _maxSeatsPerSection, _seatsFilledPerSection,
+				_seatPricePerSection, _source, _dest, _distance, _pilot, _pilot,
+				rcpController_.findRevenueMicros(_aircraftSize, _seatsFilledPerSection, _seatPricePerSection),
+				rcpController_.findCostMicros(_distance, _pilot, _pilot));
+	}
+
+	/**
+	 *  Generates a single random flight straight into an aggregator, drawing the same
+	 *  random values as generateFlight. The seats filled are written over a scratch
+	 *  array kept for each aircraft size, so no memory is taken for the flight, and
+	 *  no debug trace is made for it.
+	 *  
+	 *  @param config_				The parsed config of the current model
+	 *  @param airportGraph_		The AirportGraph of the current model
+	 *  @param rcpController_		The FixedPointRCPController made from the config
+	 *  @param pilotsBySize_		The pilot flying each size of aircraft, by size ordinal
+	 *  @param seatsFilledBySize_	The scratch seats filled array of each size, by size ordinal
+	 *  @param aggregator_			The FlightAggregator to add the flight to
+	 *  @return N/A
+	 */
+	private void generateFlight(SimulationConfig config_, AirportGraphInterface airportGraph_,
+			FixedPointRCPController rcpController_, AircraftPilot[] pilotsBySize_, int[][] seatsFilledBySize_,
+			FlightAggregator aggregator_) {
+
+		int _randomEdge = getRandomEdgeIndex(airportGraph_.getNumberOfEdges(), config_.getPreferredAircraftSize());
+		double _distance = airportGraph_.getSortedEdgeDistance(_randomEdge);
+	
+		AircraftSize _aircraftSize = config_.getAircraftSizeForDistance(_distance);
+		int[] _maxSeatsPerSection = config_.getMaxSeatsPerSection(_aircraftSize);
+		int[] _seatsFilledPerSection = seatsFilledBySize_[_aircraftSize.ordinal()];
+		int _passengers = 0;
+		for(int _section = 0; _section < _maxSeatsPerSection.length; _section++) {
+			_seatsFilledPerSection[_section] = _maxSeatsPerSection[_section] != 0
+					? drawSeatsFilled(_maxSeatsPerSection[_section]) : 0;
+			_passengers += _seatsFilledPerSection[_section];
+		}
+		
+		AircraftPilot _pilot = pilotsBySize_[_aircraftSize.ordinal()];
+		aggregator_.addFlight(_randomEdge, _aircraftSize, _passengers,
+				FixedPointRCPController.distanceToMicros(_distance),
+				rcpController_.findRevenueMicros(_aircraftSize, _seatsFilledPerSection,
+						config_.getSeatPricePerSection(_aircraftSize)),
+				rcpController_.findCostMicros(_distance, _pilot, _pilot));
+	}
+
+	private void logGeneratedFlight(String source_, String destination_, double distance_,
+			AircraftSize aircraftSize_, int[] maxSeatsPerSection_, int[] seatsFilledPerSection_,
+			BigDecimal[] seatPricePerSection_) {
+		if(generateDataLog.isDebugEnabled()) {
+			generateDataLog.debugDebug(() -> String.format("Model gen output: %s|%s|%f|%s|%s|%s|%s", source_,
+					destination_, distance_, aircraftSize_.toString(), joinSections(maxSeatsPerSection_), 
+					joinSections(seatsFilledPerSection_), joinSections(seatPricePerSection_)));
+		}
+	}
+
 	/**
 	 *  This ties all of the random information and information from the properties file
 	 *  into a single string to be parsed into a single Flight.
 	 *  
 	 *  @param modelProperties_ The properties file that describes the current model being 
 	 *  						tested.
-	 *  @param airportGraph_	The AirportGraph of the current model
+	 *  @param airportGraph_	The AirportGraph of the current model, whose sorted edge
+	 *  						index is read directly instead of sorting the edges
 	 *  @return The pipe separated string value representation of the Flight. 
 	 */
-	public String generateRandomFlight(Properties modelProperties_, AirportGraph airportGraph_, 
-			ArrayList<DefaultEdge> sortedEdges_) {
+	public String generateRandomFlight(Properties modelProperties_, AirportGraphInterface airportGraph_) {
 
 		AircraftSize _aircraftSize;
 		String _maxSeatsPerSection;
 		String _seatPricePerSection;
 		
-		DefaultEdge _randomEdge = getRandomEdge(sortedEdges_, 
+		int _randomEdge = getRandomEdgeIndex(airportGraph_.getNumberOfEdges(), 
 				AircraftSize.valueOf(modelProperties_.getProperty("PREFERRED_AIRCRAFT_SIZE").toUpperCase()));
-		String _source = airportGraph_.getGraphOfAirports().getEdgeSource(_randomEdge);
-		String _dest = airportGraph_.getGraphOfAirports().getEdgeTarget(_randomEdge);
+		String _source = airportGraph_.getSortedEdgeSource(_randomEdge);
+		String _dest = airportGraph_.getSortedEdgeDestination(_randomEdge);
 	
-		double _distance = airportGraph_.getGraphOfAirports().getEdgeWeight(_randomEdge);
+		double _distance = airportGraph_.getSortedEdgeDistance(_randomEdge);
 	
 		if(_distance < Double.parseDouble(modelProperties_.getProperty("SMALL_PLANE_MAX_RANGE"))) {
 			_aircraftSize = AircraftSize.S;
@@ -218,14 +462,14 @@ public class GenerateModelData {
 				_distance, _aircraftSize.toString(), _maxSeatsPerSection, 
 				_seatsFilledPerSection, _seatPricePerSection);
 		
-		generateDataLog.debugDebug("Model gen string output: " + _flight);		
+		generateDataLog.debugDebug("Model gen string output: {}", _flight);		
 		
 		return _flight;
 	}
 
 	/**
 	 *  Runs through the total number of flights to be created by the current model and
-	 *  reads them into the state.
+	 *  reads them into the state. The properties are parsed into a SimulationConfig first.
 	 *  
 	 *  @param modelProperties_ The properties file that describes the current model being 
 	 *  						tested
@@ -233,22 +477,311 @@ public class GenerateModelData {
 	 *  @param listOfFlights_   The FlightList that represents all of the flights created 
 	 *  						for this run of the model
 	 *  @param flightInput_		The object that takes the psv Flight data and parses it into 
-	 *  						the current state
+	 *  						the current state, no longer needed by generation
 	 *  @return N/A
 	 */
-	public void generateCurrentStateModel(Properties modelProperties_, AirportGraph airportGraph_,
+	public void generateCurrentStateModel(Properties modelProperties_, AirportGraphInterface airportGraph_,
 			FlightList listOfFlights_, ReadModelDataIntoState flightInput_) {
+		try {
+			generateCurrentStateModel(new RuntimePropertyController().createSimulationConfig(modelProperties_),
+					airportGraph_, listOfFlights_);
+		} catch(AirlineSystemException e_) {
+			throw new IllegalArgumentException(e_.getMessage(), e_);
+		}
+	}
 
-		int _flightsNeeded = Integer.parseInt(modelProperties_.getProperty("NUMBER_OF_FLIGHTS"));
-		String _flightData;
-		ArrayList<DefaultEdge> _sortedEdges;
+	/**
+	 *  Runs through the total number of flights to be created by the current model and
+	 *  reads them into the state. The flights are made in blocks of FLIGHTS_PER_BLOCK,
+	 *  each with its own generator split in order from the simulation seed, and the
+	 *  blocks are spread over the configured generation parallelism. Blocks are added to
+	 *  the list in order, so a seeded run gives the same flights for any thread count.
+	 *  Flights are built directly from typed values rather than through psv strings.
+	 *  
+	 *  @param config_			The parsed config of the current model
+	 *  @param airportGraph_	The AirportGraph of the current model
+	 *  @param listOfFlights_   The FlightList that represents all of the flights created 
+	 *  						for this run of the model
+	 *  @return N/A
+	 */
+	public void generateCurrentStateModel(SimulationConfig config_, AirportGraphInterface airportGraph_,
+			FlightList listOfFlights_) {
+
+		SplittableRandom[] _blockRands = splitBlockRandoms(config_, airportGraph_);
+		int _flightsNeeded = config_.getNumberOfFlights();
+		int _numberOfBlocks = _blockRands.length;
+		int _parallelism = findParallelism(config_);
+		
+		if(_parallelism == 1 || _numberOfBlocks <= 1) {
+			ArrayList<Flight> _blockFlights = new ArrayList<Flight>(Math.min(_flightsNeeded, FLIGHTS_PER_BLOCK));
+			for(int _block = 0; _block < _numberOfBlocks; _block++) {
+				generateFlightBlock(config_, airportGraph_, _blockRands[_block],
+						getBlockSize(_block, _flightsNeeded), _blockFlights);
+				for(Flight _flight : _blockFlights) {
+					listOfFlights_.addFlightToList(_flight, airportGraph_);
+				}
+				_blockFlights.clear();
+			}
+			return;
+		}
 		
-		_sortedEdges = airportGraph_.getSortedListOfEdges();
+		// Each block sets only its own slot, so the list is never resized while blocks run
+		List<ArrayList<Flight>> _blockFlights = new ArrayList<ArrayList<Flight>>(
+				Collections.<ArrayList<Flight>>nCopies(_numberOfBlocks, null));
+		generateBlocks(_parallelism, _numberOfBlocks, _block -> {
+			int _blockSize = getBlockSize(_block, _flightsNeeded);
+			ArrayList<Flight> _flights = new ArrayList<Flight>(_blockSize);
+			generateFlightBlock(config_, airportGraph_, _blockRands[_block], _blockSize, _flights);
+			_blockFlights.set(_block, _flights);
+		});
+		for(int _block = 0; _block < _numberOfBlocks; _block++) {
+			for(Flight _flight : _blockFlights.get(_block)) {
+				listOfFlights_.addFlightToList(_flight, airportGraph_);
+			}
+			_blockFlights.set(_block, null);
+		}
+	}
 
-		for (int i = 0; i < _flightsNeeded; i++)
-		{
-			_flightData = generateRandomFlight(modelProperties_, airportGraph_, _sortedEdges);
-			flightInput_.readSingleFlightIntoFlightList(listOfFlights_, _flightData, modelProperties_, airportGraph_);
+	/**
+	 *  Runs through the total number of flights to be created by the current model and
+	 *  adds them as rows of a columnar FlightStore without making a Flight for each.
+	 *  Blocks are split and spread over threads as for a FlightList, so a seeded run
+	 *  gives the same flights in the same order as generating into a FlightList. The
+	 *  revenue and cost of every flight are found in micro-units.
+	 *  
+	 *  @param config_			The parsed config of the current model
+	 *  @param airportGraph_	The AirportGraph of the current model
+	 *  @param flightStore_		The FlightStore to add the flights to
+	 *  @return N/A
+	 */
+	public void generateCurrentStateModel(SimulationConfig config_, AirportGraphInterface airportGraph_,
+			FlightStore flightStore_) {
+
+		SplittableRandom[] _blockRands = splitBlockRandoms(config_, airportGraph_);
+		int _flightsNeeded = config_.getNumberOfFlights();
+		int _numberOfBlocks = _blockRands.length;
+		int _parallelism = findParallelism(config_);
+		FixedPointRCPController _rcpController = new FixedPointRCPController(config_);
+		
+		if(_parallelism == 1 || _numberOfBlocks <= 1) {
+			for(int _block = 0; _block < _numberOfBlocks; _block++) {
+				generateFlightBlock(config_, airportGraph_, _blockRands[_block],
+						getBlockSize(_block, _flightsNeeded), _rcpController, flightStore_);
+			}
+			return;
+		}
+		
+		FlightStore[] _blockStores = new FlightStore[_numberOfBlocks];
+		generateBlocks(_parallelism, _numberOfBlocks, _block -> {
+			int _blockSize = getBlockSize(_block, _flightsNeeded);
+			_blockStores[_block] = new FlightStore(_blockSize);
+			generateFlightBlock(config_, airportGraph_, _blockRands[_block], _blockSize,
+					_rcpController, _blockStores[_block]);
+		});
+		for(int _block = 0; _block < _numberOfBlocks; _block++) {
+			flightStore_.addAll(_blockStores[_block]);
+			_blockStores[_block] = null;
+		}
+	}
+
+	/**
+	 *  Runs through the total number of flights to be created by the current model and
+	 *  folds each into an aggregator as it is made, so no flight is kept and memory does
+	 *  not grow with the number of flights. Every sorted edge is first named to the
+	 *  aggregator with its rank as the route id. Blocks are split as for a FlightList, so
+	 *  a seeded run sees the same flights, and each block is folded into its own partial
+	 *  of the aggregator. The partials are merged in block order, so a seeded run gives
+	 *  the same aggregates for any thread count. Partials are reused a window of blocks
+	 *  at a time. The revenue and cost of every flight are found in micro-units.
+	 *  
+	 *  @param config_			The parsed config of the current model
+	 *  @param airportGraph_	The AirportGraph of the current model
+	 *  @param aggregator_		The FlightAggregator to fold the flights into
+	 *  @return N/A
+	 */
+	public void generateCurrentStateModel(SimulationConfig config_, AirportGraphInterface airportGraph_,
+			FlightAggregator aggregator_) {
+
+		int _numberOfEdges = airportGraph_.getNumberOfEdges();
+		for(int _rank = 0; _rank < _numberOfEdges; _rank++) {
+			aggregator_.nameRoute(_rank, airportGraph_.getSortedEdgeSource(_rank),
+					airportGraph_.getSortedEdgeDestination(_rank));
 		}
-	}	
-}
\ No newline at end of file
+		
+		SplittableRandom[] _blockRands = splitBlockRandoms(config_, airportGraph_);
+		int _numberOfBlocks = _blockRands.length;
+		int _parallelism = findParallelism(config_);
+		FixedPointRCPController _rcpController = new FixedPointRCPController(config_);
+		
+		if(_parallelism == 1 || _numberOfBlocks <= 1) {
+			FlightAggregator _partial = aggregator_.newPartial();
+			for(int _block = 0; _block < _numberOfBlocks; _block++) {
+				generateFlightBlocks(config_, airportGraph_, _blockRands, _block, _block + 1, _rcpController, _partial);
+				aggregator_.merge(_partial);
+				_partial.clear();
+			}
+			return;
+		}
+		
+		FlightAggregator[] _partials = new FlightAggregator[Math.min(_parallelism * PARTIALS_PER_THREAD,
+				_numberOfBlocks)];
+		for(int _slot = 0; _slot < _partials.length; _slot++) {
+			_partials[_slot] = aggregator_.newPartial();
+		}
+		ForkJoinPool _pool = new ForkJoinPool(_parallelism);
+		try {
+			for(int _firstBlock = 0; _firstBlock < _numberOfBlocks; _firstBlock += _partials.length) {
+				int _windowStart = _firstBlock;
+				int _windowSize = Math.min(_partials.length, _numberOfBlocks - _firstBlock);
+				_pool.invoke(new FlightBlockTask(_slot -> generateFlightBlocks(config_, airportGraph_, _blockRands,
+						_windowStart + _slot, _windowStart + _slot + 1, _rcpController, _partials[_slot]),
+						0, _windowSize));
+				for(int _slot = 0; _slot < _windowSize; _slot++) {
+					aggregator_.merge(_partials[_slot]);
+					_partials[_slot].clear();
+				}
+			}
+		} finally {
+			_pool.shutdown();
+		}
+	}
+	
+	/**
+	 *  Splits one generator per block in order from the simulation seed, or from this
+	 *  generator when the config is not seeded. The edge sampler is built first so
+	 *  every block shares the same table.
+	 */
+	private SplittableRandom[] splitBlockRandoms(SimulationConfig config_, AirportGraphInterface airportGraph_) {
+		int _flightsNeeded = config_.getNumberOfFlights();
+		int _numberOfEdges = airportGraph_.getNumberOfEdges();
+		if(_flightsNeeded <= 0) {
+			return new SplittableRandom[0];
+		}
+		if(_numberOfEdges == 0) {
+			throw new IllegalArgumentException("Cannot generate flights: the airport graph has no edges");
+		}
+		
+		if(config_.getPreferredAircraftSize() != null && _numberOfEdges > 1) {
+			findEdgeSampler(_numberOfEdges, config_.getPreferredAircraftSize());
+		}
+		
+		SplittableRandom _masterRand = config_.isSeeded() ? new SplittableRandom(config_.getSimulationSeed()) : rand.split();
+		SplittableRandom[] _blockRands = new SplittableRandom[(_flightsNeeded + FLIGHTS_PER_BLOCK - 1) / FLIGHTS_PER_BLOCK];
+		for(int _block = 0; _block < _blockRands.length; _block++) {
+			_blockRands[_block] = _masterRand.split();
+		}
+		return _blockRands;
+	}
+	
+	private static int findParallelism(SimulationConfig config_) {
+		int _parallelism = config_.getGenerationParallelism();
+		return _parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : _parallelism;
+	}
+	
+	private static void generateBlocks(int parallelism_, int numberOfBlocks_, IntConsumer generateBlock_) {
+		ForkJoinPool _pool = new ForkJoinPool(parallelism_);
+		try {
+			_pool.invoke(new FlightBlockTask(generateBlock_, 0, numberOfBlocks_));
+		} finally {
+			_pool.shutdown();
+		}
+	}
+	
+	private void generateFlightBlock(SimulationConfig config_, AirportGraphInterface airportGraph_,
+			SplittableRandom blockRand_, int numberOfFlights_, ArrayList<Flight> blockFlights_) {
+		
+		GenerateModelData _blockGenerator = new GenerateModelData(blockRand_, edgeSampler, antitheticSeats);
+		FlightBuilder _flightBuilder = new FlightBuilder(airportGraph_);
+		for(int _i = 0; _i < numberOfFlights_; _i++) {
+			blockFlights_.add(_blockGenerator.generateFlight(config_, airportGraph_, _flightBuilder));
+		}
+	}
+	
+	private void generateFlightBlock(SimulationConfig config_, AirportGraphInterface airportGraph_,
+			SplittableRandom blockRand_, int numberOfFlights_, FixedPointRCPController rcpController_,
+			FlightStore blockStore_) {
+		
+		GenerateModelData _blockGenerator = new GenerateModelData(blockRand_, edgeSampler, antitheticSeats);
+		AircraftPilot[] _pilotsBySize = findPilotsBySize(config_);
+		for(int _i = 0; _i < numberOfFlights_; _i++) {
+			_blockGenerator.generateFlight(config_, airportGraph_, rcpController_, _pilotsBySize, blockStore_);
+		}
+	}
+	
+	private void generateFlightBlocks(SimulationConfig config_, AirportGraphInterface airportGraph_,
+			SplittableRandom[] blockRands_, int firstBlock_, int lastBlock_, FixedPointRCPController rcpController_,
+			FlightAggregator aggregator_) {
+		
+		AircraftPilot[] _pilotsBySize = findPilotsBySize(config_);
+		int[][] _seatsFilledBySize = new int[AircraftSize.values().length][];
+		for(AircraftSize _size : AircraftSize.values()) {
+			_seatsFilledBySize[_size.ordinal()] = new int[config_.getMaxSeatsPerSection(_size).length];
+		}
+		for(int _block = firstBlock_; _block < lastBlock_; _block++) {
+			GenerateModelData _blockGenerator = new GenerateModelData(blockRands_[_block], edgeSampler, antitheticSeats);
+			int _blockSize = getBlockSize(_block, config_.getNumberOfFlights());
+			for(int _i = 0; _i < _blockSize; _i++) {
+				_blockGenerator.generateFlight(config_, airportGraph_, rcpController_, _pilotsBySize,
+						_seatsFilledBySize, aggregator_);
+			}
+		}
+	}
+	
+	private static AircraftPilot[] findPilotsBySize(SimulationConfig config_) {
+		PilotBuilder _pilotBuilder = new PilotBuilder(config_);
+		AircraftPilot[] _pilotsBySize = new AircraftPilot[AircraftSize.values().length];
+		for(AircraftSize _size : AircraftSize.values()) {
+			_pilotsBySize[_size.ordinal()] = _pilotBuilder.assignPilotToAircraft(_size);
+		}
+		return _pilotsBySize;
+	}
+	
+	private static String joinSections(int[] sections_) {
+		StringBuilder _joined = new StringBuilder();
+		for(int _section = 0; _section < sections_.length; _section++) {
+			_joined.append(_section == 0 ? "" : "|").append(sections_[_section]);
+		}
+		return _joined.toString();
+	}
+	
+	private static String joinSections(BigDecimal[] sections_) {
+		StringBuilder _joined = new StringBuilder();
+		for(int _section = 0; _section < sections_.length; _section++) {
+			_joined.append(_section == 0 ? "" : "|").append(sections_[_section]);
+		}
+		return _joined.toString();
+	}
+	
+	private static int getBlockSize(int block_, int flightsNeeded_) {
+		return Math.min(FLIGHTS_PER_BLOCK, flightsNeeded_ - block_ * FLIGHTS_PER_BLOCK);
+	}
+	
+	/**
+	 * Splits a range of flight blocks until a single block is left,
+	 * which is generated into its own slot of the results
+	 */
+	private static class FlightBlockTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final IntConsumer generateBlock;
+		private final int firstBlock;
+		private final int lastBlock;
+
+		FlightBlockTask(IntConsumer generateBlock_, int firstBlock_, int lastBlock_) {
+			generateBlock = generateBlock_;
+			firstBlock = firstBlock_;
+			lastBlock = lastBlock_;
+		}
+
+		@Override
+		protected void compute() {
+			if(lastBlock - firstBlock > 1) {
+				int _middle = (firstBlock + lastBlock) >>> 1;
+				invokeAll(new FlightBlockTask(generateBlock, firstBlock, _middle),
+						new FlightBlockTask(generateBlock, _middle, lastBlock));
+				return;
+			}
+			generateBlock.accept(firstBlock);
+		}
+	}
+}
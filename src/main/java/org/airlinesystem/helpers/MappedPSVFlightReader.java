@@ -0,0 +1,791 @@
+/**
+ * MappedPSVFlightReader class
+ *		Reads a pipe separated flight data file by memory mapping
+ *		it and scanning the bytes in place. Numbers are parsed
+ *		straight from the mapped bytes and airport names are only
+ *		turned into Strings once each, through an intern table,
+ *		so large files are read without a String per field.
+ *		Files can also be split into chunks read on several threads,
+ *		or folded straight into a FlightAggregator without a Flight
+ *		per line.
+ */
+
+package org.airlinesystem.helpers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.airlinesystem.controllers.FixedPointRCPController;
+import org.airlinesystem.controllers.logging.FullLogging;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.AirportGraphInterface;
+import org.airlinesystem.helpers.collections.LongIntHashMap;
+import org.airlinesystem.model.AircraftPilot;
+import org.airlinesystem.model.Airport;
+import org.airlinesystem.model.Flight;
+import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.aggregation.FlightAggregator;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class MappedPSVFlightReader {
+
+	public static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+	public static final long DEFAULT_CHUNK_SIZE = 16L << 20;
+
+	private static final int FIELDS_PER_LINE = 16;
+	private static final byte DELIM = '|';
+	private static final byte NEW_LINE = '\n';
+	private static final int BOUNDARY_SCAN_SIZE = 8192;
+	private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L,
+			10000000L, 100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L,
+			10000000000000L, 100000000000000L, 1000000000000000L};
+
+	private final long windowSize;
+	private final long chunkSize;
+	private final NameTable airportNames = new NameTable();
+	private FullLogging readDataLog = FullLogging.getInstance();
+
+	// Per line scratch state, reused for every line
+	private final int[] fieldStarts = new int[FIELDS_PER_LINE];
+	private final int[] fieldEnds = new int[FIELDS_PER_LINE];
+	private byte[] scratch = new byte[64];
+	private long parsedUnscaled;
+	private int parsedScale;
+	private int parsedSourceId;
+	private int parsedDestinationId;
+	private double parsedDistance;
+
+	// Last price seen in each section of each aircraft size, so repeated prices share one object
+	private final BigDecimal[][] lastPrices = new BigDecimal[AircraftSize.values().length][SimulationConfig.NUMBER_OF_SECTIONS];
+
+	/**
+	 * Constructor mapping the file one gigabyte at a time and splitting
+	 * it into chunks of about 16 megabytes for parallel reads
+	 */
+	public MappedPSVFlightReader() {
+		this(DEFAULT_WINDOW_SIZE, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param windowSize_
+	 * 		long of the most bytes to map at once, which must be longer
+	 * 		than the longest line of the file
+	 * @param chunkSize_
+	 * 		long of the bytes of the file each worker reads at a time
+	 * 		when reading in parallel
+	 */
+	public MappedPSVFlightReader(long windowSize_, long chunkSize_) {
+		windowSize = Math.max(1, Math.min(windowSize_, Integer.MAX_VALUE));
+		chunkSize = Math.max(1, chunkSize_);
+	}
+
+	/**
+	 * Reads every flight of a data file into the flight list and adds any
+	 * airports and edges they use to the graph
+	 * NOTE: First line ignored (assumed to be outline of data input)
+	 *
+	 * @param listOfFlights_
+	 * 		FlightList that will have the flights added to it
+	 * @param fileToRead_
+	 * 		File of pipe separated flight data
+	 * @param config_
+	 * 		SimulationConfig passed on to the FlightBuilder
+	 * @param airportGraph_
+	 * 		AirportGraphInterface the flights' airports and edges are added to
+	 * @return
+	 * 		N/A
+	 * @throws AirlineSystemException
+	 * 		if the file cannot be read or a line is malformed
+	 */
+	public void readFileIntoFlightList(FlightList listOfFlights_, File fileToRead_,
+			SimulationConfig config_, AirportGraphInterface airportGraph_) throws AirlineSystemException {
+		readFileIntoFlightList(listOfFlights_, fileToRead_, config_, airportGraph_, 1);
+	}
+
+	/**
+	 * Reads every flight of a data file into the flight list and adds any
+	 * airports and edges they use to the graph. The file is split into
+	 * chunks that start on a new line, each chunk is parsed on its own
+	 * worker into its own buffer of flights and new edges, and the buffers
+	 * are merged in file order so the result matches a serial read.
+	 * NOTE: First line ignored (assumed to be outline of data input)
+	 *
+	 * @param listOfFlights_
+	 * 		FlightList that will have the flights added to it
+	 * @param fileToRead_
+	 * 		File of pipe separated flight data
+	 * @param config_
+	 * 		SimulationConfig passed on to the FlightBuilder
+	 * @param airportGraph_
+	 * 		AirportGraphInterface the flights' airports and edges are added to
+	 * @param parallelism_
+	 * 		int of threads to parse chunks on, 0 for every processor
+	 * @return
+	 * 		N/A
+	 * @throws AirlineSystemException
+	 * 		if the file cannot be read or a line is malformed
+	 */
+	public void readFileIntoFlightList(FlightList listOfFlights_, File fileToRead_,
+			SimulationConfig config_, AirportGraphInterface airportGraph_, int parallelism_)
+			throws AirlineSystemException {
+		readDataLog.debugDebug("Reading mapped input file");
+
+		if(parallelism_ <= 0) {
+			parallelism_ = Runtime.getRuntime().availableProcessors();
+		}
+		FlightChunk[] _chunks;
+
+		try (RandomAccessFile _file = new RandomAccessFile(fileToRead_, "r");
+				FileChannel _channel = _file.getChannel()) {
+			long[] _boundaries = findChunkBoundaries(_channel, parallelism_ == 1 ? Long.MAX_VALUE : chunkSize);
+			_chunks = new FlightChunk[_boundaries.length - 1];
+			// Airports new to the graph, shared by every chunk so each name has one Airport
+			ConcurrentMap<String, Airport> _newAirports = new ConcurrentHashMap<String, Airport>();
+
+			if(parallelism_ == 1 || _chunks.length == 1) {
+				for(int _chunk = 0; _chunk < _chunks.length; _chunk++) {
+					_chunks[_chunk] = readChunk(_channel, _boundaries[_chunk], _boundaries[_chunk + 1], 
+							_chunk == 0, config_, new FlightBuilder(airportGraph_, _newAirports));
+				}
+			} else {
+				ForkJoinPool _pool = new ForkJoinPool(parallelism_);
+				try {
+					_pool.invoke(new ChunkTask(_channel, _boundaries, _chunks, config_, airportGraph_, 
+							_newAirports, 0, _chunks.length));
+				} finally {
+					_pool.shutdown();
+				}
+			}
+		}
+		catch (IOException e_) {
+			throw new AirlineSystemException("IOException: could not read data", e_);
+		}
+
+		ReadGraphFromPSV _addEdgeToGraph = new ReadGraphFromPSV();
+		for(int _chunk = 0; _chunk < _chunks.length; _chunk++) {
+			if(_chunks[_chunk].error != null) {
+				throw _chunks[_chunk].error;
+			}
+		}
+		for(int _chunk = 0; _chunk < _chunks.length; _chunk++) {
+			for(Flight _edgeFlight : _chunks[_chunk].newEdges) {
+				addEdge(_addEdgeToGraph, airportGraph_, _edgeFlight);
+			}
+			for(Flight _flight : _chunks[_chunk].flights) {
+				listOfFlights_.addFlightToList(_flight, airportGraph_);
+			}
+			_chunks[_chunk] = null;
+		}
+		readDataLog.debugDebug("Successfully read mapped file");
+	}
+
+	/**
+	 * Reads every flight of a data file straight into an aggregator and adds
+	 * any airports and edges they use to the graph. No Flight is made: the
+	 * fields of each line are parsed into arrays reused for every line, and
+	 * the revenue and cost are found in micro-units as by the fixed point
+	 * engine. Routes are given dense ids in the order they are first seen,
+	 * in either direction, and named to the aggregator as they are found.
+	 * NOTE: First line ignored (assumed to be outline of data input)
+	 *
+	 * @param aggregator_
+	 * 		FlightAggregator that will have the flights added to it
+	 * @param fileToRead_
+	 * 		File of pipe separated flight data
+	 * @param config_
+	 * 		SimulationConfig giving the fuel cost and pilots
+	 * @param airportGraph_
+	 * 		AirportGraphInterface the flights' airports and edges are added to
+	 * @return
+	 * 		N/A
+	 * @throws AirlineSystemException
+	 * 		if the file cannot be read or a line is malformed
+	 */
+	public void readFileIntoAggregator(FlightAggregator aggregator_, File fileToRead_,
+			SimulationConfig config_, AirportGraphInterface airportGraph_) throws AirlineSystemException {
+		readDataLog.debugDebug("Reading mapped input file into an aggregator");
+
+		FixedPointRCPController _rcpController = new FixedPointRCPController(config_);
+		PilotBuilder _pilotBuilder = new PilotBuilder(config_);
+		AircraftPilot[] _pilotsBySize = new AircraftPilot[AircraftSize.values().length];
+		for(AircraftSize _size : AircraftSize.values()) {
+			_pilotsBySize[_size.ordinal()] = _pilotBuilder.assignPilotToAircraft(_size);
+		}
+		ReadGraphFromPSV _addEdgeToGraph = new ReadGraphFromPSV();
+		LongIntHashMap _routeIds = new LongIntHashMap();
+		int[] _maxSeatsPerSection = new int[SimulationConfig.NUMBER_OF_SECTIONS];
+		int[] _seatsFilledPerSection = new int[SimulationConfig.NUMBER_OF_SECTIONS];
+		BigDecimal[] _seatCostPerSection = new BigDecimal[SimulationConfig.NUMBER_OF_SECTIONS];
+		// Repeated prices are the same object, so each is only turned into micro-units when it changes
+		BigDecimal[][] _pricesInMicros = new BigDecimal[AircraftSize.values().length][SimulationConfig.NUMBER_OF_SECTIONS];
+		long[][] _priceMicros = new long[AircraftSize.values().length][SimulationConfig.NUMBER_OF_SECTIONS];
+
+		try (RandomAccessFile _file = new RandomAccessFile(fileToRead_, "r");
+				FileChannel _channel = _file.getChannel()) {
+			readLines(_channel, 0, _channel.size(), true, (_buffer, _lineStart, _lineEnd, _lineOffset) -> {
+				AircraftSize _aircraftSize = parseFields(_buffer, _lineStart, _lineEnd, _lineOffset,
+						_maxSeatsPerSection, _seatsFilledPerSection, _seatCostPerSection);
+				if(_aircraftSize == null) {
+					return;
+				}
+				long _edgeKey = LongIntHashMap.pack(Math.min(parsedSourceId, parsedDestinationId),
+						Math.max(parsedSourceId, parsedDestinationId));
+				int _routeId = _routeIds.putIfAbsent(_edgeKey, _routeIds.size());
+				if(_routeId == LongIntHashMap.NO_VALUE) {
+					_routeId = _routeIds.size() - 1;
+					String _source = airportNames.getName(parsedSourceId);
+					String _destination = airportNames.getName(parsedDestinationId);
+					if(!airportGraph_.areAirportsConnected(_source, _destination)) {
+						_addEdgeToGraph.readEdgeIntoGraph(airportGraph_, _source, _destination, parsedDistance);
+					}
+					aggregator_.nameRoute(_routeId, _source, _destination);
+				}
+
+				BigDecimal[] _sizePricesInMicros = _pricesInMicros[_aircraftSize.ordinal()];
+				long[] _sizePriceMicros = _priceMicros[_aircraftSize.ordinal()];
+				long _revenueMicros = 0;
+				int _passengers = 0;
+				try {
+					for(int _section = 0; _section < SimulationConfig.NUMBER_OF_SECTIONS; _section++) {
+						if(_seatCostPerSection[_section] != _sizePricesInMicros[_section]) {
+							_sizePriceMicros[_section] = FixedPointRCPController.toMicros(_seatCostPerSection[_section]);
+							_sizePricesInMicros[_section] = _seatCostPerSection[_section];
+						}
+						_revenueMicros = Math.addExact(_revenueMicros,
+								Math.multiplyExact(_sizePriceMicros[_section], _seatsFilledPerSection[_section]));
+						_passengers += _seatsFilledPerSection[_section];
+					}
+					AircraftPilot _pilot = _pilotsBySize[_aircraftSize.ordinal()];
+					aggregator_.addFlight(_routeId, _aircraftSize, _passengers,
+							FixedPointRCPController.distanceToMicros(parsedDistance), _revenueMicros,
+							_rcpController.findCostMicros(parsedDistance, _pilot, _pilot));
+				} catch(ArithmeticException e_) {
+					throw malformed(_lineOffset, "revenue or cost out of range");
+				}
+			});
+		}
+		catch (IOException e_) {
+			throw new AirlineSystemException("IOException: could not read data", e_);
+		}
+		readDataLog.debugDebug("Successfully read mapped file into an aggregator");
+	}
+
+	/**
+	 * Splits the file into ranges of about chunkSize_ bytes, moving each
+	 * split forward to just after the next new line
+	 *
+	 * @return
+	 * 		long array of chunk start offsets followed by the file size
+	 */
+	private static long[] findChunkBoundaries(FileChannel channel_, long chunkSize_) throws IOException {
+		long _fileSize = channel_.size();
+		ArrayList<Long> _boundaries = new ArrayList<Long>();
+		ByteBuffer _scan = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+		long _next = 0;
+
+		_boundaries.add(0L);
+		while(_fileSize - _next > chunkSize_) {
+			_next = findNextLineStart(channel_, _next + chunkSize_, _fileSize, _scan);
+			if(_next >= _fileSize) {
+				break;
+			}
+			_boundaries.add(_next);
+		}
+		_boundaries.add(_fileSize);
+
+		long[] _result = new long[_boundaries.size()];
+		for(int _i = 0; _i < _result.length; _i++) {
+			_result[_i] = _boundaries.get(_i);
+		}
+		return _result;
+	}
+
+	private static long findNextLineStart(FileChannel channel_, long from_, long fileSize_, ByteBuffer scan_)
+			throws IOException {
+		long _position = from_;
+		while(_position < fileSize_) {
+			scan_.clear();
+			int _read = channel_.read(scan_, _position);
+			if(_read <= 0) {
+				break;
+			}
+			for(int _i = 0; _i < _read; _i++) {
+				if(scan_.get(_i) == NEW_LINE) {
+					return _position + _i + 1;
+				}
+			}
+			_position += _read;
+		}
+		return fileSize_;
+	}
+
+	/**
+	 * Parses the lines between two offsets into a buffer of flights and
+	 * the first flight along each edge, taking airports from the builder
+	 */
+	private FlightChunk readChunk(FileChannel channel_, long chunkStart_, long chunkEnd_, 
+			boolean skipHeader_, SimulationConfig config_, FlightBuilder flightBuilder_) {
+		FlightChunk _chunk = new FlightChunk();
+		LongIntHashMap _chunkEdges = new LongIntHashMap();
+
+		try {
+			readLines(channel_, chunkStart_, chunkEnd_, skipHeader_, (_buffer, _lineStart, _lineEnd, _lineOffset) -> {
+				Flight _flight = parseLine(_buffer, _lineStart, _lineEnd, _lineOffset, config_, flightBuilder_);
+				if(_flight != null) {
+					long _edgeKey = LongIntHashMap.pack(Math.min(parsedSourceId, parsedDestinationId),
+							Math.max(parsedSourceId, parsedDestinationId));
+					if(_chunkEdges.putIfAbsent(_edgeKey, 0) == LongIntHashMap.NO_VALUE) {
+						_chunk.newEdges.add(_flight);
+					}
+					_chunk.flights.add(_flight);
+				}
+			});
+		}
+		catch (IOException e_) {
+			_chunk.error = new AirlineSystemException("IOException: could not read data", e_);
+		}
+		catch (AirlineSystemException e_) {
+			_chunk.error = e_;
+		}
+		return _chunk;
+	}
+
+	/**
+	 * Hands each line between two offsets to a reader, mapping a window
+	 * at a time
+	 */
+	private void readLines(FileChannel channel_, long rangeStart_, long rangeEnd_, boolean skipHeader_,
+			LineReader lineReader_) throws IOException, AirlineSystemException {
+		boolean _skipLine = skipHeader_;
+		long _windowStart = rangeStart_;
+
+		while(_windowStart < rangeEnd_) {
+			int _windowLength = (int)Math.min(windowSize, rangeEnd_ - _windowStart);
+			boolean _lastWindow = _windowStart + _windowLength == rangeEnd_;
+			MappedByteBuffer _buffer = channel_.map(FileChannel.MapMode.READ_ONLY, _windowStart, _windowLength);
+			int _position = 0;
+
+			while(_position < _windowLength) {
+				int _lineEnd = findLineEnd(_buffer, _position, _windowLength);
+				if(_lineEnd < 0) {
+					if(!_lastWindow) {
+						break;
+					}
+					_lineEnd = _windowLength;
+				}
+				if(_skipLine) {
+					_skipLine = false;
+				} else {
+					lineReader_.readLine(_buffer, _position, _lineEnd, _windowStart + _position);
+				}
+				_position = _lineEnd + 1;
+			}
+			if(_position == 0) {
+				throw new AirlineSystemException("The line starting at byte " + _windowStart 
+						+ " is longer than the mapping window");
+			}
+			_windowStart += Math.min(_position, _windowLength);
+		}
+	}
+
+	private void addEdge(ReadGraphFromPSV addEdgeToGraph_, AirportGraphInterface airportGraph_, Flight flight_) {
+		String _source = flight_.getSource().getName();
+		String _destination = flight_.getDestination().getName();
+		// The flight's own airports go in first, so the graph holds the instances its flights share
+		airportGraph_.addAirport(flight_.getSource());
+		airportGraph_.addAirport(flight_.getDestination());
+		if(!airportGraph_.areAirportsConnected(_source, _destination)) {
+			addEdgeToGraph_.readEdgeIntoGraph(airportGraph_, _source, _destination, flight_.getDistanceTravelled());
+		}
+	}
+
+	private static int findLineEnd(MappedByteBuffer buffer_, int from_, int limit_) {
+		for(int _i = from_; _i < limit_; _i++) {
+			if(buffer_.get(_i) == NEW_LINE) {
+				return _i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Parses one line into a Flight, or returns null for blank lines and
+	 * lines with more seats filled than the section holds
+	 */
+	private Flight parseLine(MappedByteBuffer buffer_, int lineStart_, int lineEnd_, long lineOffset_,
+			SimulationConfig config_, FlightBuilder flightBuilder_) throws AirlineSystemException {
+		int[] _maxSeatsPerSection = new int[SimulationConfig.NUMBER_OF_SECTIONS];
+		int[] _seatsFilledPerSection = new int[SimulationConfig.NUMBER_OF_SECTIONS];
+		BigDecimal[] _seatCostPerSection = new BigDecimal[SimulationConfig.NUMBER_OF_SECTIONS];
+		AircraftSize _aircraftSize = parseFields(buffer_, lineStart_, lineEnd_, lineOffset_,
+				_maxSeatsPerSection, _seatsFilledPerSection, _seatCostPerSection);
+		if(_aircraftSize == null) {
+			return null;
+		}
+		return flightBuilder_.flightDispatchService(_aircraftSize, _maxSeatsPerSection, _seatsFilledPerSection,
+				_seatCostPerSection, airportNames.getName(parsedSourceId), airportNames.getName(parsedDestinationId),
+				parsedDistance, config_);
+	}
+
+	/**
+	 * Parses the fields of one line into the passed arrays, leaving the
+	 * airport ids and distance in parsedSourceId, parsedDestinationId, and
+	 * parsedDistance
+	 *
+	 * @return
+	 * 		AircraftSize of the line, or null for blank lines and lines with
+	 * 		more seats filled than the section holds
+	 */
+	private AircraftSize parseFields(MappedByteBuffer buffer_, int lineStart_, int lineEnd_, long lineOffset_,
+			int[] maxSeatsPerSection_, int[] seatsFilledPerSection_, BigDecimal[] seatCostPerSection_)
+			throws AirlineSystemException {
+		int _fields = 0;
+		int _fieldStart = lineStart_;
+		boolean _blank = true;
+
+		for(int _i = lineStart_; _i <= lineEnd_; _i++) {
+			byte _b = _i < lineEnd_ ? buffer_.get(_i) : DELIM;
+			if(_b == DELIM) {
+				if(_fields == FIELDS_PER_LINE) {
+					throw malformed(lineOffset_, "too many fields");
+				}
+				fieldStarts[_fields] = _fieldStart;
+				fieldEnds[_fields] = _i;
+				_fields++;
+				_fieldStart = _i + 1;
+			} else if(!isWhitespace(_b)) {
+				_blank = false;
+			}
+		}
+		if(_blank) {
+			return null;
+		}
+		if(_fields != FIELDS_PER_LINE) {
+			throw malformed(lineOffset_, "expected " + FIELDS_PER_LINE + " fields");
+		}
+
+		parsedSourceId = internName(buffer_, 0, lineOffset_);
+		parsedDestinationId = internName(buffer_, 1, lineOffset_);
+		parsedDistance = parseDouble(buffer_, 2, lineOffset_);
+		AircraftSize _aircraftSize = parseAircraftSize(buffer_, 3, lineOffset_);
+
+		for(int _section = 0; _section < SimulationConfig.NUMBER_OF_SECTIONS; _section++) {
+			maxSeatsPerSection_[_section] = parseInt(buffer_, 4 + _section, lineOffset_);
+		}
+		for(int _section = 0; _section < SimulationConfig.NUMBER_OF_SECTIONS; _section++) {
+			seatsFilledPerSection_[_section] = parseInt(buffer_, 8 + _section, lineOffset_);
+			if(seatsFilledPerSection_[_section] > maxSeatsPerSection_[_section]) {
+				readDataLog.debugDebug("Ignored invalid input in data");
+				return null;
+			}
+		}
+		for(int _section = 0; _section < SimulationConfig.NUMBER_OF_SECTIONS; _section++) {
+			seatCostPerSection_[_section] = parsePrice(buffer_, 12 + _section, _aircraftSize, _section, lineOffset_);
+		}
+		return _aircraftSize;
+	}
+
+	/**
+	 * Copies the non whitespace bytes of a field into the scratch array
+	 *
+	 * @return
+	 * 		int of the number of bytes copied
+	 */
+	private int compactField(MappedByteBuffer buffer_, int field_) {
+		int _length = 0;
+		for(int _i = fieldStarts[field_]; _i < fieldEnds[field_]; _i++) {
+			byte _b = buffer_.get(_i);
+			if(isWhitespace(_b)) {
+				continue;
+			}
+			if(_length == scratch.length) {
+				scratch = Arrays.copyOf(scratch, _length * 2);
+			}
+			scratch[_length++] = _b;
+		}
+		return _length;
+	}
+
+	private int internName(MappedByteBuffer buffer_, int field_, long lineOffset_) throws AirlineSystemException {
+		int _length = compactField(buffer_, field_);
+		if(_length == 0) {
+			throw malformed(lineOffset_, "empty airport name");
+		}
+		return airportNames.intern(scratch, _length);
+	}
+
+	private AircraftSize parseAircraftSize(MappedByteBuffer buffer_, int field_, long lineOffset_)
+			throws AirlineSystemException {
+		int _length = compactField(buffer_, field_);
+		if(_length == 1) {
+			switch(scratch[0]) {
+				case 'S':
+				case 's':
+					return AircraftSize.S;
+				case 'M':
+				case 'm':
+					return AircraftSize.M;
+				case 'L':
+				case 'l':
+					return AircraftSize.L;
+				default:
+					break;
+			}
+		}
+		throw malformed(lineOffset_, "unknown aircraft size");
+	}
+
+	private int parseInt(MappedByteBuffer buffer_, int field_, long lineOffset_) throws AirlineSystemException {
+		if(!parseDecimal(buffer_, field_) || parsedScale != 0
+				|| parsedUnscaled > Integer.MAX_VALUE || parsedUnscaled < Integer.MIN_VALUE) {
+			throw malformed(lineOffset_, "field " + (field_ + 1) + " is not a whole number");
+		}
+		return (int)parsedUnscaled;
+	}
+
+	private double parseDouble(MappedByteBuffer buffer_, int field_, long lineOffset_) throws AirlineSystemException {
+		// Both values are exact doubles here so the division is correctly rounded
+		if(parseDecimal(buffer_, field_) && Math.abs(parsedUnscaled) < (1L << 53)) {
+			return parsedUnscaled / (double)POWERS_OF_TEN[parsedScale];
+		}
+		try {
+			return Double.parseDouble(new String(scratch, 0, compactField(buffer_, field_), StandardCharsets.US_ASCII));
+		} catch(NumberFormatException e_) {
+			throw malformed(lineOffset_, "field " + (field_ + 1) + " is not a number");
+		}
+	}
+
+	private BigDecimal parsePrice(MappedByteBuffer buffer_, int field_, AircraftSize aircraftSize_, int section_,
+			long lineOffset_) throws AirlineSystemException {
+		BigDecimal _price;
+		if(parseDecimal(buffer_, field_)) {
+			BigDecimal _last = lastPrices[aircraftSize_.ordinal()][section_];
+			if(_last != null && _last.scale() == parsedScale && _last.unscaledValue().bitLength() < 64
+					&& _last.unscaledValue().longValue() == parsedUnscaled) {
+				return _last;
+			}
+			_price = BigDecimal.valueOf(parsedUnscaled, parsedScale);
+		} else {
+			try {
+				_price = new BigDecimal(new String(scratch, 0, compactField(buffer_, field_), StandardCharsets.US_ASCII));
+			} catch(NumberFormatException e_) {
+				throw malformed(lineOffset_, "field " + (field_ + 1) + " is not a decimal value");
+			}
+		}
+		lastPrices[aircraftSize_.ordinal()][section_] = _price;
+		return _price;
+	}
+
+	/**
+	 * Parses a plain decimal of up to 15 fraction digits into parsedUnscaled
+	 * and parsedScale, ignoring whitespace
+	 *
+	 * @return
+	 * 		true if the field was a plain decimal that fits in a long,
+	 * 		false if it needs the slower String parser
+	 */
+	private boolean parseDecimal(MappedByteBuffer buffer_, int field_) {
+		long _unscaled = 0;
+		int _scale = 0;
+		int _digits = 0;
+		boolean _negative = false;
+		boolean _fraction = false;
+		boolean _signAllowed = true;
+
+		for(int _i = fieldStarts[field_]; _i < fieldEnds[field_]; _i++) {
+			byte _b = buffer_.get(_i);
+			if(isWhitespace(_b)) {
+				continue;
+			}
+			if(_b >= '0' && _b <= '9') {
+				if(_unscaled > (Long.MAX_VALUE - 9) / 10 || (_fraction && _scale == POWERS_OF_TEN.length - 1)) {
+					return false;
+				}
+				_unscaled = _unscaled * 10 + (_b - '0');
+				_digits++;
+				if(_fraction) {
+					_scale++;
+				}
+			} else if(_b == '.' && !_fraction) {
+				_fraction = true;
+			} else if((_b == '-' || _b == '+') && _signAllowed) {
+				_negative = _b == '-';
+			} else {
+				return false;
+			}
+			_signAllowed = false;
+		}
+		if(_digits == 0) {
+			return false;
+		}
+		parsedUnscaled = _negative ? -_unscaled : _unscaled;
+		parsedScale = _scale;
+		return true;
+	}
+
+	private static boolean isWhitespace(byte b_) {
+		return b_ == ' ' || b_ == '\t' || b_ == '\r' || b_ == '\n' || b_ == '\f' || b_ == 0x0B;
+	}
+
+	private static AirlineSystemException malformed(long lineOffset_, String reason_) {
+		return new AirlineSystemException("Malformed flight data in the line starting at byte " 
+				+ lineOffset_ + ": " + reason_);
+	}
+
+	/**
+	 * Open addressing table from the bytes of an airport name to a dense
+	 * id and a single shared String, so each name is decoded once per file
+	 */
+	private static class NameTable {
+
+		private byte[][] keys = new byte[64][];
+		private int[] ids = new int[64];
+		private String[] names = new String[32];
+		private int size;
+
+		int intern(byte[] bytes_, int length_) {
+			int _mask = keys.length - 1;
+			int _slot = hash(bytes_, length_) & _mask;
+			while(keys[_slot] != null) {
+				if(matches(keys[_slot], bytes_, length_)) {
+					return ids[_slot];
+				}
+				_slot = (_slot + 1) & _mask;
+			}
+			if(size == names.length) {
+				names = Arrays.copyOf(names, size * 2);
+			}
+			keys[_slot] = Arrays.copyOf(bytes_, length_);
+			ids[_slot] = size;
+			names[size] = new String(bytes_, 0, length_, StandardCharsets.UTF_8);
+			if(++size * 2 > keys.length) {
+				grow();
+			}
+			return size - 1;
+		}
+
+		String getName(int id_) {
+			return names[id_];
+		}
+
+		private void grow() {
+			byte[][] _oldKeys = keys;
+			int[] _oldIds = ids;
+			keys = new byte[_oldKeys.length * 2][];
+			ids = new int[_oldKeys.length * 2];
+			int _mask = keys.length - 1;
+			for(int _i = 0; _i < _oldKeys.length; _i++) {
+				if(_oldKeys[_i] == null) {
+					continue;
+				}
+				int _slot = hash(_oldKeys[_i], _oldKeys[_i].length) & _mask;
+				while(keys[_slot] != null) {
+					_slot = (_slot + 1) & _mask;
+				}
+				keys[_slot] = _oldKeys[_i];
+				ids[_slot] = _oldIds[_i];
+			}
+		}
+
+		private static int hash(byte[] bytes_, int length_) {
+			int _hash = 0x811C9DC5;
+			for(int _i = 0; _i < length_; _i++) {
+				_hash = (_hash ^ bytes_[_i]) * 0x01000193;
+			}
+			return _hash ^ (_hash >>> 16);
+		}
+
+		private static boolean matches(byte[] key_, byte[] bytes_, int length_) {
+			if(key_.length != length_) {
+				return false;
+			}
+			for(int _i = 0; _i < length_; _i++) {
+				if(key_[_i] != bytes_[_i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Reads one line of a mapped window, given by its bounds in the
+	 * window and its offset in the file
+	 */
+	private interface LineReader {
+
+		void readLine(MappedByteBuffer buffer_, int lineStart_, int lineEnd_, long lineOffset_)
+				throws AirlineSystemException;
+	}
+
+	/**
+	 * Flights parsed from one chunk, the first flight along each edge
+	 * seen in the chunk, and the error that stopped the chunk if any
+	 */
+	private static class FlightChunk {
+
+		private final ArrayList<Flight> flights = new ArrayList<Flight>();
+		private final ArrayList<Flight> newEdges = new ArrayList<Flight>();
+		private AirlineSystemException error;
+	}
+
+	/**
+	 * Splits a range of chunks until a single chunk is left, which is
+	 * parsed by its own reader into its own slot of the results
+	 */
+	private class ChunkTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final FileChannel channel;
+		private final long[] boundaries;
+		private final FlightChunk[] chunks;
+		private final SimulationConfig config;
+		private final AirportGraphInterface airportGraph;
+		private final ConcurrentMap<String, Airport> newAirports;
+		private final int firstChunk;
+		private final int lastChunk;
+
+		ChunkTask(FileChannel channel_, long[] boundaries_, FlightChunk[] chunks_, SimulationConfig config_,
+				AirportGraphInterface airportGraph_, ConcurrentMap<String, Airport> newAirports_,
+				int firstChunk_, int lastChunk_) {
+			channel = channel_;
+			boundaries = boundaries_;
+			chunks = chunks_;
+			config = config_;
+			airportGraph = airportGraph_;
+			newAirports = newAirports_;
+			firstChunk = firstChunk_;
+			lastChunk = lastChunk_;
+		}
+
+		@Override
+		protected void compute() {
+			if(lastChunk - firstChunk > 1) {
+				int _middle = (firstChunk + lastChunk) >>> 1;
+				invokeAll(new ChunkTask(channel, boundaries, chunks, config, airportGraph, newAirports, 
+						firstChunk, _middle),
+						new ChunkTask(channel, boundaries, chunks, config, airportGraph, newAirports, 
+						_middle, lastChunk));
+				return;
+			}
+			MappedPSVFlightReader _chunkReader = new MappedPSVFlightReader(windowSize, chunkSize);
+			chunks[firstChunk] = _chunkReader.readChunk(channel, boundaries[firstChunk], 
+					boundaries[firstChunk + 1], firstChunk == 0, config, new FlightBuilder(airportGraph, newAirports));
+		}
+	}
+}
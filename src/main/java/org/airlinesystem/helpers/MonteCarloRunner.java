@@ -0,0 +1,334 @@
+/**
+ * MonteCarloRunner class
+ *		Runs many independent replications of flight generation
+ *		over one loaded graph and config, and summarizes the total
+ *		revenue, cost, and profit over the replications, with
+ *		antithetic or control variate estimators, common random
+ *		numbers against a second config, and stopping once the
+ *		profit interval is narrow enough
+ */
+
+package org.airlinesystem.helpers;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import org.airlinesystem.controllers.logging.FullLogging;
+import org.airlinesystem.graphdb.AirportGraphInterface;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.aggregation.MonteCarloResults;
+import org.airlinesystem.model.aggregation.MonteCarloResults.Estimator;
+import org.airlinesystem.model.aggregation.RunningEstimate;
+import org.airlinesystem.model.aggregation.TotalsAggregator;
+
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class MonteCarloRunner {
+
+	// Replications between checks of a confidence target, and the fewest a run can stop at
+	public static final int CHECK_INTERVAL = 16;
+	public static final int MIN_STOPPING_REPLICATIONS = 2 * CHECK_INTERVAL;
+
+	private final SimulationConfig config;
+	private final AirportGraphInterface airportGraph;
+	private Estimator estimator = Estimator.PLAIN;
+	private FullLogging monteCarloLog = FullLogging.getInstance();
+
+	/**
+	 * Constructor
+	 *
+	 * @param config_
+	 * 		SimulationConfig every replication is generated from
+	 * @param airportGraph_
+	 * 		AirportGraphInterface every replication is generated over,
+	 * 		which must not change while replications run
+	 */
+	public MonteCarloRunner(SimulationConfig config_, AirportGraphInterface airportGraph_) {
+		config = config_;
+		airportGraph = airportGraph_;
+	}
+
+	public Estimator getEstimator() {
+		return estimator;
+	}
+
+	public void setEstimator(Estimator estimator_) {
+		estimator = estimator_;
+	}
+
+	/**
+	 * Runs the replications on the configured generation parallelism
+	 *
+	 * @param replications_
+	 * 		int number of replications to run
+	 * @return
+	 * 		MonteCarloResults of the replications
+	 */
+	public MonteCarloResults runReplications(int replications_) {
+		return runReplications(replications_, findParallelism());
+	}
+
+	/**
+	 * Runs a fixed number of replications, each generating the configured
+	 * number of flights into exact totals without keeping them
+	 *
+	 * @param replications_
+	 * 		int number of replications to run
+	 * @param parallelism_
+	 * 		int of threads to run replications on
+	 * @return
+	 * 		MonteCarloResults of the replications
+	 */
+	public MonteCarloResults runReplications(int replications_, int parallelism_) {
+		return run(null, replications_, 0, parallelism_);
+	}
+
+	/**
+	 * Runs replications until the 95% confidence interval of the mean
+	 * total profit is narrow enough, or the allowed number have run
+	 *
+	 * @param targetRelativeHalfWidth_
+	 * 		double half width of the interval over the mean to stop at,
+	 * 		such as 0.01 for within 1%
+	 * @param maxReplications_
+	 * 		int most replications to run
+	 * @return
+	 * 		MonteCarloResults of the replications run
+	 */
+	public MonteCarloResults runUntilConfident(double targetRelativeHalfWidth_, int maxReplications_) {
+		return run(null, maxReplications_, targetRelativeHalfWidth_);
+	}
+
+	/**
+	 * Runs the replications of this config and of another with common
+	 * random numbers, and gives the difference of each pair, other less
+	 * this one, so small changes show through the noise of the flights
+	 *
+	 * @param otherConfig_
+	 * 		SimulationConfig compared against this runner's
+	 * @param replications_
+	 * 		int number of replications of each config to run
+	 * @return
+	 * 		MonteCarloResults of the differences
+	 */
+	public MonteCarloResults runComparison(SimulationConfig otherConfig_, int replications_) {
+		return run(otherConfig_, replications_, 0);
+	}
+
+	/**
+	 * Runs replications on the configured generation parallelism
+	 *
+	 * @param otherConfig_
+	 * 		SimulationConfig to compare against, or null for none
+	 * @param maxReplications_
+	 * 		int number of replications to run, or most to run with a target
+	 * @param targetRelativeHalfWidth_
+	 * 		double half width of the profit interval over its mean to stop
+	 * 		at, or zero to run them all
+	 * @return
+	 * 		MonteCarloResults of the replications run
+	 */
+	public MonteCarloResults run(SimulationConfig otherConfig_, int maxReplications_,
+			double targetRelativeHalfWidth_) {
+		return run(otherConfig_, maxReplications_, targetRelativeHalfWidth_, findParallelism());
+	}
+
+	/**
+	 * Runs replications, each generating the configured number of flights
+	 * into exact totals without keeping them. Every replication has its own
+	 * seed drawn in order from the simulation seed, or from the current time
+	 * when the config is not seeded, so a seeded run gives the same results
+	 * on any number of threads. Antithetic replications come in pairs sharing
+	 * a seed, the second with mirrored seats filled. A comparison runs the
+	 * other config from the same seed as each replication and keeps the
+	 * difference. The replications are spread over the threads, each
+	 * generating on one, and with a confidence target they run in batches
+	 * checked every CHECK_INTERVAL replications in order, so the stopping
+	 * point does not depend on the number of threads either.
+	 *
+	 * @param otherConfig_
+	 * 		SimulationConfig to compare against, or null for none
+	 * @param maxReplications_
+	 * 		int number of replications to run, or most to run with a target,
+	 * 		rounded up to whole pairs for antithetic runs
+	 * @param targetRelativeHalfWidth_
+	 * 		double half width of the profit interval over its mean to stop
+	 * 		at, or zero to run them all
+	 * @param parallelism_
+	 * 		int of threads to run replications on
+	 * @return
+	 * 		MonteCarloResults of the replications run
+	 */
+	public MonteCarloResults run(SimulationConfig otherConfig_, int maxReplications_,
+			double targetRelativeHalfWidth_, int parallelism_) {
+		if(maxReplications_ <= 0) {
+			throw new IllegalArgumentException("Cannot run " + maxReplications_ + " replications");
+		}
+		if(otherConfig_ != null && otherConfig_.getNumberOfFlights() != config.getNumberOfFlights()) {
+			throw new IllegalArgumentException("Cannot compare runs of " + config.getNumberOfFlights()
+					+ " and " + otherConfig_.getNumberOfFlights() + " flights");
+		}
+		boolean _antithetic = estimator == Estimator.ANTITHETIC;
+		int _maxReplications = _antithetic && maxReplications_ % 2 == 1 ? maxReplications_ + 1 : maxReplications_;
+		SimulationConfig _replicationConfig = config.forReplication();
+		SimulationConfig _otherReplicationConfig = otherConfig_ == null ? null : otherConfig_.forReplication();
+		double[] _expectedPassengers = findExpectedPassengersBySize(config);
+		double[] _otherExpectedPassengers = otherConfig_ == null ? null : findExpectedPassengersBySize(otherConfig_);
+		SplittableRandom _seeds = config.isSeeded() ? new SplittableRandom(config.getSimulationSeed())
+				: new SplittableRandom();
+		GenerateModelData _template = new GenerateModelData();
+
+		double[] _revenues = new double[_maxReplications];
+		double[] _costs = new double[_maxReplications];
+		double[] _profits = new double[_maxReplications];
+		double[] _controls = new double[_maxReplications];
+		GenerateModelData[] _generators = new GenerateModelData[_maxReplications];
+		GenerateModelData[] _otherGenerators = new GenerateModelData[_maxReplications];
+		IntConsumer _runReplication = _replication -> {
+			TotalsAggregator _totals = new TotalsAggregator();
+			_generators[_replication].generateCurrentStateModel(_replicationConfig, airportGraph, _totals);
+			_generators[_replication] = null;
+			_revenues[_replication] = _totals.getTotalRevenue().doubleValue();
+			_costs[_replication] = _totals.getTotalCost().doubleValue();
+			_profits[_replication] = _totals.getTotalProfit().doubleValue();
+			_controls[_replication] = findSeatControl(_totals, _expectedPassengers);
+			if(_otherReplicationConfig != null) {
+				TotalsAggregator _otherTotals = new TotalsAggregator();
+				_otherGenerators[_replication].generateCurrentStateModel(_otherReplicationConfig, airportGraph,
+						_otherTotals);
+				_otherGenerators[_replication] = null;
+				_revenues[_replication] = _otherTotals.getTotalRevenue().doubleValue() - _revenues[_replication];
+				_costs[_replication] = _otherTotals.getTotalCost().doubleValue() - _costs[_replication];
+				_profits[_replication] = _otherTotals.getTotalProfit().doubleValue() - _profits[_replication];
+				_controls[_replication] = findSeatControl(_otherTotals, _otherExpectedPassengers)
+						- _controls[_replication];
+			}
+		};
+
+		int _batchSize = _maxReplications;
+		if(targetRelativeHalfWidth_ > 0) {
+			int _intervals = (Math.max(parallelism_, 1) + CHECK_INTERVAL - 1) / CHECK_INTERVAL;
+			_batchSize = _intervals * CHECK_INTERVAL;
+		}
+		RunningEstimate _estimate = new RunningEstimate(estimator);
+		long _pairSeed = 0;
+		int _replicationsRun = 0;
+		boolean _confident = false;
+		while(!_confident && _replicationsRun < _maxReplications) {
+			int _batchStart = _replicationsRun;
+			int _batchEnd = Math.min(_maxReplications, _batchStart + _batchSize);
+			for(int _replication = _batchStart; _replication < _batchEnd; _replication++) {
+				boolean _mirrored = _antithetic && _replication % 2 == 1;
+				long _seed = _mirrored ? _pairSeed : _seeds.nextLong();
+				_pairSeed = _seed;
+				_generators[_replication] = _template.createReplication(_seed, _mirrored, _replicationConfig,
+						airportGraph);
+				if(_otherReplicationConfig != null) {
+					_otherGenerators[_replication] = _template.createReplication(_seed, _mirrored,
+							_otherReplicationConfig, airportGraph);
+				}
+			}
+			runBatch(_runReplication, _batchStart, _batchEnd, parallelism_);
+
+			while(!_confident && _replicationsRun < _batchEnd) {
+				_estimate.add(_profits[_replicationsRun], _controls[_replicationsRun]);
+				_replicationsRun++;
+				_confident = targetRelativeHalfWidth_ > 0 && _replicationsRun % CHECK_INTERVAL == 0
+						&& _replicationsRun >= MIN_STOPPING_REPLICATIONS
+						&& _estimate.getRelativeHalfWidth() <= targetRelativeHalfWidth_;
+			}
+		}
+		monteCarloLog.debugDebug("Ran {} of {} replications of {} flights", _replicationsRun, _maxReplications,
+				config.getNumberOfFlights());
+		return new MonteCarloResults(estimator, Arrays.copyOf(_revenues, _replicationsRun),
+				Arrays.copyOf(_costs, _replicationsRun), Arrays.copyOf(_profits, _replicationsRun),
+				Arrays.copyOf(_controls, _replicationsRun), config.getNumberOfFlights(), _maxReplications);
+	}
+
+	/**
+	 * Runs a contiguous range of replications, on the calling thread or
+	 * over a pool of the given parallelism
+	 */
+	private static void runBatch(IntConsumer runReplication_, int firstReplication_, int lastReplication_,
+			int parallelism_) {
+		if(parallelism_ <= 1 || lastReplication_ - firstReplication_ == 1) {
+			for(int _replication = firstReplication_; _replication < lastReplication_; _replication++) {
+				runReplication_.accept(_replication);
+			}
+			return;
+		}
+		ForkJoinPool _pool = new ForkJoinPool(parallelism_);
+		try {
+			_pool.invoke(new ReplicationTask(runReplication_, firstReplication_, lastReplication_));
+		} finally {
+			_pool.shutdown();
+		}
+	}
+
+	private int findParallelism() {
+		int _parallelism = config.getGenerationParallelism();
+		return _parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : _parallelism;
+	}
+
+	/**
+	 * Finds the expected passengers of a flight of each size. Seats filled
+	 * are drawn uniformly from zero to one less than the section maximum m,
+	 * so each section expects (m - 1) / 2 passengers, a load factor of
+	 * (m - 1) / 2m known before any flight is flown.
+	 */
+	static double[] findExpectedPassengersBySize(SimulationConfig config_) {
+		double[] _expectedPassengers = new double[AircraftSize.values().length];
+		for(AircraftSize _size : AircraftSize.values()) {
+			for(int _maxSeats : config_.getMaxSeatsPerSection(_size)) {
+				if(_maxSeats > 0) {
+					_expectedPassengers[_size.ordinal()] += (_maxSeats - 1) / 2.0;
+				}
+			}
+		}
+		return _expectedPassengers;
+	}
+
+	/**
+	 * Finds the passengers of a replication less their expectation given
+	 * the sizes of the aircraft flown, which is zero on average
+	 */
+	private static double findSeatControl(TotalsAggregator totals_, double[] expectedPassengers_) {
+		double _expected = 0;
+		for(AircraftSize _size : AircraftSize.values()) {
+			_expected += totals_.getNumberOfFlights(_size) * expectedPassengers_[_size.ordinal()];
+		}
+		return totals_.getTotalPassengers() - _expected;
+	}
+
+	/**
+	 * Splits a range of replications until a single one is left, which
+	 * is run into its own slot of the results
+	 */
+	private static class ReplicationTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final IntConsumer runReplication;
+		private final int firstReplication;
+		private final int lastReplication;
+
+		ReplicationTask(IntConsumer runReplication_, int firstReplication_, int lastReplication_) {
+			runReplication = runReplication_;
+			firstReplication = firstReplication_;
+			lastReplication = lastReplication_;
+		}
+
+		@Override
+		protected void compute() {
+			if(lastReplication - firstReplication > 1) {
+				int _middle = (firstReplication + lastReplication) >>> 1;
+				invokeAll(new ReplicationTask(runReplication, firstReplication, _middle),
+						new ReplicationTask(runReplication, _middle, lastReplication));
+				return;
+			}
+			runReplication.accept(firstReplication);
+		}
+	}
+}
@@ -9,50 +9,61 @@ import java.math.BigDecimal;
 import java.util.Properties;
 
 import org.airlinesystem.model.AircraftPilot;
+import org.airlinesystem.model.SimulationConfig;
 import static org.airlinesystem.model.AircraftPilot.AircraftPilotSeniority;
 import static org.airlinesystem.model.Aircraft.AircraftSize;
 
 public class PilotBuilder {
 
-    private BigDecimal _juniorCost;
-    private BigDecimal _midlevelCost;
-    private BigDecimal _seniorCost;
+    private AircraftPilot _juniorPilot;
+    private AircraftPilot _midlevelPilot;
+    private AircraftPilot _seniorPilot;
 
     
     public PilotBuilder(Properties modelProperties_) {
-    	_juniorCost = new BigDecimal(modelProperties_.getProperty("JUNIOR_PILOT_PAY"));
-    	_midlevelCost = new BigDecimal(modelProperties_.getProperty("MIDLEVEL_PILOT_PAY"));
-    	_seniorCost = new BigDecimal(modelProperties_.getProperty("SENIOR_PILOT_PAY"));
+    	this(new BigDecimal(modelProperties_.getProperty("JUNIOR_PILOT_PAY")),
+    			new BigDecimal(modelProperties_.getProperty("MIDLEVEL_PILOT_PAY")),
+    			new BigDecimal(modelProperties_.getProperty("SENIOR_PILOT_PAY")));
     }
     
     /**
-     * Create new pilot based off size of plane they will be flying
+     * Constructor using the pay already parsed into a config
+     * 
+     * @param config_
+     * 		SimulationConfig holding the pay of each pilot seniority
+     */
+    public PilotBuilder(SimulationConfig config_) {
+    	this(config_.getPilotPay(AircraftPilotSeniority.JUNIOR),
+    			config_.getPilotPay(AircraftPilotSeniority.MIDLEVEL),
+    			config_.getPilotPay(AircraftPilotSeniority.SENIOR));
+    }
+    
+    private PilotBuilder(BigDecimal juniorCost_, BigDecimal midlevelCost_, BigDecimal seniorCost_) {
+    	_juniorPilot = new AircraftPilot(AircraftPilotSeniority.JUNIOR, juniorCost_);
+    	_midlevelPilot = new AircraftPilot(AircraftPilotSeniority.MIDLEVEL, midlevelCost_);
+    	_seniorPilot = new AircraftPilot(AircraftPilotSeniority.SENIOR, seniorCost_);
+    }
+    
+    /**
+     * Finds the pilot for the size of plane they will be flying. Pilots
+     * of a seniority cannot be told apart, so every call for the same
+     * size hands back the same shared pilot.
      * 
      * @param aircraftSize_
      * 		AircraftSize enum value that represents the size of plane that will be
      * 		passed in and used to determine the pilot assigned
      * @return
-     * 		a new pilot to be assigned to the flight
+     * 		the pilot to be assigned to the flight
      */
     public AircraftPilot assignPilotToAircraft(AircraftSize aircraftSize_) {
-        AircraftPilot returnPilot;
-        switch (aircraftSize_) {
-            case L:
-                returnPilot = new AircraftPilot();
-                returnPilot.setSeniority(AircraftPilotSeniority.SENIOR);
-                returnPilot.setCostPerFlight(_seniorCost);
-                return returnPilot;
-            case M:
-                returnPilot = new AircraftPilot();
-                returnPilot.setSeniority(AircraftPilotSeniority.MIDLEVEL);
-                returnPilot.setCostPerFlight(_midlevelCost);
-                return returnPilot;
-            case S:
+        switch (AircraftPilot.findSeniorityForAircraft(aircraftSize_)) {
+            case SENIOR:
+                return _seniorPilot;
+            case MIDLEVEL:
+                return _midlevelPilot;
+            case JUNIOR:
             default:
-                returnPilot = new AircraftPilot();
-                returnPilot.setSeniority(AircraftPilotSeniority.JUNIOR);
-                returnPilot.setCostPerFlight(_juniorCost);
-                return returnPilot;
+                return _juniorPilot;
         }
     }
 }
@@ -16,7 +16,7 @@ import java.io.InputStreamReader;
 import java.util.StringTokenizer;
 
 import org.airlinesystem.controllers.logging.FullLogging;
-import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.graphdb.AirportGraphInterface;
 import org.airlinesystem.model.Airport;
 import org.airlinesystem.exceptions.AirlineSystemException;
 import org.airlinesystem.exceptions.IllegalGraphAdditionException;
@@ -37,7 +37,7 @@ public class ReadGraphFromPSV {
 	 * @return
 	 * 		N/A
 	 */
-	public void readFileInputIntoGraph(AirportGraph graphOfAirports_, File graphFile_) 
+	public void readFileInputIntoGraph(AirportGraphInterface graphOfAirports_, File graphFile_) 
 			throws AirlineSystemException, NullPointerException {
 		readGraphLog.debugDebug("Reading graph input file");
 		
@@ -69,7 +69,7 @@ public class ReadGraphFromPSV {
 				try {
 					graphOfAirports_.createEdge(_source, _destination, _distanceTravelled);
 				} catch(IllegalGraphAdditionException _e) {
-					readGraphLog.debugDebug("Ignored at line " + Integer.toString(_counter) + " in file");
+					readGraphLog.debugDebug("Ignored at line {} in file", _counter);
 				}
 			}
 			readGraphLog.debugDebug("Successfully read graph file");
@@ -99,7 +99,7 @@ public class ReadGraphFromPSV {
 	 * @return
 	 * 		N/A
 	 */
-	public void readEdgeIntoGraph(AirportGraph graphOfAirports_, String source_,
+	public void readEdgeIntoGraph(AirportGraphInterface graphOfAirports_, String source_,
 			String destination_, double distanceTravelled_) {
 
 		Airport _sourceAirport = new Airport(source_);
@@ -15,10 +15,13 @@ import java.math.BigDecimal;
 import java.util.Properties;
 import java.util.StringTokenizer;
 
+import org.airlinesystem.controllers.RuntimePropertyController;
 import org.airlinesystem.controllers.logging.FullLogging;
 import org.airlinesystem.exceptions.AirlineSystemException;
-import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.graphdb.AirportGraphInterface;
 import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.SimulationConfig.DataIngestMode;
 import static org.airlinesystem.model.Aircraft.AircraftSize;
 import org.airlinesystem.helpers.FlightBuilder;
 import org.airlinesystem.model.Flight;
@@ -46,15 +49,47 @@ public class ReadModelDataIntoState {
 	 * 		N/A
 	 */
 	public void readFileInputIntoFlightList(FlightList listOfFlights_, 
-			File fileToRead_, Properties modelProperties_, AirportGraph airportGraph_)
+			File fileToRead_, Properties modelProperties_, AirportGraphInterface airportGraph_)
 			throws AirlineSystemException {
+		readFileInputIntoFlightList(listOfFlights_, fileToRead_, 
+				new RuntimePropertyController().createSimulationConfig(modelProperties_), airportGraph_);
+	}
+	
+	/**
+	 * Read information from the input file then sends that information properly
+	 * formatted to be added to the FlightList line by line
+	 * NOTE: First line ignored (assumed to be outline of data input)
+	 * 
+	 * @param listOfFlights_
+	 * 		FlightList type object that is the list that will have the flights
+	 * 		added to it
+	 * @param fileToRead_
+	 * 		String that tells what file should be attempted to be opened and read
+	 * @param config_
+	 * 		SimulationConfig holding the parsed properties used by the flightBuilder, and
+	 * 		choosing whether the file is read line by line, memory mapped, or
+	 * 		memory mapped in chunks across several threads
+	 * @return
+	 * 		N/A
+	 */
+	public void readFileInputIntoFlightList(FlightList listOfFlights_, 
+			File fileToRead_, SimulationConfig config_, AirportGraphInterface airportGraph_)
+			throws AirlineSystemException {
+		if(config_.getDataIngestMode() == DataIngestMode.MAPPED) {
+			new MappedPSVFlightReader().readFileIntoFlightList(listOfFlights_, fileToRead_, config_, airportGraph_);
+			return;
+		} else if(config_.getDataIngestMode() == DataIngestMode.PARALLEL) {
+			new MappedPSVFlightReader().readFileIntoFlightList(listOfFlights_, fileToRead_, config_, 
+					airportGraph_, config_.getGenerationParallelism());
+			return;
+		}
 		readDataLog.debugDebug("Reading input file");
 		
 		ReadGraphFromPSV _addEdgeToGraph = new ReadGraphFromPSV();
-		FlightBuilder _flightBuilder = new FlightBuilder();
-		int[] _maxSeatsPerSection = new int [4];
-		int[] _seatsFilledPerSection = new int [4];
-		BigDecimal[] _seatCostPerSection = new BigDecimal [4];
+		FlightBuilder _flightBuilder = new FlightBuilder(airportGraph_);
+		int[] _maxSeatsPerSection;
+		int[] _seatsFilledPerSection;
+		BigDecimal[] _seatCostPerSection;
 		
 		try (InputStream _is = new FileInputStream(fileToRead_)) {
 			InputStreamReader _sr = new InputStreamReader(_is);
@@ -79,6 +114,9 @@ public class ReadModelDataIntoState {
 				_destination = tokenizer.nextToken();
 				_distanceTravelled = setDistanceTravelled(tokenizer.nextToken());
 				_aircraftSize = AircraftSize.valueOf(tokenizer.nextToken().toUpperCase());
+				_maxSeatsPerSection = new int [4];
+				_seatsFilledPerSection = new int [4];
+				_seatCostPerSection = new BigDecimal [4];
 				
 				for (int i = 0; i < 4; i++) {
 					_maxSeatsPerSection[i] = setMaxSeatsPerSection(tokenizer.nextToken());
@@ -95,7 +133,7 @@ public class ReadModelDataIntoState {
 				}
 				_addEdgeToGraph.readEdgeIntoGraph(airportGraph_, _source, _destination, _distanceTravelled);
 				_flight = _flightBuilder.flightDispatchService(_aircraftSize, _maxSeatsPerSection, 
-						_seatsFilledPerSection, _seatCostPerSection, _source, _destination, _distanceTravelled, modelProperties_);
+						_seatsFilledPerSection, _seatCostPerSection, _source, _destination, _distanceTravelled, config_);
 				listOfFlights_.addFlightToList(_flight, airportGraph_);
 			}
 			readDataLog.debugDebug("Successfully read file");
@@ -128,7 +166,23 @@ public class ReadModelDataIntoState {
 	 * 		N/A
 	 * */
 	public void readSingleFlightIntoFlightList(FlightList listOfFlights_, 
-			String flightInformation_, Properties modelProperties_, AirportGraph airportGraph_) {
+			String flightInformation_, Properties modelProperties_, AirportGraphInterface airportGraph_) {
+		
+		listOfFlights_.addFlightToList(readSingleFlight(flightInformation_, modelProperties_), airportGraph_);
+	}
+	
+	/**
+	 * Read information from a String into a new Flight without adding it
+	 * to any list, so flights can be built on several threads at once
+	 * 
+	 * @param flightInformation_
+	 * 		String that contains the information needed for a flight
+	 * @param modelProperties_
+	 * 		Properties type object that will be used by the flightBuilder
+	 * @return
+	 * 		the Flight described by the String
+	 * */
+	public Flight readSingleFlight(String flightInformation_, Properties modelProperties_) {
 		
 		flightInformation_ = flightInformation_.replaceAll("\\s", "");
 		FlightBuilder _flightBuilder = new FlightBuilder();
@@ -151,9 +205,8 @@ public class ReadModelDataIntoState {
 		for (int i = 0; i < 4; i++) {
 			_seatCostPerSection[i] = setSeatCostPerSection(tokenizer.nextToken());
 		}
-		Flight _flight = _flightBuilder.flightDispatchService(_aircraftSize, _maxSeatsPerSection,
+		return _flightBuilder.flightDispatchService(_aircraftSize, _maxSeatsPerSection,
 				_seatsFilledPerSection, _seatCostPerSection, _source, _destination, _distanceTravelled, modelProperties_);
-		listOfFlights_.addFlightToList(_flight, airportGraph_);
 	}
 	
 	/**
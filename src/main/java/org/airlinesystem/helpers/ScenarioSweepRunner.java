@@ -0,0 +1,284 @@
+/**
+ * ScenarioSweepRunner class
+ *		Runs every scenario of a grid of property overrides on
+ *		top of a base properties file over one loaded graph, a
+ *		bounded number at a time, and writes their totals out
+ *		as a single table
+ */
+
+package org.airlinesystem.helpers;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.controllers.logging.FullLogging;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.AirportGraphInterface;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.aggregation.ScenarioResult;
+import org.airlinesystem.model.aggregation.TotalsAggregator;
+
+public class ScenarioSweepRunner {
+
+	public static final String DELIM = "|";
+	// Properties that shape the graph, which is loaded once for every scenario
+	private static final String[] GRAPH_PROPERTIES = {"AIRPORT_GRAPH_TYPE", "PRECOMPUTE_DISTANCE_MATRIX"};
+	private static final Pattern RANGE = Pattern.compile(
+			"\\s*(-?\\d+(?:\\.\\d+)?)\\s*\\.\\.\\s*(-?\\d+(?:\\.\\d+)?)\\s*(?:(?i:step)\\s+(\\d+(?:\\.\\d+)?))?\\s*");
+
+	private final Properties baseProperties;
+	private final AirportGraphInterface airportGraph;
+	private final LinkedHashMap<String, List<String>> sweptValues = new LinkedHashMap<>();
+	private RuntimePropertyController propertyController = new RuntimePropertyController();
+	private FullLogging sweepLog = FullLogging.getInstance();
+
+	/**
+	 * Constructor
+	 *
+	 * @param baseProperties_
+	 * 		Properties every scenario starts from
+	 * @param airportGraph_
+	 * 		AirportGraphInterface every scenario is generated over, already
+	 * 		loaded, which must not change while scenarios run
+	 */
+	public ScenarioSweepRunner(Properties baseProperties_, AirportGraphInterface airportGraph_) {
+		baseProperties = baseProperties_;
+		airportGraph = airportGraph_;
+	}
+
+	/**
+	 * Adds a property to sweep from its command line form, such as
+	 * FUEL_COST=10..30 step 1 or PREFERRED_AIRCRAFT_SIZE=S,M,L
+	 *
+	 * @param sweep_
+	 * 		String of the property key, an equals sign, and its values
+	 * @return
+	 * 		N/A
+	 * @throws AirlineSystemException
+	 * 		if the key or values are invalid
+	 */
+	public void addSweep(String sweep_) throws AirlineSystemException {
+		int _equals = sweep_.indexOf('=');
+		if(_equals <= 0) {
+			throw new AirlineSystemException("Invalid sweep " + sweep_ + ": expected KEY=values");
+		}
+		String _key = sweep_.substring(0, _equals).trim();
+		addSweep(_key, parseValues(_key, sweep_.substring(_equals + 1)));
+	}
+
+	/**
+	 * Adds a property to sweep over the given values. Properties are swept
+	 * in the order they are added, the last added changing fastest.
+	 *
+	 * @param key_
+	 * 		String key of the property
+	 * @param values_
+	 * 		List of the values the property takes, in order
+	 * @return
+	 * 		N/A
+	 * @throws AirlineSystemException
+	 * 		if the property is unknown, shapes the graph, is already swept,
+	 * 		or has no values
+	 */
+	public void addSweep(String key_, List<String> values_) throws AirlineSystemException {
+		for(String _graphProperty : GRAPH_PROPERTIES) {
+			if(_graphProperty.equals(key_)) {
+				throw new AirlineSystemException("Cannot sweep " + key_ + ": the graph is loaded once for every scenario");
+			}
+		}
+		if(!baseProperties.containsKey(key_) && !propertyController.loadDefaultProperties().containsKey(key_)) {
+			throw new AirlineSystemException("Cannot sweep " + key_ + ": not a simulation property");
+		}
+		if(sweptValues.containsKey(key_)) {
+			throw new AirlineSystemException("Cannot sweep " + key_ + " twice");
+		}
+		if(values_.isEmpty()) {
+			throw new AirlineSystemException("Cannot sweep " + key_ + " over no values");
+		}
+		sweptValues.put(key_, new ArrayList<>(values_));
+	}
+
+	/**
+	 * Parses the values of a swept property: an inclusive range such as
+	 * 10..30 step 0.5, with a step of 1 if none is given, or a comma
+	 * separated list such as S,M,L, or a single value
+	 *
+	 * @param key_
+	 * 		String key of the property, for error messages
+	 * @param values_
+	 * 		String of the values
+	 * @return
+	 * 		List of every value in order
+	 * @throws AirlineSystemException
+	 * 		if a range runs backward or has no step, or a value is empty
+	 */
+	public static List<String> parseValues(String key_, String values_) throws AirlineSystemException {
+		List<String> _values = new ArrayList<>();
+		Matcher _range = RANGE.matcher(values_);
+		if(_range.matches()) {
+			BigDecimal _first = new BigDecimal(_range.group(1));
+			BigDecimal _last = new BigDecimal(_range.group(2));
+			BigDecimal _step = _range.group(3) == null ? BigDecimal.ONE : new BigDecimal(_range.group(3));
+			if(_step.signum() <= 0 || _last.compareTo(_first) < 0) {
+				throw new AirlineSystemException("Invalid sweep of " + key_ + ": " + values_.trim()
+						+ " must run upward by a positive step");
+			}
+			for(BigDecimal _value = _first; _value.compareTo(_last) <= 0; _value = _value.add(_step)) {
+				_values.add(_value.toPlainString());
+			}
+			return _values;
+		}
+		for(String _value : values_.split(",")) {
+			if(_value.trim().isEmpty()) {
+				throw new AirlineSystemException("Invalid sweep of " + key_ + ": empty value in " + values_.trim());
+			}
+			_values.add(_value.trim());
+		}
+		return _values;
+	}
+
+	/**
+	 * Finds every scenario of the grid, as the value of each swept property
+	 *
+	 * @return
+	 * 		List of the overrides of each scenario, the last swept property
+	 * 		changing fastest, or a single scenario of no overrides
+	 */
+	public List<Map<String, String>> findScenarios() {
+		List<Map<String, String>> _scenarios = new ArrayList<>();
+		_scenarios.add(new LinkedHashMap<>());
+		for(Map.Entry<String, List<String>> _sweep : sweptValues.entrySet()) {
+			List<Map<String, String>> _grown = new ArrayList<>(_scenarios.size() * _sweep.getValue().size());
+			for(Map<String, String> _scenario : _scenarios) {
+				for(String _value : _sweep.getValue()) {
+					Map<String, String> _next = new LinkedHashMap<>(_scenario);
+					_next.put(_sweep.getKey(), _value);
+					_grown.add(_next);
+				}
+			}
+			_scenarios = _grown;
+		}
+		return _scenarios;
+	}
+
+	/**
+	 * Runs every scenario, each streaming its flights into exact totals
+	 * without keeping them. Every scenario's config is built before any
+	 * runs, so an invalid value fails the sweep at once. At most the given
+	 * number of scenarios run at a time, and the threads are shared out so
+	 * each generates on its share of them. A seeded base gives every
+	 * scenario the same seed, so scenarios differ only by their overrides.
+	 *
+	 * @param parallelism_
+	 * 		int of threads to run scenarios on, 0 for every processor
+	 * @return
+	 * 		List of ScenarioResults in the order of findScenarios
+	 * @throws AirlineSystemException
+	 * 		if a scenario's properties are invalid or its run fails
+	 */
+	public List<ScenarioResult> runScenarios(int parallelism_) throws AirlineSystemException {
+		List<Map<String, String>> _scenarios = findScenarios();
+		int _parallelism = parallelism_ <= 0 ? Runtime.getRuntime().availableProcessors() : parallelism_;
+		int _concurrentScenarios = Math.min(_parallelism, _scenarios.size());
+		int _generationParallelism = Math.max(1, _parallelism / _concurrentScenarios);
+
+		List<SimulationConfig> _configs = new ArrayList<>(_scenarios.size());
+		for(Map<String, String> _scenario : _scenarios) {
+			Properties _scenarioProperties = new Properties();
+			_scenarioProperties.putAll(baseProperties);
+			_scenarioProperties.putAll(_scenario);
+			try {
+				_configs.add(propertyController.createSimulationConfig(_scenarioProperties)
+						.withGenerationParallelism(_generationParallelism));
+			} catch(AirlineSystemException e_) {
+				throw new AirlineSystemException("Invalid scenario " + _scenario + ": " + e_.getMessage(), e_);
+			}
+		}
+
+		ExecutorService _executor = Executors.newFixedThreadPool(_concurrentScenarios);
+		try {
+			List<Future<TotalsAggregator>> _futures = new ArrayList<>(_scenarios.size());
+			for(SimulationConfig _config : _configs) {
+				_futures.add(_executor.submit(() -> {
+					TotalsAggregator _totals = new TotalsAggregator();
+					new GenerateModelData().generateCurrentStateModel(_config, airportGraph, _totals);
+					return _totals;
+				}));
+			}
+
+			List<ScenarioResult> _results = new ArrayList<>(_scenarios.size());
+			for(int _i = 0; _i < _scenarios.size(); _i++) {
+				_results.add(new ScenarioResult(_scenarios.get(_i), _futures.get(_i).get()));
+				sweepLog.debugDebug("Scenario {} total profit ${}", _scenarios.get(_i),
+						_results.get(_i).getTotals().getTotalProfit());
+			}
+			return _results;
+		} catch(ExecutionException e_) {
+			throw new AirlineSystemException("Scenario failed: " + e_.getCause().getMessage(), e_.getCause());
+		} catch(InterruptedException e_) {
+			Thread.currentThread().interrupt();
+			throw new AirlineSystemException("Sweep interrupted", e_);
+		} finally {
+			_executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Writes the results as a pipe separated table, one row per scenario
+	 * in sweep order, with a column per swept property followed by the
+	 * flights, passengers, and exact total revenue, cost, and profit
+	 *
+	 * @param results_
+	 * 		List of ScenarioResults to write
+	 * @param resultsFile_
+	 * 		File to write, replaced if it exists
+	 * @return
+	 * 		N/A
+	 * @throws AirlineSystemException
+	 * 		if the file cannot be written
+	 */
+	public void writeResultsTable(List<ScenarioResult> results_, File resultsFile_) throws AirlineSystemException {
+		try(BufferedWriter _writer = Files.newBufferedWriter(resultsFile_.toPath(), StandardCharsets.UTF_8)) {
+			StringBuilder _row = new StringBuilder();
+			for(String _key : sweptValues.keySet()) {
+				_row.append(_key).append(DELIM);
+			}
+			_row.append(String.join(DELIM, "FLIGHTS", "PASSENGERS", "TOTAL_REVENUE", "TOTAL_COST", "TOTAL_PROFIT"));
+			_writer.write(_row.toString());
+			_writer.newLine();
+
+			for(ScenarioResult _result : results_) {
+				_row.setLength(0);
+				for(String _key : sweptValues.keySet()) {
+					_row.append(_result.getOverride(_key)).append(DELIM);
+				}
+				TotalsAggregator _totals = _result.getTotals();
+				_row.append(_totals.getNumberOfFlights()).append(DELIM)
+						.append(_totals.getTotalPassengers()).append(DELIM)
+						.append(_totals.getTotalRevenue().toPlainString()).append(DELIM)
+						.append(_totals.getTotalCost().toPlainString()).append(DELIM)
+						.append(_totals.getTotalProfit().toPlainString());
+				_writer.write(_row.toString());
+				_writer.newLine();
+			}
+		} catch(IOException e_) {
+			throw new AirlineSystemException("Unable to write results table " + resultsFile_, e_);
+		}
+	}
+}
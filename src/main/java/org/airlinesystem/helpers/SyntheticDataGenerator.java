@@ -0,0 +1,397 @@
+/**
+ * SyntheticDataGenerator class
+ *		Makes large seeded airport networks and flight data for scale
+ *		testing, written in the same pipe separated formats as the
+ *		default graph and data files. Networks up to millions of
+ *		airports are held as plain int arrays, and data files are
+ *		streamed row by row through a reused NIO buffer, so files of
+ *		billions of rows are written without a String per row.
+ */
+
+package org.airlinesystem.helpers;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+import org.airlinesystem.controllers.logging.FullLogging;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.helpers.collections.LongIntHashMap;
+import org.airlinesystem.model.SimulationConfig;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class SyntheticDataGenerator {
+
+	public static final int MAX_AIRPORTS = 1000000;
+	public static final int MAX_EDGES = Integer.MAX_VALUE - 8;
+
+	/**
+	 * How the edges of a network are spread over its airports
+	 */
+	public enum DegreeDistribution {
+		/** Airports on a ring joined to random airports, all with about the same degree */
+		UNIFORM,
+		/** Airports join airports that already have many edges, growing a few large hubs */
+		SCALE_FREE
+	}
+
+	private static final String GRAPH_HEADER = "AIR1|AIR2|DISTANCE";
+	private static final String DATA_HEADER = "AIR1|AIR2|DISTANCE|AIRCRAFT_SIZE|MAX_ECON_BASIC|MAX_ECON_PLUS|"
+			+ "MAX_BUSINESS|MAX_FIRST|FILLED_ECON_BASIC|FILLED_ECON_PLUS|FILLED_BUSINESS|FILLED_FIRST|"
+			+ "ECON_BASIC_COST|ECON_PLUS_COST|BUSINESS_COST|FIRST_COST";
+	private static final byte[] AIRPORT_PREFIX = {'A', 'P'};
+	private static final byte DELIM = '|';
+	private static final byte NEW_LINE = '\n';
+	private static final int WRITE_BUFFER_SIZE = 1 << 20;
+	private static final int MAX_ROW_SIZE = 512;
+
+	private final SplittableRandom rand;
+	private FullLogging syntheticDataLog = FullLogging.getInstance();
+
+	private int numberOfAirports;
+	private int numberOfEdges;
+	private int[] edgeSources;
+	private int[] edgeDestinations;
+	private int[] edgeDistances;
+
+	/**
+	 * Constructor for a repeatable generator
+	 *
+	 * @param seed_
+	 * 		long seed of the generator
+	 */
+	public SyntheticDataGenerator(long seed_) {
+		rand = new SplittableRandom(seed_);
+	}
+
+	/**
+	 * Makes a new connected network, replacing any network made before
+	 *
+	 * @param numberOfAirports_
+	 * 		int number of airports, up to MAX_AIRPORTS
+	 * @param averageDegree_
+	 * 		int average number of edges at each airport, at least 2
+	 * @param distribution_
+	 * 		DegreeDistribution of the edges over the airports
+	 * @param minDistance_
+	 * 		int shortest edge distance, at least 1
+	 * @param maxDistance_
+	 * 		int longest edge distance
+	 * @return
+	 * 		N/A
+	 * @throws AirlineSystemException
+	 * 		if the sizes or distances cannot make a network
+	 */
+	public void generateNetwork(int numberOfAirports_, int averageDegree_, DegreeDistribution distribution_,
+			int minDistance_, int maxDistance_) throws AirlineSystemException {
+		if(numberOfAirports_ < 3 || numberOfAirports_ > MAX_AIRPORTS) {
+			throw new AirlineSystemException("Number of airports must be from 3 to " + MAX_AIRPORTS);
+		}
+		if(averageDegree_ < 2 || averageDegree_ > (numberOfAirports_ - 1) / 2 
+				|| (long)numberOfAirports_ * averageDegree_ / 2 > MAX_EDGES) {
+			throw new AirlineSystemException("Average degree must be from 2 to half the number of airports, "
+					+ "with no more than " + MAX_EDGES + " edges");
+		}
+		if(minDistance_ < 1 || maxDistance_ < minDistance_) {
+			throw new AirlineSystemException("Distances must be positive with the minimum no more than the maximum");
+		}
+
+		numberOfAirports = numberOfAirports_;
+		if(distribution_ == DegreeDistribution.SCALE_FREE) {
+			generateScaleFreeEdges(averageDegree_ / 2);
+		} else {
+			generateUniformEdges((int)((long)numberOfAirports_ * averageDegree_ / 2));
+		}
+		edgeDistances = new int[numberOfEdges];
+		for(int _edge = 0; _edge < numberOfEdges; _edge++) {
+			edgeDistances[_edge] = rand.nextInt(minDistance_, maxDistance_ + 1);
+		}
+		syntheticDataLog.debugDebug("Generated {} network of {} airports and {} edges", distribution_,
+				numberOfAirports, numberOfEdges);
+	}
+
+	public int getNumberOfAirports() {
+		return numberOfAirports;
+	}
+
+	public int getNumberOfEdges() {
+		return numberOfEdges;
+	}
+
+	/**
+	 * Finds the number of edges at every airport of the network
+	 *
+	 * @return
+	 * 		int array of the degree of each airport by airport number
+	 */
+	public int[] findDegrees() {
+		int[] _degrees = new int[numberOfAirports];
+		for(int _edge = 0; _edge < numberOfEdges; _edge++) {
+			_degrees[edgeSources[_edge]]++;
+			_degrees[edgeDestinations[_edge]]++;
+		}
+		return _degrees;
+	}
+
+	/**
+	 * Writes the network as a graph file, one edge per line
+	 *
+	 * @param graphFile_
+	 * 		File to write, replaced if it exists
+	 * @return
+	 * 		N/A
+	 * @throws AirlineSystemException
+	 * 		if no network was made or the file cannot be written
+	 */
+	public void writeGraphFile(File graphFile_) throws AirlineSystemException {
+		requireNetwork();
+		try(RowWriter _writer = new RowWriter(graphFile_)) {
+			_writer.putHeader(GRAPH_HEADER);
+			for(int _edge = 0; _edge < numberOfEdges; _edge++) {
+				_writer.putAirport(edgeSources[_edge]);
+				_writer.put(DELIM);
+				_writer.putAirport(edgeDestinations[_edge]);
+				_writer.put(DELIM);
+				_writer.putInt(edgeDistances[_edge]);
+				_writer.endRow();
+			}
+		} catch(IOException e_) {
+			throw new AirlineSystemException("Unable to write graph file " + graphFile_, e_);
+		}
+		syntheticDataLog.debugDebug("Wrote {} edges to {}", numberOfEdges, graphFile_);
+	}
+
+	/**
+	 * Writes random flights over the edges of the network as a data file.
+	 * Each flight flies an edge picked uniformly, so airports with more
+	 * edges see more flights, and its aircraft size, seats, and prices
+	 * follow the config as in generated models.
+	 *
+	 * @param dataFile_
+	 * 		File to write, replaced if it exists
+	 * @param config_
+	 * 		SimulationConfig giving the seats, prices, and ranges of each aircraft size
+	 * @param numberOfFlights_
+	 * 		long number of flight rows to write
+	 * @return
+	 * 		N/A
+	 * @throws AirlineSystemException
+	 * 		if no network was made or the file cannot be written
+	 */
+	public void writeDataFile(File dataFile_, SimulationConfig config_, long numberOfFlights_)
+			throws AirlineSystemException {
+		requireNetwork();
+		AircraftSize[] _sizes = AircraftSize.values();
+		byte[] _sizeCodes = new byte[_sizes.length];
+		int[][] _maxSeats = new int[_sizes.length][];
+		byte[][] _prices = new byte[_sizes.length][];
+		for(AircraftSize _size : _sizes) {
+			_sizeCodes[_size.ordinal()] = (byte)Character.toLowerCase(_size.toString().charAt(0));
+			_maxSeats[_size.ordinal()] = config_.getMaxSeatsPerSection(_size);
+			_prices[_size.ordinal()] = joinPrices(config_.getSeatPricePerSection(_size));
+		}
+
+		try(RowWriter _writer = new RowWriter(dataFile_)) {
+			_writer.putHeader(DATA_HEADER);
+			for(long _flight = 0; _flight < numberOfFlights_; _flight++) {
+				int _edge = rand.nextInt(numberOfEdges);
+				int _size = config_.getAircraftSizeForDistance(edgeDistances[_edge]).ordinal();
+				int[] _sizeMaxSeats = _maxSeats[_size];
+
+				_writer.putAirport(edgeSources[_edge]);
+				_writer.put(DELIM);
+				_writer.putAirport(edgeDestinations[_edge]);
+				_writer.put(DELIM);
+				_writer.putInt(edgeDistances[_edge]);
+				_writer.put(DELIM);
+				_writer.put(_sizeCodes[_size]);
+				for(int _section = 0; _section < _sizeMaxSeats.length; _section++) {
+					_writer.put(DELIM);
+					_writer.putInt(_sizeMaxSeats[_section]);
+				}
+				for(int _section = 0; _section < _sizeMaxSeats.length; _section++) {
+					_writer.put(DELIM);
+					_writer.putInt(_sizeMaxSeats[_section] == 0 ? 0 : rand.nextInt(_sizeMaxSeats[_section]));
+				}
+				_writer.put(_prices[_size]);
+				_writer.endRow();
+			}
+		} catch(IOException e_) {
+			throw new AirlineSystemException("Unable to write data file " + dataFile_, e_);
+		}
+		syntheticDataLog.debugDebug("Wrote {} flights to {}", numberOfFlights_, dataFile_);
+	}
+
+	/**
+	 * Joins the airports in a ring so the network is connected, then adds
+	 * edges between random pairs of airports until there are enough,
+	 * skipping pairs that are already joined
+	 */
+	private void generateUniformEdges(int numberOfEdges_) {
+		allocateEdges(numberOfEdges_);
+		LongIntHashMap _joined = new LongIntHashMap(numberOfEdges_);
+		for(int _airport = 0; _airport < numberOfAirports; _airport++) {
+			addEdge(_airport, (_airport + 1) % numberOfAirports, _joined);
+		}
+		while(numberOfEdges < numberOfEdges_) {
+			int _source = rand.nextInt(numberOfAirports);
+			int _destination = rand.nextInt(numberOfAirports - 1);
+			if(_destination >= _source) {
+				_destination++;
+			}
+			addEdge(_source, _destination, _joined);
+		}
+	}
+
+	/**
+	 * Grows the network by preferential attachment. It starts from a few
+	 * fully joined airports, then each new airport is joined to
+	 * edgesPerAirport_ different airports picked in proportion to their
+	 * degree, by picking a random end of an edge made so far.
+	 */
+	private void generateScaleFreeEdges(int edgesPerAirport_) {
+		int _firstAirports = edgesPerAirport_ + 1;
+		allocateEdges(_firstAirports * edgesPerAirport_ / 2
+				+ (numberOfAirports - _firstAirports) * edgesPerAirport_);
+		for(int _source = 0; _source < _firstAirports; _source++) {
+			for(int _destination = _source + 1; _destination < _firstAirports; _destination++) {
+				addEdge(_source, _destination, null);
+			}
+		}
+		int[] _picked = new int[edgesPerAirport_];
+		for(int _airport = _firstAirports; _airport < numberOfAirports; _airport++) {
+			int _endsSoFar = 2 * numberOfEdges;
+			for(int _pick = 0; _pick < edgesPerAirport_; _pick++) {
+				int _destination;
+				do {
+					int _end = rand.nextInt(_endsSoFar);
+					_destination = (_end & 1) == 0 ? edgeSources[_end >> 1] : edgeDestinations[_end >> 1];
+				} while(contains(_picked, _pick, _destination));
+				_picked[_pick] = _destination;
+			}
+			for(int _pick = 0; _pick < edgesPerAirport_; _pick++) {
+				addEdge(_airport, _picked[_pick], null);
+			}
+		}
+	}
+
+	private void allocateEdges(int numberOfEdges_) {
+		numberOfEdges = 0;
+		edgeSources = new int[numberOfEdges_];
+		edgeDestinations = new int[numberOfEdges_];
+	}
+
+	/**
+	 * Adds an edge unless the airports are already joined in the table,
+	 * or always if no table is given
+	 */
+	private void addEdge(int source_, int destination_, LongIntHashMap joined_) {
+		if(joined_ != null && joined_.putIfAbsent(LongIntHashMap.pack(Math.min(source_, destination_),
+				Math.max(source_, destination_)), numberOfEdges) != LongIntHashMap.NO_VALUE) {
+			return;
+		}
+		edgeSources[numberOfEdges] = source_;
+		edgeDestinations[numberOfEdges] = destination_;
+		numberOfEdges++;
+	}
+
+	private static boolean contains(int[] values_, int length_, int value_) {
+		for(int _i = 0; _i < length_; _i++) {
+			if(values_[_i] == value_) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static byte[] joinPrices(BigDecimal[] prices_) {
+		StringBuilder _joined = new StringBuilder();
+		for(BigDecimal _price : prices_) {
+			_joined.append((char)DELIM).append(_price.toPlainString());
+		}
+		return _joined.toString().getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private void requireNetwork() throws AirlineSystemException {
+		if(edgeSources == null) {
+			throw new AirlineSystemException("No network has been generated");
+		}
+	}
+
+	/**
+	 * Writes rows of ASCII bytes to a file through a reused direct buffer,
+	 * emptying it into the file channel whenever a row might not fit
+	 */
+	private static class RowWriter implements AutoCloseable {
+
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+		private final byte[] digits = new byte[10];
+
+		RowWriter(File file_) throws IOException {
+			channel = FileChannel.open(file_.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		}
+
+		void putHeader(String header_) throws IOException {
+			buffer.put(header_.getBytes(StandardCharsets.US_ASCII));
+			endRow();
+		}
+
+		void put(byte value_) {
+			buffer.put(value_);
+		}
+
+		void put(byte[] values_) {
+			buffer.put(values_);
+		}
+
+		void putAirport(int airport_) {
+			buffer.put(AIRPORT_PREFIX);
+			putInt(airport_);
+		}
+
+		/**
+		 * Puts the decimal digits of a non-negative int
+		 */
+		void putInt(int value_) {
+			int _length = 0;
+			do {
+				digits[_length++] = (byte)('0' + value_ % 10);
+				value_ /= 10;
+			} while(value_ != 0);
+			while(_length > 0) {
+				buffer.put(digits[--_length]);
+			}
+		}
+
+		void endRow() throws IOException {
+			buffer.put(NEW_LINE);
+			if(buffer.remaining() < MAX_ROW_SIZE) {
+				drain();
+			}
+		}
+
+		private void drain() throws IOException {
+			buffer.flip();
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				drain();
+			} finally {
+				channel.close();
+			}
+		}
+	}
+}
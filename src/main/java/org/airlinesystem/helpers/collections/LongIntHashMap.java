@@ -0,0 +1,228 @@
+/**
+ * LongIntHashMap class
+ *		Open addressing hash map from primitive long keys to
+ *		primitive int values, used where boxed HashMap keys would
+ *		dominate the heap (airport pairs, route lookups)
+ */
+
+package org.airlinesystem.helpers.collections;
+
+import java.util.Arrays;
+
+public class LongIntHashMap {
+
+	public static final int NO_VALUE = -1;
+
+	private static final long EMPTY_KEY = Long.MIN_VALUE;
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private long[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+	private int resizeThreshold;
+
+	/**
+	 * Default constructor
+	 */
+	public LongIntHashMap() {
+		this(16);
+	}
+
+	/**
+	 * Constructor used when the expected number of entries is known
+	 *
+	 * @param expectedSize_
+	 * 		int of the number of entries expected, used to presize the table
+	 */
+	public LongIntHashMap(int expectedSize_) {
+		int _capacity = 16;
+		while(_capacity * LOAD_FACTOR < expectedSize_) {
+			_capacity <<= 1;
+		}
+		allocate(_capacity);
+	}
+
+	/**
+	 * Packs two non negative ints into a single long key
+	 *
+	 * @param high_
+	 * 		int stored in the upper 32 bits
+	 * @param low_
+	 * 		int stored in the lower 32 bits
+	 * @return
+	 * 		long key holding both values
+	 */
+	public static long pack(int high_, int low_) {
+		return ((long) high_ << 32) | (low_ & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Finds the value mapped to a key
+	 *
+	 * @param key_
+	 * 		long key to search for
+	 * @return
+	 * 		int value mapped to the key, or NO_VALUE if not present
+	 */
+	public int get(long key_) {
+		int _slot = slotOf(key_);
+		while(keys[_slot] != EMPTY_KEY) {
+			if(keys[_slot] == key_) {
+				return values[_slot];
+			}
+			_slot = (_slot + 1) & mask;
+		}
+		return NO_VALUE;
+	}
+
+	/**
+	 * Find if a key is present in the map
+	 *
+	 * @param key_
+	 * 		long key to search for
+	 * @return
+	 * 		true if the key is mapped, false otherwise
+	 */
+	public boolean containsKey(long key_) {
+		return get(key_) != NO_VALUE;
+	}
+
+	/**
+	 * Maps a key to a value, replacing any previous value
+	 *
+	 * @param key_
+	 * 		long key, may not be Long.MIN_VALUE
+	 * @param value_
+	 * 		int value, may not be NO_VALUE
+	 * @return
+	 * 		the previous value mapped to the key, or NO_VALUE
+	 */
+	public int put(long key_, int value_) {
+		if(key_ == EMPTY_KEY || value_ == NO_VALUE) {
+			throw new IllegalArgumentException("Reserved key or value used in LongIntHashMap");
+		}
+		int _slot = slotOf(key_);
+		while(keys[_slot] != EMPTY_KEY) {
+			if(keys[_slot] == key_) {
+				int _previous = values[_slot];
+				values[_slot] = value_;
+				return _previous;
+			}
+			_slot = (_slot + 1) & mask;
+		}
+		keys[_slot] = key_;
+		values[_slot] = value_;
+		if(++size > resizeThreshold) {
+			rehash(keys.length << 1);
+		}
+		return NO_VALUE;
+	}
+
+	/**
+	 * Maps a key to a value only if the key is not already present
+	 *
+	 * @param key_
+	 * 		long key, may not be Long.MIN_VALUE
+	 * @param value_
+	 * 		int value to map if the key is absent
+	 * @return
+	 * 		the value already mapped to the key, or NO_VALUE if the
+	 * 		new value was added
+	 */
+	public int putIfAbsent(long key_, int value_) {
+		int _existing = get(key_);
+		if(_existing != NO_VALUE) {
+			return _existing;
+		}
+		put(key_, value_);
+		return NO_VALUE;
+	}
+
+	/**
+	 * Removes a key from the map, shifting back any entries in the
+	 * probe sequence so lookups never need tombstones
+	 *
+	 * @param key_
+	 * 		long key to remove
+	 * @return
+	 * 		the value that was mapped to the key, or NO_VALUE
+	 */
+	public int remove(long key_) {
+		int _slot = slotOf(key_);
+		while(keys[_slot] != EMPTY_KEY) {
+			if(keys[_slot] == key_) {
+				int _removed = values[_slot];
+				shiftBack(_slot);
+				size--;
+				return _removed;
+			}
+			_slot = (_slot + 1) & mask;
+		}
+		return NO_VALUE;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all entries while keeping the allocated table
+	 *
+	 * @return
+	 * 		N/A
+	 */
+	public void clear() {
+		Arrays.fill(keys, EMPTY_KEY);
+		size = 0;
+	}
+
+	private void shiftBack(int slot_) {
+		int _hole = slot_;
+		int _next = (_hole + 1) & mask;
+		while(keys[_next] != EMPTY_KEY) {
+			int _home = slotOf(keys[_next]);
+			// Move the entry into the hole if its home slot does not lie between them
+			if(((_next - _home) & mask) >= ((_next - _hole) & mask)) {
+				keys[_hole] = keys[_next];
+				values[_hole] = values[_next];
+				_hole = _next;
+			}
+			_next = (_next + 1) & mask;
+		}
+		keys[_hole] = EMPTY_KEY;
+	}
+
+	private int slotOf(long key_) {
+		long _hash = key_ * 0x9E3779B97F4A7C15L;
+		return (int) (_hash ^ (_hash >>> 32)) & mask;
+	}
+
+	private void allocate(int capacity_) {
+		keys = new long[capacity_];
+		values = new int[capacity_];
+		Arrays.fill(keys, EMPTY_KEY);
+		mask = capacity_ - 1;
+		resizeThreshold = (int) (capacity_ * LOAD_FACTOR);
+	}
+
+	private void rehash(int capacity_) {
+		long[] _oldKeys = keys;
+		int[] _oldValues = values;
+		allocate(capacity_);
+		for(int _i = 0; _i < _oldKeys.length; _i++) {
+			if(_oldKeys[_i] != EMPTY_KEY) {
+				int _slot = slotOf(_oldKeys[_i]);
+				while(keys[_slot] != EMPTY_KEY) {
+					_slot = (_slot + 1) & mask;
+				}
+				keys[_slot] = _oldKeys[_i];
+				values[_slot] = _oldValues[_i];
+			}
+		}
+	}
+}
@@ -2,6 +2,8 @@ package org.airlinesystem.model;
 
 import java.math.BigDecimal;
 
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
 
 
 public class AircraftPilot {
@@ -29,25 +31,50 @@ public class AircraftPilot {
 		JUNIOR
 	};
 
-    private BigDecimal costPerFlight;
+    private final BigDecimal costPerFlight;
 
-    private AircraftPilotSeniority seniority;
+    private final AircraftPilotSeniority seniority;
 
-    public AircraftPilot() {}
+    /**
+     * Constructor, pilots cannot be changed once made so a single
+     * pilot of each seniority can be shared by every flight
+     * 
+     * @param seniority_
+     * 		AircraftPilotSeniority of the pilot
+     * @param costPerFlight_
+     * 		BigDecimal pay of the pilot for a flight
+     */
+    public AircraftPilot(AircraftPilotSeniority seniority_, BigDecimal costPerFlight_) {
+    	seniority = seniority_;
+    	costPerFlight = costPerFlight_;
+    }
 
     public AircraftPilotSeniority getSeniority() {
         return seniority;
     }
 
-    public void setSeniority(AircraftPilotSeniority seniority_) {
-        seniority = seniority_;
-    }
-
-    public final void setCostPerFlight(BigDecimal costPerFlight_) {
-        costPerFlight = costPerFlight_;
-    }
-
     public BigDecimal getCostPerFlight() {
         return costPerFlight;
     }
+
+    /**
+     * Finds the seniority of pilot that flies a size of plane, the larger
+     * planes taking the more senior pilots
+     * 
+     * @param aircraftSize_
+     * 		AircraftSize of the plane flown
+     * @return
+     * 		AircraftPilotSeniority of both pilots of the plane
+     */
+    public static AircraftPilotSeniority findSeniorityForAircraft(AircraftSize aircraftSize_) {
+        switch (aircraftSize_) {
+            case L:
+                return AircraftPilotSeniority.SENIOR;
+            case M:
+                return AircraftPilotSeniority.MIDLEVEL;
+            case S:
+            default:
+                return AircraftPilotSeniority.JUNIOR;
+        }
+    }
 }
@@ -8,17 +8,21 @@ package org.airlinesystem.model;
 import java.math.BigDecimal;
 import java.util.Properties;
 
+import org.airlinesystem.graphdb.AirportGraphInterface;
+import org.airlinesystem.graphdb.impl.AirportDistanceMatrix;
 import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.model.aggregation.CostSensitivity;
+import org.airlinesystem.model.aggregation.SimulationAggregates;
 
 public class AirlineSimulation {
 
 
 	private FlightList listOfFlights = new FlightList();
-	private AirportGraph graphOfAirports = new AirportGraph();
+	private AirportGraphInterface graphOfAirports = new AirportGraph();
 	private Properties simulationProperties;
-	private BigDecimal totalCost;
-	private BigDecimal totalRevenue;
-	private BigDecimal totalProfit;
+	private SimulationConfig simulationConfig;
+	private AirportDistanceMatrix distanceMatrix;
+	private SimulationAggregates aggregates;
 
 
 	public AirlineSimulation() {}
@@ -29,29 +33,52 @@ public class AirlineSimulation {
 	public void setListOfFlights(FlightList listOfFlights_) {
 		listOfFlights = listOfFlights_;
 	}
-	public AirportGraph getGraphOfAirports() {
+	public AirportGraphInterface getGraphOfAirports() {
 		return graphOfAirports;
 	}
-	public void setGraphOfAirports(AirportGraph graphOfAirports_) {
+	public void setGraphOfAirports(AirportGraphInterface graphOfAirports_) {
 		graphOfAirports = graphOfAirports_;
+		distanceMatrix = null;
 	}
+	/**
+	 * @return
+	 * 		BigDecimal running total cost of the flights in the list, or of
+	 * 		the aggregates when the simulation was streamed
+	 */
 	public BigDecimal getTotalCost() {
-		return totalCost;
-	}
-	public void setTotalCost(BigDecimal totalCost_) {
-		totalCost = totalCost_;
+		return aggregates != null ? aggregates.getTotals().getTotalCost() : listOfFlights.getTotalCost();
 	}
+	/**
+	 * @return
+	 * 		BigDecimal running total revenue of the flights in the list, or of
+	 * 		the aggregates when the simulation was streamed
+	 */
 	public BigDecimal getTotalRevenue() {
-		return totalRevenue;
-	}
-	public void setTotalRevenue(BigDecimal totalRevenue_) {
-		totalRevenue = totalRevenue_;
+		return aggregates != null ? aggregates.getTotals().getTotalRevenue() : listOfFlights.getTotalRevenue();
 	}
+	/**
+	 * @return
+	 * 		BigDecimal running total profit of the flights in the list, or of
+	 * 		the aggregates when the simulation was streamed
+	 */
 	public BigDecimal getTotalProfit() {
-		return totalProfit;
+		return aggregates != null ? aggregates.getTotals().getTotalProfit() : listOfFlights.getTotalProfit();
+	}
+	/**
+	 * @return
+	 * 		long running total of passengers on the flights in the list, or
+	 * 		of the aggregates when the simulation was streamed
+	 */
+	public long getTotalPassengers() {
+		return aggregates != null ? aggregates.getTotals().getTotalPassengers() : listOfFlights.getTotalPassengers();
 	}
-	public void setTotalProfit(BigDecimal totalProfit_) {
-		totalProfit = totalProfit_;
+	/**
+	 * @return
+	 * 		long number of flights in the list, or added to the aggregates
+	 * 		when the simulation was streamed
+	 */
+	public long getNumberOfFlights() {
+		return aggregates != null ? aggregates.getTotals().getNumberOfFlights() : listOfFlights.size();
 	}
 	public Properties getSimulationProperties() {
 		return simulationProperties;
@@ -60,4 +87,77 @@ public class AirlineSimulation {
 	public void setSimulationProperties(Properties simulationProperties_) {
 		simulationProperties = simulationProperties_;
 	}
+
+	public SimulationConfig getSimulationConfig() {
+		return simulationConfig;
+	}
+
+	public void setSimulationConfig(SimulationConfig simulationConfig_) {
+		simulationConfig = simulationConfig_;
+	}
+
+	/**
+	 * @return
+	 * 		AirportDistanceMatrix built from the current graph, or null if none
+	 * 		was built or the graph has been cleared or changed since
+	 */
+	public AirportDistanceMatrix getDistanceMatrix() {
+		if(distanceMatrix != null && distanceMatrix.getAdjacency() != graphOfAirports.getAdjacency()) {
+			distanceMatrix = null;
+		}
+		return distanceMatrix;
+	}
+
+	public void setDistanceMatrix(AirportDistanceMatrix distanceMatrix_) {
+		distanceMatrix = distanceMatrix_;
+	}
+
+	/**
+	 * Finds the shortest distance between two airports, an O(1) lookup
+	 * when the distance matrix was precomputed for the current graph, or
+	 * else a shortest route search on the graph
+	 * 
+	 * @param source_
+	 * 		String of the first airport name
+	 * @param destination_
+	 * 		String of the second airport name
+	 * @return
+	 * 		double of the shortest distance, or positive infinity if either
+	 * 		airport is missing or they are not connected
+	 */
+	public double findDistance(String source_, String destination_) {
+		AirportDistanceMatrix _matrix = getDistanceMatrix();
+		if(_matrix != null) {
+			return _matrix.getDistance(source_, destination_);
+		}
+		Route _route = graphOfAirports.findShortestRoute(source_, destination_);
+		return _route != null ? _route.getTotalDistance() : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * @return
+	 * 		SimulationAggregates of a streamed simulation, or null when the
+	 * 		flights are kept in the list
+	 */
+	public SimulationAggregates getAggregates() {
+		return aggregates;
+	}
+
+	public void setAggregates(SimulationAggregates aggregates_) {
+		aggregates = aggregates_;
+	}
+
+	/**
+	 * Finds the total distance and pilot flights of the finished simulation
+	 * once, so its profit under other fuel costs and pilot pay can be found
+	 * without costing the flights again
+	 * 
+	 * @return
+	 * 		CostSensitivity of the aggregates when the simulation was streamed,
+	 * 		or else of the flights in the list
+	 */
+	public CostSensitivity findCostSensitivity() {
+		return aggregates != null ? CostSensitivity.fromTotals(aggregates.getTotals())
+				: CostSensitivity.fromFlights(listOfFlights, listOfFlights.getTotalRevenue());
+	}
 }
@@ -1,13 +1,13 @@
 /*****************************************************************************
  * FILE: Airport.java
- * DSCRPT:
+ * DSCRPT: Immutable airport, shared by the graph and every flight using it
  ****************************************************************************/
 
 package org.airlinesystem.model;
 
 public class Airport {
 	
-    private String name;
+    private final String name;
     
     public Airport(String name_) {
     	name = name_;
@@ -17,10 +17,6 @@ public class Airport {
         return name;
     }
 
-    public final void setName(String name_) {
-        name = name_;
-    }
-
     @Override
     public String toString() {
         return "Airport [name=" + name + "]";
@@ -18,6 +18,12 @@ public class Flight {
 	private BigDecimal revenue;
 	private BigDecimal profit;
 	
+	/**
+	 * Constructor for views that read their values from elsewhere
+	 * and override every getter
+	 */
+	protected Flight() {}
+	
 	public Flight(AircraftSize aircraftSize_, int[] maxSeatsPerSection_, 
 			int[] seatsFilledPerSection_, BigDecimal[] seatCostPerSection_, 
 			Airport source_, Airport destination_, double distanceTravelled_,
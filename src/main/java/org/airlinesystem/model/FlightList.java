@@ -1,49 +1,489 @@
+/**
+ * FlightList class
+ *		List of flights that keeps running revenue, cost, profit, and
+ *		passenger totals as flights are added, removed, or recosted,
+ *		so the totals can be read at any time without another pass.
+ *		Every mutator of the list keeps the totals, and subList views
+ *		are read only. The list is not thread safe, so it must be
+ *		filled by one thread at a time, as ArrayList must.
+ *		Each pair of airports is given a dense route id, under which a
+ *		summary of the profits of its flights is kept for constant time
+ *		route queries. The positions of each route's flights are laid
+ *		out together by a counting sort made on the first route scan
+ *		after the list changes.
+ */
+
 package org.airlinesystem.model;
 
+import java.math.BigDecimal;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
-import org.airlinesystem.graphdb.impl.AirportGraph;
-import org.jgrapht.graph.DefaultEdge;
+import org.airlinesystem.graphdb.AirportGraphInterface;
+import org.airlinesystem.helpers.collections.LongIntHashMap;
 
 public class FlightList extends ArrayList<Flight> {
 
-	private HashMap<DefaultEdge, ArrayList<Flight>> mapEdgeToFlights;
+	public static final int NO_ROUTE = LongIntHashMap.NO_VALUE;
+
 	private static final long serialVersionUID = 4575157870451051348L;
 
+	private HashMap<String, Integer> airportIds;
+	private LongIntHashMap routeIdsByAirports;
+	private ArrayList<RouteProfitSummary> routeSummaries;
+
+	// Positions of every flight grouped by route, valid while indexedModCount matches
+	private int[] routeStarts;
+	private int[] routePositions;
+	private int indexedModCount = -1;
+
+	private BigDecimal totalRevenue = BigDecimal.ZERO;
+	private BigDecimal totalCost = BigDecimal.ZERO;
+	private BigDecimal totalProfit = BigDecimal.ZERO;
+	private long totalPassengers;
+
 	public FlightList() {
-		mapEdgeToFlights = new HashMap<DefaultEdge, ArrayList<Flight>>();
+		airportIds = new HashMap<String, Integer>();
+		routeIdsByAirports = new LongIntHashMap();
+		routeSummaries = new ArrayList<RouteProfitSummary>();
 	}
 
-
-	public void addFlightToList(Flight flight_, AirportGraph graph_) {
+	/**
+	 * Adds a flight to the end of the list, its route summary, and the totals
+	 *
+	 * @param flight_
+	 * 		Flight to add
+	 * @param graph_
+	 * 		AirportGraphInterface the flight's edge is in
+	 * @return
+	 * 		N/A
+	 */
+	public void addFlightToList(Flight flight_, AirportGraphInterface graph_) {
 		add(flight_);
-		mapFlight(graph_, flight_, flight_.getSource().getName(), flight_.getDestination().getName());
 	}
-	
-	public void mapFlight(AirportGraph airportGraph_, Flight addedFlight_, 
-			String source_, String destination_) {
-		
-		DefaultEdge _testEdge = airportGraph_.getGraphOfAirports().getEdge(source_, destination_);
 
-		if(mapEdgeToFlights.containsKey(_testEdge)) {
-			mapEdgeToFlights.get(_testEdge).add(addedFlight_);
+	/**
+	 * Removes a flight from the list, its route summary, and the totals
+	 *
+	 * @param flight_
+	 * 		Flight to remove
+	 * @param graph_
+	 * 		AirportGraphInterface the flight's edge is in
+	 * @return
+	 * 		true if the flight was in the list
+	 */
+	public boolean removeFlightFromList(Flight flight_, AirportGraphInterface graph_) {
+		return remove(flight_);
+	}
 
-		} else {
-			FlightList _list = new FlightList();
-			_list.add(addedFlight_);
-			mapEdgeToFlights.put(_testEdge, _list);
+	/**
+	 * Sets new revenue, cost, and profit on a flight of the list and
+	 * moves the totals and its route summary by the difference
+	 *
+	 * @param flight_
+	 * 		Flight of the list to recost
+	 * @param flightRCP_
+	 * 		BigDecimal array holding the new revenue, cost, and profit
+	 * @param graph_
+	 * 		AirportGraphInterface the flight's edge is in
+	 * @return
+	 * 		N/A
+	 */
+	public void updateFlightRCP(Flight flight_, BigDecimal[] flightRCP_, AirportGraphInterface graph_) {
+		removeFromRoute(flight_);
+		subtractFromTotals(flight_);
+		flight_.setRevenue(flightRCP_[0]);
+		flight_.setCost(flightRCP_[1]);
+		flight_.setProfit(flightRCP_[2]);
+		addToTotals(flight_);
+		addToRoute(flight_);
+	}
+
+	/**
+	 * Finds the route id of the flights between two airports. Routes do
+	 * not have a direction, so both orders of the airports give the same id.
+	 *
+	 * @param source_
+	 * 		String name of one airport
+	 * @param destination_
+	 * 		String name of the other airport
+	 * @return
+	 * 		int route id, or NO_ROUTE if no flight has used the route
+	 */
+	public int findRouteId(String source_, String destination_) {
+		Integer _sourceId = airportIds.get(source_);
+		Integer _destinationId = airportIds.get(destination_);
+		if(_sourceId == null || _destinationId == null) {
+			return NO_ROUTE;
 		}
+		return routeIdsByAirports.get(packRoute(_sourceId, _destinationId));
+	}
+
+	public int getNumberOfRoutes() {
+		return routeSummaries.size();
 	}
-	
-	public HashMap<DefaultEdge, ArrayList<Flight>> getFlightMap() {
-		return mapEdgeToFlights;
+
+	/**
+	 * Finds the flights flying between two airports in list order
+	 *
+	 * @param source_
+	 * 		String name of one airport
+	 * @param destination_
+	 * 		String name of the other airport
+	 * @return
+	 * 		unmodifiable List of the route's flights, empty if there are none
+	 */
+	public List<Flight> getRouteFlights(String source_, String destination_) {
+		int _routeId = findRouteId(source_, destination_);
+		return _routeId == NO_ROUTE ? Collections.<Flight>emptyList() : getRouteFlights(_routeId);
+	}
+
+	/**
+	 * Finds the flights of a route in list order. Their positions are held
+	 * next to each other, so walking the route is a single contiguous scan.
+	 *
+	 * @param routeId_
+	 * 		int id of the route
+	 * @return
+	 * 		unmodifiable List of the route's flights, read from this list
+	 */
+	public List<Flight> getRouteFlights(int routeId_) {
+		indexRoutes();
+		final int[] _positions = routePositions;
+		final int _first = routeStarts[routeId_];
+		final int _size = routeStarts[routeId_ + 1] - _first;
+		return new AbstractList<Flight>() {
+			@Override
+			public Flight get(int index_) {
+				if(index_ < 0 || index_ >= _size) {
+					throw new IndexOutOfBoundsException("Index: " + index_ + ", Size: " + _size);
+				}
+				return FlightList.this.get(_positions[_first + index_]);
+			}
+
+			@Override
+			public int size() {
+				return _size;
+			}
+		};
 	}
-	
+
+	/**
+	 * Finds the profit summary of the flights between two airports, first
+	 * finding the minimum and maximum again if a removal made them stale
+	 *
+	 * @param source_
+	 * 		String name of one airport
+	 * @param destination_
+	 * 		String name of the other airport
+	 * @return
+	 * 		RouteProfitSummary of the route, or null if no flight uses the route
+	 */
+	public RouteProfitSummary getRouteSummary(String source_, String destination_) {
+		int _routeId = findRouteId(source_, destination_);
+		if(_routeId == NO_ROUTE) {
+			return null;
+		}
+		RouteProfitSummary _summary = routeSummaries.get(_routeId);
+		if(_summary.getCount() == 0) {
+			return null;
+		}
+		if(_summary.isExtremaStale()) {
+			_summary.refreshExtrema(getRouteFlights(_routeId));
+		}
+		return _summary;
+	}
+
+	public BigDecimal getTotalRevenue() {
+		return totalRevenue;
+	}
+
+	public BigDecimal getTotalCost() {
+		return totalCost;
+	}
+
+	public BigDecimal getTotalProfit() {
+		return totalProfit;
+	}
+
+	public long getTotalPassengers() {
+		return totalPassengers;
+	}
+
+	/**
+	 * Finds all the running totals at one moment
+	 *
+	 * @return
+	 * 		BigDecimal array holding total revenue, cost, and profit
+	 */
+	public BigDecimal[] getTotalRCP() {
+		return new BigDecimal[] {totalRevenue, totalCost, totalProfit};
+	}
+
+	@Override
+	public boolean add(Flight flight_) {
+		super.add(flight_);
+		addToTotals(flight_);
+		addToRoute(flight_);
+		return true;
+	}
+
+	@Override
+	public void add(int index_, Flight flight_) {
+		super.add(index_, flight_);
+		addToTotals(flight_);
+		addToRoute(flight_);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Flight> flights_) {
+		return addAll(size(), flights_);
+	}
+
+	@Override
+	public boolean addAll(int index_, Collection<? extends Flight> flights_) {
+		if(index_ < 0 || index_ > size()) {
+			throw new IndexOutOfBoundsException("Index: " + index_ + ", Size: " + size());
+		}
+		for(Flight _flight : flights_) {
+			add(index_++, _flight);
+		}
+		return !flights_.isEmpty();
+	}
+
+	/**
+	 * Replaces a flight, moving the totals and route summaries from the
+	 * old flight to the new one
+	 */
+	@Override
+	public Flight set(int index_, Flight flight_) {
+		Flight _replaced = super.set(index_, flight_);
+		subtractFromTotals(_replaced);
+		removeFromRoute(_replaced);
+		addToTotals(flight_);
+		addToRoute(flight_);
+		// A set is not counted in modCount, so the route index is dropped to be laid out again
+		routeStarts = null;
+		return _replaced;
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<Flight> operator_) {
+		Objects.requireNonNull(operator_);
+		for(int _position = 0; _position < size(); _position++) {
+			set(_position, operator_.apply(get(_position)));
+		}
+	}
+
+	@Override
+	public Flight remove(int index_) {
+		Flight _removed = super.remove(index_);
+		subtractFromTotals(_removed);
+		removeFromRoute(_removed);
+		return _removed;
+	}
+
+	@Override
+	public boolean remove(Object flight_) {
+		if(!super.remove(flight_)) {
+			return false;
+		}
+		subtractFromTotals((Flight)flight_);
+		removeFromRoute((Flight)flight_);
+		return true;
+	}
+
+	@Override
+	protected void removeRange(int fromIndex_, int toIndex_) {
+		for(int _position = fromIndex_; _position < toIndex_; _position++) {
+			subtractFromTotals(get(_position));
+			removeFromRoute(get(_position));
+		}
+		super.removeRange(fromIndex_, toIndex_);
+	}
+
+	/**
+	 * Removes every flight the filter matches in a single pass. The filter
+	 * is tested on every flight before any is removed, so a filter that
+	 * throws leaves the list and the totals as they were.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super Flight> filter_) {
+		Objects.requireNonNull(filter_);
+		int _size = size();
+		boolean[] _matched = new boolean[_size];
+		boolean _anyMatched = false;
+		for(int _position = 0; _position < _size; _position++) {
+			_matched[_position] = filter_.test(get(_position));
+			_anyMatched |= _matched[_position];
+		}
+		if(!_anyMatched) {
+			return false;
+		}
+		int _kept = 0;
+		for(int _position = 0; _position < _size; _position++) {
+			Flight _flight = get(_position);
+			if(_matched[_position]) {
+				subtractFromTotals(_flight);
+				removeFromRoute(_flight);
+			} else {
+				super.set(_kept++, _flight);
+			}
+		}
+		super.removeRange(_kept, _size);
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> flights_) {
+		Objects.requireNonNull(flights_);
+		return removeIf(flights_::contains);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> flights_) {
+		Objects.requireNonNull(flights_);
+		return removeIf(_flight -> !flights_.contains(_flight));
+	}
+
+	/**
+	 * @return
+	 * 		unmodifiable List view of the range, since ArrayList's views write
+	 * 		to the list without going through its mutators
+	 */
+	@Override
+	public List<Flight> subList(int fromIndex_, int toIndex_) {
+		return Collections.unmodifiableList(super.subList(fromIndex_, toIndex_));
+	}
+
 	@Override
 	public void clear() {
-		mapEdgeToFlights.clear(); 
+		airportIds.clear();
+		routeIdsByAirports = new LongIntHashMap();
+		routeSummaries.clear();
+		routeStarts = null;
+		routePositions = null;
 		super.clear();
+		totalRevenue = BigDecimal.ZERO;
+		totalCost = BigDecimal.ZERO;
+		totalProfit = BigDecimal.ZERO;
+		totalPassengers = 0;
+	}
+
+	/**
+	 * Lays the positions of the flights out route by route with a
+	 * counting sort, unless the list has not changed since the last time
+	 */
+	private void indexRoutes() {
+		if(indexedModCount == modCount && routeStarts != null) {
+			return;
+		}
+		int _numberOfFlights = size();
+		int _numberOfRoutes = routeSummaries.size();
+		int[] _routeOfFlight = new int[_numberOfFlights];
+		int[] _starts = new int[_numberOfRoutes + 1];
+
+		for(int _position = 0; _position < _numberOfFlights; _position++) {
+			int _routeId = findRouteId(get(_position));
+			_routeOfFlight[_position] = _routeId;
+			if(_routeId != NO_ROUTE) {
+				_starts[_routeId + 1]++;
+			}
+		}
+		for(int _routeId = 0; _routeId < _numberOfRoutes; _routeId++) {
+			_starts[_routeId + 1] += _starts[_routeId];
+		}
+		int[] _positions = new int[_starts[_numberOfRoutes]];
+		int[] _next = Arrays.copyOf(_starts, _numberOfRoutes);
+		for(int _position = 0; _position < _numberOfFlights; _position++) {
+			if(_routeOfFlight[_position] != NO_ROUTE) {
+				_positions[_next[_routeOfFlight[_position]]++] = _position;
+			}
+		}
+		routeStarts = _starts;
+		routePositions = _positions;
+		indexedModCount = modCount;
+	}
+
+	private void addToRoute(Flight flight_) {
+		if(flight_.getSource() == null || flight_.getDestination() == null) {
+			return;
+		}
+		long _key = packRoute(findAirportId(flight_.getSource().getName()),
+				findAirportId(flight_.getDestination().getName()));
+		int _routeId = routeIdsByAirports.get(_key);
+		if(_routeId == NO_ROUTE) {
+			_routeId = routeSummaries.size();
+			routeSummaries.add(new RouteProfitSummary());
+			routeIdsByAirports.put(_key, _routeId);
+		}
+		if(flight_.getProfit() != null) {
+			routeSummaries.get(_routeId).add(flight_.getProfit());
+		}
+	}
+
+	private void removeFromRoute(Flight flight_) {
+		int _routeId = findRouteId(flight_);
+		if(_routeId != NO_ROUTE && flight_.getProfit() != null) {
+			routeSummaries.get(_routeId).remove(flight_.getProfit());
+		}
+	}
+
+	private int findRouteId(Flight flight_) {
+		if(flight_.getSource() == null || flight_.getDestination() == null) {
+			return NO_ROUTE;
+		}
+		return findRouteId(flight_.getSource().getName(), flight_.getDestination().getName());
+	}
+
+	private int findAirportId(String name_) {
+		Integer _id = airportIds.get(name_);
+		if(_id == null) {
+			_id = airportIds.size();
+			airportIds.put(name_, _id);
+		}
+		return _id;
+	}
+
+	private static long packRoute(int firstAirport_, int secondAirport_) {
+		return LongIntHashMap.pack(Math.min(firstAirport_, secondAirport_), Math.max(firstAirport_, secondAirport_));
+	}
+
+	private void addToTotals(Flight flight_) {
+		if(flight_.getRevenue() != null) {
+			totalRevenue = totalRevenue.add(flight_.getRevenue());
+		}
+		if(flight_.getCost() != null) {
+			totalCost = totalCost.add(flight_.getCost());
+		}
+		if(flight_.getProfit() != null) {
+			totalProfit = totalProfit.add(flight_.getProfit());
+		}
+		if(flight_.getAircraftAssigned() != null) {
+			totalPassengers += flight_.getAircraftAssigned().getTotalNumOfPassengers();
+		}
+	}
+
+	private void subtractFromTotals(Flight flight_) {
+		if(flight_.getRevenue() != null) {
+			totalRevenue = totalRevenue.subtract(flight_.getRevenue());
+		}
+		if(flight_.getCost() != null) {
+			totalCost = totalCost.subtract(flight_.getCost());
+		}
+		if(flight_.getProfit() != null) {
+			totalProfit = totalProfit.subtract(flight_.getProfit());
+		}
+		if(flight_.getAircraftAssigned() != null) {
+			totalPassengers -= flight_.getAircraftAssigned().getTotalNumOfPassengers();
+		}
 	}
-	
-}
\ No newline at end of file
+}
@@ -0,0 +1,599 @@
+/**
+ * FlightStore class
+ *		Columnar store of flights that keeps each flight as a row of
+ *		primitive columns instead of a graph of objects. Airports,
+ *		routes, seat prices, and pilots are held once in tables
+ *		and each row only keeps their ids, with revenue, cost, and
+ *		profit held in micro-units. Existing callers are handed light
+ *		views of the rows that read their values from the columns.
+ */
+
+package org.airlinesystem.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import org.airlinesystem.helpers.collections.LongIntHashMap;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class FlightStore implements Iterable<Flight> {
+
+	public static final int SECTIONS = 4;
+	public static final int MICRO_SCALE = 6;
+
+	/**
+	 * Bytes held in the columns for every stored flight: route, price,
+	 * and two pilot ids, the seat total, the seats filled of each section,
+	 * the distance, revenue, cost, and profit, and the size byte
+	 */
+	public static final int BYTES_PER_FLIGHT = 5 * 4 + SECTIONS * 4 + 4 * 8 + 1;
+
+	private static final int DEFAULT_CAPACITY = 1024;
+	private static final AircraftSize[] SIZES = AircraftSize.values();
+
+	private int size;
+	private int[] routeIds;
+	private int[] maxSeats;
+	private int[] priceIds;
+	private int[] pilotIds;
+	private int[] coPilotIds;
+	private int[] seatsFilled;
+	private double[] distances;
+	private long[] revenueMicros;
+	private long[] costMicros;
+	private long[] profitMicros;
+	private byte[] aircraftSizes;
+
+	private HashMap<String, Integer> airportIds = new HashMap<String, Integer>();
+	private ArrayList<Airport> airports = new ArrayList<Airport>();
+	private LongIntHashMap routeIdsByAirports = new LongIntHashMap();
+	private int[] routeSources = new int[16];
+	private int[] routeDestinations = new int[16];
+	private int numberOfRoutes;
+
+	private ValueTable<BigDecimal[]> prices = new ValueTable<BigDecimal[]>(
+			_prices -> Arrays.asList(_prices), BigDecimal[]::clone);
+	private ValueTable<AircraftPilot> pilots = new ValueTable<AircraftPilot>(
+			_pilot -> Arrays.asList(_pilot.getSeniority(), _pilot.getCostPerFlight()), _pilot -> _pilot);
+
+	private long totalRevenueMicros;
+	private long totalCostMicros;
+	private long totalProfitMicros;
+	private long totalPassengers;
+
+	/**
+	 * Default constructor
+	 */
+	public FlightStore() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor sizing the columns up front
+	 *
+	 * @param expectedFlights_
+	 * 		int number of flights the columns are first made for
+	 */
+	public FlightStore(int expectedFlights_) {
+		allocate(Math.max(16, expectedFlights_));
+	}
+
+	/**
+	 * Stores a flight as a new row. Its revenue, cost, and profit are
+	 * rounded to micro-units half even.
+	 *
+	 * @param flight_
+	 * 		Flight to store, which is not kept
+	 * @return
+	 * 		int index of the new row
+	 * @throws ArithmeticException
+	 * 		if the revenue, cost, or profit does not fit in a long of micro-units
+	 */
+	public int add(Flight flight_) {
+		int _index = addRow(flight_.getAircraftSize(), flight_.getAircraftAssigned().getMaxAircraftSeats(),
+				flight_.getSeatsFilledPerSection(), flight_.getSeatCostPerSection(),
+				flight_.getSource().getName(), flight_.getDestination().getName(),
+				flight_.getDistanceTravelled(), flight_.getPilot(), flight_.getCoPilot());
+		setRCPMicros(_index, toMicros(flight_.getRevenue()), toMicros(flight_.getCost()),
+				toMicros(flight_.getProfit()));
+		return _index;
+	}
+
+	/**
+	 * Stores a flight as a new row straight from typed values, without
+	 * making any Flight. The price array is kept by id, so flights
+	 * sharing the same prices share a single table entry.
+	 *
+	 * @param aircraftSize_
+	 * 		AircraftSize of the flight
+	 * @param maxSeatsPerSection_
+	 * 		int array of the seats in each of the four sections
+	 * @param seatsFilledPerSection_
+	 * 		int array of the seats filled in each of the four sections
+	 * @param seatCostPerSection_
+	 * 		BigDecimal array of the price of a seat in each of the four sections
+	 * @param source_
+	 * 		String name of the source airport
+	 * @param destination_
+	 * 		String name of the destination airport
+	 * @param distanceTravelled_
+	 * 		double distance of the flight
+	 * @param pilot_
+	 * 		AircraftPilot flying the flight, kept once for every flight it flies
+	 * @param coPilot_
+	 * 		AircraftPilot flying the flight, kept once for every flight it flies
+	 * @param revenueMicros_
+	 * 		long revenue of the flight in micro-units
+	 * @param costMicros_
+	 * 		long cost of the flight in micro-units
+	 * @return
+	 * 		int index of the new row
+	 * @throws ArithmeticException
+	 * 		if the profit or a running total does not fit in a long of micro-units
+	 */
+	public int addFlight(AircraftSize aircraftSize_, int[] maxSeatsPerSection_,
+			int[] seatsFilledPerSection_, BigDecimal[] seatCostPerSection_,
+			String source_, String destination_, double distanceTravelled_,
+			AircraftPilot pilot_, AircraftPilot coPilot_, long revenueMicros_, long costMicros_) {
+
+		int _index = addRow(aircraftSize_, sumSections(maxSeatsPerSection_), seatsFilledPerSection_, seatCostPerSection_,
+				source_, destination_, distanceTravelled_, pilot_, coPilot_);
+		setRCPMicros(_index, revenueMicros_, costMicros_, Math.subtractExact(revenueMicros_, costMicros_));
+		return _index;
+	}
+
+	/**
+	 * Appends every row of another store after the rows of this one,
+	 * keeping their order. Ids of the other store's tables are mapped
+	 * to this store's tables once rather than once per row.
+	 *
+	 * @param other_
+	 * 		FlightStore whose rows are copied
+	 * @return
+	 * 		N/A
+	 */
+	public void addAll(FlightStore other_) {
+		int[] _routeMap = new int[other_.numberOfRoutes];
+		for(int _route = 0; _route < other_.numberOfRoutes; _route++) {
+			_routeMap[_route] = findRouteId(other_.getRouteSource(_route).getName(),
+					other_.getRouteDestination(_route).getName());
+		}
+		int[] _priceMap = prices.mapFrom(other_.prices);
+		int[] _pilotMap = pilots.mapFrom(other_.pilots);
+
+		ensureCapacity(size + other_.size);
+		for(int _row = 0; _row < other_.size; _row++) {
+			int _index = size + _row;
+			routeIds[_index] = _routeMap[other_.routeIds[_row]];
+			priceIds[_index] = _priceMap[other_.priceIds[_row]];
+			pilotIds[_index] = _pilotMap[other_.pilotIds[_row]];
+			coPilotIds[_index] = _pilotMap[other_.coPilotIds[_row]];
+		}
+		System.arraycopy(other_.maxSeats, 0, maxSeats, size, other_.size);
+		System.arraycopy(other_.seatsFilled, 0, seatsFilled, size * SECTIONS, other_.size * SECTIONS);
+		System.arraycopy(other_.distances, 0, distances, size, other_.size);
+		System.arraycopy(other_.revenueMicros, 0, revenueMicros, size, other_.size);
+		System.arraycopy(other_.costMicros, 0, costMicros, size, other_.size);
+		System.arraycopy(other_.profitMicros, 0, profitMicros, size, other_.size);
+		System.arraycopy(other_.aircraftSizes, 0, aircraftSizes, size, other_.size);
+		size += other_.size;
+
+		synchronized(this) {
+			totalRevenueMicros = Math.addExact(totalRevenueMicros, other_.totalRevenueMicros);
+			totalCostMicros = Math.addExact(totalCostMicros, other_.totalCostMicros);
+			totalProfitMicros = Math.addExact(totalProfitMicros, other_.totalProfitMicros);
+			totalPassengers += other_.totalPassengers;
+		}
+	}
+
+	/**
+	 * Finds a view of a stored flight. The view holds no values of its
+	 * own, so it is cheap to make and always shows the row as it is now.
+	 * The seat price array it returns is shared and must not be changed.
+	 *
+	 * @param index_
+	 * 		int index of the row
+	 * @return
+	 * 		Flight reading its values from the row
+	 */
+	public Flight get(int index_) {
+		if(index_ < 0 || index_ >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index_ + ", Size: " + size);
+		}
+		return new StoredFlight(index_);
+	}
+
+	@Override
+	public Iterator<Flight> iterator() {
+		return new Iterator<Flight>() {
+			private int next;
+
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+
+			@Override
+			public Flight next() {
+				if(next >= size) {
+					throw new NoSuchElementException();
+				}
+				return new StoredFlight(next++);
+			}
+		};
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes every row and empties every table
+	 *
+	 * @return
+	 * 		N/A
+	 */
+	public void clear() {
+		size = 0;
+		airportIds.clear();
+		airports.clear();
+		routeIdsByAirports = new LongIntHashMap();
+		numberOfRoutes = 0;
+		prices.clear();
+		pilots.clear();
+		synchronized(this) {
+			totalRevenueMicros = 0;
+			totalCostMicros = 0;
+			totalProfitMicros = 0;
+			totalPassengers = 0;
+		}
+	}
+
+	public int getRouteId(int index_) {
+		return routeIds[index_];
+	}
+
+	public int getNumberOfRoutes() {
+		return numberOfRoutes;
+	}
+
+	public Airport getRouteSource(int routeId_) {
+		return airports.get(routeSources[routeId_]);
+	}
+
+	public Airport getRouteDestination(int routeId_) {
+		return airports.get(routeDestinations[routeId_]);
+	}
+
+	public long getRevenueMicros(int index_) {
+		return revenueMicros[index_];
+	}
+
+	public long getCostMicros(int index_) {
+		return costMicros[index_];
+	}
+
+	public long getProfitMicros(int index_) {
+		return profitMicros[index_];
+	}
+
+	public synchronized BigDecimal getTotalRevenue() {
+		return fromMicros(totalRevenueMicros);
+	}
+
+	public synchronized BigDecimal getTotalCost() {
+		return fromMicros(totalCostMicros);
+	}
+
+	public synchronized BigDecimal getTotalProfit() {
+		return fromMicros(totalProfitMicros);
+	}
+
+	public synchronized long getTotalPassengers() {
+		return totalPassengers;
+	}
+
+	/**
+	 * Finds all the running totals at one moment
+	 *
+	 * @return
+	 * 		BigDecimal array holding total revenue, cost, and profit
+	 */
+	public synchronized BigDecimal[] getTotalRCP() {
+		return new BigDecimal[] {fromMicros(totalRevenueMicros), fromMicros(totalCostMicros),
+				fromMicros(totalProfitMicros)};
+	}
+
+	/**
+	 * Finds the bytes held by the columns and tables for the flights stored
+	 * so far, not counting spare capacity
+	 *
+	 * @return
+	 * 		long bytes used by the stored flights
+	 */
+	public long getBytesUsed() {
+		return (long)size * BYTES_PER_FLIGHT + (long)numberOfRoutes * 2 * 4 + (long)prices.size() * SECTIONS * 8;
+	}
+
+	private int addRow(AircraftSize aircraftSize_, int maxAircraftSeats_,
+			int[] seatsFilledPerSection_, BigDecimal[] seatCostPerSection_,
+			String source_, String destination_, double distanceTravelled_,
+			AircraftPilot pilot_, AircraftPilot coPilot_) {
+
+		if(seatsFilledPerSection_.length != SECTIONS || seatCostPerSection_.length != SECTIONS) {
+			throw new IllegalArgumentException("Flights must have " + SECTIONS + " sections to be stored");
+		}
+		ensureCapacity(size + 1);
+		int _index = size;
+		routeIds[_index] = findRouteId(source_, destination_);
+		maxSeats[_index] = maxAircraftSeats_;
+		priceIds[_index] = prices.idOf(seatCostPerSection_);
+		pilotIds[_index] = pilots.idOf(pilot_);
+		coPilotIds[_index] = pilots.idOf(coPilot_);
+		aircraftSizes[_index] = (byte)aircraftSize_.ordinal();
+		distances[_index] = distanceTravelled_;
+		System.arraycopy(seatsFilledPerSection_, 0, seatsFilled, _index * SECTIONS, SECTIONS);
+		revenueMicros[_index] = 0;
+		costMicros[_index] = 0;
+		profitMicros[_index] = 0;
+		size++;
+		synchronized(this) {
+			totalPassengers += findPassengers(_index);
+		}
+		return _index;
+	}
+
+	private synchronized void setRCPMicros(int index_, long revenue_, long cost_, long profit_) {
+		totalRevenueMicros -= revenueMicros[index_];
+		totalCostMicros -= costMicros[index_];
+		totalProfitMicros -= profitMicros[index_];
+		revenueMicros[index_] = revenue_;
+		costMicros[index_] = cost_;
+		profitMicros[index_] = profit_;
+		totalRevenueMicros = Math.addExact(totalRevenueMicros, revenue_);
+		totalCostMicros = Math.addExact(totalCostMicros, cost_);
+		totalProfitMicros = Math.addExact(totalProfitMicros, profit_);
+	}
+
+	private int findRouteId(String source_, String destination_) {
+		long _key = LongIntHashMap.pack(findAirportId(source_), findAirportId(destination_));
+		int _routeId = routeIdsByAirports.get(_key);
+		if(_routeId == LongIntHashMap.NO_VALUE) {
+			_routeId = numberOfRoutes++;
+			if(_routeId == routeSources.length) {
+				routeSources = Arrays.copyOf(routeSources, _routeId * 2);
+				routeDestinations = Arrays.copyOf(routeDestinations, _routeId * 2);
+			}
+			routeSources[_routeId] = (int)(_key >>> 32);
+			routeDestinations[_routeId] = (int)_key;
+			routeIdsByAirports.put(_key, _routeId);
+		}
+		return _routeId;
+	}
+
+	private int findAirportId(String name_) {
+		Integer _id = airportIds.get(name_);
+		if(_id == null) {
+			_id = airports.size();
+			airports.add(new Airport(name_));
+			airportIds.put(name_, _id);
+		}
+		return _id;
+	}
+
+	private int findPassengers(int index_) {
+		int _passengers = 0;
+		for(int _section = 0; _section < SECTIONS; _section++) {
+			_passengers += seatsFilled[index_ * SECTIONS + _section];
+		}
+		return _passengers;
+	}
+
+	private void ensureCapacity(int needed_) {
+		if(needed_ > routeIds.length) {
+			grow(Math.max(needed_, routeIds.length + (routeIds.length >> 1)));
+		}
+	}
+
+	private void allocate(int capacity_) {
+		routeIds = new int[capacity_];
+		maxSeats = new int[capacity_];
+		priceIds = new int[capacity_];
+		pilotIds = new int[capacity_];
+		coPilotIds = new int[capacity_];
+		seatsFilled = new int[capacity_ * SECTIONS];
+		distances = new double[capacity_];
+		revenueMicros = new long[capacity_];
+		costMicros = new long[capacity_];
+		profitMicros = new long[capacity_];
+		aircraftSizes = new byte[capacity_];
+	}
+
+	private void grow(int capacity_) {
+		routeIds = Arrays.copyOf(routeIds, capacity_);
+		maxSeats = Arrays.copyOf(maxSeats, capacity_);
+		priceIds = Arrays.copyOf(priceIds, capacity_);
+		pilotIds = Arrays.copyOf(pilotIds, capacity_);
+		coPilotIds = Arrays.copyOf(coPilotIds, capacity_);
+		seatsFilled = Arrays.copyOf(seatsFilled, capacity_ * SECTIONS);
+		distances = Arrays.copyOf(distances, capacity_);
+		revenueMicros = Arrays.copyOf(revenueMicros, capacity_);
+		costMicros = Arrays.copyOf(costMicros, capacity_);
+		profitMicros = Arrays.copyOf(profitMicros, capacity_);
+		aircraftSizes = Arrays.copyOf(aircraftSizes, capacity_);
+	}
+
+	private static int sumSections(int[] sections_) {
+		int _sum = 0;
+		for(int _section : sections_) {
+			_sum += _section;
+		}
+		return _sum;
+	}
+
+	private static long toMicros(BigDecimal value_) {
+		return value_ == null ? 0 : value_.setScale(MICRO_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+	}
+
+	private static BigDecimal fromMicros(long micros_) {
+		return BigDecimal.valueOf(micros_, MICRO_SCALE);
+	}
+
+	/**
+	 * Table of distinct values that hands out dense ids, copying each
+	 * value when it is first seen. The last value looked up is kept so
+	 * rows sharing the same array skip the hash lookup.
+	 */
+	private static class ValueTable<T> {
+
+		private final Function<T, Object> keyOf;
+		private final UnaryOperator<T> copyOf;
+		private final ArrayList<T> values = new ArrayList<T>();
+		private final HashMap<Object, Integer> ids = new HashMap<Object, Integer>();
+		private T lastValue;
+		private int lastId;
+
+		ValueTable(Function<T, Object> keyOf_, UnaryOperator<T> copyOf_) {
+			keyOf = keyOf_;
+			copyOf = copyOf_;
+		}
+
+		int idOf(T value_) {
+			if(value_ == lastValue) {
+				return lastId;
+			}
+			Integer _id = ids.get(keyOf.apply(value_));
+			if(_id == null) {
+				T _copy = copyOf.apply(value_);
+				_id = values.size();
+				values.add(_copy);
+				ids.put(keyOf.apply(_copy), _id);
+			}
+			lastValue = value_;
+			lastId = _id;
+			return _id;
+		}
+
+		int[] mapFrom(ValueTable<T> other_) {
+			int[] _map = new int[other_.values.size()];
+			for(int _id = 0; _id < _map.length; _id++) {
+				_map[_id] = idOf(other_.values.get(_id));
+			}
+			return _map;
+		}
+
+		T get(int id_) {
+			return values.get(id_);
+		}
+
+		int size() {
+			return values.size();
+		}
+
+		void clear() {
+			values.clear();
+			ids.clear();
+			lastValue = null;
+		}
+	}
+
+	/**
+	 * Flight that reads every value from its row of the store. Changing
+	 * its revenue, cost, or profit writes the row and moves the totals.
+	 */
+	private class StoredFlight extends Flight {
+
+		private final int index;
+
+		StoredFlight(int index_) {
+			index = index_;
+		}
+
+		@Override
+		public AircraftSize getAircraftSize() {
+			return SIZES[aircraftSizes[index]];
+		}
+
+		@Override
+		public AircraftPilot getPilot() {
+			return pilots.get(pilotIds[index]);
+		}
+
+		@Override
+		public AircraftPilot getCoPilot() {
+			return pilots.get(coPilotIds[index]);
+		}
+
+		@Override
+		public Aircraft getAircraftAssigned() {
+			return new Aircraft(getAircraftSize(), findPassengers(index), getSeatsFilledPerSection(),
+					getSeatCostPerSection(), maxSeats[index]);
+		}
+
+		@Override
+		public BigDecimal[] getSeatCostPerSection() {
+			return prices.get(priceIds[index]);
+		}
+
+		@Override
+		public int[] getSeatsFilledPerSection() {
+			return Arrays.copyOfRange(seatsFilled, index * SECTIONS, (index + 1) * SECTIONS);
+		}
+
+		@Override
+		public double getDistanceTravelled() {
+			return distances[index];
+		}
+
+		@Override
+		public Airport getSource() {
+			return getRouteSource(routeIds[index]);
+		}
+
+		@Override
+		public Airport getDestination() {
+			return getRouteDestination(routeIds[index]);
+		}
+
+		@Override
+		public void setCost(BigDecimal cost_) {
+			setRCPMicros(index, revenueMicros[index], toMicros(cost_), profitMicros[index]);
+		}
+
+		@Override
+		public void setRevenue(BigDecimal revenue_) {
+			setRCPMicros(index, toMicros(revenue_), costMicros[index], profitMicros[index]);
+		}
+
+		@Override
+		public void setProfit(BigDecimal profit_) {
+			setRCPMicros(index, revenueMicros[index], costMicros[index], toMicros(profit_));
+		}
+
+		@Override
+		public BigDecimal getCost() {
+			return fromMicros(costMicros[index]);
+		}
+
+		@Override
+		public BigDecimal getRevenue() {
+			return fromMicros(revenueMicros[index]);
+		}
+
+		@Override
+		public BigDecimal getProfit() {
+			return fromMicros(profitMicros[index]);
+		}
+	}
+}
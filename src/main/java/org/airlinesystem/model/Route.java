@@ -0,0 +1,57 @@
+/**
+ * Route class
+ *		Model class for a multi-leg itinerary through the airport
+ *		graph, holding every airport visited in order and the total
+ *		distance covered
+ */
+
+package org.airlinesystem.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class Route {
+
+	private final String[] hops;
+	private final double totalDistance;
+
+	/**
+	 * Constructor
+	 *
+	 * @param hops_
+	 * 		String array of airport names from source to destination,
+	 * 		taken as is and not copied
+	 * @param totalDistance_
+	 * 		double of the summed distance of every leg
+	 */
+	public Route(String[] hops_, double totalDistance_) {
+		hops = hops_;
+		totalDistance = totalDistance_;
+	}
+
+	public List<String> getHops() {
+		return Collections.unmodifiableList(Arrays.asList(hops));
+	}
+
+	public String getSource() {
+		return hops[0];
+	}
+
+	public String getDestination() {
+		return hops[hops.length - 1];
+	}
+
+	public int getNumberOfLegs() {
+		return hops.length - 1;
+	}
+
+	public double getTotalDistance() {
+		return totalDistance;
+	}
+
+	@Override
+	public String toString() {
+		return "Route [hops=" + Arrays.toString(hops) + ", totalDistance=" + totalDistance + "]";
+	}
+}
@@ -0,0 +1,160 @@
+/**
+ * RouteProfitSummary class
+ *		Running count, sum, sum of squares, minimum, and maximum of
+ *		the profits of the flights along one route, kept exactly in
+ *		BigDecimals so the average and spread of a route are found
+ *		without visiting its flights. Removing the flight holding
+ *		the minimum or maximum marks them stale, and the FlightList
+ *		finds them again from the route's flights on the next query.
+ */
+
+package org.airlinesystem.model;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+
+public class RouteProfitSummary {
+
+	private long count;
+	private BigDecimal sum = BigDecimal.ZERO;
+	private BigDecimal sumOfSquares = BigDecimal.ZERO;
+	private BigDecimal min;
+	private BigDecimal max;
+	private boolean extremaStale;
+
+	public RouteProfitSummary() {}
+
+	/**
+	 * Adds a flight's profit to the summary
+	 *
+	 * @param profit_
+	 * 		BigDecimal profit of the flight
+	 * @return
+	 * 		N/A
+	 */
+	public synchronized void add(BigDecimal profit_) {
+		count++;
+		sum = sum.add(profit_);
+		sumOfSquares = sumOfSquares.add(profit_.multiply(profit_));
+		if(!extremaStale) {
+			min = min == null || profit_.compareTo(min) < 0 ? profit_ : min;
+			max = max == null || profit_.compareTo(max) > 0 ? profit_ : max;
+		}
+	}
+
+	/**
+	 * Removes a flight's profit from the summary
+	 *
+	 * @param profit_
+	 * 		BigDecimal profit of the flight
+	 * @return
+	 * 		N/A
+	 */
+	public synchronized void remove(BigDecimal profit_) {
+		count--;
+		sum = sum.subtract(profit_);
+		sumOfSquares = sumOfSquares.subtract(profit_.multiply(profit_));
+		if(count == 0) {
+			min = null;
+			max = null;
+			extremaStale = false;
+		} else if(profit_.compareTo(min) == 0 || profit_.compareTo(max) == 0) {
+			extremaStale = true;
+		}
+	}
+
+	/**
+	 * @return
+	 * 		true if the minimum or maximum has to be found again
+	 */
+	public synchronized boolean isExtremaStale() {
+		return extremaStale;
+	}
+
+	/**
+	 * Finds the minimum and maximum again from every flight on the route
+	 *
+	 * @param routeFlights_
+	 * 		List of every flight on the route
+	 * @return
+	 * 		N/A
+	 */
+	public synchronized void refreshExtrema(List<Flight> routeFlights_) {
+		min = null;
+		max = null;
+		for(Flight _flight : routeFlights_) {
+			BigDecimal _profit = _flight.getProfit();
+			if(_profit != null) {
+				min = min == null || _profit.compareTo(min) < 0 ? _profit : min;
+				max = max == null || _profit.compareTo(max) > 0 ? _profit : max;
+			}
+		}
+		extremaStale = false;
+	}
+
+	public synchronized long getCount() {
+		return count;
+	}
+
+	public synchronized BigDecimal getSum() {
+		return sum;
+	}
+
+	public synchronized BigDecimal getSumOfSquares() {
+		return sumOfSquares;
+	}
+
+	/**
+	 * @return
+	 * 		BigDecimal lowest profit on the route, or null for an empty route
+	 */
+	public synchronized BigDecimal getMin() {
+		return min;
+	}
+
+	/**
+	 * @return
+	 * 		BigDecimal highest profit on the route, or null for an empty route
+	 */
+	public synchronized BigDecimal getMax() {
+		return max;
+	}
+
+	/**
+	 * Finds the average profit of the route rounded down to cents
+	 *
+	 * @return
+	 * 		BigDecimal average profit, or zero for an empty route
+	 */
+	public synchronized BigDecimal getAverage() {
+		if(count == 0) {
+			return BigDecimal.ZERO;
+		}
+		return sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.FLOOR);
+	}
+
+	/**
+	 * Finds the sample standard deviation of the route's profits. The
+	 * variance is found exactly from the sums before the square root.
+	 *
+	 * @return
+	 * 		double standard deviation, or zero for fewer than two flights
+	 */
+	public synchronized double getStandardDeviation() {
+		if(count < 2) {
+			return 0;
+		}
+		BigDecimal _count = BigDecimal.valueOf(count);
+		BigDecimal _numerator = _count.multiply(sumOfSquares).subtract(sum.multiply(sum));
+		BigDecimal _variance = _numerator.divide(_count.multiply(BigDecimal.valueOf(count - 1)),
+				MathContext.DECIMAL64);
+		return Math.sqrt(Math.max(0, _variance.doubleValue()));
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "RouteProfitSummary [count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max + "]";
+	}
+}
@@ -0,0 +1,275 @@
+/**
+ * SimulationConfig class
+ *		Immutable, already parsed and validated form of the
+ *		simulation properties. Built once per run by the
+ *		RuntimePropertyController so flight generation and
+ *		costing never read or parse the raw Properties.
+ */
+
+package org.airlinesystem.model;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.airlinesystem.graphdb.AirportGraphInterface.AirportGraphType;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+import static org.airlinesystem.model.AircraftPilot.AircraftPilotSeniority;
+
+public class SimulationConfig {
+
+	public static final int NUMBER_OF_SECTIONS = 4;
+
+	public enum DataIngestMode {
+		STANDARD, MAPPED, PARALLEL
+	}
+
+	public enum RCPEngine {
+		BIGDECIMAL, FIXED_POINT
+	}
+
+	public enum SimulationMode {
+		MATERIALIZED, STREAMING
+	}
+
+	private final int numberOfFlights;
+	// Money stays BigDecimal so the default engine costs flights exactly; FixedPointRCPController converts it once
+	private final BigDecimal fuelCost;
+	private final int[][] maxSeatsPerSection;
+	private final BigDecimal[][] seatPricePerSection;
+	private final double smallPlaneMaxRange;
+	private final double mediumPlaneMaxRange;
+	private final BigDecimal[] pilotPay;
+	private final AircraftSize preferredAircraftSize;
+	private final AirportGraphType airportGraphType;
+	private final boolean precomputeDistanceMatrix;
+	private final boolean seeded;
+	private final long simulationSeed;
+	private final int generationParallelism;
+	private final DataIngestMode dataIngestMode;
+	private final RCPEngine rcpEngine;
+	private final boolean logFlightResults;
+	private final SimulationMode simulationMode;
+
+	/**
+	 * Constructor, copies every array so the config cannot be changed
+	 * through the arrays it was built from
+	 *
+	 * @param numberOfFlights_
+	 * 		int of how many flights to generate
+	 * @param fuelCost_
+	 * 		BigDecimal cost of fuel per unit of distance
+	 * @param maxSeatsPerSection_
+	 * 		int arrays of the seats in each section, indexed by AircraftSize ordinal
+	 * @param seatPricePerSection_
+	 * 		BigDecimal arrays of the seat price of each section, indexed by AircraftSize ordinal
+	 * @param smallPlaneMaxRange_
+	 * 		double of the distance below which small planes are dispatched
+	 * @param mediumPlaneMaxRange_
+	 * 		double of the distance below which medium planes are dispatched
+	 * @param pilotPay_
+	 * 		BigDecimal pay per flight, indexed by AircraftPilotSeniority ordinal
+	 * @param preferredAircraftSize_
+	 * 		AircraftSize to generate more flights for, or null for no preference
+	 * @param airportGraphType_
+	 * 		AirportGraphType to load the airport graph into
+	 * @param precomputeDistanceMatrix_
+	 * 		true to build the all-pairs distance matrix before generating flights
+	 * @param simulationSeed_
+	 * 		Long seed for generating flights, or null for an unseeded run
+	 * @param generationParallelism_
+	 * 		int of threads to generate flights on, 0 for every processor
+	 * @param dataIngestMode_
+	 * 		DataIngestMode used to read flight data files
+	 * @param rcpEngine_
+	 * 		RCPEngine used to find the revenue, cost, and profit of flights
+	 * @param logFlightResults_
+	 * 		true to log the profit of every flight when finding the totals
+	 * @param simulationMode_
+	 * 		SimulationMode choosing whether flights are kept or only aggregated
+	 */
+	public SimulationConfig(int numberOfFlights_, BigDecimal fuelCost_, int[][] maxSeatsPerSection_,
+			BigDecimal[][] seatPricePerSection_, double smallPlaneMaxRange_, double mediumPlaneMaxRange_,
+			BigDecimal[] pilotPay_, AircraftSize preferredAircraftSize_, AirportGraphType airportGraphType_,
+			boolean precomputeDistanceMatrix_, Long simulationSeed_, int generationParallelism_,
+			DataIngestMode dataIngestMode_, RCPEngine rcpEngine_, boolean logFlightResults_,
+			SimulationMode simulationMode_) {
+		numberOfFlights = numberOfFlights_;
+		fuelCost = fuelCost_;
+		maxSeatsPerSection = new int[maxSeatsPerSection_.length][];
+		seatPricePerSection = new BigDecimal[seatPricePerSection_.length][];
+		for(int _size = 0; _size < maxSeatsPerSection_.length; _size++) {
+			maxSeatsPerSection[_size] = maxSeatsPerSection_[_size].clone();
+			seatPricePerSection[_size] = seatPricePerSection_[_size].clone();
+		}
+		smallPlaneMaxRange = smallPlaneMaxRange_;
+		mediumPlaneMaxRange = mediumPlaneMaxRange_;
+		pilotPay = pilotPay_.clone();
+		preferredAircraftSize = preferredAircraftSize_;
+		airportGraphType = airportGraphType_;
+		precomputeDistanceMatrix = precomputeDistanceMatrix_;
+		seeded = simulationSeed_ != null;
+		simulationSeed = seeded ? simulationSeed_ : 0;
+		generationParallelism = generationParallelism_;
+		dataIngestMode = dataIngestMode_;
+		rcpEngine = rcpEngine_;
+		logFlightResults = logFlightResults_;
+		simulationMode = simulationMode_;
+	}
+
+	/**
+	 * Copies the config for the replications of a Monte Carlo run. The
+	 * copy is unseeded, so each replication's own generator supplies its
+	 * random stream, and generates on one thread, as the replications
+	 * themselves are run in parallel.
+	 *
+	 * @return
+	 * 		SimulationConfig shared by every replication
+	 */
+	public SimulationConfig forReplication() {
+		return new SimulationConfig(numberOfFlights, fuelCost, maxSeatsPerSection, seatPricePerSection,
+				smallPlaneMaxRange, mediumPlaneMaxRange, pilotPay, preferredAircraftSize, airportGraphType,
+				precomputeDistanceMatrix, null, 1, dataIngestMode, rcpEngine, logFlightResults, simulationMode);
+	}
+
+	/**
+	 * Copies the config to generate on a different number of threads,
+	 * keeping its seed, so scenarios run side by side share the processors
+	 *
+	 * @param generationParallelism_
+	 * 		int of threads to generate flights on, 0 for every processor
+	 * @return
+	 * 		SimulationConfig the same but for its parallelism
+	 */
+	public SimulationConfig withGenerationParallelism(int generationParallelism_) {
+		return new SimulationConfig(numberOfFlights, fuelCost, maxSeatsPerSection, seatPricePerSection,
+				smallPlaneMaxRange, mediumPlaneMaxRange, pilotPay, preferredAircraftSize, airportGraphType,
+				precomputeDistanceMatrix, seeded ? simulationSeed : null, generationParallelism_, dataIngestMode,
+				rcpEngine, logFlightResults, simulationMode);
+	}
+
+	public int getNumberOfFlights() {
+		return numberOfFlights;
+	}
+
+	public BigDecimal getFuelCost() {
+		return fuelCost;
+	}
+
+	/**
+	 * Finds the seats in each section of an aircraft size. The array is
+	 * shared with every flight of that size and must not be changed.
+	 *
+	 * @param aircraftSize_
+	 * 		AircraftSize to find the seats of
+	 * @return
+	 * 		int array of the seats in each section
+	 */
+	public int[] getMaxSeatsPerSection(AircraftSize aircraftSize_) {
+		return maxSeatsPerSection[aircraftSize_.ordinal()];
+	}
+
+	/**
+	 * Finds the seat price of each section of an aircraft size. The array
+	 * is shared with every flight of that size and must not be changed.
+	 *
+	 * @param aircraftSize_
+	 * 		AircraftSize to find the prices of
+	 * @return
+	 * 		BigDecimal array of the seat price of each section
+	 */
+	public BigDecimal[] getSeatPricePerSection(AircraftSize aircraftSize_) {
+		return seatPricePerSection[aircraftSize_.ordinal()];
+	}
+
+	public double getSmallPlaneMaxRange() {
+		return smallPlaneMaxRange;
+	}
+
+	public double getMediumPlaneMaxRange() {
+		return mediumPlaneMaxRange;
+	}
+
+	/**
+	 * Finds the aircraft size dispatched over a distance
+	 *
+	 * @param distance_
+	 * 		double of the distance of the flight
+	 * @return
+	 * 		AircraftSize of the smallest plane with the range for the distance
+	 */
+	public AircraftSize getAircraftSizeForDistance(double distance_) {
+		if(distance_ < smallPlaneMaxRange) {
+			return AircraftSize.S;
+		} else if(distance_ < mediumPlaneMaxRange) {
+			return AircraftSize.M;
+		}
+		return AircraftSize.L;
+	}
+
+	public BigDecimal getPilotPay(AircraftPilotSeniority seniority_) {
+		return pilotPay[seniority_.ordinal()];
+	}
+
+	/**
+	 * @return
+	 * 		AircraftSize to generate more flights for, or null for no preference
+	 */
+	public AircraftSize getPreferredAircraftSize() {
+		return preferredAircraftSize;
+	}
+
+	public AirportGraphType getAirportGraphType() {
+		return airportGraphType;
+	}
+
+	public boolean isPrecomputeDistanceMatrix() {
+		return precomputeDistanceMatrix;
+	}
+
+	public boolean isSeeded() {
+		return seeded;
+	}
+
+	public long getSimulationSeed() {
+		return simulationSeed;
+	}
+
+	public int getGenerationParallelism() {
+		return generationParallelism;
+	}
+
+	public DataIngestMode getDataIngestMode() {
+		return dataIngestMode;
+	}
+
+	public RCPEngine getRCPEngine() {
+		return rcpEngine;
+	}
+
+	public boolean isLogFlightResults() {
+		return logFlightResults;
+	}
+
+	public SimulationMode getSimulationMode() {
+		return simulationMode;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder _seats = new StringBuilder();
+		StringBuilder _prices = new StringBuilder();
+		for(int _size = 0; _size < maxSeatsPerSection.length; _size++) {
+			_seats.append(Arrays.toString(maxSeatsPerSection[_size]));
+			_prices.append(Arrays.toString(seatPricePerSection[_size]));
+		}
+		return "SimulationConfig [numberOfFlights=" + numberOfFlights + ", fuelCost=" + fuelCost
+				+ ", maxSeatsPerSection=" + _seats + ", seatPricePerSection=" + _prices
+				+ ", smallPlaneMaxRange=" + smallPlaneMaxRange + ", mediumPlaneMaxRange=" + mediumPlaneMaxRange
+				+ ", pilotPay=" + Arrays.toString(pilotPay) + ", preferredAircraftSize=" + preferredAircraftSize
+				+ ", airportGraphType=" + airportGraphType + ", precomputeDistanceMatrix=" + precomputeDistanceMatrix
+				+ ", simulationSeed=" + (seeded ? String.valueOf(simulationSeed) : "none")
+				+ ", generationParallelism=" + generationParallelism + ", dataIngestMode=" + dataIngestMode
+				+ ", rcpEngine=" + rcpEngine + ", logFlightResults=" + logFlightResults
+				+ ", simulationMode=" + simulationMode + "]";
+	}
+}
@@ -0,0 +1,224 @@
+/**
+ * CostSensitivity class
+ *		Total profit of a finished simulation under other fuel
+ *		costs and pilot pay, without costing its flights again.
+ *		The cost of a flight is its distance times the fuel cost
+ *		plus the pay of both pilots, so total cost only depends
+ *		on the total distance and the pilot flights of each
+ *		seniority, which are found once.
+ */
+
+package org.airlinesystem.model.aggregation;
+
+import java.math.BigDecimal;
+
+import org.airlinesystem.model.AircraftPilot;
+import org.airlinesystem.model.Flight;
+import org.airlinesystem.model.SimulationConfig;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+import static org.airlinesystem.model.AircraftPilot.AircraftPilotSeniority;
+
+public class CostSensitivity {
+
+	private final BigDecimal totalRevenue;
+	private final BigDecimal totalDistance;
+	private final long[] pilotFlights;
+	private final double revenue;
+	private final double distance;
+	private final double[] pilotFlightsBySeniority;
+
+	/**
+	 * Constructor
+	 *
+	 * @param totalRevenue_
+	 * 		BigDecimal total revenue of the flights, which does not change
+	 * 		with cost
+	 * @param totalDistance_
+	 * 		BigDecimal total distance of the flights
+	 * @param pilotFlights_
+	 * 		long flights flown by a pilot of each seniority, counting pilot
+	 * 		and copilot apart, indexed by AircraftPilotSeniority ordinal,
+	 * 		which is copied
+	 */
+	public CostSensitivity(BigDecimal totalRevenue_, BigDecimal totalDistance_, long[] pilotFlights_) {
+		totalRevenue = totalRevenue_;
+		totalDistance = totalDistance_;
+		pilotFlights = pilotFlights_.clone();
+		revenue = totalRevenue_.doubleValue();
+		distance = totalDistance_.doubleValue();
+		pilotFlightsBySeniority = new double[pilotFlights.length];
+		for(int _seniority = 0; _seniority < pilotFlights.length; _seniority++) {
+			pilotFlightsBySeniority[_seniority] = pilotFlights[_seniority];
+		}
+	}
+
+	/**
+	 * Finds the statistics of flights that were streamed into totals.
+	 * Both pilots of a flight have the seniority of its aircraft size.
+	 *
+	 * @param totals_
+	 * 		TotalsAggregator the flights were added to with their distances
+	 * @return
+	 * 		CostSensitivity of the flights
+	 * @throws IllegalArgumentException
+	 * 		if the totals were added to without distances
+	 */
+	public static CostSensitivity fromTotals(TotalsAggregator totals_) {
+		BigDecimal _totalDistance = totals_.getTotalDistance();
+		if(_totalDistance == null) {
+			throw new IllegalArgumentException("Cannot find cost sensitivity: flights were added without distances");
+		}
+		long[] _pilotFlights = new long[AircraftPilotSeniority.values().length];
+		for(AircraftSize _size : AircraftSize.values()) {
+			_pilotFlights[AircraftPilot.findSeniorityForAircraft(_size).ordinal()] += 2 * totals_.getNumberOfFlights(_size);
+		}
+		return new CostSensitivity(totals_.getTotalRevenue(), _totalDistance, _pilotFlights);
+	}
+
+	/**
+	 * Finds the statistics of kept flights. The distance is summed exactly
+	 * as the flights were costed, so the BigDecimal engine's totals are
+	 * found again exactly.
+	 *
+	 * @param flights_
+	 * 		Iterable of every Flight of the simulation
+	 * @param totalRevenue_
+	 * 		BigDecimal total revenue of the flights
+	 * @return
+	 * 		CostSensitivity of the flights
+	 */
+	public static CostSensitivity fromFlights(Iterable<Flight> flights_, BigDecimal totalRevenue_) {
+		BigDecimal _totalDistance = BigDecimal.ZERO;
+		long[] _pilotFlights = new long[AircraftPilotSeniority.values().length];
+		for(Flight _flight : flights_) {
+			_totalDistance = _totalDistance.add(new BigDecimal(_flight.getDistanceTravelled()));
+			_pilotFlights[_flight.getPilot().getSeniority().ordinal()]++;
+			_pilotFlights[_flight.getCoPilot().getSeniority().ordinal()]++;
+		}
+		return new CostSensitivity(totalRevenue_, _totalDistance, _pilotFlights);
+	}
+
+	public BigDecimal getTotalRevenue() {
+		return totalRevenue;
+	}
+
+	/**
+	 * @return
+	 * 		BigDecimal total distance, which total profit falls by for each
+	 * 		unit the fuel cost rises
+	 */
+	public BigDecimal getTotalDistance() {
+		return totalDistance;
+	}
+
+	/**
+	 * @param seniority_
+	 * 		AircraftPilotSeniority of the pilots
+	 * @return
+	 * 		long flights flown by pilots of the seniority, which total profit
+	 * 		falls by for each unit their pay rises
+	 */
+	public long getPilotFlights(AircraftPilotSeniority seniority_) {
+		return pilotFlights[seniority_.ordinal()];
+	}
+
+	/**
+	 * Finds the total cost exactly
+	 *
+	 * @param fuelCost_
+	 * 		BigDecimal cost of fuel per unit of distance
+	 * @param pilotPay_
+	 * 		BigDecimal pay per flight, indexed by AircraftPilotSeniority ordinal
+	 * @return
+	 * 		BigDecimal total cost of the flights
+	 */
+	public BigDecimal findTotalCost(BigDecimal fuelCost_, BigDecimal[] pilotPay_) {
+		BigDecimal _cost = totalDistance.multiply(fuelCost_);
+		for(int _seniority = 0; _seniority < pilotFlights.length; _seniority++) {
+			_cost = _cost.add(pilotPay_[_seniority].multiply(BigDecimal.valueOf(pilotFlights[_seniority])));
+		}
+		return _cost;
+	}
+
+	/**
+	 * Finds the total profit exactly
+	 *
+	 * @param fuelCost_
+	 * 		BigDecimal cost of fuel per unit of distance
+	 * @param pilotPay_
+	 * 		BigDecimal pay per flight, indexed by AircraftPilotSeniority ordinal
+	 * @return
+	 * 		BigDecimal total revenue less total cost
+	 */
+	public BigDecimal findTotalProfit(BigDecimal fuelCost_, BigDecimal[] pilotPay_) {
+		return totalRevenue.subtract(findTotalCost(fuelCost_, pilotPay_));
+	}
+
+	/**
+	 * Finds the total profit exactly under the fuel cost and pilot pay of
+	 * another config
+	 *
+	 * @param config_
+	 * 		SimulationConfig holding the fuel cost and pay
+	 * @return
+	 * 		BigDecimal total revenue less total cost
+	 */
+	public BigDecimal findTotalProfit(SimulationConfig config_) {
+		BigDecimal[] _pilotPay = new BigDecimal[pilotFlights.length];
+		for(AircraftPilotSeniority _seniority : AircraftPilotSeniority.values()) {
+			_pilotPay[_seniority.ordinal()] = config_.getPilotPay(_seniority);
+		}
+		return findTotalProfit(config_.getFuelCost(), _pilotPay);
+	}
+
+	/**
+	 * Finds the total profit in double precision, without allocating, for
+	 * sweeping many costs quickly
+	 *
+	 * @param fuelCost_
+	 * 		double cost of fuel per unit of distance
+	 * @param pilotPay_
+	 * 		double pay per flight, indexed by AircraftPilotSeniority ordinal
+	 * @return
+	 * 		double total revenue less total cost
+	 */
+	public double findTotalProfit(double fuelCost_, double[] pilotPay_) {
+		double _profit = revenue - distance * fuelCost_;
+		for(int _seniority = 0; _seniority < pilotFlightsBySeniority.length; _seniority++) {
+			_profit -= pilotFlightsBySeniority[_seniority] * pilotPay_[_seniority];
+		}
+		return _profit;
+	}
+
+	/**
+	 * Finds the total profit at each of many fuel costs under one pilot pay
+	 *
+	 * @param fuelCosts_
+	 * 		double costs of fuel per unit of distance
+	 * @param pilotPay_
+	 * 		double pay per flight, indexed by AircraftPilotSeniority ordinal
+	 * @return
+	 * 		double total profit at each fuel cost, in order
+	 */
+	public double[] findTotalProfits(double[] fuelCosts_, double[] pilotPay_) {
+		double _profitBeforeFuel = findTotalProfit(0, pilotPay_);
+		double[] _profits = new double[fuelCosts_.length];
+		for(int _i = 0; _i < fuelCosts_.length; _i++) {
+			_profits[_i] = _profitBeforeFuel - distance * fuelCosts_[_i];
+		}
+		return _profits;
+	}
+
+	/**
+	 * Finds the fuel cost at which total profit falls to zero
+	 *
+	 * @param pilotPay_
+	 * 		double pay per flight, indexed by AircraftPilotSeniority ordinal
+	 * @return
+	 * 		double fuel cost per unit of distance, or NaN if no distance was
+	 * 		flown
+	 */
+	public double findBreakEvenFuelCost(double[] pilotPay_) {
+		return distance == 0 ? Double.NaN : findTotalProfit(0, pilotPay_) / distance;
+	}
+}
@@ -0,0 +1,44 @@
+/**
+ * ExactMicrosSum class
+ *		Exact running sum of amounts in micro-units. The sum is kept
+ *		in a long, and only when an addition would overflow is the
+ *		long moved into a BigInteger, so adding never allocates
+ *		until the sum passes about nine trillion units.
+ */
+
+package org.airlinesystem.model.aggregation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.airlinesystem.model.FlightStore;
+
+final class ExactMicrosSum {
+
+	private long micros;
+	private BigInteger overflow = BigInteger.ZERO;
+
+	void add(long micros_) {
+		long _sum = micros + micros_;
+		// The sum overflowed only if both addends have the sign the sum lacks
+		if(((micros ^ _sum) & (micros_ ^ _sum)) < 0) {
+			overflow = overflow.add(BigInteger.valueOf(micros));
+			_sum = micros_;
+		}
+		micros = _sum;
+	}
+
+	void add(ExactMicrosSum other_) {
+		add(other_.micros);
+		overflow = overflow.add(other_.overflow);
+	}
+
+	void clear() {
+		micros = 0;
+		overflow = BigInteger.ZERO;
+	}
+
+	BigDecimal toBigDecimal() {
+		return new BigDecimal(overflow.add(BigInteger.valueOf(micros)), FlightStore.MICRO_SCALE);
+	}
+}
@@ -0,0 +1,102 @@
+/**
+ * FlightAggregator interface
+ *		Receives flights one at a time as plain values while they are
+ *		generated or read, so results can be found without keeping
+ *		any Flight. Money is given in micro-units. Aggregators are
+ *		not thread safe; parallel producers give each worker its own
+ *		partial and merge the partials back in a fixed order.
+ */
+
+package org.airlinesystem.model.aggregation;
+
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public interface FlightAggregator {
+
+	/**
+	 * Names the airports of a route before any flight along it is added.
+	 * Producers call this at most once for each route id.
+	 *
+	 * @param routeId_
+	 * 		int dense id of the route given by the producer
+	 * @param source_
+	 * 		String name of the route's source airport
+	 * @param destination_
+	 * 		String name of the route's destination airport
+	 * @return
+	 * 		N/A
+	 */
+	default void nameRoute(int routeId_, String source_, String destination_) {
+	}
+
+	/**
+	 * Adds one flight
+	 *
+	 * @param routeId_
+	 * 		int dense id of the route flown
+	 * @param aircraftSize_
+	 * 		AircraftSize of the aircraft flown
+	 * @param passengers_
+	 * 		int passengers on board
+	 * @param revenueMicros_
+	 * 		long revenue in micro-units
+	 * @param costMicros_
+	 * 		long cost in micro-units
+	 * @return
+	 * 		N/A
+	 */
+	void addFlight(int routeId_, AircraftSize aircraftSize_, int passengers_, long revenueMicros_, long costMicros_);
+
+	/**
+	 * Adds one flight along with the distance it flew, for aggregators
+	 * that need it. Producers that know the distance call this, and
+	 * aggregators that do not use it leave it to the plain addFlight.
+	 *
+	 * @param routeId_
+	 * 		int dense id of the route flown
+	 * @param aircraftSize_
+	 * 		AircraftSize of the aircraft flown
+	 * @param passengers_
+	 * 		int passengers on board
+	 * @param distanceMicros_
+	 * 		long distance flown in micro-units
+	 * @param revenueMicros_
+	 * 		long revenue in micro-units
+	 * @param costMicros_
+	 * 		long cost in micro-units
+	 * @return
+	 * 		N/A
+	 */
+	default void addFlight(int routeId_, AircraftSize aircraftSize_, int passengers_, long distanceMicros_,
+			long revenueMicros_, long costMicros_) {
+		addFlight(routeId_, aircraftSize_, passengers_, revenueMicros_, costMicros_);
+	}
+
+	/**
+	 * Makes an empty aggregator set up like this one, for one worker
+	 * of a parallel producer to add its flights to
+	 *
+	 * @return
+	 * 		FlightAggregator of the same type with nothing added
+	 */
+	FlightAggregator newPartial();
+
+	/**
+	 * Adds everything a partial made by newPartial has seen to this one
+	 *
+	 * @param partial_
+	 * 		FlightAggregator made by this aggregator's newPartial
+	 * @return
+	 * 		N/A
+	 */
+	void merge(FlightAggregator partial_);
+
+	/**
+	 * Empties this aggregator, keeping the room it has made, so a
+	 * partial can be used again for the next block of flights
+	 *
+	 * @return
+	 * 		N/A
+	 */
+	void clear();
+}
@@ -0,0 +1,193 @@
+/**
+ * MonteCarloResults class
+ *		Total revenue, cost, and profit of every replication of a
+ *		Monte Carlo run, in replication order, with a summary of
+ *		each over all the replications under the estimator the
+ *		run was made with
+ */
+
+package org.airlinesystem.model.aggregation;
+
+public class MonteCarloResults {
+
+	/**
+	 * How the replications are combined into an estimate. ANTITHETIC
+	 * pairs each replication with one flying the same flights with
+	 * mirrored seats filled, and averages the pair. CONTROL_VARIATE
+	 * takes out the share of each result explained by how far its
+	 * passengers fall from their known expectation.
+	 */
+	public enum Estimator {
+		PLAIN, ANTITHETIC, CONTROL_VARIATE
+	}
+
+	private final Estimator estimator;
+	private final double[] totalRevenues;
+	private final double[] totalCosts;
+	private final double[] totalProfits;
+	private final double[] seatControls;
+	private final long flightsPerReplication;
+	private final int maxReplications;
+	private final ReplicationSummary revenueSummary;
+	private final ReplicationSummary costSummary;
+	private final ReplicationSummary profitSummary;
+
+	/**
+	 * Constructor for plain replications, takes ownership of the arrays
+	 *
+	 * @param totalRevenues_
+	 * 		double total revenue of each replication
+	 * @param totalCosts_
+	 * 		double total cost of each replication
+	 * @param totalProfits_
+	 * 		double total profit of each replication
+	 * @param flightsPerReplication_
+	 * 		long number of flights simulated by each replication
+	 */
+	public MonteCarloResults(double[] totalRevenues_, double[] totalCosts_, double[] totalProfits_,
+			long flightsPerReplication_) {
+		this(Estimator.PLAIN, totalRevenues_, totalCosts_, totalProfits_, new double[totalProfits_.length],
+				flightsPerReplication_, totalProfits_.length);
+	}
+
+	/**
+	 * Constructor, takes ownership of the arrays
+	 *
+	 * @param estimator_
+	 * 		Estimator the replications were run for
+	 * @param totalRevenues_
+	 * 		double total revenue of each replication
+	 * @param totalCosts_
+	 * 		double total cost of each replication
+	 * @param totalProfits_
+	 * 		double total profit of each replication
+	 * @param seatControls_
+	 * 		double passengers of each replication less their expectation
+	 * @param flightsPerReplication_
+	 * 		long number of flights simulated by each replication
+	 * @param maxReplications_
+	 * 		int number of replications the run was allowed, which is more
+	 * 		than were run when it stopped early
+	 */
+	public MonteCarloResults(Estimator estimator_, double[] totalRevenues_, double[] totalCosts_,
+			double[] totalProfits_, double[] seatControls_, long flightsPerReplication_, int maxReplications_) {
+		estimator = estimator_;
+		totalRevenues = totalRevenues_;
+		totalCosts = totalCosts_;
+		totalProfits = totalProfits_;
+		seatControls = seatControls_;
+		flightsPerReplication = flightsPerReplication_;
+		maxReplications = maxReplications_;
+		revenueSummary = new ReplicationSummary(findEstimates(totalRevenues_));
+		costSummary = new ReplicationSummary(findEstimates(totalCosts_));
+		profitSummary = new ReplicationSummary(findEstimates(totalProfits_));
+	}
+
+	/**
+	 * Turns the replications into independent estimates of the result:
+	 * the average of each antithetic pair, or each replication less the
+	 * fitted share of its seat control, or else the replications as they are
+	 */
+	private double[] findEstimates(double[] values_) {
+		if(estimator == Estimator.ANTITHETIC) {
+			double[] _pairs = new double[values_.length / 2];
+			for(int _pair = 0; _pair < _pairs.length; _pair++) {
+				_pairs[_pair] = (values_[2 * _pair] + values_[2 * _pair + 1]) / 2;
+			}
+			return _pairs;
+		}
+		if(estimator == Estimator.CONTROL_VARIATE) {
+			RunningEstimate _estimate = new RunningEstimate(estimator);
+			for(int _i = 0; _i < values_.length; _i++) {
+				_estimate.add(values_[_i], seatControls[_i]);
+			}
+			double _slope = _estimate.getControlSlope();
+			double[] _adjusted = new double[values_.length];
+			for(int _i = 0; _i < values_.length; _i++) {
+				_adjusted[_i] = values_[_i] - _slope * seatControls[_i];
+			}
+			return _adjusted;
+		}
+		return values_;
+	}
+
+	public Estimator getEstimator() {
+		return estimator;
+	}
+
+	public int getNumberOfReplications() {
+		return totalProfits.length;
+	}
+
+	public int getMaxReplications() {
+		return maxReplications;
+	}
+
+	/**
+	 * @return
+	 * 		int replications of the allowed number not needed to reach the
+	 * 		confidence target
+	 */
+	public int getReplicationsSaved() {
+		return maxReplications - totalProfits.length;
+	}
+
+	public long getFlightsPerReplication() {
+		return flightsPerReplication;
+	}
+
+	public double getTotalRevenue(int replication_) {
+		return totalRevenues[replication_];
+	}
+
+	public double getTotalCost(int replication_) {
+		return totalCosts[replication_];
+	}
+
+	public double getTotalProfit(int replication_) {
+		return totalProfits[replication_];
+	}
+
+	public double getSeatControl(int replication_) {
+		return seatControls[replication_];
+	}
+
+	/**
+	 * Finds how many plain replications would be needed for the mean
+	 * total profit to reach a relative confidence target, from the spread
+	 * of the single replications, to compare against the estimator used
+	 *
+	 * @param targetRelativeHalfWidth_
+	 * 		double half width of the 95% confidence interval over the mean
+	 * @return
+	 * 		long plain replications needed, or zero if it cannot be found
+	 */
+	public long findPlainReplicationsNeeded(double targetRelativeHalfWidth_) {
+		ReplicationSummary _plainSummary = new ReplicationSummary(totalProfits);
+		double _mean = Math.abs(_plainSummary.getMean());
+		if(targetRelativeHalfWidth_ <= 0 || _mean == 0 || totalProfits.length < 2) {
+			return 0;
+		}
+		double _ratio = ReplicationSummary.findT975(totalProfits.length - 1)
+				* _plainSummary.getStandardDeviation() / (targetRelativeHalfWidth_ * _mean);
+		return (long)Math.ceil(_ratio * _ratio);
+	}
+
+	public ReplicationSummary getRevenueSummary() {
+		return revenueSummary;
+	}
+
+	public ReplicationSummary getCostSummary() {
+		return costSummary;
+	}
+
+	/**
+	 * @return
+	 * 		ReplicationSummary of the independent estimates of total profit,
+	 * 		which are antithetic pairs or control adjusted replications
+	 * 		under those estimators
+	 */
+	public ReplicationSummary getProfitSummary() {
+		return profitSummary;
+	}
+}
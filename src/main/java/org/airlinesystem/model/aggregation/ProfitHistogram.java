@@ -0,0 +1,149 @@
+/**
+ * ProfitHistogram class
+ *		Fixed size histogram of flight profits that needs no range
+ *		set up front. Profits below SUB_BUCKETS units in size each
+ *		get a bucket of one unit, and every larger power of two is
+ *		split into SUB_BUCKETS equal buckets, so each bucket is at
+ *		most 1/SUB_BUCKETS of its profits wide in relative terms.
+ *		Losses are kept the same way below zero.
+ */
+
+package org.airlinesystem.model.aggregation;
+
+import java.util.Arrays;
+
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class ProfitHistogram implements FlightAggregator {
+
+	public static final int SUB_BUCKETS = 16;
+
+	private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+	private static final long MICROS_PER_UNIT = 1000000L;
+	private static final int BUCKETS_PER_SIGN = SUB_BUCKETS * (Long.SIZE - SUB_BUCKET_BITS);
+
+	// Losses from the largest down to zero, then profits from zero up
+	private final long[] counts = new long[2 * BUCKETS_PER_SIGN];
+	private long numberOfFlights;
+
+	public ProfitHistogram() {}
+
+	@Override
+	public void addFlight(int routeId_, AircraftSize aircraftSize_, int passengers_, long revenueMicros_,
+			long costMicros_) {
+		counts[findBucket(revenueMicros_ - costMicros_)]++;
+		numberOfFlights++;
+	}
+
+	@Override
+	public ProfitHistogram newPartial() {
+		return new ProfitHistogram();
+	}
+
+	@Override
+	public void merge(FlightAggregator partial_) {
+		ProfitHistogram _partial = (ProfitHistogram)partial_;
+		for(int _bucket = 0; _bucket < counts.length; _bucket++) {
+			counts[_bucket] += _partial.counts[_bucket];
+		}
+		numberOfFlights += _partial.numberOfFlights;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(counts, 0);
+		numberOfFlights = 0;
+	}
+
+	public long getNumberOfFlights() {
+		return numberOfFlights;
+	}
+
+	public int getNumberOfBuckets() {
+		return counts.length;
+	}
+
+	public long getCount(int bucket_) {
+		return counts[bucket_];
+	}
+
+	/**
+	 * @return
+	 * 		long lowest whole unit profit that falls in the bucket
+	 */
+	public long getLowerBound(int bucket_) {
+		if(bucket_ >= BUCKETS_PER_SIGN) {
+			return findMagnitude(bucket_ - BUCKETS_PER_SIGN);
+		}
+		return -findMagnitude(BUCKETS_PER_SIGN - bucket_);
+	}
+
+	/**
+	 * @return
+	 * 		long whole unit profit just above the bucket
+	 */
+	public long getUpperBound(int bucket_) {
+		return bucket_ + 1 == counts.length ? Long.MAX_VALUE : getLowerBound(bucket_ + 1);
+	}
+
+	/**
+	 * Finds about the profit below which a fraction of the flights fall,
+	 * as the middle of the bucket holding that flight
+	 *
+	 * @param fraction_
+	 * 		double from 0 to 1, such as 0.5 for the median
+	 * @return
+	 * 		double profit in whole units, or zero if no flight was added
+	 */
+	public double findPercentile(double fraction_) {
+		if(numberOfFlights == 0) {
+			return 0;
+		}
+		long _rank = Math.max(1, (long)Math.ceil(Math.min(1, Math.max(0, fraction_)) * numberOfFlights));
+		long _seen = 0;
+		for(int _bucket = 0; _bucket < counts.length; _bucket++) {
+			_seen += counts[_bucket];
+			if(_seen >= _rank) {
+				return (getLowerBound(_bucket) / 2.0) + (getUpperBound(_bucket) / 2.0);
+			}
+		}
+		return getLowerBound(counts.length - 1);
+	}
+
+	/**
+	 * Finds the bucket of a profit. Profits are rounded down to whole
+	 * units, so a loss of less than one unit falls in the bucket just
+	 * below zero and every bucket holds the profits from its lower
+	 * bound up to its upper bound.
+	 */
+	private static int findBucket(long profitMicros_) {
+		if(profitMicros_ >= 0) {
+			return BUCKETS_PER_SIGN + findSignedBucket(profitMicros_ / MICROS_PER_UNIT);
+		}
+		return BUCKETS_PER_SIGN - 1 - findSignedBucket(-Math.floorDiv(profitMicros_, MICROS_PER_UNIT) - 1);
+	}
+
+	private static int findSignedBucket(long magnitude_) {
+		if(magnitude_ < SUB_BUCKETS) {
+			return (int)magnitude_;
+		}
+		int _power = Long.SIZE - 1 - Long.numberOfLeadingZeros(magnitude_);
+		int _subBucket = (int)(magnitude_ >>> (_power - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (_power - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + _subBucket;
+	}
+
+	/**
+	 * Finds the smallest magnitude of a bucket on one side of zero
+	 */
+	private static long findMagnitude(int signedBucket_) {
+		if(signedBucket_ < SUB_BUCKETS) {
+			return signedBucket_;
+		}
+		if(signedBucket_ >= BUCKETS_PER_SIGN) {
+			return Long.MAX_VALUE;
+		}
+		int _power = signedBucket_ / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long _subBucket = signedBucket_ % SUB_BUCKETS;
+		return (SUB_BUCKETS + _subBucket) << (_power - SUB_BUCKET_BITS);
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * ReplicationSummary class
+ *		Mean, spread, percentiles, and 95% confidence interval of
+ *		one result, such as total profit, over the independent
+ *		replications of a Monte Carlo run
+ */
+
+package org.airlinesystem.model.aggregation;
+
+import java.util.Arrays;
+
+public class ReplicationSummary {
+
+	// Upper 2.5% points of Student's t for 1 to 30 degrees of freedom
+	private static final double[] T_975 = {12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262,
+			2.228, 2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086, 2.080, 2.074,
+			2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+	private static final double Z_975 = 1.959964;
+
+	private final double[] sortedValues;
+	private final double mean;
+	private final double standardDeviation;
+
+	/**
+	 * Constructor
+	 *
+	 * @param values_
+	 * 		double result of each replication, which is copied
+	 */
+	public ReplicationSummary(double[] values_) {
+		sortedValues = values_.clone();
+		Arrays.sort(sortedValues);
+
+		double _mean = 0;
+		double _squaredDeviations = 0;
+		for(int _i = 0; _i < values_.length; _i++) {
+			double _delta = values_[_i] - _mean;
+			_mean += _delta / (_i + 1);
+			_squaredDeviations += _delta * (values_[_i] - _mean);
+		}
+		mean = _mean;
+		standardDeviation = values_.length < 2 ? 0 : Math.sqrt(_squaredDeviations / (values_.length - 1));
+	}
+
+	public int getCount() {
+		return sortedValues.length;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * @return
+	 * 		double sample standard deviation of the replications, or zero
+	 * 		for fewer than two
+	 */
+	public double getStandardDeviation() {
+		return standardDeviation;
+	}
+
+	/**
+	 * @return
+	 * 		double standard error of the mean
+	 */
+	public double getStandardError() {
+		return sortedValues.length == 0 ? 0 : standardDeviation / Math.sqrt(sortedValues.length);
+	}
+
+	/**
+	 * Finds half the width of the 95% confidence interval of the mean,
+	 * from Student's t so few replications give a fair interval
+	 *
+	 * @return
+	 * 		double half width, or zero for fewer than two replications
+	 */
+	public double getConfidenceHalfWidth() {
+		return sortedValues.length < 2 ? 0 : findT975(sortedValues.length - 1) * getStandardError();
+	}
+
+	public double getConfidenceLow() {
+		return mean - getConfidenceHalfWidth();
+	}
+
+	public double getConfidenceHigh() {
+		return mean + getConfidenceHalfWidth();
+	}
+
+	public double getMin() {
+		return sortedValues.length == 0 ? 0 : sortedValues[0];
+	}
+
+	public double getMax() {
+		return sortedValues.length == 0 ? 0 : sortedValues[sortedValues.length - 1];
+	}
+
+	/**
+	 * Finds a percentile by interpolating between the nearest replications
+	 *
+	 * @param fraction_
+	 * 		double from 0 to 1, such as 0.05 for the fifth percentile
+	 * @return
+	 * 		double value below which the fraction of replications fall,
+	 * 		or zero if there are none
+	 */
+	public double findPercentile(double fraction_) {
+		if(sortedValues.length == 0) {
+			return 0;
+		}
+		double _position = Math.min(1, Math.max(0, fraction_)) * (sortedValues.length - 1);
+		int _below = (int)Math.floor(_position);
+		int _above = Math.min(_below + 1, sortedValues.length - 1);
+		return sortedValues[_below] + (_position - _below) * (sortedValues[_above] - sortedValues[_below]);
+	}
+
+	/**
+	 * Finds the upper 2.5% point of Student's t, from the table up to 30
+	 * degrees of freedom and from its Cornish-Fisher expansion above
+	 */
+	static double findT975(int degreesOfFreedom_) {
+		if(degreesOfFreedom_ <= T_975.length) {
+			return T_975[degreesOfFreedom_ - 1];
+		}
+		double _z3 = Z_975 * Z_975 * Z_975;
+		double _z5 = _z3 * Z_975 * Z_975;
+		return Z_975 + (_z3 + Z_975) / (4.0 * degreesOfFreedom_)
+				+ (5 * _z5 + 16 * _z3 + 3 * Z_975) / (96.0 * degreesOfFreedom_ * degreesOfFreedom_);
+	}
+}
@@ -0,0 +1,240 @@
+/**
+ * RouteStatsAggregator class
+ *		Count, passengers, and profit statistics of every route held
+ *		in arrays indexed by route id, so memory grows with the number
+ *		of routes and never with the number of flights. The average
+ *		and spread of profit are kept with Welford's method in doubles
+ *		of whole units, and partials are combined with Chan's formula,
+ *		while the lowest and highest profits are exact.
+ */
+
+package org.airlinesystem.model.aggregation;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.airlinesystem.model.FlightStore;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class RouteStatsAggregator implements FlightAggregator {
+
+	public static final int NO_ROUTE = -1;
+
+	private static final double MICROS_PER_UNIT = 1e6;
+	private static final int DEFAULT_ROUTES = 16;
+
+	private int numberOfRoutes;
+	private String[] sources;
+	private String[] destinations;
+	private long[] counts;
+	private long[] passengers;
+	private double[] meanProfits;
+	private double[] squaredDeviations;
+	private long[] minProfitMicros;
+	private long[] maxProfitMicros;
+
+	// Built on the first lookup by name, and dropped when a route is named
+	private HashMap<String, Integer> routeIdsByName;
+
+	public RouteStatsAggregator() {
+		this(DEFAULT_ROUTES);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param expectedRoutes_
+	 * 		int number of routes to make room for, more are added as needed
+	 */
+	public RouteStatsAggregator(int expectedRoutes_) {
+		int _capacity = Math.max(1, expectedRoutes_);
+		sources = new String[_capacity];
+		destinations = new String[_capacity];
+		counts = new long[_capacity];
+		passengers = new long[_capacity];
+		meanProfits = new double[_capacity];
+		squaredDeviations = new double[_capacity];
+		minProfitMicros = new long[_capacity];
+		maxProfitMicros = new long[_capacity];
+	}
+
+	@Override
+	public void nameRoute(int routeId_, String source_, String destination_) {
+		ensureRoute(routeId_);
+		sources[routeId_] = source_;
+		destinations[routeId_] = destination_;
+		routeIdsByName = null;
+	}
+
+	@Override
+	public void addFlight(int routeId_, AircraftSize aircraftSize_, int passengers_, long revenueMicros_,
+			long costMicros_) {
+		ensureRoute(routeId_);
+		long _profitMicros = revenueMicros_ - costMicros_;
+		double _profit = _profitMicros / MICROS_PER_UNIT;
+		long _count = ++counts[routeId_];
+		double _delta = _profit - meanProfits[routeId_];
+
+		passengers[routeId_] += passengers_;
+		meanProfits[routeId_] += _delta / _count;
+		squaredDeviations[routeId_] += _delta * (_profit - meanProfits[routeId_]);
+		if(_count == 1 || _profitMicros < minProfitMicros[routeId_]) {
+			minProfitMicros[routeId_] = _profitMicros;
+		}
+		if(_count == 1 || _profitMicros > maxProfitMicros[routeId_]) {
+			maxProfitMicros[routeId_] = _profitMicros;
+		}
+	}
+
+	@Override
+	public RouteStatsAggregator newPartial() {
+		return new RouteStatsAggregator(counts.length);
+	}
+
+	@Override
+	public void merge(FlightAggregator partial_) {
+		RouteStatsAggregator _partial = (RouteStatsAggregator)partial_;
+		for(int _route = 0; _route < _partial.numberOfRoutes; _route++) {
+			if(_partial.sources[_route] != null) {
+				nameRoute(_route, _partial.sources[_route], _partial.destinations[_route]);
+			}
+			long _otherCount = _partial.counts[_route];
+			if(_otherCount == 0) {
+				continue;
+			}
+			ensureRoute(_route);
+			long _count = counts[_route];
+			long _total = _count + _otherCount;
+			double _delta = _partial.meanProfits[_route] - meanProfits[_route];
+
+			meanProfits[_route] += _delta * _otherCount / _total;
+			squaredDeviations[_route] += _partial.squaredDeviations[_route]
+					+ _delta * _delta * ((double)_count * _otherCount / _total);
+			minProfitMicros[_route] = _count == 0 ? _partial.minProfitMicros[_route]
+					: Math.min(minProfitMicros[_route], _partial.minProfitMicros[_route]);
+			maxProfitMicros[_route] = _count == 0 ? _partial.maxProfitMicros[_route]
+					: Math.max(maxProfitMicros[_route], _partial.maxProfitMicros[_route]);
+			counts[_route] = _total;
+			passengers[_route] += _partial.passengers[_route];
+		}
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(sources, 0, numberOfRoutes, null);
+		Arrays.fill(destinations, 0, numberOfRoutes, null);
+		Arrays.fill(counts, 0, numberOfRoutes, 0);
+		Arrays.fill(passengers, 0, numberOfRoutes, 0);
+		Arrays.fill(meanProfits, 0, numberOfRoutes, 0);
+		Arrays.fill(squaredDeviations, 0, numberOfRoutes, 0);
+		numberOfRoutes = 0;
+		routeIdsByName = null;
+	}
+
+	/**
+	 * @return
+	 * 		int one more than the highest route id named or flown
+	 */
+	public int getNumberOfRoutes() {
+		return numberOfRoutes;
+	}
+
+	/**
+	 * Finds the id of a named route. Routes are matched in either
+	 * direction, as flights fly both ways along an edge.
+	 *
+	 * @param source_
+	 * 		String name of one airport
+	 * @param destination_
+	 * 		String name of the other airport
+	 * @return
+	 * 		int route id, or NO_ROUTE if no route joins the airports
+	 */
+	public int findRouteId(String source_, String destination_) {
+		if(routeIdsByName == null) {
+			routeIdsByName = new HashMap<String, Integer>(numberOfRoutes * 2);
+			for(int _route = 0; _route < numberOfRoutes; _route++) {
+				if(sources[_route] != null) {
+					routeIdsByName.put(routeKey(sources[_route], destinations[_route]), _route);
+				}
+			}
+		}
+		Integer _routeId = routeIdsByName.get(routeKey(source_, destination_));
+		if(_routeId == null) {
+			_routeId = routeIdsByName.get(routeKey(destination_, source_));
+		}
+		return _routeId == null ? NO_ROUTE : _routeId;
+	}
+
+	public String getSource(int routeId_) {
+		return sources[routeId_];
+	}
+
+	public String getDestination(int routeId_) {
+		return destinations[routeId_];
+	}
+
+	public long getCount(int routeId_) {
+		return routeId_ < numberOfRoutes ? counts[routeId_] : 0;
+	}
+
+	public long getPassengers(int routeId_) {
+		return routeId_ < numberOfRoutes ? passengers[routeId_] : 0;
+	}
+
+	/**
+	 * @return
+	 * 		double average profit of the route in whole units, or zero for an empty route
+	 */
+	public double getAverageProfit(int routeId_) {
+		return getCount(routeId_) == 0 ? 0 : meanProfits[routeId_];
+	}
+
+	/**
+	 * @return
+	 * 		double sample standard deviation of the route's profits, or zero
+	 * 		for a route with fewer than two flights
+	 */
+	public double getStandardDeviation(int routeId_) {
+		long _count = getCount(routeId_);
+		return _count < 2 ? 0 : Math.sqrt(Math.max(0, squaredDeviations[routeId_] / (_count - 1)));
+	}
+
+	/**
+	 * @return
+	 * 		BigDecimal lowest profit on the route, or null for an empty route
+	 */
+	public BigDecimal getMinProfit(int routeId_) {
+		return getCount(routeId_) == 0 ? null : BigDecimal.valueOf(minProfitMicros[routeId_], FlightStore.MICRO_SCALE);
+	}
+
+	/**
+	 * @return
+	 * 		BigDecimal highest profit on the route, or null for an empty route
+	 */
+	public BigDecimal getMaxProfit(int routeId_) {
+		return getCount(routeId_) == 0 ? null : BigDecimal.valueOf(maxProfitMicros[routeId_], FlightStore.MICRO_SCALE);
+	}
+
+	private void ensureRoute(int routeId_) {
+		if(routeId_ >= counts.length) {
+			int _capacity = Math.max(routeId_ + 1, counts.length * 2);
+			sources = Arrays.copyOf(sources, _capacity);
+			destinations = Arrays.copyOf(destinations, _capacity);
+			counts = Arrays.copyOf(counts, _capacity);
+			passengers = Arrays.copyOf(passengers, _capacity);
+			meanProfits = Arrays.copyOf(meanProfits, _capacity);
+			squaredDeviations = Arrays.copyOf(squaredDeviations, _capacity);
+			minProfitMicros = Arrays.copyOf(minProfitMicros, _capacity);
+			maxProfitMicros = Arrays.copyOf(maxProfitMicros, _capacity);
+		}
+		if(routeId_ >= numberOfRoutes) {
+			numberOfRoutes = routeId_ + 1;
+		}
+	}
+
+	private static String routeKey(String source_, String destination_) {
+		return source_ + "|" + destination_;
+	}
+}
@@ -0,0 +1,124 @@
+/**
+ * RunningEstimate class
+ *		Running mean and confidence interval of a Monte Carlo
+ *		estimate as replications are added one at a time in order,
+ *		under any estimator, so a stopping rule can be checked after
+ *		each replication without going back over the ones before.
+ *		Results and their controls are kept as co-moments with
+ *		Welford's method.
+ */
+
+package org.airlinesystem.model.aggregation;
+
+import org.airlinesystem.model.aggregation.MonteCarloResults.Estimator;
+
+public class RunningEstimate {
+
+	private final Estimator estimator;
+	private long replications;
+	private long units;
+	private double meanValue;
+	private double meanControl;
+	private double valueSquares;
+	private double controlSquares;
+	private double coSquares;
+	private double pendingValue;
+	private double pendingControl;
+
+	/**
+	 * Constructor
+	 *
+	 * @param estimator_
+	 * 		Estimator the replications are combined with
+	 */
+	public RunningEstimate(Estimator estimator_) {
+		estimator = estimator_;
+	}
+
+	/**
+	 * Adds the next replication. Antithetic replications are added
+	 * in pairs, and only count toward the estimate once both are in.
+	 *
+	 * @param value_
+	 * 		double result of the replication
+	 * @param control_
+	 * 		double control of the replication, whose expectation is zero
+	 * @return
+	 * 		N/A
+	 */
+	public void add(double value_, double control_) {
+		replications++;
+		if(estimator == Estimator.ANTITHETIC) {
+			if(replications % 2 == 1) {
+				pendingValue = value_;
+				pendingControl = control_;
+				return;
+			}
+			value_ = (pendingValue + value_) / 2;
+			control_ = (pendingControl + control_) / 2;
+		}
+		if(estimator != Estimator.CONTROL_VARIATE) {
+			control_ = 0;
+		}
+
+		units++;
+		double _valueDelta = value_ - meanValue;
+		double _controlDelta = control_ - meanControl;
+		meanValue += _valueDelta / units;
+		meanControl += _controlDelta / units;
+		valueSquares += _valueDelta * (value_ - meanValue);
+		controlSquares += _controlDelta * (control_ - meanControl);
+		coSquares += _valueDelta * (control_ - meanControl);
+	}
+
+	public long getNumberOfReplications() {
+		return replications;
+	}
+
+	/**
+	 * @return
+	 * 		long number of independent estimates, the antithetic pairs
+	 * 		or else the replications
+	 */
+	public long getNumberOfUnits() {
+		return units;
+	}
+
+	/**
+	 * @return
+	 * 		double slope of the results on the controls, or zero without
+	 * 		a control variate
+	 */
+	public double getControlSlope() {
+		return controlSquares > 0 ? coSquares / controlSquares : 0;
+	}
+
+	public double getMean() {
+		return meanValue - getControlSlope() * meanControl;
+	}
+
+	/**
+	 * @return
+	 * 		double sample variance of the estimates once the fitted share
+	 * 		of the control is taken out
+	 */
+	public double getVariance() {
+		return units < 2 ? 0 : Math.max(0, valueSquares - getControlSlope() * coSquares) / (units - 1);
+	}
+
+	public double getConfidenceHalfWidth() {
+		return units < 2 ? 0 : ReplicationSummary.findT975((int)Math.min(Integer.MAX_VALUE, units - 1))
+				* Math.sqrt(getVariance() / units);
+	}
+
+	/**
+	 * @return
+	 * 		double half width of the 95% confidence interval over the size
+	 * 		of the mean, or infinity before there is an interval or when the
+	 * 		mean is zero
+	 */
+	public double getRelativeHalfWidth() {
+		double _mean = Math.abs(getMean());
+		return units < 2 || _mean == 0 ? Double.POSITIVE_INFINITY : getConfidenceHalfWidth() / _mean;
+	}
+}
@@ -0,0 +1,43 @@
+/**
+ * ScenarioResult class
+ *		The property overrides of one scenario of a sweep and the
+ *		exact totals of the flights generated under them
+ */
+
+package org.airlinesystem.model.aggregation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ScenarioResult {
+
+	private final Map<String, String> overrides;
+	private final TotalsAggregator totals;
+
+	/**
+	 * Constructor
+	 *
+	 * @param overrides_
+	 * 		Map of each swept property to its value in this scenario, in
+	 * 		the order of the sweep, which is copied
+	 * @param totals_
+	 * 		TotalsAggregator holding the flights of the scenario
+	 */
+	public ScenarioResult(Map<String, String> overrides_, TotalsAggregator totals_) {
+		overrides = Collections.unmodifiableMap(new LinkedHashMap<>(overrides_));
+		totals = totals_;
+	}
+
+	public Map<String, String> getOverrides() {
+		return overrides;
+	}
+
+	public String getOverride(String key_) {
+		return overrides.get(key_);
+	}
+
+	public TotalsAggregator getTotals() {
+		return totals;
+	}
+}
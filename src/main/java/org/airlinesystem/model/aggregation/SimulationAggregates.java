@@ -0,0 +1,117 @@
+/**
+ * SimulationAggregates class
+ *		The results a streaming simulation keeps in place of its
+ *		flights: exact totals, statistics of every route, and a
+ *		histogram of flight profits, along with any further
+ *		aggregators plugged in, all fed from a single pass
+ */
+
+package org.airlinesystem.model.aggregation;
+
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class SimulationAggregates implements FlightAggregator {
+
+	private final TotalsAggregator totals;
+	private final RouteStatsAggregator routeStats;
+	private final ProfitHistogram profitHistogram;
+	private final FlightAggregator[] extraAggregators;
+
+	/**
+	 * Constructor
+	 *
+	 * @param expectedRoutes_
+	 * 		int number of routes to make room for
+	 * @param extraAggregators_
+	 * 		FlightAggregators fed every flight after the standard ones
+	 */
+	public SimulationAggregates(int expectedRoutes_, FlightAggregator... extraAggregators_) {
+		this(new TotalsAggregator(), new RouteStatsAggregator(expectedRoutes_), new ProfitHistogram(),
+				extraAggregators_.clone());
+	}
+
+	private SimulationAggregates(TotalsAggregator totals_, RouteStatsAggregator routeStats_,
+			ProfitHistogram profitHistogram_, FlightAggregator[] extraAggregators_) {
+		totals = totals_;
+		routeStats = routeStats_;
+		profitHistogram = profitHistogram_;
+		extraAggregators = extraAggregators_;
+	}
+
+	@Override
+	public void nameRoute(int routeId_, String source_, String destination_) {
+		routeStats.nameRoute(routeId_, source_, destination_);
+		for(FlightAggregator _aggregator : extraAggregators) {
+			_aggregator.nameRoute(routeId_, source_, destination_);
+		}
+	}
+
+	@Override
+	public void addFlight(int routeId_, AircraftSize aircraftSize_, int passengers_, long revenueMicros_,
+			long costMicros_) {
+		totals.addFlight(routeId_, aircraftSize_, passengers_, revenueMicros_, costMicros_);
+		routeStats.addFlight(routeId_, aircraftSize_, passengers_, revenueMicros_, costMicros_);
+		profitHistogram.addFlight(routeId_, aircraftSize_, passengers_, revenueMicros_, costMicros_);
+		for(FlightAggregator _aggregator : extraAggregators) {
+			_aggregator.addFlight(routeId_, aircraftSize_, passengers_, revenueMicros_, costMicros_);
+		}
+	}
+
+	@Override
+	public void addFlight(int routeId_, AircraftSize aircraftSize_, int passengers_, long distanceMicros_,
+			long revenueMicros_, long costMicros_) {
+		totals.addFlight(routeId_, aircraftSize_, passengers_, distanceMicros_, revenueMicros_, costMicros_);
+		routeStats.addFlight(routeId_, aircraftSize_, passengers_, revenueMicros_, costMicros_);
+		profitHistogram.addFlight(routeId_, aircraftSize_, passengers_, revenueMicros_, costMicros_);
+		for(FlightAggregator _aggregator : extraAggregators) {
+			_aggregator.addFlight(routeId_, aircraftSize_, passengers_, distanceMicros_, revenueMicros_, costMicros_);
+		}
+	}
+
+	@Override
+	public SimulationAggregates newPartial() {
+		FlightAggregator[] _extraPartials = new FlightAggregator[extraAggregators.length];
+		for(int _i = 0; _i < extraAggregators.length; _i++) {
+			_extraPartials[_i] = extraAggregators[_i].newPartial();
+		}
+		return new SimulationAggregates(totals.newPartial(), routeStats.newPartial(),
+				profitHistogram.newPartial(), _extraPartials);
+	}
+
+	@Override
+	public void merge(FlightAggregator partial_) {
+		SimulationAggregates _partial = (SimulationAggregates)partial_;
+		totals.merge(_partial.totals);
+		routeStats.merge(_partial.routeStats);
+		profitHistogram.merge(_partial.profitHistogram);
+		for(int _i = 0; _i < extraAggregators.length; _i++) {
+			extraAggregators[_i].merge(_partial.extraAggregators[_i]);
+		}
+	}
+
+	@Override
+	public void clear() {
+		totals.clear();
+		routeStats.clear();
+		profitHistogram.clear();
+		for(FlightAggregator _aggregator : extraAggregators) {
+			_aggregator.clear();
+		}
+	}
+
+	public TotalsAggregator getTotals() {
+		return totals;
+	}
+
+	public RouteStatsAggregator getRouteStats() {
+		return routeStats;
+	}
+
+	public ProfitHistogram getProfitHistogram() {
+		return profitHistogram;
+	}
+
+	public FlightAggregator getExtraAggregator(int index_) {
+		return extraAggregators[index_];
+	}
+}
@@ -0,0 +1,127 @@
+/**
+ * TotalsAggregator class
+ *		Exact totals of revenue, cost, profit, passengers,
+ *		distance, and flights of each aircraft size, kept in
+ *		micro-units so adding a flight does not allocate
+ */
+
+package org.airlinesystem.model.aggregation;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class TotalsAggregator implements FlightAggregator {
+
+	private long numberOfFlights;
+	private final long[] flightsBySize = new long[AircraftSize.values().length];
+	private long totalPassengers;
+	private final ExactMicrosSum totalRevenue = new ExactMicrosSum();
+	private final ExactMicrosSum totalCost = new ExactMicrosSum();
+	private final ExactMicrosSum totalDistance = new ExactMicrosSum();
+	private boolean distanceKnown = true;
+
+	public TotalsAggregator() {}
+
+	@Override
+	public void addFlight(int routeId_, AircraftSize aircraftSize_, int passengers_, long revenueMicros_,
+			long costMicros_) {
+		numberOfFlights++;
+		flightsBySize[aircraftSize_.ordinal()]++;
+		totalPassengers += passengers_;
+		totalRevenue.add(revenueMicros_);
+		totalCost.add(costMicros_);
+		distanceKnown = false;
+	}
+
+	@Override
+	public void addFlight(int routeId_, AircraftSize aircraftSize_, int passengers_, long distanceMicros_,
+			long revenueMicros_, long costMicros_) {
+		numberOfFlights++;
+		flightsBySize[aircraftSize_.ordinal()]++;
+		totalPassengers += passengers_;
+		totalRevenue.add(revenueMicros_);
+		totalCost.add(costMicros_);
+		totalDistance.add(distanceMicros_);
+	}
+
+	@Override
+	public TotalsAggregator newPartial() {
+		return new TotalsAggregator();
+	}
+
+	@Override
+	public void merge(FlightAggregator partial_) {
+		TotalsAggregator _partial = (TotalsAggregator)partial_;
+		numberOfFlights += _partial.numberOfFlights;
+		for(int _size = 0; _size < flightsBySize.length; _size++) {
+			flightsBySize[_size] += _partial.flightsBySize[_size];
+		}
+		totalPassengers += _partial.totalPassengers;
+		totalRevenue.add(_partial.totalRevenue);
+		totalCost.add(_partial.totalCost);
+		totalDistance.add(_partial.totalDistance);
+		distanceKnown &= _partial.distanceKnown;
+	}
+
+	@Override
+	public void clear() {
+		numberOfFlights = 0;
+		Arrays.fill(flightsBySize, 0);
+		totalPassengers = 0;
+		totalRevenue.clear();
+		totalCost.clear();
+		totalDistance.clear();
+		distanceKnown = true;
+	}
+
+	public long getNumberOfFlights() {
+		return numberOfFlights;
+	}
+
+	public long getNumberOfFlights(AircraftSize aircraftSize_) {
+		return flightsBySize[aircraftSize_.ordinal()];
+	}
+
+	public long getTotalPassengers() {
+		return totalPassengers;
+	}
+
+	/**
+	 * @return
+	 * 		BigDecimal total distance flown, exact in micro-units, or null if
+	 * 		any flight was added without its distance
+	 */
+	public BigDecimal getTotalDistance() {
+		return distanceKnown ? totalDistance.toBigDecimal() : null;
+	}
+
+	public BigDecimal getTotalRevenue() {
+		return totalRevenue.toBigDecimal();
+	}
+
+	public BigDecimal getTotalCost() {
+		return totalCost.toBigDecimal();
+	}
+
+	/**
+	 * @return
+	 * 		BigDecimal total revenue less total cost, exact
+	 */
+	public BigDecimal getTotalProfit() {
+		return getTotalRevenue().subtract(getTotalCost());
+	}
+
+	/**
+	 * Finds all the totals at once
+	 *
+	 * @return
+	 * 		BigDecimal array holding total revenue, cost, and profit
+	 */
+	public BigDecimal[] getTotalRCP() {
+		BigDecimal _revenue = getTotalRevenue();
+		BigDecimal _cost = getTotalCost();
+		return new BigDecimal[] {_revenue, _cost, _revenue.subtract(_cost)};
+	}
+}
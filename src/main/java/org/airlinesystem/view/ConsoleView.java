@@ -11,6 +11,8 @@ import java.math.BigDecimal;
 import java.text.NumberFormat;
 
 import org.airlinesystem.controllers.logging.FullLogging;
+import org.airlinesystem.model.RouteProfitSummary;
+import org.airlinesystem.model.aggregation.RouteStatsAggregator;
 
 public class ConsoleView {
 	
@@ -153,6 +155,45 @@ public class ConsoleView {
 		viewLog.menuInfo("The average profit is $" + _numberFormatter.format(averageProfit_) + "\n\n");
 	}
 	
+	/**
+	 * Displays the average profit found between two airports
+	 * along with the spread of profits on that route
+	 * 
+	 * @param routeSummary_
+	 * 		RouteProfitSummary of the flights on the requested edge
+	 * @return
+	 * 		N/A
+	 */
+	public void displayAverageBetweenAirports(RouteProfitSummary routeSummary_) {
+		NumberFormat _numberFormatter = NumberFormat.getInstance();
+		viewLog.menuInfo("The average profit is $" + _numberFormatter.format(routeSummary_.getAverage()) 
+				+ " over " + routeSummary_.getCount() + " flights\n"
+				+ "Lowest profit: $" + _numberFormatter.format(routeSummary_.getMin()) + "\n"
+				+ "Highest profit: $" + _numberFormatter.format(routeSummary_.getMax()) + "\n"
+				+ "Standard deviation: $" + _numberFormatter.format(routeSummary_.getStandardDeviation()) + "\n\n");
+	}
+	
+	/**
+	 * Displays the average profit found between two airports
+	 * along with the spread of profits on that route, as kept
+	 * by a streamed simulation
+	 * 
+	 * @param routeStats_
+	 * 		RouteStatsAggregator holding the statistics of every route
+	 * @param routeId_
+	 * 		int id of the requested route
+	 * @return
+	 * 		N/A
+	 */
+	public void displayAverageBetweenAirports(RouteStatsAggregator routeStats_, int routeId_) {
+		NumberFormat _numberFormatter = NumberFormat.getInstance();
+		viewLog.menuInfo("The average profit is $" + _numberFormatter.format(routeStats_.getAverageProfit(routeId_)) 
+				+ " over " + routeStats_.getCount(routeId_) + " flights\n"
+				+ "Lowest profit: $" + _numberFormatter.format(routeStats_.getMinProfit(routeId_)) + "\n"
+				+ "Highest profit: $" + _numberFormatter.format(routeStats_.getMaxProfit(routeId_)) + "\n"
+				+ "Standard deviation: $" + _numberFormatter.format(routeStats_.getStandardDeviation(routeId_)) + "\n\n");
+	}
+	
 	/**
 	 * Displays general results found from used data
 	 * 
@@ -172,7 +213,7 @@ public class ConsoleView {
 	 * 		N/A
 	 */
 	public void resultsView(BigDecimal profit_, BigDecimal cost_, 
-			BigDecimal revenue_, int totalFlights_, BigDecimal averageFlightProfit_) {
+			BigDecimal revenue_, long totalFlights_, BigDecimal averageFlightProfit_) {
 		NumberFormat _numberFormatter = NumberFormat.getInstance();
 		viewLog.menuInfo("\n\n*****Flight Results*****\n\n");
 		try {
@@ -0,0 +1,107 @@
+package org.airlinesystem.controllers;
+
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.Properties;
+
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.helpers.FlightBuilder;
+import org.airlinesystem.helpers.GenerateModelData;
+import org.airlinesystem.helpers.ReadModelDataIntoState;
+import org.airlinesystem.model.Flight;
+import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.SimulationConfig;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class FixedPointRCPControllerTest {
+
+	private static Properties testProps;
+	private static SimulationConfig config;
+	private static FlightRCPController bigDecimalRcp;
+	private static FixedPointRCPController fixedPointRcp;
+
+	@BeforeClass
+	public static void initialize() throws AirlineSystemException {
+		RuntimePropertyController _propManager = new RuntimePropertyController();
+		testProps = _propManager.loadDefaultProperties();
+		config = _propManager.createSimulationConfig(testProps);
+		bigDecimalRcp = new FlightRCPController(config);
+		fixedPointRcp = new FixedPointRCPController(config);
+	}
+
+	@Test
+	public void testMatchesBigDecimalOnTestData() throws AirlineSystemException {
+		String[] _files = {"src/test/resources/test-model-data", "src/test/resources/loadTest-data"};
+		for(String _file : _files) {
+			FlightList _flights = new FlightList();
+			new ReadModelDataIntoState().readFileInputIntoFlightList(_flights, new File(_file),
+					config, new AirportGraph());
+			assertTrue("Test data should have flights", _flights.size() > 0);
+			for(Flight _flight : _flights) {
+				assertRCPMatches(_flight);
+			}
+		}
+	}
+
+	@Test
+	public void testMatchesBigDecimalOnGeneratedFlights() throws AirlineSystemException {
+		AirportGraph _graph = new AirportGraph();
+		new ReadModelDataIntoState().readFileInputIntoFlightList(new FlightList(),
+				new File("src/test/resources/loadTest-data"), config, _graph);
+		GenerateModelData _gen = new GenerateModelData(5);
+		FlightBuilder _flightBuilder = new FlightBuilder();
+		for(int _i = 0; _i < 1000; _i++) {
+			assertRCPMatches(_gen.generateFlight(config, _graph, _flightBuilder));
+		}
+	}
+
+	@Test
+	public void testFractionalValues() {
+		BigDecimal[] _prices = {new BigDecimal("10.25"), new BigDecimal("0.10"),
+				new BigDecimal("3.333333"), new BigDecimal("0")};
+		Flight _flight = new FlightBuilder().flightDispatchService(AircraftSize.M, new int[] {10, 10, 10, 10},
+				new int[] {3, 7, 3, 0}, _prices, "A", "B", 12.5, config);
+
+		assertRCPMatches(_flight);
+		assertEquals("Revenue should be exact in micro-units",
+				41449999L, fixedPointRcp.findRevenueMicros(_flight));
+	}
+
+	@Test
+	public void testRoundsHalfEven() {
+		assertEquals("Half a micro-unit should round to even", 2L,
+				FixedPointRCPController.toMicros(new BigDecimal("0.0000025")));
+		assertEquals("Half a micro-unit should round to even", 4L,
+				FixedPointRCPController.toMicros(new BigDecimal("0.0000035")));
+		assertEquals("Negative halves should round to even", -2L,
+				FixedPointRCPController.toMicros(new BigDecimal("-0.0000025")));
+	}
+
+	@Test
+	public void testOverflowFallsBackToBigDecimal() {
+		BigDecimal[] _prices = {new BigDecimal("1E+15"), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO};
+		Flight _flight = new FlightBuilder().flightDispatchService(AircraftSize.S, new int[] {50, 0, 0, 0},
+				new int[] {50, 0, 0, 0}, _prices, "A", "B", 10, config);
+
+		try {
+			fixedPointRcp.findRevenueMicros(_flight);
+			fail("Revenue beyond a long of micro-units should be detected");
+		} catch(ArithmeticException e_) {
+		}
+		assertEquals("Overflowing flights should be costed with BigDecimal", 0,
+				new BigDecimal("5E+16").compareTo(fixedPointRcp.getRCPAsArray(_flight)[0]));
+	}
+
+	private static void assertRCPMatches(Flight flight_) {
+		BigDecimal[] _expected = bigDecimalRcp.getRCPAsArray(flight_);
+		BigDecimal[] _actual = fixedPointRcp.getRCPAsArray(flight_);
+		assertEquals("Revenue should match the BigDecimal engine", 0, _expected[0].compareTo(_actual[0]));
+		assertEquals("Cost should match the BigDecimal engine", 0, _expected[1].compareTo(_actual[1]));
+		assertEquals("Profit should match the BigDecimal engine", 0, _expected[2].compareTo(_actual[2]));
+	}
+}
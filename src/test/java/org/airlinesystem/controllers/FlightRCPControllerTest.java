@@ -14,6 +14,7 @@ import org.airlinesystem.controllers.RuntimePropertyController;
 import org.airlinesystem.helpers.FlightBuilder;
 import org.airlinesystem.model.Flight;
 import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.RouteProfitSummary;
 import static org.airlinesystem.model.Aircraft.AircraftSize;
 import org.airlinesystem.graphdb.impl.AirportGraph;
 import org.airlinesystem.helpers.ReadGraphFromPSV;
@@ -112,6 +113,29 @@ public class FlightRCPControllerTest {
 				totalRCP[2].doubleValue(), .01);
 	}
 	
+	@Test
+	public void testParallelTotalMatchesSerialTotal() {
+		BigDecimal[] _prices = {new BigDecimal("10.25"), new BigDecimal("15"), 
+				new BigDecimal("20.5"), new BigDecimal("25")};
+		FlightList _flights = new FlightList();
+		Flight[] _distinctFlights = new Flight[7];
+		for(int _i = 0; _i < _distinctFlights.length; _i++) {
+			_distinctFlights[_i] = fd.flightDispatchService(AircraftSize.L, MAX_SEATS, 
+					new int[] {_i, 10 - _i, _i, 1}, _prices, "1", "2", 100 + _i * 0.1, testProps);
+		}
+		int _numberOfFlights = 3 * FlightRCPController.FLIGHTS_PER_PARTITION + 17;
+		for(int _i = 0; _i < _numberOfFlights; _i++) {
+			_flights.add(_distinctFlights[_i % _distinctFlights.length]);
+		}
+		
+		BigDecimal[] _serial = testRcp.findTotalRCPOfFlightList(_flights, 1, false);
+		BigDecimal[] _parallel = testRcp.findTotalRCPOfFlightList(_flights, 4, false);
+		
+		for(int _i = 0; _i < 3; _i++) {
+			assertEquals("Parallel totals should exactly match serial totals", _serial[_i], _parallel[_i]);
+		}
+	}
+	
 	@Test
 	public void testFindAverageRCPPerEdge() {
 		BigDecimal averageProfit = new BigDecimal(0);
@@ -127,6 +151,27 @@ public class FlightRCPControllerTest {
 				averageProfit.doubleValue(), .01);
 	}
 	
+	@Test
+	public void testFindProfitSummaryPerEdge() throws AirlineSystemException {
+		Flight _cheapFlight = fd.flightDispatchService(AircraftSize.L, MAX_SEATS, SEATS_FILLED, 
+				SEAT_COST, "1", "2", 200, testProps);
+		testFlightList.addFlightToList(_cheapFlight, airportGraph);
+		
+		RouteProfitSummary _summary = testRcp.findProfitSummaryPerEdge(testFlightList, airportGraph, "1", "2");
+		assertEquals("Summary should count every flight on the route", 3, _summary.getCount());
+		assertEquals("Lowest profit should be the longer flight", -3900, _summary.getMin().doubleValue(), .01);
+		assertEquals("Highest profit should be the shorter flight", -2400, _summary.getMax().doubleValue(), .01);
+		assertEquals("Average should match", -2900, _summary.getAverage().doubleValue(), .01);
+		assertEquals("Standard deviation should match", Math.sqrt(750000), _summary.getStandardDeviation(), .01);
+		
+		testFlightList.removeFlightFromList(_cheapFlight, airportGraph);
+		_summary = testRcp.findProfitSummaryPerEdge(testFlightList, airportGraph, "1", "2");
+		assertEquals("Removed flight should leave the summary", 2, _summary.getCount());
+		assertEquals("Lowest profit should be found again after removal", -2400, 
+				_summary.getMin().doubleValue(), .01);
+		assertEquals("Equal profits should have no spread", 0, _summary.getStandardDeviation(), .01);
+	}
+	
 	@Test (expected = AirlineSystemException.class)
 	public void testNullPointerException() throws AirlineSystemException {
 		testRcp.findAverageProfitPerEdge(testFlightList, airportGraph, "NULL", "NULL2");
@@ -5,10 +5,14 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Properties;
+import java.math.BigDecimal;
 import java.io.File;
 
 import org.airlinesystem.controllers.RuntimePropertyController;
 import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.model.SimulationConfig;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+import static org.airlinesystem.model.AircraftPilot.AircraftPilotSeniority;
 
 public class RuntimePropertyControllerTest {
 
@@ -64,4 +68,53 @@ public class RuntimePropertyControllerTest {
 		assertEquals("100", testProperties.getProperty("NUMBER_OF_FLIGHTS"));
 		assertEquals("150|100|100|50", testProperties.getProperty("LARGE_PLANE_SEAT_MAX_PER_SECTION"));
 	}
+	
+	@Test
+	public void testCreateSimulationConfig() {
+		testProperties = propController.loadRuntimeProperties(new File("default.properties"));
+		SimulationConfig _config = null;
+		
+		try {
+			_config = propController.createSimulationConfig(testProperties);
+		} catch(AirlineSystemException _e) {
+			fail("Default properties should make a valid config");
+		}
+		assertEquals(100, _config.getNumberOfFlights());
+		assertEquals(new BigDecimal("15"), _config.getFuelCost());
+		assertArrayEquals(new int[] {150, 100, 100, 50}, _config.getMaxSeatsPerSection(AircraftSize.L));
+		assertEquals(new BigDecimal("400"), _config.getSeatPricePerSection(AircraftSize.M)[3]);
+		assertEquals(new BigDecimal("800"), _config.getPilotPay(AircraftPilotSeniority.SENIOR));
+		assertEquals(AircraftSize.M, _config.getPreferredAircraftSize());
+		assertEquals(AircraftSize.S, _config.getAircraftSizeForDistance(50));
+		assertEquals(AircraftSize.L, _config.getAircraftSizeForDistance(1000));
+		assertFalse(_config.isSeeded());
+	}
+	
+	@Test
+	public void testCreateSimulationConfigWithInvalidProperties() {
+		testProperties = propController.loadRuntimeProperties(new File("default.properties"));
+		
+		testProperties.setProperty("MEDIUM_PLANE_SEAT_PRICE", "150|0|250");
+		try {
+			propController.createSimulationConfig(testProperties);
+			fail("Seat prices missing a section should be rejected");
+		} catch(AirlineSystemException _e) {
+		}
+		
+		testProperties = propController.loadRuntimeProperties(new File("default.properties"));
+		testProperties.setProperty("FUEL_COST", "cheap");
+		try {
+			propController.createSimulationConfig(testProperties);
+			fail("Fuel cost that is not a number should be rejected");
+		} catch(AirlineSystemException _e) {
+		}
+		
+		testProperties = propController.loadRuntimeProperties(new File("default.properties"));
+		testProperties.remove("JUNIOR_PILOT_PAY");
+		try {
+			propController.createSimulationConfig(testProperties);
+			fail("Missing pilot pay should be rejected");
+		} catch(AirlineSystemException _e) {
+		}
+	}
 }
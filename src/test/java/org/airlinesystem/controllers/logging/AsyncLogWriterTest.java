@@ -0,0 +1,37 @@
+package org.airlinesystem.controllers.logging;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.text.NumberFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class AsyncLogWriterTest {
+
+	private static final Logger TEST_LOGGER = LoggerFactory.getLogger(AsyncLogWriterTest.class);
+
+	@Test
+	public void testFlushWaitsForEveryOfferedEvent() {
+		AsyncLogWriter _writer = new AsyncLogWriter(16, "test-log-writer");
+		for(int _i = 0; _i < 1000; _i++) {
+			_writer.put(TEST_LOGGER, AsyncLogWriter.INFO, "event {}", new Object[] {_i});
+		}
+
+		assertTrue("Flush should finish once the writer catches up", _writer.flush(5000));
+		assertEquals("Every event should be written even though the ring is smaller", 1000, 
+				_writer.getEventsWritten());
+	}
+
+	@Test
+	public void testGroupedNumberIsFormattedWhenWritten() {
+		assertEquals("Grouped number should match NumberFormat", NumberFormat.getInstance().format(1234567.5), 
+				FullLogging.grouped(1234567.5).toString());
+	}
+
+	@Test
+	public void testFacadeFlushFinishes() {
+		assertTrue("Facade flush should finish in time", FullLogging.getInstance().flush());
+	}
+}
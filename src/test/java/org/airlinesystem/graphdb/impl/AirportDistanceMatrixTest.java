@@ -0,0 +1,75 @@
+package org.airlinesystem.graphdb.impl;
+
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.airlinesystem.exceptions.IllegalGraphAdditionException;
+import org.airlinesystem.graphdb.AirportAdjacency;
+import org.airlinesystem.graphdb.impl.AirportDistanceMatrix.MatrixAlgorithm;
+import org.airlinesystem.model.Airport;
+import org.airlinesystem.model.Route;
+
+public class AirportDistanceMatrixTest {
+
+	private static CompactAirportGraph airportGraph;
+	private static AirportAdjacency adjacency;
+	private static final int AIRPORTS = 150;
+	
+	@BeforeClass
+	public static void initialize() {
+		airportGraph = new CompactAirportGraph();
+		Random _rand = new Random(5);
+		
+		for(int _i = 0; _i < AIRPORTS; _i++) {
+			airportGraph.addAirport(new Airport("A" + _i));
+		}
+		for(int _i = 0; _i < 600; _i++) {
+			try {
+				airportGraph.createEdge("A" + _rand.nextInt(AIRPORTS), "A" + _rand.nextInt(AIRPORTS), 
+						1 + _rand.nextInt(900));
+			} catch(IllegalGraphAdditionException _e) {
+			}
+		}
+		adjacency = airportGraph.getAdjacency();
+	}
+	
+	@Test
+	public void testAlgorithmsMatchShortestRoutes() {
+		ForkJoinPool _pool = new ForkJoinPool(4);
+		AirportDistanceMatrix _dijkstra = AirportDistanceMatrix.build(adjacency, _pool,
+				MatrixAlgorithm.PARALLEL_DIJKSTRA, AirportDistanceMatrix.DEFAULT_ON_HEAP_CELL_LIMIT);
+		AirportDistanceMatrix _floyd = AirportDistanceMatrix.build(adjacency, _pool,
+				MatrixAlgorithm.BLOCKED_FLOYD_WARSHALL, AirportDistanceMatrix.DEFAULT_ON_HEAP_CELL_LIMIT);
+		// A cell limit of zero forces the off-heap layout
+		AirportDistanceMatrix _offHeap = AirportDistanceMatrix.build(adjacency, _pool, null, 0);
+		_pool.shutdown();
+		
+		assertTrue("Matrix over the cell limit should be off-heap", _offHeap.isOffHeap());
+		for(int _s = 0; _s < AIRPORTS; _s++) {
+			for(int _d = 0; _d < AIRPORTS; _d++) {
+				String _source = adjacency.getAirportName(_s);
+				String _destination = adjacency.getAirportName(_d);
+				Route _route = airportGraph.findShortestRoute(_source, _destination);
+				float _expected = _route == null ? Float.POSITIVE_INFINITY : (float) _route.getTotalDistance();
+				
+				assertEquals("Dijkstra matrix should match route distance", _expected, 
+						_dijkstra.getDistance(_source, _destination), 0.01f);
+				assertEquals("Floyd-Warshall matrix should match route distance", _expected, 
+						_floyd.getDistance(_s, _d), 0.01f);
+				assertEquals("Off-heap matrix should match route distance", _expected, 
+						_offHeap.getDistance(_s, _d), 0.01f);
+			}
+		}
+	}
+	
+	@Test
+	public void testMissingAirport() {
+		AirportDistanceMatrix _matrix = AirportDistanceMatrix.build(adjacency);
+		assertEquals("Unknown airports should be unreachable", Float.POSITIVE_INFINITY,
+				_matrix.getDistance("A0", "NOT AN AIRPORT"), 0);
+	}
+}
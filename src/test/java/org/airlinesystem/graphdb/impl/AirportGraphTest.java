@@ -6,18 +6,28 @@ import org.junit.Before;
 
 import java.util.ArrayList;
 
+import org.airlinesystem.graphdb.AirportGraphInterface;
 import org.airlinesystem.graphdb.impl.AirportGraph;
 import org.airlinesystem.model.Airport;
+import org.airlinesystem.model.Route;
 import org.airlinesystem.exceptions.IllegalGraphAdditionException;
 import org.jgrapht.graph.DefaultEdge;
 
 public class AirportGraphTest {
 	
-	private AirportGraph graphOfAirports;
+	private AirportGraphInterface graphOfAirports;
+	
+	/**
+	 * Graph implementation under test, overridden to run the same
+	 * contract against other AirportGraphInterface implementations
+	 */
+	protected AirportGraphInterface createGraph() {
+		return new AirportGraph();
+	}
 	
 	@Before
 	public void ObjectsInit() {
-		graphOfAirports = new AirportGraph();
+		graphOfAirports = createGraph();
 		graphOfAirports.addAirport(new Airport("A"));
 		graphOfAirports.addAirport(new Airport("B"));
 		graphOfAirports.addAirport(new Airport("D"));
@@ -156,4 +166,74 @@ public class AirportGraphTest {
 				graphOfAirports.getGraphOfAirports().getEdgeWeight(_sortedEdges.get(3)) <=
 				graphOfAirports.getGraphOfAirports().getEdgeWeight(_sortedEdges.get(4)));
 	}
+	
+	@Test (expected = UnsupportedOperationException.class)
+	public void testGraphOfAirportsIsReadOnly() {
+		assertTrue("View should hold the graph's airports", 
+				graphOfAirports.getGraphOfAirports().containsVertex("A"));
+		graphOfAirports.getGraphOfAirports().addVertex("F");
+	}
+	
+	@Test
+	public void testSortedEdgeIndex() {
+		try {
+			graphOfAirports.createEdge("A", "B", 5);
+			graphOfAirports.createEdge("A", "D", 3);
+			graphOfAirports.createEdge("B", "D", 3);
+			graphOfAirports.createEdge("A", "E", 1);
+		} catch(IllegalGraphAdditionException _e) {
+			fail("Should create edges for sorted index test");
+		}
+		
+		assertEquals("Index should hold every edge", 4, graphOfAirports.getNumberOfEdges());
+		assertEquals("Shortest edge should be first", 1.0, graphOfAirports.getSortedEdgeDistance(0), 0.01);
+		assertEquals("Equal distances should keep insertion order", "A", graphOfAirports.getSortedEdgeSource(1));
+		assertEquals("Equal distances should keep insertion order", "B", graphOfAirports.getSortedEdgeSource(2));
+		assertEquals("Longest edge should be last", "B", graphOfAirports.getSortedEdgeDestination(3));
+		
+		graphOfAirports.removeEdge("D", "A");
+		assertEquals("Removed edge should leave the index", 3, graphOfAirports.getNumberOfEdges());
+		assertEquals("Remaining tied edge should move up", "B", graphOfAirports.getSortedEdgeSource(1));
+		
+		try {
+			graphOfAirports.createEdge("D", "E", 2);
+		} catch(IllegalGraphAdditionException _e) {
+			fail("Should create edge after removal");
+		}
+		assertEquals("New edge should be merged in order", 2.0, graphOfAirports.getSortedEdgeDistance(1), 0.01);
+		
+		graphOfAirports.removeAirport("B");
+		assertEquals("Edges of removed airport should leave the index", 2, graphOfAirports.getNumberOfEdges());
+		assertEquals("Longest remaining edge should be D to E", 2.0, graphOfAirports.getSortedEdgeDistance(1), 0.01);
+		assertEquals("Sorted list should match the index", 2, graphOfAirports.getSortedListOfEdges().size());
+	}
+	
+	@Test
+	public void testFindShortestRoute() {
+		try {
+			graphOfAirports.createEdge("A", "B", 5);
+			graphOfAirports.createEdge("B", "D", 4);
+			graphOfAirports.createEdge("A", "D", 12);
+		} catch(IllegalGraphAdditionException _e) {
+			fail("Should create edges for route test");
+		}
+		
+		Route _route = graphOfAirports.findShortestRoute("A", "D");
+		assertEquals("Shortest route from A to D should go through B", 9.0, _route.getTotalDistance(), 0.01);
+		assertEquals("Route from A to D should have two legs", 2, _route.getNumberOfLegs());
+		assertEquals("Route should start at A", "A", _route.getSource());
+		assertEquals("Route should pass through B", "B", _route.getHops().get(1));
+		assertEquals("Route should end at D", "D", _route.getDestination());
+		
+		_route = graphOfAirports.findShortestRoute("D", "A");
+		assertEquals("Reverse route should start at D", "D", _route.getSource());
+		assertEquals("Reverse route should end at A", "A", _route.getDestination());
+		
+		assertNull("E is not connected to A", graphOfAirports.findShortestRoute("A", "E"));
+		assertNull("C is not in the graph", graphOfAirports.findShortestRoute("A", "C"));
+		
+		graphOfAirports.removeEdge("A", "B");
+		assertEquals("Route should use direct edge once A to B is removed", 12.0,
+				graphOfAirports.findShortestRoute("A", "D").getTotalDistance(), 0.01);
+	}
 }
@@ -0,0 +1,85 @@
+package org.airlinesystem.graphdb.impl;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import org.airlinesystem.graphdb.AirportAdjacency;
+import org.airlinesystem.graphdb.AirportGraphInterface;
+import org.airlinesystem.graphdb.impl.CompactAirportGraph;
+import org.airlinesystem.model.Airport;
+import org.airlinesystem.exceptions.IllegalGraphAdditionException;
+
+public class CompactAirportGraphTest extends AirportGraphTest {
+
+	@Override
+	protected AirportGraphInterface createGraph() {
+		return new CompactAirportGraph();
+	}
+	
+	@Test
+	public void testAdjacencySnapshot() throws IllegalGraphAdditionException {
+		CompactAirportGraph _graph = new CompactAirportGraph();
+		_graph.addAirport(new Airport("A"));
+		_graph.addAirport(new Airport("B"));
+		_graph.addAirport(new Airport("C"));
+		_graph.createEdge("A", "B", 10);
+		_graph.createEdge("B", "C", 20);
+		
+		AirportAdjacency _adjacency = _graph.getAdjacency();
+		int _b = _graph.getAirportId("B");
+		assertEquals("Should have two edges", 2, _adjacency.getEdgeCount());
+		assertEquals("B should have two neighbours", 2, _adjacency.getDegree(_b));
+		assertSame("Snapshot should be reused while the graph is unchanged", 
+				_adjacency, _graph.getAdjacency());
+		
+		_graph.removeAirport("C");
+		_adjacency = _graph.getAdjacency();
+		assertEquals("Removing C should drop its edge", 1, _adjacency.getEdgeCount());
+		assertEquals("B should have one neighbour", 1, _adjacency.getDegree(_b));
+		assertEquals("B's neighbour should be A", _graph.getAirportId("A"), 
+				_adjacency.getTargets()[_adjacency.getOffsets()[_b]]);
+	}
+	
+	@Test
+	public void testGraphViewStaysInStep() throws IllegalGraphAdditionException {
+		CompactAirportGraph _graph = new CompactAirportGraph();
+		_graph.addAirport(new Airport("A"));
+		_graph.addAirport(new Airport("B"));
+		_graph.createEdge("A", "B", 10);
+		
+		assertEquals("View should hold the existing edge", 1, _graph.getGraphOfAirports().edgeSet().size());
+		_graph.addAirport(new Airport("C"));
+		_graph.createEdge("C", "B", 5);
+		assertTrue("View should mirror edges added later", 
+				_graph.getGraphOfAirports().containsEdge("B", "C"));
+		_graph.removeEdge("A", "B");
+		assertFalse("View should mirror removed edges", 
+				_graph.getGraphOfAirports().containsEdge("A", "B"));
+	}
+	
+	@Test
+	public void testRemovedIdsAndSlotsAreReused() throws IllegalGraphAdditionException {
+		CompactAirportGraph _graph = new CompactAirportGraph();
+		_graph.addAirport(new Airport("A"));
+		_graph.addAirport(new Airport("B"));
+		_graph.addAirport(new Airport("C"));
+		_graph.createEdge("A", "B", 10);
+		_graph.createEdge("B", "C", 20);
+		int _c = _graph.getAirportId("C");
+		
+		_graph.removeAirport("C");
+		_graph.addAirport(new Airport("D"));
+		assertEquals("New airport should take the removed airport's id", _c, _graph.getAirportId("D"));
+		_graph.createEdge("D", "A", 30);
+		_graph.removeEdge("A", "B");
+		_graph.createEdge("D", "B", 5);
+		
+		AirportAdjacency _adjacency = _graph.getAdjacency();
+		assertEquals("Freed ids should leave no empty airports", 3, _adjacency.getAirportCount());
+		assertEquals("Should have two edges", 2, _adjacency.getEdgeCount());
+		assertEquals("D should have both edges", 2, _adjacency.getDegree(_graph.getAirportId("D")));
+		assertEquals("Reused slot should hold the new distance", 5, _graph.getDistance("B", "D"), 0.01);
+		assertEquals("Reused slot should hold the new distance", 30, _graph.getDistance("A", "D"), 0.01);
+		assertFalse("Removed edge should stay removed", _graph.areAirportsConnected("A", "B"));
+	}
+}
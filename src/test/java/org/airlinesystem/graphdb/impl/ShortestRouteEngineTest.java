@@ -0,0 +1,64 @@
+package org.airlinesystem.graphdb.impl;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+import org.airlinesystem.exceptions.IllegalGraphAdditionException;
+import org.airlinesystem.graphdb.AirportAdjacency;
+import org.airlinesystem.model.Airport;
+import org.airlinesystem.model.Route;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultEdge;
+
+public class ShortestRouteEngineTest {
+
+	@Test
+	public void testMatchesJgraphtDijkstra() {
+		AirportGraph _graph = new AirportGraph();
+		Random _rand = new Random(11);
+		int _airports = 60;
+		
+		for(int _i = 0; _i < _airports; _i++) {
+			_graph.addAirport(new Airport("A" + _i));
+		}
+		for(int _i = 0; _i < 150; _i++) {
+			try {
+				_graph.createEdge("A" + _rand.nextInt(_airports), "A" + _rand.nextInt(_airports), 
+						1 + _rand.nextInt(500));
+			} catch(IllegalGraphAdditionException _e) {
+			}
+		}
+		
+		// Small cache so queries also exercise eviction and tree recycling
+		ShortestRouteEngine _engine = new ShortestRouteEngine(_graph.getAdjacency(), 3);
+		AirportAdjacency _adjacency = _engine.getAdjacency();
+		DijkstraShortestPath<String, DefaultEdge> _expected = 
+				new DijkstraShortestPath<String, DefaultEdge>(_graph.getGraphOfAirports());
+		
+		for(int _q = 0; _q < 500; _q++) {
+			int _source = _rand.nextInt(_airports);
+			int _destination = _rand.nextInt(_airports);
+			Route _route = _engine.findShortestRoute(_source, _destination);
+			GraphPath<String, DefaultEdge> _path = _expected.getPath(_adjacency.getAirportName(_source), 
+					_adjacency.getAirportName(_destination));
+			
+			if(_path == null) {
+				assertNull("Route should be missing when jgrapht finds no path", _route);
+				continue;
+			}
+			assertEquals("Distances should match jgrapht", _path.getWeight(), _route.getTotalDistance(), 1e-9);
+			assertEquals("Route should start at the source", _adjacency.getAirportName(_source), _route.getSource());
+			assertEquals("Route should end at the destination", _adjacency.getAirportName(_destination), 
+					_route.getDestination());
+			
+			double _legs = 0;
+			for(int _h = 0; _h < _route.getNumberOfLegs(); _h++) {
+				_legs += _graph.getDistance(_route.getHops().get(_h), _route.getHops().get(_h + 1));
+			}
+			assertEquals("Legs should add up to the total distance", _route.getTotalDistance(), _legs, 1e-9);
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package org.airlinesystem.helpers;
 
 import static org.junit.Assert.*;
+import org.airlinesystem.graphdb.impl.CompactAirportGraph;
 import org.airlinesystem.model.AirlineSimulation;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -36,4 +37,26 @@ public class AirlineSimulationBuilderTest {
 			fail("Should read data file for information");
 		}
 	}
+	
+	@Test
+	public void testDistanceMatrixFollowsGraph() {
+		AirlineSimulation _sim = new AirlineSimulation();
+		ReadGraphFromPSV _graphInput = new ReadGraphFromPSV();
+		_graphInput.readEdgeIntoGraph(_sim.getGraphOfAirports(), "1", "2", 100);
+		_graphInput.readEdgeIntoGraph(_sim.getGraphOfAirports(), "2", "3", 50);
+		testSimulation.precomputeDistanceMatrix(_sim);
+		assertNotNull("Matrix should be kept for the graph it was built from", _sim.getDistanceMatrix());
+		assertEquals("Distance should be looked up in the matrix", 150, _sim.findDistance("1", "3"), 0.001);
+
+		_sim.getGraphOfAirports().clearGraph();
+		_graphInput.readEdgeIntoGraph(_sim.getGraphOfAirports(), "1", "3", 40);
+		assertNull("Matrix should be dropped once the graph is reloaded", _sim.getDistanceMatrix());
+		assertEquals("Distance should come from the reloaded graph", 40, _sim.findDistance("1", "3"), 0.001);
+		assertTrue("Airports no longer in the graph should not be connected",
+				Double.isInfinite(_sim.findDistance("1", "2")));
+
+		testSimulation.precomputeDistanceMatrix(_sim);
+		_sim.setGraphOfAirports(new CompactAirportGraph());
+		assertNull("Matrix should be dropped with its graph", _sim.getDistanceMatrix());
+	}
 }
@@ -0,0 +1,56 @@
+package org.airlinesystem.helpers;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class AliasEdgeSamplerTest {
+
+	@Test
+	public void testMatchesBinomialMoments() {
+		AliasEdgeSampler _sampler = new AliasEdgeSampler(101, 0.25);
+		Random _rand = new Random(11);
+		int _draws = 200000;
+		double _sum = 0;
+		double _sumOfSquares = 0;
+
+		for(int _i = 0; _i < _draws; _i++) {
+			int _edge = _sampler.sample(_rand);
+			assertTrue("Sample should be a valid edge position", _edge >= 0 && _edge < 101);
+			_sum += _edge;
+			_sumOfSquares += (double)_edge * _edge;
+		}
+		double _mean = _sum / _draws;
+		double _variance = _sumOfSquares / _draws - _mean * _mean;
+
+		assertEquals("Mean should match Binomial(100, 0.25)", 25.0, _mean, 0.1);
+		assertEquals("Variance should match Binomial(100, 0.25)", 18.75, _variance, 0.5);
+	}
+
+	@Test
+	public void testLargeEdgeCount() {
+		AliasEdgeSampler _sampler = new AliasEdgeSampler(100001, 0.75);
+		Random _rand = new Random(5);
+		double _sum = 0;
+
+		for(int _i = 0; _i < 10000; _i++) {
+			_sum += _sampler.sample(_rand);
+		}
+		assertEquals("Mean should match Binomial(100000, 0.75)", 75000.0, _sum / 10000, 5.0);
+	}
+
+	@Test
+	public void testDegenerateTables() {
+		Random _rand = new Random(3);
+
+		assertEquals("Single edge should always be chosen", 0, new AliasEdgeSampler(1, 0.5).sample(_rand));
+		assertEquals("Weight of one should choose the longest edge", 9, new AliasEdgeSampler(10, 1).sample(_rand));
+		assertEquals("Weight of zero should choose the shortest edge", 0, new AliasEdgeSampler(10, 0).sample(_rand));
+		try {
+			new AliasEdgeSampler(0, 0.5);
+			fail("Empty edge list should be rejected");
+		} catch(IllegalArgumentException _e) {
+		}
+	}
+}
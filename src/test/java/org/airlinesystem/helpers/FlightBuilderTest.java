@@ -9,6 +9,7 @@ import java.util.Properties;
 import java.io.File;
 
 import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.graphdb.impl.AirportGraph;
 import org.airlinesystem.helpers.FlightBuilder;
 import org.airlinesystem.model.Flight;
 import static org.airlinesystem.model.AircraftPilot.AircraftPilotSeniority;
@@ -110,4 +111,24 @@ public class FlightBuilderTest {
 					_seatCostSmall[i], testDispatch.getSeatCostPerSection()[i]);
 		}
 	}
+	
+	@Test
+	public void testPilotsAndAirportsAreShared() {
+		AirportGraph _graph = new AirportGraph();
+		new ReadGraphFromPSV().readEdgeIntoGraph(_graph, "1", "2", 100);
+		FlightBuilder _builder = new FlightBuilder(_graph);
+		BigDecimal[] _seatCost = {new BigDecimal("100"), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO};
+		
+		Flight _first = _builder.flightDispatchService(AircraftSize.S, new int[] {50, 0, 0, 0}, 
+				new int[] {10, 0, 0, 0}, _seatCost, "1", "2", 100, testProps);
+		Flight _second = _builder.flightDispatchService(AircraftSize.S, new int[] {50, 0, 0, 0}, 
+				new int[] {20, 0, 0, 0}, _seatCost, "2", "3", 100, testProps);
+		
+		assertSame("Pilots of a seniority should be shared", _first.getPilot(), _second.getCoPilot());
+		assertSame("Airports should be taken from the graph", _graph.getAirport("1"), _first.getSource());
+		assertSame("Airports should be shared between flights", _first.getDestination(), _second.getSource());
+		assertSame("Airports not in the graph should still be shared", _second.getDestination(), 
+				_builder.flightDispatchService(AircraftSize.S, new int[] {50, 0, 0, 0}, new int[] {1, 0, 0, 0}, 
+						_seatCost, "3", "1", 100, testProps).getSource());
+	}
 }
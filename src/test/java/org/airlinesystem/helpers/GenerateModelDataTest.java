@@ -6,12 +6,20 @@ import org.junit.BeforeClass;
 
 import java.util.Properties;
 import java.io.File;
+import java.util.Arrays;
+import java.lang.management.ManagementFactory;
 
 import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
 import org.airlinesystem.graphdb.impl.AirportGraph;
 import org.airlinesystem.helpers.GenerateModelData;
 import org.airlinesystem.helpers.ReadModelDataIntoState;
+import org.airlinesystem.model.Flight;
 import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.FlightStore;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.aggregation.RouteStatsAggregator;
+import org.airlinesystem.model.aggregation.SimulationAggregates;
 import static org.airlinesystem.model.Aircraft.AircraftSize;
 
 public class GenerateModelDataTest {
@@ -49,5 +57,220 @@ public class GenerateModelDataTest {
 				0 < Integer.parseInt(_seatsFilled[3]) && Integer.parseInt(_seatsFilled[3]) < Integer.parseInt(_maxSeats[3]));
 		
 	}
+	
+	@Test
+	public void testGenerateFlight() {
+		GenerateModelData _gen = new GenerateModelData(7);
+		SimulationConfig _config = null;
+		try {
+			_config = new RuntimePropertyController().createSimulationConfig(props);
+		} catch(AirlineSystemException _e) {
+			fail("Default properties should make a valid config");
+		}
+		
+		for(int _i = 0; _i < 100; _i++) {
+			Flight _flight = _gen.generateFlight(_config, airportGraph, new FlightBuilder());
+			double _distance = _flight.getDistanceTravelled();
+			
+			assertTrue("Flight should follow an edge of the graph", airportGraph.areAirportsConnected(
+					_flight.getSource().getName(), _flight.getDestination().getName()));
+			assertEquals("Flight distance should be the edge distance", airportGraph.getDistance(
+					_flight.getSource().getName(), _flight.getDestination().getName()), _distance, 0);
+			if(_distance < Double.parseDouble(props.getProperty("SMALL_PLANE_MAX_RANGE"))) {
+				assertEquals("Short flights should use small planes", AircraftSize.S, _flight.getAircraftSize());
+			} else if(_distance >= Double.parseDouble(props.getProperty("MEDIUM_PLANE_MAX_RANGE"))) {
+				assertEquals("Long flights should use large planes", AircraftSize.L, _flight.getAircraftSize());
+			}
+			assertNotNull("Flight should have its profit set", _flight.getProfit());
+		}
+	}
+	
+	@Test
+	public void testSeededGenerationIgnoresThreadCount() {
+		Properties _seededProps = new Properties();
+		_seededProps.putAll(props);
+		_seededProps.setProperty("NUMBER_OF_FLIGHTS", "10000");
+		_seededProps.setProperty("SIMULATION_SEED", "42");
+		
+		_seededProps.setProperty("GENERATION_PARALLELISM", "1");
+		FlightList _serialFlights = new FlightList();
+		new GenerateModelData().generateCurrentStateModel(_seededProps, airportGraph, _serialFlights, 
+				new ReadModelDataIntoState());
+		
+		_seededProps.setProperty("GENERATION_PARALLELISM", "4");
+		FlightList _parallelFlights = new FlightList();
+		new GenerateModelData().generateCurrentStateModel(_seededProps, airportGraph, _parallelFlights, 
+				new ReadModelDataIntoState());
+		
+		assertEquals("Both runs should generate every flight", 10000, _serialFlights.size());
+		assertEquals("Both runs should generate every flight", 10000, _parallelFlights.size());
+		for(int _i = 0; _i < _serialFlights.size(); _i++) {
+			Flight _serial = _serialFlights.get(_i);
+			Flight _parallel = _parallelFlights.get(_i);
+			assertEquals("Flight " + _i + " should have the same source", 
+					_serial.getSource().getName(), _parallel.getSource().getName());
+			assertEquals("Flight " + _i + " should have the same destination", 
+					_serial.getDestination().getName(), _parallel.getDestination().getName());
+			assertTrue("Flight " + _i + " should have the same seats filled", 
+					Arrays.equals(_serial.getSeatsFilledPerSection(), _parallel.getSeatsFilledPerSection()));
+			assertEquals("Flight " + _i + " should have the same profit", _serial.getProfit(), _parallel.getProfit());
+		}
+	}
+	
+	@Test
+	public void testGenerateIntoFlightStoreMatchesFlightList() throws AirlineSystemException {
+		Properties _seededProps = new Properties();
+		_seededProps.putAll(props);
+		_seededProps.setProperty("NUMBER_OF_FLIGHTS", "10000");
+		_seededProps.setProperty("SIMULATION_SEED", "42");
+		_seededProps.setProperty("RCP_ENGINE", "FIXED_POINT");
+		_seededProps.setProperty("GENERATION_PARALLELISM", "1");
+		FlightList _listFlights = new FlightList();
+		new GenerateModelData().generateCurrentStateModel(
+				new RuntimePropertyController().createSimulationConfig(_seededProps), airportGraph, _listFlights);
+		
+		_seededProps.setProperty("GENERATION_PARALLELISM", "4");
+		FlightStore _storedFlights = new FlightStore();
+		new GenerateModelData().generateCurrentStateModel(
+				new RuntimePropertyController().createSimulationConfig(_seededProps), airportGraph, _storedFlights);
+		
+		assertEquals("Store should hold every flight", _listFlights.size(), _storedFlights.size());
+		for(int _i = 0; _i < _listFlights.size(); _i++) {
+			Flight _listed = _listFlights.get(_i);
+			Flight _stored = _storedFlights.get(_i);
+			assertEquals("Flight " + _i + " should have the same source", 
+					_listed.getSource().getName(), _stored.getSource().getName());
+			assertEquals("Flight " + _i + " should have the same size", 
+					_listed.getAircraftSize(), _stored.getAircraftSize());
+			assertTrue("Flight " + _i + " should have the same seats filled", 
+					Arrays.equals(_listed.getSeatsFilledPerSection(), _stored.getSeatsFilledPerSection()));
+			assertEquals("Flight " + _i + " should have the same profit", 0, 
+					_listed.getProfit().compareTo(_stored.getProfit()));
+		}
+		assertEquals("Stored total profit should match", 0, 
+				_listFlights.getTotalProfit().compareTo(_storedFlights.getTotalProfit()));
+		assertEquals("Stored passengers should match", 
+				_listFlights.getTotalPassengers(), _storedFlights.getTotalPassengers());
+		assertTrue("Columns should hold far less than an object per flight", 
+				_storedFlights.getBytesUsed() < 100L * _storedFlights.size());
+		
+		FlightStore _copiedFlights = new FlightStore();
+		for(Flight _flight : _listFlights) {
+			_copiedFlights.add(_flight);
+		}
+		FlightList _viewFlights = new FlightList();
+		for(Flight _flight : _copiedFlights) {
+			_viewFlights.add(_flight);
+		}
+		assertEquals("Views should total the same as the flights they were stored from", 0, 
+				_listFlights.getTotalRevenue().compareTo(_viewFlights.getTotalRevenue()));
+		assertEquals("Views should carry their passengers", 
+				_listFlights.getTotalPassengers(), _viewFlights.getTotalPassengers());
+	}
+	
+	@Test
+	public void testStreamedAggregatesMatchFlightStore() throws AirlineSystemException {
+		Properties _seededProps = new Properties();
+		_seededProps.putAll(props);
+		_seededProps.setProperty("NUMBER_OF_FLIGHTS", "10000");
+		_seededProps.setProperty("SIMULATION_SEED", "42");
+		_seededProps.setProperty("GENERATION_PARALLELISM", "1");
+		FlightStore _storedFlights = new FlightStore();
+		new GenerateModelData().generateCurrentStateModel(
+				new RuntimePropertyController().createSimulationConfig(_seededProps), airportGraph, _storedFlights);
+		
+		_seededProps.setProperty("GENERATION_PARALLELISM", "4");
+		SimulationAggregates _aggregates = new SimulationAggregates(airportGraph.getNumberOfEdges());
+		new GenerateModelData().generateCurrentStateModel(
+				new RuntimePropertyController().createSimulationConfig(_seededProps), airportGraph, _aggregates);
+		
+		assertEquals("Every flight should be counted", _storedFlights.size(), 
+				_aggregates.getTotals().getNumberOfFlights());
+		assertEquals("Streamed total profit should match", 0, 
+				_storedFlights.getTotalProfit().compareTo(_aggregates.getTotals().getTotalProfit()));
+		assertEquals("Streamed total revenue should match", 0, 
+				_storedFlights.getTotalRevenue().compareTo(_aggregates.getTotals().getTotalRevenue()));
+		assertEquals("Streamed passengers should match", 
+				_storedFlights.getTotalPassengers(), _aggregates.getTotals().getTotalPassengers());
+		assertEquals("Every flight should fall in the histogram", _storedFlights.size(), 
+				_aggregates.getProfitHistogram().getNumberOfFlights());
+		
+		RouteStatsAggregator _routeStats = _aggregates.getRouteStats();
+		long[] _counts = new long[_routeStats.getNumberOfRoutes()];
+		long[] _maxProfits = new long[_routeStats.getNumberOfRoutes()];
+		double[] _profitSums = new double[_routeStats.getNumberOfRoutes()];
+		for(int _i = 0; _i < _storedFlights.size(); _i++) {
+			Flight _stored = _storedFlights.get(_i);
+			int _routeId = _routeStats.findRouteId(_stored.getSource().getName(), _stored.getDestination().getName());
+			assertNotEquals("Flight " + _i + " should be on a named route", RouteStatsAggregator.NO_ROUTE, _routeId);
+			long _profit = _storedFlights.getProfitMicros(_i);
+			_maxProfits[_routeId] = _counts[_routeId]++ == 0 ? _profit : Math.max(_maxProfits[_routeId], _profit);
+			_profitSums[_routeId] += _profit / 1e6;
+		}
+		for(int _route = 0; _route < _counts.length; _route++) {
+			assertEquals("Route " + _route + " should count its flights", _counts[_route], _routeStats.getCount(_route));
+			if(_counts[_route] > 0) {
+				assertEquals("Route " + _route + " should keep its highest profit exactly", 
+						_maxProfits[_route], _routeStats.getMaxProfit(_route).movePointRight(6).longValueExact());
+				assertEquals("Route " + _route + " should average its profits", 
+						_profitSums[_route] / _counts[_route], _routeStats.getAverageProfit(_route), 1e-6);
+			}
+		}
+	}
+	
+	@Test
+	public void testStreamedAggregatesDoNotDependOnParallelism() throws AirlineSystemException {
+		Properties _seededProps = new Properties();
+		_seededProps.putAll(props);
+		_seededProps.setProperty("NUMBER_OF_FLIGHTS", "50000");
+		_seededProps.setProperty("SIMULATION_SEED", "42");
+		_seededProps.setProperty("GENERATION_PARALLELISM", "1");
+		SimulationAggregates _serial = new SimulationAggregates(airportGraph.getNumberOfEdges());
+		new GenerateModelData().generateCurrentStateModel(
+				new RuntimePropertyController().createSimulationConfig(_seededProps), airportGraph, _serial);
+		
+		_seededProps.setProperty("GENERATION_PARALLELISM", "3");
+		SimulationAggregates _parallel = new SimulationAggregates(airportGraph.getNumberOfEdges());
+		new GenerateModelData().generateCurrentStateModel(
+				new RuntimePropertyController().createSimulationConfig(_seededProps), airportGraph, _parallel);
+		
+		assertEquals("Total profit should not depend on threads", 
+				_serial.getTotals().getTotalProfit(), _parallel.getTotals().getTotalProfit());
+		RouteStatsAggregator _serialRoutes = _serial.getRouteStats();
+		RouteStatsAggregator _parallelRoutes = _parallel.getRouteStats();
+		for(int _route = 0; _route < _serialRoutes.getNumberOfRoutes(); _route++) {
+			assertEquals("Route " + _route + " should count the same flights", 
+					_serialRoutes.getCount(_route), _parallelRoutes.getCount(_route));
+			assertEquals("Route " + _route + " average should be identical", 
+					Double.doubleToLongBits(_serialRoutes.getAverageProfit(_route)),
+					Double.doubleToLongBits(_parallelRoutes.getAverageProfit(_route)));
+			assertEquals("Route " + _route + " deviation should be identical", 
+					Double.doubleToLongBits(_serialRoutes.getStandardDeviation(_route)),
+					Double.doubleToLongBits(_parallelRoutes.getStandardDeviation(_route)));
+		}
+	}
+	
+	@Test
+	public void testStreamedGenerationDoesNotAllocatePerFlight() throws AirlineSystemException {
+		Properties _seededProps = new Properties();
+		_seededProps.putAll(props);
+		_seededProps.setProperty("SIMULATION_SEED", "42");
+		_seededProps.setProperty("GENERATION_PARALLELISM", "1");
+		_seededProps.setProperty("NUMBER_OF_FLIGHTS", "200000");
+		SimulationConfig _config = new RuntimePropertyController().createSimulationConfig(_seededProps);
+		SimulationAggregates _aggregates = new SimulationAggregates(airportGraph.getNumberOfEdges());
+		GenerateModelData _generator = new GenerateModelData();
+		
+		com.sun.management.ThreadMXBean _threadBean = 
+				(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		_generator.generateCurrentStateModel(_config, airportGraph, _aggregates);
+		long _before = _threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		_generator.generateCurrentStateModel(_config, airportGraph, _aggregates);
+		long _allocated = _threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - _before;
+		
+		assertEquals("Both runs should be counted", 400000, _aggregates.getTotals().getNumberOfFlights());
+		assertTrue("Streaming should take only a few bytes per flight, took " + _allocated, 
+				_allocated < 8L * _config.getNumberOfFlights());
+	}
 
 }
@@ -0,0 +1,182 @@
+package org.airlinesystem.helpers;
+
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.BeforeClass;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Random;
+
+import org.airlinesystem.controllers.FixedPointRCPController;
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.model.Flight;
+import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.aggregation.RouteStatsAggregator;
+import org.airlinesystem.model.aggregation.SimulationAggregates;
+
+public class MappedPSVFlightReaderTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static SimulationConfig config;
+
+	@BeforeClass
+	public static void initialize() throws AirlineSystemException {
+		Properties _props = new RuntimePropertyController().loadRuntimeProperties(new File("default.properties"));
+		config = new RuntimePropertyController().createSimulationConfig(_props);
+	}
+
+	@Test
+	public void testMatchesStandardReader() throws AirlineSystemException {
+		File _data = new File("src/test/resources/test-model-data");
+		FlightList _standard = new FlightList();
+		FlightList _mapped = new FlightList();
+		new ReadModelDataIntoState().readFileInputIntoFlightList(_standard, _data, config, new AirportGraph());
+		new MappedPSVFlightReader().readFileIntoFlightList(_mapped, _data, config, new AirportGraph());
+
+		assertFlightsEqual(_standard, _mapped);
+	}
+
+	@Test
+	public void testAggregatorMatchesFlightList() throws AirlineSystemException {
+		File _data = new File("src/test/resources/test-model-data");
+		FlightList _listed = new FlightList();
+		AirportGraph _listedGraph = new AirportGraph();
+		new MappedPSVFlightReader().readFileIntoFlightList(_listed, _data, config, _listedGraph);
+		SimulationAggregates _aggregates = new SimulationAggregates(0);
+		AirportGraph _aggregatedGraph = new AirportGraph();
+		new MappedPSVFlightReader().readFileIntoAggregator(_aggregates, _data, config, _aggregatedGraph);
+
+		FixedPointRCPController _rcpController = new FixedPointRCPController(config);
+		long _revenueMicros = 0;
+		long _costMicros = 0;
+		for(Flight _flight : _listed) {
+			_revenueMicros += _rcpController.findRevenueMicros(_flight);
+			_costMicros += _rcpController.findCostMicros(_flight);
+		}
+		assertEquals("Every flight should be counted", _listed.size(), _aggregates.getTotals().getNumberOfFlights());
+		assertEquals("Revenue should match the fixed point engine", 
+				FixedPointRCPController.fromMicros(_revenueMicros), _aggregates.getTotals().getTotalRevenue());
+		assertEquals("Cost should match the fixed point engine", 
+				FixedPointRCPController.fromMicros(_costMicros), _aggregates.getTotals().getTotalCost());
+		assertEquals("Passengers should match", _listed.getTotalPassengers(), 
+				_aggregates.getTotals().getTotalPassengers());
+		assertEquals("Both reads should add the same edges",
+				_listedGraph.getNumberOfEdges(), _aggregatedGraph.getNumberOfEdges());
+
+		RouteStatsAggregator _routeStats = _aggregates.getRouteStats();
+		assertEquals("Every route should be named", _listed.getNumberOfRoutes(), _routeStats.getNumberOfRoutes());
+		Flight _first = _listed.get(0);
+		int _routeId = _routeStats.findRouteId(_first.getDestination().getName(), _first.getSource().getName());
+		assertEquals("Routes should be found in either direction", 
+				_listed.getRouteFlights(_first.getSource().getName(), _first.getDestination().getName()).size(),
+				_routeStats.getCount(_routeId));
+	}
+
+	@Test
+	public void testLinesAcrossMappingWindows() throws AirlineSystemException, IOException {
+		File _data = folder.newFile("window-data");
+		Files.write(_data.toPath(), ("HEADER\n"
+				+ "A|B|1728.5|l|150|100|100|50|73|6|85|23|250.10|350|450|650\r\n"
+				+ " B | C |913|M|100|0|70|30|99|0|65|27|150|0|250|400.25\n"
+				+ "\n"
+				+ "C|D|50|s|50|0|0|0|60|0|0|0|100|0|0|0\n"
+				+ "A|B|1728.5|l|150|100|100|50|1|2|3|4|250.10|350|450|650").getBytes(StandardCharsets.US_ASCII));
+
+		FlightList _standard = new FlightList();
+		AirportGraph _standardGraph = new AirportGraph();
+		new ReadModelDataIntoState().readFileInputIntoFlightList(_standard, _data, config, _standardGraph);
+
+		// A window shorter than two lines makes every line after the first start a new mapping
+		FlightList _mapped = new FlightList();
+		AirportGraph _mappedGraph = new AirportGraph();
+		new MappedPSVFlightReader(80, MappedPSVFlightReader.DEFAULT_CHUNK_SIZE)
+				.readFileIntoFlightList(_mapped, _data, config, _mappedGraph);
+
+		assertEquals("Overfilled rows and blank lines should be skipped", 3, _mapped.size());
+		assertFlightsEqual(_standard, _mapped);
+		assertEquals("Both readers should add the same edges",
+				_standardGraph.getNumberOfEdges(), _mappedGraph.getNumberOfEdges());
+		assertEquals("Distance should keep its fraction", 1728.5, _mappedGraph.getDistance("A", "B"), 0);
+		assertSame("Repeated airport names should share one String",
+				_mapped.get(0).getSource().getName(), _mapped.get(2).getSource().getName());
+	}
+
+	@Test
+	public void testParallelChunksMatchStandardReader() throws AirlineSystemException, IOException {
+		File _data = folder.newFile("chunked-data");
+		StringBuilder _lines = new StringBuilder("HEADER\n");
+		Random _rand = new Random(3);
+		for(int _i = 0; _i < 2000; _i++) {
+			int _source = _rand.nextInt(40);
+			int _destination = (_source + 1 + _rand.nextInt(39)) % 40;
+			_lines.append("AIR").append(_source).append("|AIR").append(_destination).append('|')
+					.append(Math.min(_source, _destination) * 50 + Math.max(_source, _destination))
+					.append("|m|100|0|70|30|").append(_rand.nextInt(101)).append("|0|")
+					.append(_rand.nextInt(71)).append('|').append(_rand.nextInt(31)).append("|150|0|250|400.5\n");
+		}
+		Files.write(_data.toPath(), _lines.toString().getBytes(StandardCharsets.US_ASCII));
+
+		FlightList _standard = new FlightList();
+		AirportGraph _standardGraph = new AirportGraph();
+		new ReadModelDataIntoState().readFileInputIntoFlightList(_standard, _data, config, _standardGraph);
+
+		// Chunks of a few lines each so edges repeat both within and across chunks
+		FlightList _parallel = new FlightList();
+		AirportGraph _parallelGraph = new AirportGraph();
+		new MappedPSVFlightReader(4096, 500).readFileIntoFlightList(_parallel, _data, config, _parallelGraph, 4);
+
+		assertFlightsEqual(_standard, _parallel);
+		assertEquals("Both readers should add the same edges",
+				_standardGraph.getNumberOfEdges(), _parallelGraph.getNumberOfEdges());
+		for(int _rank = 0; _rank < _standardGraph.getNumberOfEdges(); _rank++) {
+			assertEquals("Edges should be added in the same order", _standardGraph.getSortedEdgeSource(_rank),
+					_parallelGraph.getSortedEdgeSource(_rank));
+		}
+		for(Flight _flight : _parallel) {
+			assertSame("Flights from every chunk should share the graph's airports",
+					_parallelGraph.getAirport(_flight.getSource().getName()), _flight.getSource());
+			assertSame("Flights from every chunk should share the graph's airports",
+					_parallelGraph.getAirport(_flight.getDestination().getName()), _flight.getDestination());
+		}
+	}
+
+	@Test(expected = AirlineSystemException.class)
+	public void testMalformedLine() throws AirlineSystemException, IOException {
+		File _data = folder.newFile("bad-data");
+		Files.write(_data.toPath(), "HEADER\nA|B|10|l|150|100\n".getBytes(StandardCharsets.US_ASCII));
+		new MappedPSVFlightReader().readFileIntoFlightList(new FlightList(), _data, config, new AirportGraph());
+	}
+
+	private static void assertFlightsEqual(FlightList expected_, FlightList actual_) {
+		assertEquals("Both readers should read every flight", expected_.size(), actual_.size());
+		for(int _i = 0; _i < expected_.size(); _i++) {
+			Flight _expected = expected_.get(_i);
+			Flight _actual = actual_.get(_i);
+			assertEquals("Flight " + _i + " should have the same source",
+					_expected.getSource().getName(), _actual.getSource().getName());
+			assertEquals("Flight " + _i + " should have the same destination",
+					_expected.getDestination().getName(), _actual.getDestination().getName());
+			assertEquals("Flight " + _i + " should have the same distance",
+					_expected.getDistanceTravelled(), _actual.getDistanceTravelled(), 0);
+			assertEquals("Flight " + _i + " should have the same size",
+					_expected.getAircraftSize(), _actual.getAircraftSize());
+			assertTrue("Flight " + _i + " should have the same seats filled",
+					Arrays.equals(_expected.getSeatsFilledPerSection(), _actual.getSeatsFilledPerSection()));
+			assertTrue("Flight " + _i + " should have the same prices",
+					Arrays.equals(_expected.getSeatCostPerSection(), _actual.getSeatCostPerSection()));
+			assertEquals("Flight " + _i + " should have the same revenue", _expected.getRevenue(), _actual.getRevenue());
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package org.airlinesystem.helpers;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.BeforeClass;
+
+import java.io.File;
+import java.util.Properties;
+
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.aggregation.MonteCarloResults;
+import org.airlinesystem.model.aggregation.MonteCarloResults.Estimator;
+import org.airlinesystem.model.aggregation.ReplicationSummary;
+
+public class MonteCarloRunnerTest {
+
+	private static AirportGraph airportGraph;
+	private static Properties props;
+
+	@BeforeClass
+	public static void initialize() throws AirlineSystemException {
+		props = new RuntimePropertyController().loadRuntimeProperties(new File("default.properties"));
+		props.setProperty("NUMBER_OF_FLIGHTS", "2000");
+		props.setProperty("SIMULATION_SEED", "7");
+		airportGraph = new AirportGraph();
+		new ReadModelDataIntoState().readFileInputIntoFlightList(new FlightList(), 
+				new File("src/test/resources/test-model-data"), props, airportGraph);
+	}
+
+	@Test
+	public void testSeededReplicationsIgnoreThreadCount() throws AirlineSystemException {
+		SimulationConfig _config = new RuntimePropertyController().createSimulationConfig(props);
+		MonteCarloResults _serial = new MonteCarloRunner(_config, airportGraph).runReplications(20, 1);
+		MonteCarloResults _parallel = new MonteCarloRunner(_config, airportGraph).runReplications(20, 4);
+
+		assertEquals("Every replication should be run", 20, _parallel.getNumberOfReplications());
+		for(int _replication = 0; _replication < 20; _replication++) {
+			assertEquals("Replication " + _replication + " should get the same stream on any thread",
+					_serial.getTotalProfit(_replication), _parallel.getTotalProfit(_replication), 0);
+			assertEquals("Replication " + _replication + " profit should be revenue less cost",
+					_parallel.getTotalRevenue(_replication) - _parallel.getTotalCost(_replication),
+					_parallel.getTotalProfit(_replication), 1e-3);
+		}
+		assertNotEquals("Replications should have their own streams", 
+				_parallel.getTotalProfit(0), _parallel.getTotalProfit(1), 0);
+	}
+
+	@Test
+	public void testConfidenceIntervalCoversMean() throws AirlineSystemException {
+		SimulationConfig _config = new RuntimePropertyController().createSimulationConfig(props);
+		MonteCarloResults _results = new MonteCarloRunner(_config, airportGraph).runReplications(200, 2);
+		ReplicationSummary _profit = _results.getProfitSummary();
+
+		// Each replication's profit is itself a sum of many flights, so the means of two runs should agree
+		_config = new RuntimePropertyController().createSimulationConfig(withSeed(11));
+		ReplicationSummary _otherProfit = new MonteCarloRunner(_config, airportGraph).runReplications(200, 2)
+				.getProfitSummary();
+		assertTrue("Independent runs should agree within their intervals",
+				Math.abs(_profit.getMean() - _otherProfit.getMean()) 
+				< _profit.getConfidenceHalfWidth() + _otherProfit.getConfidenceHalfWidth() 
+				+ 2 * Math.max(_profit.getStandardError(), _otherProfit.getStandardError()));
+		assertTrue("Interval should hold the mean", 
+				_profit.getConfidenceLow() < _profit.getMean() && _profit.getMean() < _profit.getConfidenceHigh());
+		assertTrue("Percentiles should be ordered", _profit.findPercentile(0.05) <= _profit.findPercentile(0.5)
+				&& _profit.findPercentile(0.5) <= _profit.findPercentile(0.95));
+		assertEquals("Flights per replication should be reported", 2000, _results.getFlightsPerReplication());
+	}
+
+	@Test
+	public void testVarianceReducingEstimatorsNarrowInterval() throws AirlineSystemException {
+		SimulationConfig _config = new RuntimePropertyController().createSimulationConfig(props);
+		MonteCarloRunner _runner = new MonteCarloRunner(_config, airportGraph);
+		ReplicationSummary _plain = _runner.runReplications(200, 2).getProfitSummary();
+		_runner.setEstimator(Estimator.ANTITHETIC);
+		MonteCarloResults _antithetic = _runner.runReplications(200, 2);
+		_runner.setEstimator(Estimator.CONTROL_VARIATE);
+		ReplicationSummary _controlVariate = _runner.runReplications(200, 2).getProfitSummary();
+
+		assertEquals("Antithetic replications should be summarized in pairs", 100, 
+				_antithetic.getProfitSummary().getCount());
+		assertEquals("Flights of a pair with mirrored seats should cost the same", 
+				_antithetic.getTotalCost(0), _antithetic.getTotalCost(1), 1e-3);
+		assertTrue("Antithetic pairs should narrow the interval for the same replications", 
+				_antithetic.getProfitSummary().getStandardError() < _plain.getStandardError());
+		assertTrue("The seat control should narrow the interval for the same replications", 
+				_controlVariate.getStandardError() < _plain.getStandardError());
+		assertEquals("Estimators should agree on the mean", _plain.getMean(), _controlVariate.getMean(),
+				3 * (_plain.getStandardError() + _controlVariate.getStandardError()));
+	}
+
+	@Test
+	public void testComparisonUsesCommonRandomNumbers() throws AirlineSystemException {
+		SimulationConfig _config = new RuntimePropertyController().createSimulationConfig(props);
+		MonteCarloRunner _runner = new MonteCarloRunner(_config, airportGraph);
+		MonteCarloResults _same = _runner.runComparison(_config, 10);
+		for(int _replication = 0; _replication < 10; _replication++) {
+			assertEquals("A config compared with itself should not differ", 0, 
+					_same.getTotalProfit(_replication), 0);
+		}
+
+		Properties _dearerFuel = withSeed(7);
+		_dearerFuel.setProperty("FUEL_COST", "16");
+		MonteCarloResults _difference = _runner.runComparison(
+				new RuntimePropertyController().createSimulationConfig(_dearerFuel), 50);
+		ReplicationSummary _plain = _runner.runReplications(50, 2).getProfitSummary();
+		assertTrue("Dearer fuel should lower the profit of every replication", 
+				_difference.getProfitSummary().getMax() < 0);
+		assertEquals("Dearer fuel should not change revenue", 0, _difference.getRevenueSummary().getMax(), 0);
+		assertTrue("Common random numbers should measure the difference more tightly than one run's spread",
+				_difference.getProfitSummary().getStandardDeviation() < _plain.getStandardDeviation());
+	}
+
+	@Test
+	public void testStopsOnceConfident() throws AirlineSystemException {
+		SimulationConfig _config = new RuntimePropertyController().createSimulationConfig(props);
+		MonteCarloRunner _runner = new MonteCarloRunner(_config, airportGraph);
+		_runner.setEstimator(Estimator.CONTROL_VARIATE);
+		MonteCarloResults _serial = _runner.run(null, 2000, 0.002, 1);
+		MonteCarloResults _parallel = _runner.run(null, 2000, 0.002, 6);
+		ReplicationSummary _profit = _parallel.getProfitSummary();
+
+		assertTrue("Run should stop before the most allowed", _parallel.getReplicationsSaved() > 0);
+		assertEquals("Run should stop at a check", 0, 
+				_parallel.getNumberOfReplications() % MonteCarloRunner.CHECK_INTERVAL);
+		assertEquals("Stopping point should not depend on the threads", _serial.getNumberOfReplications(),
+				_parallel.getNumberOfReplications());
+		assertEquals("Stopped results should not depend on the threads", 
+				_serial.getProfitSummary().getMean(), _profit.getMean(), 0);
+		assertTrue("Interval should meet the target", 
+				_profit.getConfidenceHalfWidth() <= 0.002 * Math.abs(_profit.getMean()));
+		assertTrue("Plain replications should need more for the same confidence", 
+				_parallel.findPlainReplicationsNeeded(0.002) > _parallel.getNumberOfReplications());
+	}
+
+	private static Properties withSeed(long seed_) {
+		Properties _seededProps = new Properties();
+		_seededProps.putAll(props);
+		_seededProps.setProperty("SIMULATION_SEED", Long.toString(seed_));
+		return _seededProps;
+	}
+}
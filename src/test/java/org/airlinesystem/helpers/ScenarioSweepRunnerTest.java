@@ -0,0 +1,109 @@
+package org.airlinesystem.helpers;
+
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.aggregation.ScenarioResult;
+import org.airlinesystem.model.aggregation.TotalsAggregator;
+
+public class ScenarioSweepRunnerTest {
+
+	private static AirportGraph airportGraph;
+	private static Properties props;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@BeforeClass
+	public static void initialize() throws AirlineSystemException {
+		props = new RuntimePropertyController().loadRuntimeProperties(new File("default.properties"));
+		props.setProperty("NUMBER_OF_FLIGHTS", "2000");
+		props.setProperty("SIMULATION_SEED", "7");
+		airportGraph = new AirportGraph();
+		new ReadModelDataIntoState().readFileInputIntoFlightList(new FlightList(), 
+				new File("src/test/resources/test-model-data"), props, airportGraph);
+	}
+
+	@Test
+	public void testParseValues() throws AirlineSystemException {
+		assertEquals("Range should include both ends", Arrays.asList("10", "11", "12"), 
+				ScenarioSweepRunner.parseValues("FUEL_COST", "10..12"));
+		assertEquals("Range should take its step", Arrays.asList("10", "12.5", "15.0"), 
+				ScenarioSweepRunner.parseValues("FUEL_COST", " 10..15 step 2.5"));
+		assertEquals("Step should not pass the end", Arrays.asList("1", "3"), 
+				ScenarioSweepRunner.parseValues("FUEL_COST", "1..4 STEP 2"));
+		assertEquals("List should be split and trimmed", Arrays.asList("S", "M", "L"), 
+				ScenarioSweepRunner.parseValues("PREFERRED_AIRCRAFT_SIZE", "S, M ,L"));
+		assertEquals("Section values should stay whole", Arrays.asList("50|0|0|0"), 
+				ScenarioSweepRunner.parseValues("SMALL_PLANE_SEAT_MAX_PER_SECTION", "50|0|0|0"));
+		try {
+			ScenarioSweepRunner.parseValues("FUEL_COST", "30..10");
+			fail("Backward range should be rejected");
+		} catch(AirlineSystemException e_) {
+			assertTrue("Error should name the property", e_.getMessage().contains("FUEL_COST"));
+		}
+	}
+
+	@Test
+	public void testScenariosFormGrid() throws AirlineSystemException {
+		ScenarioSweepRunner _runner = new ScenarioSweepRunner(props, airportGraph);
+		_runner.addSweep("FUEL_COST=10..12");
+		_runner.addSweep("PREFERRED_AIRCRAFT_SIZE=S,L");
+		List<Map<String, String>> _scenarios = _runner.findScenarios();
+
+		assertEquals("Every combination should be a scenario", 6, _scenarios.size());
+		assertEquals("Last sweep should change fastest", "L", _scenarios.get(1).get("PREFERRED_AIRCRAFT_SIZE"));
+		assertEquals("First sweep should change slowest", "11", _scenarios.get(2).get("FUEL_COST"));
+		try {
+			_runner.addSweep("AIRPORT_GRAPH_TYPE=JGRAPHT,COMPACT");
+			fail("Graph properties should not be swept");
+		} catch(AirlineSystemException e_) {}
+		try {
+			_runner.addSweep("FUEL_COSTS=1,2");
+			fail("Unknown properties should not be swept");
+		} catch(AirlineSystemException e_) {}
+	}
+
+	@Test
+	public void testConcurrentSweepMatchesSerial() throws Exception {
+		ScenarioSweepRunner _runner = new ScenarioSweepRunner(props, airportGraph);
+		_runner.addSweep("FUEL_COST=10..20 step 5");
+		_runner.addSweep("PREFERRED_AIRCRAFT_SIZE=S,M");
+		List<ScenarioResult> _serial = _runner.runScenarios(1);
+		List<ScenarioResult> _concurrent = _runner.runScenarios(4);
+
+		assertEquals("Every scenario should be run", 6, _concurrent.size());
+		for(int _i = 0; _i < _serial.size(); _i++) {
+			assertEquals("Scenario " + _i + " should not depend on the threads", 
+					_serial.get(_i).getTotals().getTotalProfit(), _concurrent.get(_i).getTotals().getTotalProfit());
+		}
+		TotalsAggregator _cheapFuel = _concurrent.get(0).getTotals();
+		TotalsAggregator _dearFuel = _concurrent.get(4).getTotals();
+		assertEquals("A seeded sweep should fly the same flights under every fuel price", 
+				_cheapFuel.getTotalRevenue(), _dearFuel.getTotalRevenue());
+		assertTrue("Dearer fuel should cost more", _dearFuel.getTotalCost().compareTo(_cheapFuel.getTotalCost()) > 0);
+
+		File _table = folder.newFile("sweep-results");
+		_runner.writeResultsTable(_concurrent, _table);
+		List<String> _rows = Files.readAllLines(_table.toPath(), StandardCharsets.UTF_8);
+		assertEquals("Table should have a header and a row per scenario", 7, _rows.size());
+		assertEquals("Header should name the swept properties first", 
+				"FUEL_COST|PREFERRED_AIRCRAFT_SIZE|FLIGHTS|PASSENGERS|TOTAL_REVENUE|TOTAL_COST|TOTAL_PROFIT", _rows.get(0));
+		assertTrue("Rows should follow the sweep order", _rows.get(6).startsWith("20|M|2000|"));
+	}
+}
@@ -0,0 +1,108 @@
+package org.airlinesystem.helpers;
+
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.helpers.SyntheticDataGenerator.DegreeDistribution;
+import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.SimulationConfig;
+import org.airlinesystem.model.SimulationConfig.DataIngestMode;
+
+public class SyntheticDataGeneratorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static Properties props;
+	private static SimulationConfig config;
+
+	@BeforeClass
+	public static void initialize() throws AirlineSystemException {
+		props = new RuntimePropertyController().loadRuntimeProperties(new File("default.properties"));
+		config = new RuntimePropertyController().createSimulationConfig(props);
+	}
+
+	@Test
+	public void testUniformNetworkIsReadBack() throws AirlineSystemException {
+		SyntheticDataGenerator _generator = new SyntheticDataGenerator(7);
+		_generator.generateNetwork(500, 6, DegreeDistribution.UNIFORM, 50, 3000);
+		File _graphFile = new File(folder.getRoot(), "uniform-graph");
+		_generator.writeGraphFile(_graphFile);
+
+		AirportGraph _graph = new AirportGraph();
+		new ReadGraphFromPSV().readFileInputIntoGraph(_graph, _graphFile);
+		assertEquals("Every edge should be distinct", 1500, _generator.getNumberOfEdges());
+		assertEquals("Graph should hold every written edge", 1500, _graph.getNumberOfEdges());
+		for(int _degree : _generator.findDegrees()) {
+			assertTrue("Ring should join every airport", _degree >= 2);
+		}
+	}
+
+	@Test
+	public void testScaleFreeNetworkGrowsHubs() throws AirlineSystemException {
+		SyntheticDataGenerator _generator = new SyntheticDataGenerator(7);
+		_generator.generateNetwork(20000, 4, DegreeDistribution.SCALE_FREE, 50, 3000);
+
+		int _maxDegree = 0;
+		long _totalDegree = 0;
+		for(int _degree : _generator.findDegrees()) {
+			assertTrue("Every airport should be joined", _degree >= 2);
+			_maxDegree = Math.max(_maxDegree, _degree);
+			_totalDegree += _degree;
+		}
+		assertEquals("Average degree should match", 4.0, (double)_totalDegree / 20000, 0.01);
+		assertTrue("Hubs should have far more than the average degree", _maxDegree > 50);
+	}
+
+	@Test
+	public void testDataFileIsReadByBothReaders() throws AirlineSystemException, IOException {
+		SyntheticDataGenerator _generator = new SyntheticDataGenerator(11);
+		_generator.generateNetwork(100, 4, DegreeDistribution.SCALE_FREE, 50, 3000);
+		File _dataFile = new File(folder.getRoot(), "synthetic-data");
+		_generator.writeDataFile(_dataFile, config, 2000);
+
+		FlightList _standard = new FlightList();
+		new ReadModelDataIntoState().readFileInputIntoFlightList(_standard, _dataFile, config, new AirportGraph());
+		Properties _mappedProps = new Properties();
+		_mappedProps.putAll(props);
+		_mappedProps.setProperty("DATA_INGEST_MODE", DataIngestMode.MAPPED.toString());
+		FlightList _mapped = new FlightList();
+		new ReadModelDataIntoState().readFileInputIntoFlightList(_mapped, _dataFile, 
+				new RuntimePropertyController().createSimulationConfig(_mappedProps), new AirportGraph());
+
+		assertEquals("File should hold a header and every flight", 2001, Files.readAllLines(_dataFile.toPath()).size());
+		assertEquals("Standard reader should read every flight", 2000, _standard.size());
+		assertEquals("Mapped reader should read every flight", 2000, _mapped.size());
+		assertEquals("Readers should find the same profit", 0, 
+				_standard.getTotalProfit().compareTo(_mapped.getTotalProfit()));
+	}
+
+	@Test
+	public void testSameSeedWritesSameFile() throws AirlineSystemException, IOException {
+		File[] _files = {new File(folder.getRoot(), "first"), new File(folder.getRoot(), "second")};
+		for(File _file : _files) {
+			SyntheticDataGenerator _generator = new SyntheticDataGenerator(3);
+			_generator.generateNetwork(50, 4, DegreeDistribution.UNIFORM, 10, 20);
+			_generator.writeDataFile(_file, config, 100);
+		}
+		assertArrayEquals("Seeded files should match", Files.readAllBytes(_files[0].toPath()), 
+				Files.readAllBytes(_files[1].toPath()));
+	}
+
+	@Test(expected = AirlineSystemException.class)
+	public void testTooManyAirports() throws AirlineSystemException {
+		new SyntheticDataGenerator(1).generateNetwork(SyntheticDataGenerator.MAX_AIRPORTS + 1, 4, 
+				DegreeDistribution.UNIFORM, 10, 20);
+	}
+}
@@ -0,0 +1,39 @@
+package org.airlinesystem.helpers.collections;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+public class LongIntHashMapTest {
+
+	@Test
+	public void testMatchesHashMapUnderChurn() {
+		LongIntHashMap _map = new LongIntHashMap();
+		HashMap<Long, Integer> _expected = new HashMap<Long, Integer>();
+		Random _rand = new Random(7);
+		
+		for(int _i = 0; _i < 20000; _i++) {
+			long _key = _rand.nextInt(2000);
+			if(_rand.nextInt(3) == 0) {
+				Integer _removed = _expected.remove(_key);
+				assertEquals(_removed == null ? LongIntHashMap.NO_VALUE : _removed.intValue(), _map.remove(_key));
+			} else {
+				_expected.put(_key, _i);
+				_map.put(_key, _i);
+			}
+		}
+		assertEquals(_expected.size(), _map.size());
+		for(long _key = 0; _key < 2000; _key++) {
+			Integer _value = _expected.get(_key);
+			assertEquals(_value == null ? LongIntHashMap.NO_VALUE : _value.intValue(), _map.get(_key));
+		}
+	}
+	
+	@Test
+	public void testPack() {
+		assertNotEquals(LongIntHashMap.pack(1, 2), LongIntHashMap.pack(2, 1));
+		assertEquals(LongIntHashMap.pack(3, 4), LongIntHashMap.pack(3, 4));
+	}
+}
@@ -0,0 +1,207 @@
+package org.airlinesystem.model;
+
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Properties;
+
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.helpers.FlightBuilder;
+import org.airlinesystem.helpers.ReadGraphFromPSV;
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class FlightListTest {
+
+	private final static int[] MAX_SEATS = {10, 10, 10, 10};
+	private final static int[] SEATS_FILLED = {10, 10, 10, 10};
+	private final static BigDecimal[] SEAT_COST = {new BigDecimal(10),
+			new BigDecimal(15), new BigDecimal(20), new BigDecimal(25)};
+
+	private static Properties testProps;
+	private static FlightBuilder fd;
+
+	private AirportGraph airportGraph = new AirportGraph();
+	private FlightList testFlightList = new FlightList();
+	private Flight[] testFlights = new Flight[4];
+
+	@BeforeClass
+	public static void initialize() throws AirlineSystemException {
+		testProps = new RuntimePropertyController().loadDefaultProperties();
+		fd = new FlightBuilder();
+	}
+
+	@Before
+	public void initializeFlightListAndGraph() {
+		new ReadGraphFromPSV().readEdgeIntoGraph(airportGraph, "1", "2", 100);
+		for(int _i = 0; _i < testFlights.length; _i++) {
+			testFlights[_i] = createFlight(_i % 2 == 0 ? "1" : "3", 100 + 10 * _i);
+			testFlightList.addFlightToList(testFlights[_i], airportGraph);
+		}
+	}
+
+	private static Flight createFlight(String source_, double distance_) {
+		return fd.flightDispatchService(AircraftSize.M, MAX_SEATS, SEATS_FILLED, SEAT_COST,
+				source_, "2", distance_, testProps);
+	}
+
+	@Test
+	public void testRunningTotalsMatchFullPass() {
+		Flight _otherFlight = fd.flightDispatchService(AircraftSize.M, MAX_SEATS, new int[] {1, 2, 3, 4},
+				SEAT_COST, "1", "2", 250.5, testProps);
+		testFlightList.addFlightToList(_otherFlight, airportGraph);
+		assertRunningTotalsMatch(testFlightList);
+		assertEquals("Passengers should be counted as flights are added", 170, testFlightList.getTotalPassengers());
+
+		testFlightList.updateFlightRCP(_otherFlight, new BigDecimal[] {new BigDecimal("12.5"),
+				BigDecimal.TEN, new BigDecimal("2.5")}, airportGraph);
+		assertRunningTotalsMatch(testFlightList);
+
+		assertTrue("Flight should be removed", testFlightList.removeFlightFromList(testFlights[0], airportGraph));
+		assertRunningTotalsMatch(testFlightList);
+		assertEquals("Passengers should be removed with the flight", 130, testFlightList.getTotalPassengers());
+
+		testFlightList.clear();
+		assertEquals("Cleared list should have no profit", BigDecimal.ZERO, testFlightList.getTotalProfit());
+	}
+
+	@Test
+	public void testRouteFlightsAreGroupedByRoute() {
+		FlightList _flights = new FlightList();
+		Flight[] _added = new Flight[6];
+		for(int _i = 0; _i < _added.length; _i++) {
+			_added[_i] = fd.flightDispatchService(AircraftSize.S, MAX_SEATS, SEATS_FILLED, SEAT_COST,
+					_i % 2 == 0 ? "1" : "3", "2", 10 + _i, testProps);
+			_flights.add(_added[_i]);
+		}
+
+		assertEquals("Each airport pair should be one route", 2, _flights.getNumberOfRoutes());
+		assertEquals("Routes should not depend on direction", _flights.findRouteId("1", "2"),
+				_flights.findRouteId("2", "1"));
+		List<Flight> _route = _flights.getRouteFlights("2", "3");
+		assertEquals("Route should hold its flights", 3, _route.size());
+		for(int _i = 0; _i < _route.size(); _i++) {
+			assertSame("Route flights should be in list order", _added[2 * _i + 1], _route.get(_i));
+		}
+
+		_flights.remove(0);
+		assertEquals("Route should be laid out again after a removal", 2, _flights.getRouteFlights("1", "2").size());
+		assertSame("Positions should follow the removal", _added[2], _flights.getRouteFlights("1", "2").get(0));
+		assertTrue("Unknown routes should have no flights", _flights.getRouteFlights("1", "9").isEmpty());
+	}
+
+	@Test
+	public void testAddAllKeepsTotals() {
+		FlightList _flights = new FlightList();
+		_flights.add(testFlights[0]);
+		_flights.addAll(Arrays.asList(testFlights[1], testFlights[2]));
+		_flights.addAll(1, Arrays.asList(testFlights[3]));
+		_flights.add(0, testFlights[1]);
+
+		assertEquals("Flights should be inserted in place", Arrays.asList(testFlights[1], testFlights[0],
+				testFlights[3], testFlights[1], testFlights[2]), _flights);
+		assertRunningTotalsMatch(_flights);
+		assertEquals("Inserted flights should be in their route summary", 2,
+				_flights.getRouteSummary("1", "2").getCount());
+		assertEquals("Inserted flights should be found on their route", 3, _flights.getRouteFlights("3", "2").size());
+	}
+
+	@Test
+	public void testSetMovesTotalsToTheNewFlight() {
+		Flight _replacement = createFlight("3", 500);
+		List<Flight> _route = testFlightList.getRouteFlights("1", "2");
+		assertEquals("Route should start with both of its flights", 2, _route.size());
+
+		assertSame("Set should return the replaced flight", testFlights[0], testFlightList.set(0, _replacement));
+		assertRunningTotalsMatch(testFlightList);
+		assertEquals("Replaced flight should leave its route", 1, testFlightList.getRouteFlights("1", "2").size());
+		assertEquals("New flight should join its route", 3, testFlightList.getRouteSummary("3", "2").getCount());
+
+		testFlightList.replaceAll(_flight -> _replacement);
+		assertRunningTotalsMatch(testFlightList);
+		assertNull("Every flight should have left the first route", testFlightList.getRouteSummary("1", "2"));
+	}
+
+	@Test
+	public void testBulkRemovalsKeepTotals() {
+		assertTrue("Filter should remove matching flights",
+				testFlightList.removeIf(_flight -> _flight.getSource().getName().equals("1")));
+		assertRunningTotalsMatch(testFlightList);
+		assertNull("Removed route should have no summary", testFlightList.getRouteSummary("1", "2"));
+		assertEquals("Other route should keep its flights", 2, testFlightList.getRouteFlights("3", "2").size());
+
+		assertTrue("Flights outside the collection should be removed",
+				testFlightList.retainAll(Arrays.asList(testFlights[1])));
+		assertRunningTotalsMatch(testFlightList);
+		assertEquals("Only the retained flight should be left", 1, testFlightList.size());
+
+		assertTrue("Flights in the collection should be removed",
+				testFlightList.removeAll(Arrays.asList(testFlights[1])));
+		assertRunningTotalsMatch(testFlightList);
+		assertEquals("No passengers should be left", 0, testFlightList.getTotalPassengers());
+	}
+
+	@Test
+	public void testFilterThatThrowsChangesNothing() {
+		BigDecimal _profit = testFlightList.getTotalProfit();
+		try {
+			testFlightList.removeIf(_flight -> {
+				if(_flight == testFlights[2]) {
+					throw new IllegalStateException();
+				}
+				return true;
+			});
+			fail("Filter should have thrown");
+		} catch(IllegalStateException e_) {
+			assertEquals("Flights should not be removed", 4, testFlightList.size());
+			assertEquals("Totals should not change", _profit, testFlightList.getTotalProfit());
+		}
+	}
+
+	@Test
+	public void testIteratorsKeepTotals() {
+		Iterator<Flight> _iterator = testFlightList.iterator();
+		_iterator.next();
+		_iterator.remove();
+		assertRunningTotalsMatch(testFlightList);
+		assertEquals("Iterator removal should leave the route", 1, testFlightList.getRouteFlights("1", "2").size());
+
+		ListIterator<Flight> _listIterator = testFlightList.listIterator();
+		_listIterator.next();
+		_listIterator.set(testFlights[0]);
+		_listIterator.add(createFlight("1", 300));
+		assertRunningTotalsMatch(testFlightList);
+		assertEquals("List iterator changes should reach the routes", 3, testFlightList.getRouteFlights("1", "2").size());
+	}
+
+	@Test (expected = UnsupportedOperationException.class)
+	public void testSubListIsReadOnly() {
+		List<Flight> _range = testFlightList.subList(1, 3);
+		assertSame("Range should read from the list", testFlights[1], _range.get(0));
+		_range.clear();
+	}
+
+	private static void assertRunningTotalsMatch(FlightList listOfFlights_) {
+		BigDecimal[] _fullPass = {BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO};
+		long _passengers = 0;
+		for(Flight _flight : listOfFlights_) {
+			_fullPass[0] = _fullPass[0].add(_flight.getRevenue());
+			_fullPass[1] = _fullPass[1].add(_flight.getCost());
+			_fullPass[2] = _fullPass[2].add(_flight.getProfit());
+			_passengers += _flight.getAircraftAssigned().getTotalNumOfPassengers();
+		}
+		BigDecimal[] _running = listOfFlights_.getTotalRCP();
+		for(int _i = 0; _i < 3; _i++) {
+			assertEquals("Running totals should match a full pass", 0, _fullPass[_i].compareTo(_running[_i]));
+		}
+		assertEquals("Running passengers should match a full pass", _passengers, listOfFlights_.getTotalPassengers());
+	}
+}
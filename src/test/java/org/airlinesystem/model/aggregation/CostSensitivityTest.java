@@ -0,0 +1,110 @@
+package org.airlinesystem.model.aggregation;
+
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.Properties;
+
+import org.airlinesystem.controllers.FlightRCPController;
+import org.airlinesystem.controllers.RuntimePropertyController;
+import org.airlinesystem.exceptions.AirlineSystemException;
+import org.airlinesystem.graphdb.impl.AirportGraph;
+import org.airlinesystem.helpers.GenerateModelData;
+import org.airlinesystem.helpers.ReadModelDataIntoState;
+import org.airlinesystem.model.Flight;
+import org.airlinesystem.model.FlightList;
+import org.airlinesystem.model.SimulationConfig;
+import static org.airlinesystem.model.AircraftPilot.AircraftPilotSeniority;
+
+public class CostSensitivityTest {
+
+	private static AirportGraph airportGraph;
+	private static FlightList flights;
+	private static Properties props;
+
+	@BeforeClass
+	public static void initialize() throws AirlineSystemException {
+		props = new RuntimePropertyController().loadRuntimeProperties(new File("default.properties"));
+		props.setProperty("NUMBER_OF_FLIGHTS", "5000");
+		props.setProperty("SIMULATION_SEED", "42");
+		airportGraph = new AirportGraph();
+		flights = new FlightList();
+		new ReadModelDataIntoState().readFileInputIntoFlightList(flights, 
+				new File("src/test/resources/test-model-data"), props, airportGraph);
+	}
+
+	@Test
+	public void testKeptFlightsGiveExactFuelSensitivity() throws AirlineSystemException {
+		SimulationConfig _config = new RuntimePropertyController().createSimulationConfig(props);
+		BigDecimal[] _rcp = new FlightRCPController(_config).findTotalRCPOfFlightList(flights, 1, false);
+		CostSensitivity _sensitivity = CostSensitivity.fromFlights(flights, _rcp[0]);
+
+		assertEquals("Profit under the simulation's own costs should match", 0, 
+				_rcp[2].compareTo(_sensitivity.findTotalProfit(_config)));
+		Properties _dearerFuel = withProperty("FUEL_COST", "21.75");
+		FlightRCPController _dearerController = new FlightRCPController(
+				new RuntimePropertyController().createSimulationConfig(_dearerFuel));
+		BigDecimal _recosted = BigDecimal.ZERO;
+		for(Flight _flight : flights) {
+			_recosted = _recosted.add(_dearerController.findProfit(_flight));
+		}
+		assertEquals("Profit under another fuel cost should match recosting every flight", 0, 
+				_recosted.compareTo(_sensitivity.findTotalProfit(
+						new RuntimePropertyController().createSimulationConfig(_dearerFuel))));
+
+		long _pilotFlights = 0;
+		for(AircraftPilotSeniority _seniority : AircraftPilotSeniority.values()) {
+			_pilotFlights += _sensitivity.getPilotFlights(_seniority);
+		}
+		assertEquals("Every flight should have two pilots", 2L * flights.size(), _pilotFlights);
+	}
+
+	@Test
+	public void testStreamedTotalsMatchRegeneration() throws AirlineSystemException {
+		SimulationAggregates _aggregates = new SimulationAggregates(airportGraph.getNumberOfEdges());
+		new GenerateModelData().generateCurrentStateModel(
+				new RuntimePropertyController().createSimulationConfig(props), airportGraph, _aggregates);
+		CostSensitivity _sensitivity = CostSensitivity.fromTotals(_aggregates.getTotals());
+
+		Properties _changed = withProperty("FUEL_COST", "9.5");
+		_changed.setProperty("SENIOR_PILOT_PAY", "1250");
+		_changed.setProperty("JUNIOR_PILOT_PAY", "310.25");
+		SimulationConfig _changedConfig = new RuntimePropertyController().createSimulationConfig(_changed);
+		TotalsAggregator _regenerated = new TotalsAggregator();
+		new GenerateModelData().generateCurrentStateModel(_changedConfig, airportGraph, _regenerated);
+
+		// Regenerated flights round each fuel cost to micro-units, so may differ by half a micro-unit a flight
+		double _tolerance = 5000 * 0.5e-6;
+		assertEquals("Exact profit should match regenerating under the new costs", 
+				_regenerated.getTotalProfit().doubleValue(), 
+				_sensitivity.findTotalProfit(_changedConfig).doubleValue(), _tolerance);
+		double[] _pay = {1250, 600, 310.25};
+		assertEquals("Fast profit should match regenerating under the new costs", 
+				_regenerated.getTotalProfit().doubleValue(), _sensitivity.findTotalProfit(9.5, _pay), _tolerance + 1e-3);
+
+		double[] _profits = _sensitivity.findTotalProfits(new double[] {0, 9.5, 30}, _pay);
+		assertEquals("Fuel sweep should match single evaluations", _sensitivity.findTotalProfit(30, _pay), 
+				_profits[2], 1e-3);
+		assertEquals("Profit should fall by the total distance for each unit of fuel cost", 
+				_sensitivity.getTotalDistance().doubleValue() * 9.5, _profits[0] - _profits[1], 1e-3);
+		assertEquals("Break even fuel cost should leave no profit", 0, 
+				_sensitivity.findTotalProfit(_sensitivity.findBreakEvenFuelCost(_pay), _pay), 1e-3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTotalsWithoutDistanceRejected() {
+		TotalsAggregator _totals = new TotalsAggregator();
+		_totals.addFlight(0, org.airlinesystem.model.Aircraft.AircraftSize.S, 10, 1000000, 500000);
+		CostSensitivity.fromTotals(_totals);
+	}
+
+	private static Properties withProperty(String key_, String value_) {
+		Properties _changed = new Properties();
+		_changed.putAll(props);
+		_changed.setProperty(key_, value_);
+		return _changed;
+	}
+}
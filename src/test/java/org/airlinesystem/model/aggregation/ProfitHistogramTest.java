@@ -0,0 +1,50 @@
+package org.airlinesystem.model.aggregation;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import static org.airlinesystem.model.Aircraft.AircraftSize;
+
+public class ProfitHistogramTest {
+
+	private static final long MICROS = 1000000L;
+
+	@Test
+	public void testBucketsHoldTheirProfits() {
+		long[] _profits = {-5000000, -1234, -1, 0, 1, 15, 16, 17, 999, 123456, 99999999};
+		for(long _profit : _profits) {
+			ProfitHistogram _histogram = new ProfitHistogram();
+			_histogram.addFlight(0, AircraftSize.M, 1, _profit * MICROS, 0);
+			int _bucket = findFilledBucket(_histogram);
+			assertTrue(_profit + " should not be below its bucket", _histogram.getLowerBound(_bucket) <= _profit);
+			assertTrue(_profit + " should be below the next bucket", _profit < _histogram.getUpperBound(_bucket));
+			assertTrue(_profit + " should be in a bucket of about its size", 
+					_histogram.getUpperBound(_bucket) - _histogram.getLowerBound(_bucket) 
+					<= Math.max(1, Math.abs(_profit) / (ProfitHistogram.SUB_BUCKETS / 2)));
+		}
+	}
+
+	@Test
+	public void testPercentilesOfMergedPartials() {
+		ProfitHistogram _histogram = new ProfitHistogram();
+		ProfitHistogram _partial = _histogram.newPartial();
+		for(long _profit = -1000; _profit < 9000; _profit++) {
+			(_profit % 2 == 0 ? _histogram : _partial).addFlight(0, AircraftSize.S, 1, _profit * MICROS, 0);
+		}
+		_histogram.merge(_partial);
+
+		assertEquals("Every flight should be counted", 10000, _histogram.getNumberOfFlights());
+		assertEquals("Median should be within a bucket", 4000, _histogram.findPercentile(0.5), 4000 / 16.0);
+		assertEquals("Tenth percentile should be near zero", 0, _histogram.findPercentile(0.1), 1);
+		assertEquals("Empty histograms should have no percentile", 0, new ProfitHistogram().findPercentile(0.5), 0);
+	}
+
+	private static int findFilledBucket(ProfitHistogram histogram_) {
+		for(int _bucket = 0; _bucket < histogram_.getNumberOfBuckets(); _bucket++) {
+			if(histogram_.getCount(_bucket) > 0) {
+				return _bucket;
+			}
+		}
+		return -1;
+	}
+}
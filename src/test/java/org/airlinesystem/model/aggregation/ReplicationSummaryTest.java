@@ -0,0 +1,57 @@
+package org.airlinesystem.model.aggregation;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ReplicationSummaryTest {
+
+	@Test
+	public void testSummaryOfKnownValues() {
+		ReplicationSummary _summary = new ReplicationSummary(new double[] {4, 8, 6, 2, 10});
+
+		assertEquals("Mean should be found", 6, _summary.getMean(), 1e-12);
+		assertEquals("Sample standard deviation should be found", Math.sqrt(10), _summary.getStandardDeviation(), 1e-12);
+		assertEquals("Median should be the middle value", 6, _summary.findPercentile(0.5), 1e-12);
+		assertEquals("Percentiles should interpolate", 3, _summary.findPercentile(0.125), 1e-12);
+		assertEquals("Interval should use Student's t for four degrees of freedom", 
+				2.776 * Math.sqrt(10) / Math.sqrt(5), _summary.getConfidenceHalfWidth(), 1e-9);
+		assertEquals("Lowest value should be kept", 2, _summary.getMin(), 0);
+	}
+
+	@Test
+	public void testStudentTApproachesNormal() {
+		assertEquals("Expansion should meet the table", 2.042, ReplicationSummary.findT975(30), 1e-3);
+		assertEquals("Expansion should match t at 60 degrees of freedom", 2.000, ReplicationSummary.findT975(60), 1e-3);
+		assertEquals("Expansion should tend to the normal", 1.960, ReplicationSummary.findT975(100000), 1e-3);
+		assertEquals("A single replication has no interval", 0, 
+				new ReplicationSummary(new double[] {5}).getConfidenceHalfWidth(), 0);
+	}
+
+	@Test
+	public void testRunningEstimateMatchesSummary() {
+		double[] _values = {4, 8, 6, 2, 10, 7};
+		double[] _controls = {-1, 1, 0, -2, 2, 0.5};
+		RunningEstimate _plain = new RunningEstimate(MonteCarloResults.Estimator.PLAIN);
+		RunningEstimate _antithetic = new RunningEstimate(MonteCarloResults.Estimator.ANTITHETIC);
+		RunningEstimate _controlVariate = new RunningEstimate(MonteCarloResults.Estimator.CONTROL_VARIATE);
+		for(int _i = 0; _i < _values.length; _i++) {
+			_plain.add(_values[_i], _controls[_i]);
+			_antithetic.add(_values[_i], _controls[_i]);
+			_controlVariate.add(_values[_i], _controls[_i]);
+		}
+		ReplicationSummary _summary = new ReplicationSummary(_values);
+		MonteCarloResults _results = new MonteCarloResults(MonteCarloResults.Estimator.CONTROL_VARIATE, 
+				_values, _values, _values, _controls, 1, _values.length);
+
+		assertEquals("Plain estimate should keep the mean", _summary.getMean(), _plain.getMean(), 1e-12);
+		assertEquals("Plain estimate should keep the interval", _summary.getConfidenceHalfWidth(), 
+				_plain.getConfidenceHalfWidth(), 1e-9);
+		assertEquals("Antithetic estimate should count pairs", 3, _antithetic.getNumberOfUnits());
+		assertEquals("Antithetic pairs should be averaged", new ReplicationSummary(new double[] {6, 4, 8.5})
+				.getConfidenceHalfWidth(), _antithetic.getConfidenceHalfWidth(), 1e-9);
+		assertEquals("Control adjusted replications should give the running mean", _controlVariate.getMean(),
+				_results.getProfitSummary().getMean(), 1e-9);
+		assertEquals("Control adjusted replications should give the running interval", 
+				_controlVariate.getConfidenceHalfWidth(), _results.getProfitSummary().getConfidenceHalfWidth(), 1e-9);
+	}
+}